@@ -0,0 +1,50 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.binary;
+
+/**
+ * The binary JSON encodings supported by {@link BinaryJSONWriter},
+ * {@link BinaryJSONReader}, and {@link BinaryJSONScanner}.
+ * <p>
+ * Both formats can represent every JSON value without any textual
+ * number formatting or string escaping, so they are considerably
+ * cheaper to read and write than JSON text.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see BinaryJSONWriter
+ * @see BinaryJSONReader
+ */
+public enum BinaryFormat {
+    /**
+     * The Concise Binary Object Representation, as specified by
+     * <a href="https://www.rfc-editor.org/rfc/rfc8949" target="_top">RFC 8949</a>
+     */
+    CBOR,
+    /**
+     * The <a href="https://github.com/msgpack/msgpack/blob/master/spec.md" target="_top">MessagePack</a> format
+     */
+    MESSAGE_PACK
+}
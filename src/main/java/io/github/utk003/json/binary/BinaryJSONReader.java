@@ -0,0 +1,733 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.binary;
+
+import io.github.utk003.json.traditional.node.*;
+import io.github.utk003.util.misc.Verifier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * A streaming reader that decodes CBOR or MessagePack input into JSON data.
+ * <p>
+ * A {@code BinaryJSONReader} can either read entire {@link JSONValue} trees with
+ * {@link #readTree()} or be used as a pull parser, where each call to {@link #next()}
+ * reads a single data item. After {@code next()} returns, the item's details are
+ * available through {@link #size()}, {@link #stringValue()}, {@link #numberValue()}, etc.
+ * <p>
+ * Since JSON has no binary strings, CBOR byte strings and MessagePack binary data
+ * are read as base64url-encoded strings (as recommended by RFC 8949). Likewise,
+ * integer object keys are read as their decimal strings. CBOR tags are skipped,
+ * and undefined values are read as {@code null}s. Other items that cannot be
+ * represented in JSON (such as MessagePack extension types) cause an
+ * {@link IllegalArgumentException} to be thrown.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see BinaryFormat
+ * @see BinaryJSONWriter
+ * @see BinaryJSONScanner
+ */
+public class BinaryJSONReader implements Closeable {
+    /**
+     * The types of data items that a {@code BinaryJSONReader} can read
+     */
+    public enum Type {
+        /**
+         * The start of an object, whose size is given by {@link #size()}
+         */
+        OBJECT,
+        /**
+         * The start of an array, whose size is given by {@link #size()}
+         */
+        ARRAY,
+        /**
+         * A string, given by {@link #stringValue()}
+         */
+        STRING,
+        /**
+         * An integer, given by {@link #numberValue()} (or {@link #longValue()}, if it fits in a {@code long})
+         */
+        INTEGER,
+        /**
+         * A floating point number, given by {@link #doubleValue()}
+         */
+        FLOAT,
+        /**
+         * The boolean {@code true}
+         */
+        TRUE,
+        /**
+         * The boolean {@code false}
+         */
+        FALSE,
+        /**
+         * A {@code null}
+         */
+        NULL,
+        /**
+         * The end of an object or array of indefinite size (only in CBOR)
+         */
+        END
+    }
+
+    private static final BigInteger UNSIGNED_LONG_LIMIT = BigInteger.ONE.shiftLeft(64);
+
+    private final BinaryFormat FORMAT;
+    private final InputStream INPUT;
+    private final ByteBuffer BUFFER;
+
+    private final byte[] BYTES;
+    private int position = 0, limit = 0;
+    private byte[] scratch = new byte[64];
+
+    private Type type = null;
+    private int size;
+    private long longValue;
+    private BigInteger bigValue;
+    private double doubleValue;
+    private String stringValue;
+
+    /**
+     * Creates a new {@code BinaryJSONReader} that reads from the given {@link InputStream}
+     *
+     * @param in     The input stream
+     * @param format The binary format to read
+     */
+    public BinaryJSONReader(InputStream in, BinaryFormat format) {
+        Verifier.requireNotNull(in, "The input stream cannot be null");
+        Verifier.requireNotNull(format, "The binary format cannot be null");
+
+        INPUT = in;
+        BUFFER = null;
+        BYTES = new byte[8192];
+        FORMAT = format;
+    }
+    /**
+     * Creates a new {@code BinaryJSONReader} that reads from the given {@link ByteBuffer},
+     * starting at the buffer's current position
+     * <p>
+     * The buffer's position is advanced as input is read.
+     *
+     * @param buffer The input buffer
+     * @param format The binary format to read
+     */
+    public BinaryJSONReader(ByteBuffer buffer, BinaryFormat format) {
+        Verifier.requireNotNull(buffer, "The input buffer cannot be null");
+        Verifier.requireNotNull(format, "The binary format cannot be null");
+
+        INPUT = null;
+        BUFFER = buffer;
+        BYTES = null;
+        FORMAT = format;
+    }
+
+    /**
+     * Decodes the JSON tree encoded in the given bytes.
+     *
+     * @param bytes  The encoded bytes
+     * @param format The binary format of the bytes
+     * @return The root of the decoded JSON tree
+     * @throws IllegalArgumentException If the input is malformed
+     */
+    public static JSONValue decode(byte[] bytes, BinaryFormat format) {
+        return new BinaryJSONReader(ByteBuffer.wrap(bytes), format).readTree();
+    }
+
+    /**
+     * Reads the next JSON value as a {@link JSONValue} tree.
+     * <p>
+     * The tree is built without any recursion, so it can be arbitrarily deep.
+     *
+     * @return The root of the JSON tree
+     * @throws IllegalArgumentException If the input is malformed
+     */
+    public JSONValue readTree() {
+        JSONValue[] containers = new JSONValue[16];
+        int[] remaining = new int[16];
+        int depth = 0;
+
+        JSONValue root = null;
+        do {
+            String key = null, path = JSONValue.ROOT_PATH;
+            if (depth > 0) {
+                JSONValue parent = containers[depth - 1];
+                if (remaining[depth - 1] == 0) {
+                    depth--;
+                    continue;
+                }
+                if (next() == Type.END) {
+                    Verifier.requireTrue(remaining[depth - 1] < 0, "Malformed binary JSON: unexpected break");
+                    depth--;
+                    continue;
+                }
+                if (remaining[depth - 1] > 0)
+                    remaining[depth - 1]--;
+
+                if (parent.TYPE == JSONValue.ValueType.OBJECT) {
+                    key = JSONString.escape(keyValue()); // keys are stored escaped
+                    path = parent.PATH + "." + key;
+                    next();
+                } else
+                    path = parent.PATH + "[" + ((JSONArray) parent).numElements() + "]";
+            } else
+                next();
+
+            JSONValue value = currentValue(path);
+            if (depth == 0)
+                root = value;
+            else if (key != null)
+                ((JSONObject) containers[depth - 1]).modifyElement(key, value);
+            else
+                ((JSONArray) containers[depth - 1]).append(value);
+
+            if (type == Type.OBJECT || type == Type.ARRAY) {
+                if (depth == containers.length) {
+                    containers = Arrays.copyOf(containers, depth << 1);
+                    remaining = Arrays.copyOf(remaining, depth << 1);
+                }
+                containers[depth] = value;
+                remaining[depth++] = size;
+            }
+        } while (depth > 0);
+        return root;
+    }
+    /**
+     * Creates a {@link JSONValue} for the current item, which is empty if the item is an object or array.
+     *
+     * @param path The path of the value in the JSON tree
+     * @return The new value
+     */
+    private JSONValue currentValue(String path) {
+        switch (type) {
+            case OBJECT:
+                return new JSONObject(path);
+            case ARRAY:
+                return new JSONArray(path);
+            case STRING:
+                return JSONString.ofValue(stringValue, path);
+            case INTEGER:
+            case FLOAT:
+                return new JSONNumber(numberValue(), path);
+            case TRUE:
+                return new JSONPrimitive(true, path);
+            case FALSE:
+                return new JSONPrimitive(false, path);
+            case NULL:
+                return new JSONPrimitive((Boolean) null, path);
+
+            default:
+                throw new IllegalArgumentException("Malformed binary JSON: unexpected break");
+        }
+    }
+    /**
+     * Returns the current item as an object key.
+     *
+     * @return The key
+     * @throws IllegalArgumentException If the current item is neither a string nor an integer
+     */
+    String keyValue() {
+        if (type == Type.STRING)
+            return stringValue;
+        if (type == Type.INTEGER)
+            return numberValue().toString();
+        throw new IllegalArgumentException("Unsupported binary JSON object key: " + type);
+    }
+
+    /**
+     * Returns whether or not there is any more input to read.
+     *
+     * @return {@code true}, if there is more input; otherwise, {@code false}
+     */
+    public boolean hasNext() {
+        return BUFFER != null ? BUFFER.hasRemaining() : position < limit || fill();
+    }
+    /**
+     * Reads the next data item.
+     *
+     * @return The type of the item
+     * @throws IllegalArgumentException If the input is malformed or ends unexpectedly
+     */
+    public Type next() {
+        bigValue = null;
+        stringValue = null;
+        if (FORMAT == BinaryFormat.CBOR)
+            nextCBOR();
+        else
+            nextMessagePack();
+        return type;
+    }
+
+    /**
+     * Returns the type of the current item.
+     *
+     * @return The current type, or {@code null} if no item has been read yet
+     */
+    public Type currentType() {
+        return type;
+    }
+    /**
+     * Returns the number of key-value pairs or elements in the current object or array.
+     *
+     * @return The current size, or {@code -1} if the object or array has an indefinite size
+     */
+    public int size() {
+        return size;
+    }
+    /**
+     * Returns the current string.
+     *
+     * @return The current string
+     */
+    public String stringValue() {
+        return stringValue;
+    }
+    /**
+     * Returns the current integer as a {@code long}.
+     * <p>
+     * Integers that do not fit in a {@code long} are truncated to their lowest 64 bits.
+     *
+     * @return The current integer
+     */
+    public long longValue() {
+        return longValue;
+    }
+    /**
+     * Returns the current floating point number.
+     *
+     * @return The current floating point number
+     */
+    public double doubleValue() {
+        return doubleValue;
+    }
+    /**
+     * Returns the current number.
+     *
+     * @return A {@link Long} (or {@link BigInteger}, if it does not fit in a {@code long})
+     * for integers, or a {@link Double} for floating point numbers
+     */
+    public Number numberValue() {
+        if (type == Type.FLOAT)
+            return doubleValue;
+        return bigValue != null ? bigValue : (Number) longValue;
+    }
+
+    /**
+     * Reads the next CBOR data item.
+     */
+    private void nextCBOR() {
+        int initial;
+        while ((initial = readByte()) >>> 5 == 6)
+            readCBORArgument(initial & 31); // skip tags
+
+        int major = initial >>> 5, info = initial & 31;
+        if (major == 7) {
+            readCBORSimple(info);
+            return;
+        }
+
+        long argument = readCBORArgument(info);
+        boolean indefinite = info == 31;
+        Verifier.requireTrue(!indefinite || major >= 2, "Malformed CBOR: integers cannot have an indefinite length");
+        switch (major) {
+            case 0:
+                type = Type.INTEGER;
+                longValue = argument;
+                if (argument < 0)
+                    bigValue = BigInteger.valueOf(argument).add(UNSIGNED_LONG_LIMIT);
+                break;
+            case 1:
+                type = Type.INTEGER;
+                longValue = ~argument;
+                if (argument < 0)
+                    bigValue = BigInteger.valueOf(argument).add(UNSIGNED_LONG_LIMIT).not();
+                break;
+            case 2:
+            case 3:
+                type = Type.STRING;
+                if (!indefinite) {
+                    int length = checkedLength(argument);
+                    stringValue = major == 2 ? base64(readBytes(length), length) : utf8(length);
+                    break;
+                }
+
+                // indefinite-length strings are made up of definite-length chunks
+                ByteArrayOutputStream chunks = new ByteArrayOutputStream();
+                for (int chunk = readByte(); chunk != 0xFF; chunk = readByte()) {
+                    Verifier.requireTrue(chunk >>> 5 == major, "Malformed CBOR: invalid string chunk");
+                    Verifier.requireTrue((chunk & 31) != 31, "Malformed CBOR: nested indefinite-length string");
+                    long length = readCBORArgument(chunk & 31);
+                    chunks.write(readBytes(checkedLength(length)), 0, (int) length);
+                }
+                byte[] bytes = chunks.toByteArray();
+                stringValue = major == 2 ? base64(bytes, bytes.length) : new String(bytes, StandardCharsets.UTF_8);
+                break;
+            case 4:
+            case 5:
+                type = major == 4 ? Type.ARRAY : Type.OBJECT;
+                size = indefinite ? -1 : checkedLength(argument);
+                break;
+
+            default:
+                throw new IllegalStateException("Invalid CBOR major type " + major);
+        }
+    }
+    /**
+     * Reads the argument of a CBOR data item.
+     *
+     * @param info The additional information in the item's initial byte
+     * @return The argument (as an unsigned value), or {@code -1} if the item has an indefinite length
+     */
+    private long readCBORArgument(int info) {
+        if (info < 24)
+            return info;
+        switch (info) {
+            case 24:
+                return readByte();
+            case 25:
+                return readShort();
+            case 26:
+                return readInt() & 0xFFFFFFFFL;
+            case 27:
+                return readLong();
+            case 31:
+                return -1;
+
+            default:
+                throw new IllegalArgumentException("Malformed CBOR: invalid additional information " + info);
+        }
+    }
+    /**
+     * Reads a CBOR simple value or floating point number.
+     *
+     * @param info The additional information in the item's initial byte
+     */
+    private void readCBORSimple(int info) {
+        switch (info) {
+            case 20:
+                type = Type.FALSE;
+                break;
+            case 21:
+                type = Type.TRUE;
+                break;
+            case 22:
+            case 23:
+                type = Type.NULL;
+                break;
+            case 25:
+                type = Type.FLOAT;
+                doubleValue = halfToDouble(readShort());
+                break;
+            case 26:
+                type = Type.FLOAT;
+                doubleValue = Float.intBitsToFloat(readInt());
+                break;
+            case 27:
+                type = Type.FLOAT;
+                doubleValue = Double.longBitsToDouble(readLong());
+                break;
+            case 31:
+                type = Type.END;
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unsupported CBOR simple value " + info);
+        }
+    }
+    /**
+     * Converts an IEEE 754 half-precision number into a {@code double}.
+     *
+     * @param bits The bits of the half-precision number
+     * @return The equivalent {@code double}
+     */
+    private static double halfToDouble(int bits) {
+        int exponent = bits >> 10 & 0x1F, mantissa = bits & 0x3FF;
+        double value;
+        if (exponent == 0)
+            value = Math.scalb((double) mantissa, -24);
+        else if (exponent != 31)
+            value = Math.scalb((double) (mantissa + 1024), exponent - 25);
+        else
+            value = mantissa == 0 ? Double.POSITIVE_INFINITY : Double.NaN;
+        return (bits & 0x8000) != 0 ? -value : value;
+    }
+
+    /**
+     * Reads the next MessagePack data item.
+     */
+    private void nextMessagePack() {
+        int b = readByte();
+        if (b <= 0x7F || b >= 0xE0) {
+            type = Type.INTEGER;
+            longValue = (byte) b;
+            return;
+        }
+        if (b <= 0x9F) {
+            type = b <= 0x8F ? Type.OBJECT : Type.ARRAY;
+            size = b & 0x0F;
+            return;
+        }
+        if (b <= 0xBF) {
+            type = Type.STRING;
+            stringValue = utf8(b & 0x1F);
+            return;
+        }
+
+        switch (b) {
+            case 0xC0:
+                type = Type.NULL;
+                break;
+            case 0xC2:
+                type = Type.FALSE;
+                break;
+            case 0xC3:
+                type = Type.TRUE;
+                break;
+
+            case 0xC4:
+            case 0xC5:
+            case 0xC6:
+                type = Type.STRING;
+                int length = readMessagePackLength(b - 0xC4);
+                stringValue = base64(readBytes(length), length);
+                break;
+
+            case 0xCA:
+                type = Type.FLOAT;
+                doubleValue = Float.intBitsToFloat(readInt());
+                break;
+            case 0xCB:
+                type = Type.FLOAT;
+                doubleValue = Double.longBitsToDouble(readLong());
+                break;
+
+            case 0xCC:
+                type = Type.INTEGER;
+                longValue = readByte();
+                break;
+            case 0xCD:
+                type = Type.INTEGER;
+                longValue = readShort();
+                break;
+            case 0xCE:
+                type = Type.INTEGER;
+                longValue = readInt() & 0xFFFFFFFFL;
+                break;
+            case 0xCF:
+                type = Type.INTEGER;
+                longValue = readLong();
+                if (longValue < 0)
+                    bigValue = BigInteger.valueOf(longValue).add(UNSIGNED_LONG_LIMIT);
+                break;
+            case 0xD0:
+                type = Type.INTEGER;
+                longValue = (byte) readByte();
+                break;
+            case 0xD1:
+                type = Type.INTEGER;
+                longValue = (short) readShort();
+                break;
+            case 0xD2:
+                type = Type.INTEGER;
+                longValue = readInt();
+                break;
+            case 0xD3:
+                type = Type.INTEGER;
+                longValue = readLong();
+                break;
+
+            case 0xD9:
+            case 0xDA:
+            case 0xDB:
+                type = Type.STRING;
+                stringValue = utf8(readMessagePackLength(b - 0xD9));
+                break;
+
+            case 0xDC:
+            case 0xDD:
+                type = Type.ARRAY;
+                size = readMessagePackLength(b - 0xDC + 1);
+                break;
+            case 0xDE:
+            case 0xDF:
+                type = Type.OBJECT;
+                size = readMessagePackLength(b - 0xDE + 1);
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unsupported MessagePack type 0x" + Integer.toHexString(b));
+        }
+    }
+    /**
+     * Reads a MessagePack length.
+     *
+     * @param width The width of the length: {@code 0}, {@code 1}, and {@code 2} for 8, 16, and 32 bits
+     * @return The length
+     */
+    private int readMessagePackLength(int width) {
+        switch (width) {
+            case 0:
+                return readByte();
+            case 1:
+                return readShort();
+
+            default:
+                return checkedLength(readInt() & 0xFFFFFFFFL);
+        }
+    }
+
+    /**
+     * Verifies that the given length fits in an {@code int}.
+     *
+     * @param length The length
+     * @return The length, as an {@code int}
+     */
+    private static int checkedLength(long length) {
+        Verifier.requireTrue(0 <= length && length <= Integer.MAX_VALUE, "Binary JSON item is too large: " + length);
+        return (int) length;
+    }
+    /**
+     * Reads and decodes the given number of bytes of UTF-8 text.
+     *
+     * @param length The number of bytes
+     * @return The decoded text
+     */
+    private String utf8(int length) {
+        if (BUFFER != null && BUFFER.hasArray() && BUFFER.remaining() >= length) {
+            String s = new String(BUFFER.array(), BUFFER.arrayOffset() + BUFFER.position(), length, StandardCharsets.UTF_8);
+            BUFFER.position(BUFFER.position() + length);
+            return s;
+        }
+        if (BUFFER == null && limit - position >= length) {
+            String s = new String(BYTES, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return s;
+        }
+        return new String(readBytes(length), 0, length, StandardCharsets.UTF_8);
+    }
+    /**
+     * Encodes the given bytes as an unpadded base64url string.
+     *
+     * @param bytes  The bytes to encode (which may be longer than needed)
+     * @param length The number of bytes to encode
+     * @return The encoded string
+     */
+    private static String base64(byte[] bytes, int length) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(bytes, length));
+    }
+
+    /**
+     * Reads the given number of bytes into a scratch array.
+     * <p>
+     * The returned array is reused, so it is only valid until the next read.
+     * The array is only grown as the bytes actually arrive, so a length that
+     * is larger than the rest of the input never allocates more than the
+     * input itself.
+     *
+     * @param length The number of bytes
+     * @return An array that starts with the bytes that were read
+     */
+    private byte[] readBytes(int length) {
+        if (BUFFER != null) {
+            Verifier.requireTrue(BUFFER.remaining() >= length, "Malformed binary JSON: unexpected end of input");
+            if (scratch.length < length)
+                scratch = new byte[Math.max(length, scratch.length << 1)];
+            BUFFER.get(scratch, 0, length);
+            return scratch;
+        }
+        for (int read = 0; read < length; ) {
+            if (position == limit)
+                Verifier.requireTrue(fill(), "Malformed binary JSON: unexpected end of input");
+            int n = Math.min(length - read, limit - position);
+            if (scratch.length < read + n)
+                scratch = Arrays.copyOf(scratch, (int) Math.min(length, Math.max(read + n, (long) scratch.length << 1)));
+            System.arraycopy(BYTES, position, scratch, read, n);
+            position += n;
+            read += n;
+        }
+        return scratch;
+    }
+    private int readByte() {
+        if (BUFFER != null) {
+            Verifier.requireTrue(BUFFER.hasRemaining(), "Malformed binary JSON: unexpected end of input");
+            return BUFFER.get() & 0xFF;
+        }
+        if (position == limit)
+            Verifier.requireTrue(fill(), "Malformed binary JSON: unexpected end of input");
+        return BYTES[position++] & 0xFF;
+    }
+    private int readShort() {
+        return readByte() << 8 | readByte();
+    }
+    private int readInt() {
+        return readShort() << 16 | readShort();
+    }
+    private long readLong() {
+        return (long) readInt() << 32 | readInt() & 0xFFFFFFFFL;
+    }
+    /**
+     * Refills the internal buffer from the input stream.
+     *
+     * @return {@code true}, if any bytes were read; otherwise, {@code false}
+     * @throws IllegalStateException If an I/O error occurs
+     */
+    private boolean fill() {
+        try {
+            int n;
+            do {
+                n = INPUT.read(BYTES);
+            } while (n == 0);
+
+            position = 0;
+            limit = Math.max(n, 0);
+            return n > 0;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected error while reading binary JSON", e);
+        }
+    }
+
+    /**
+     * Closes the underlying input stream, if any.
+     *
+     * @throws IllegalStateException If an I/O error occurs
+     */
+    @Override
+    public void close() {
+        if (INPUT != null)
+            try {
+                INPUT.close();
+            } catch (IOException e) {
+                throw new IllegalStateException("Unexpected error while closing binary JSON input", e);
+            }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.binary;
+
+import io.github.utk003.json.scanner.Scanner;
+import io.github.utk003.json.traditional.node.JSONString;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A {@link Scanner} that reads CBOR or MessagePack input.
+ * <p>
+ * A {@code BinaryJSONScanner} returns exactly the same tokens that a
+ * {@link io.github.utk003.json.scanner.JSONScanner} would return for the
+ * equivalent JSON text, so it can be given to any of the parsers in
+ * {@link io.github.utk003.json.traditional.JSONParser} or to an
+ * {@link io.github.utk003.json.ooj.OOJParser} to bind POJOs directly
+ * from binary input. Strings are escaped as they would be in JSON text.
+ * <p>
+ * Every data item is decoded exactly once, and the scanner only keeps
+ * track of the currently open objects and arrays.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see BinaryJSONReader
+ * @see Scanner
+ */
+public class BinaryJSONScanner implements Scanner {
+    private enum State {
+        VALUE, COLON, NEXT, ELEMENT, DONE
+    }
+
+    private final BinaryJSONReader READER;
+
+    private long numTokens = 0L;
+    @Override
+    public long tokensPassed() {
+        return numTokens;
+    }
+
+    private String currentToken = "";
+
+    private State state = State.VALUE;
+    private boolean itemLoaded = false, firstElement = false;
+
+    private boolean[] isObject = new boolean[16];
+    private int[] remaining = new int[16];
+    private int depth = 0;
+
+    /**
+     * Creates a new {@code BinaryJSONScanner} bound to the given {@link InputStream}
+     * <p>
+     * The first token is loaded immediately.
+     *
+     * @param source The binary input
+     * @param format The binary format of the input
+     */
+    public BinaryJSONScanner(InputStream source, BinaryFormat format) {
+        this(new BinaryJSONReader(source, format), true);
+    }
+    /**
+     * Creates a new {@code BinaryJSONScanner} bound to the given {@link ByteBuffer}
+     * <p>
+     * The first token is loaded immediately.
+     *
+     * @param source The binary input
+     * @param format The binary format of the input
+     */
+    public BinaryJSONScanner(ByteBuffer source, BinaryFormat format) {
+        this(new BinaryJSONReader(source, format), true);
+    }
+    /**
+     * Creates a new {@code BinaryJSONScanner} that reads from the given {@link BinaryJSONReader}
+     *
+     * @param reader       The binary input
+     * @param advanceFirst Whether or not the first token should be
+     *                     loaded immediately (see {@link Scanner#advance()}
+     */
+    public BinaryJSONScanner(BinaryJSONReader reader, boolean advanceFirst) {
+        READER = reader;
+        if (advanceFirst)
+            advance();
+    }
+
+    @Override
+    public boolean hasMore() {
+        return state != State.DONE || itemLoaded || READER.hasNext();
+    }
+
+    @Override
+    public String current() {
+        return currentToken;
+    }
+    @Override
+    public String advance() {
+        numTokens++;
+        return currentToken = nextToken();
+    }
+
+    /**
+     * Returns the next token
+     * <p>
+     * This method is for internal use only
+     *
+     * @return The next token
+     */
+    private String nextToken() {
+        switch (state) {
+            case COLON:
+                state = State.VALUE;
+                return ":";
+
+            case NEXT:
+                if (!hasNextElement()) {
+                    firstElement = false;
+                    state = --depth == 0 ? State.DONE : State.NEXT;
+                    return isObject[depth] ? "}" : "]";
+                }
+                if (!firstElement) {
+                    state = State.ELEMENT;
+                    return ",";
+                }
+                return elementToken(); // the first element is not preceded by a comma
+
+            case ELEMENT:
+                return elementToken();
+
+            default:
+                return valueToken();
+        }
+    }
+    /**
+     * Returns the first token of the next element of the innermost open object or array,
+     * which is a key for objects and the start of a value for arrays
+     * <p>
+     * This method is for internal use only
+     *
+     * @return The first token of the element
+     */
+    private String elementToken() {
+        firstElement = false;
+        if (!isObject[depth - 1])
+            return valueToken();
+
+        loadItem();
+        state = State.COLON;
+        return '"' + JSONString.escape(READER.keyValue()) + '"';
+    }
+
+    /**
+     * Returns whether or not the innermost open object or array has any more
+     * elements, and consumes one of its remaining elements if it does.
+     * <p>
+     * This method is for internal use only
+     *
+     * @return {@code true}, if there is another element; otherwise, {@code false}
+     */
+    private boolean hasNextElement() {
+        int count = remaining[depth - 1];
+        if (count > 0) {
+            remaining[depth - 1]--;
+            return true;
+        }
+        if (count == 0)
+            return false;
+
+        // objects and arrays of indefinite size end with a break
+        loadItem();
+        if (READER.currentType() == BinaryJSONReader.Type.END) {
+            itemLoaded = false;
+            return false;
+        }
+        itemLoaded = true;
+        return true;
+    }
+    /**
+     * Makes the next data item the reader's current item, unless it was already read
+     * <p>
+     * This method is for internal use only
+     */
+    private void loadItem() {
+        if (itemLoaded)
+            itemLoaded = false;
+        else
+            READER.next();
+    }
+
+    /**
+     * Returns the token for the next value, opening a new object or array if needed
+     * <p>
+     * This method is for internal use only
+     *
+     * @return The value's token (or its first token)
+     */
+    private String valueToken() {
+        loadItem();
+        BinaryJSONReader.Type type = READER.currentType();
+        if (type == BinaryJSONReader.Type.OBJECT || type == BinaryJSONReader.Type.ARRAY) {
+            if (depth == remaining.length) {
+                isObject = Arrays.copyOf(isObject, depth << 1);
+                remaining = Arrays.copyOf(remaining, depth << 1);
+            }
+            isObject[depth] = type == BinaryJSONReader.Type.OBJECT;
+            remaining[depth++] = READER.size();
+
+            firstElement = true;
+            state = State.NEXT;
+            return type == BinaryJSONReader.Type.OBJECT ? "{" : "[";
+        }
+
+        state = depth == 0 ? State.DONE : State.NEXT;
+        switch (type) {
+            case STRING:
+                return '"' + JSONString.escape(READER.stringValue()) + '"';
+            case INTEGER:
+            case FLOAT:
+                return READER.numberValue().toString();
+            case TRUE:
+                return "true";
+            case FALSE:
+                return "false";
+            case NULL:
+                return "null";
+
+            default:
+                throw new IllegalArgumentException("Malformed binary JSON: unexpected break");
+        }
+    }
+
+    /**
+     * Returns the number of tokens returned so far and the current nesting depth
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return numTokens + " " + depth;
+    }
+}
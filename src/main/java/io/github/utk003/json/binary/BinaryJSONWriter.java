@@ -0,0 +1,491 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.binary;
+
+import io.github.utk003.json.traditional.node.*;
+import io.github.utk003.util.misc.Verifier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * A streaming writer that encodes JSON data as CBOR or MessagePack.
+ * <p>
+ * A {@code BinaryJSONWriter} can either write entire {@link JSONValue} trees
+ * with {@link #write(JSONValue)} or write a document one value at a time. In
+ * the latter case, {@link #writeStartObject(int)} and {@link #writeStartArray(int)}
+ * must be given the number of children of the object or array, and exactly that
+ * many children (or key-value pairs, for objects) must be written after them.
+ * <p>
+ * All output is buffered, so {@link #flush()} or {@link #close()} must be
+ * called once writing is done. If the output is a {@link ByteBuffer}, then a
+ * {@link java.nio.BufferOverflowException} is thrown whenever it runs out of space.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see BinaryFormat
+ * @see BinaryJSONReader
+ */
+public class BinaryJSONWriter implements Closeable, Flushable {
+    private static final BigInteger UNSIGNED_LONG_LIMIT = BigInteger.ONE.shiftLeft(64);
+
+    private final BinaryFormat FORMAT;
+    private final OutputStream OUTPUT;
+    private final ByteBuffer BUFFER;
+
+    private final byte[] BYTES = new byte[8192];
+    private int position = 0;
+
+    /**
+     * Creates a new {@code BinaryJSONWriter} that writes to the given {@link OutputStream}
+     *
+     * @param out    The output stream
+     * @param format The binary format to write
+     */
+    public BinaryJSONWriter(OutputStream out, BinaryFormat format) {
+        Verifier.requireNotNull(out, "The output stream cannot be null");
+        Verifier.requireNotNull(format, "The binary format cannot be null");
+
+        OUTPUT = out;
+        BUFFER = null;
+        FORMAT = format;
+    }
+    /**
+     * Creates a new {@code BinaryJSONWriter} that writes to the given {@link ByteBuffer},
+     * starting at the buffer's current position
+     *
+     * @param buffer The output buffer
+     * @param format The binary format to write
+     */
+    public BinaryJSONWriter(ByteBuffer buffer, BinaryFormat format) {
+        Verifier.requireNotNull(buffer, "The output buffer cannot be null");
+        Verifier.requireNotNull(format, "The binary format cannot be null");
+
+        OUTPUT = null;
+        BUFFER = buffer;
+        FORMAT = format;
+    }
+
+    /**
+     * Encodes the JSON tree rooted at the given {@link JSONValue} in the given format.
+     *
+     * @param value  The root of the JSON tree
+     * @param format The binary format to encode to
+     * @return The encoded bytes
+     */
+    public static byte[] encode(JSONValue value, BinaryFormat format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryJSONWriter writer = new BinaryJSONWriter(out, format)) {
+            writer.write(value);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes the JSON tree rooted at the given {@link JSONValue}.
+     * <p>
+     * The tree is walked with a {@link JSONCursor}, so it can be arbitrarily deep.
+     *
+     * @param value The root of the JSON tree
+     */
+    public void write(JSONValue value) {
+        JSONCursor cursor = new JSONCursor(value);
+        while (cursor.hasNext())
+            switch (cursor.next()) {
+                case START_OBJECT:
+                    writeStartObject(((JSONStorageElement<?>) cursor.currentValue()).numElements());
+                    break;
+                case START_ARRAY:
+                    writeStartArray(((JSONStorageElement<?>) cursor.currentValue()).numElements());
+                    break;
+                case KEY:
+                    writeString(JSONString.unescape(cursor.currentKey())); // keys are stored escaped
+                    break;
+                case VALUE:
+                    writeLeaf(cursor.currentValue());
+                    break;
+
+                default:
+                    break;
+            }
+    }
+    /**
+     * Writes a JSON string, number, or primitive.
+     *
+     * @param value The value to write
+     */
+    private void writeLeaf(JSONValue value) {
+        switch (value.TYPE) {
+            case STRING:
+                writeString(((JSONString) value).STRING);
+                break;
+            case NUMBER:
+                writeNumber(((JSONNumber) value).NUMBER);
+                break;
+            case PRIMITIVE:
+                Boolean bool = ((JSONPrimitive) value).VALUE;
+                if (bool == null)
+                    writeNull();
+                else
+                    writeBoolean(bool);
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unexpected JSON container " + value.PATH);
+        }
+    }
+
+    /**
+     * Writes the start of a JSON object with the given number of key-value pairs.
+     * <p>
+     * Each pair must then be written as a call to {@link #writeString(String)}
+     * for the key followed by the write call(s) for the value.
+     *
+     * @param size The number of key-value pairs in the object
+     */
+    public void writeStartObject(int size) {
+        Verifier.requireTrue(size >= 0, "The size of an object cannot be negative");
+        if (FORMAT == BinaryFormat.CBOR)
+            writeCBORHead(5, size);
+        else
+            writeMessagePackHead(size, 0x80, 16, 0xDE, 0xDF);
+    }
+    /**
+     * Writes the start of a JSON array with the given number of elements.
+     *
+     * @param size The number of elements in the array
+     */
+    public void writeStartArray(int size) {
+        Verifier.requireTrue(size >= 0, "The size of an array cannot be negative");
+        if (FORMAT == BinaryFormat.CBOR)
+            writeCBORHead(4, size);
+        else
+            writeMessagePackHead(size, 0x90, 16, 0xDC, 0xDD);
+    }
+
+    /**
+     * Writes a JSON string.
+     * <p>
+     * The string is written as UTF-8 text, without any escaping.
+     *
+     * @param s The string to write
+     */
+    public void writeString(String s) {
+        int length = utf8Length(s);
+        if (FORMAT == BinaryFormat.CBOR)
+            writeCBORHead(3, length);
+        else if (length < 32)
+            putByte(0xA0 | length);
+        else if (length <= 0xFF) {
+            putByte(0xD9);
+            putByte(length);
+        } else
+            writeMessagePackHead(length, 0, 0, 0xDA, 0xDB);
+        putUTF8(s);
+    }
+
+    /**
+     * Writes a JSON number.
+     * <p>
+     * Integral numbers (including {@link BigInteger}s that fit in 64 bits) are
+     * written as integers, and all other numbers are written as floating point values.
+     *
+     * @param n The number to write
+     */
+    public void writeNumber(Number n) {
+        if (n instanceof Long || n instanceof Integer || n instanceof Short || n instanceof Byte)
+            writeNumber(n.longValue());
+        else if (n instanceof BigInteger && ((BigInteger) n).bitLength() < 64)
+            writeNumber(n.longValue());
+        else if (n instanceof BigInteger && ((BigInteger) n).signum() > 0 && ((BigInteger) n).compareTo(UNSIGNED_LONG_LIMIT) < 0) {
+            // unsigned 64-bit integers are stored in the same bits as negative longs
+            putByte(FORMAT == BinaryFormat.CBOR ? 0x1B : 0xCF);
+            putLong(n.longValue());
+        } else
+            writeNumber(n.doubleValue());
+    }
+    /**
+     * Writes a JSON integer.
+     * <p>
+     * The integer is written in the fewest bytes that can hold it.
+     *
+     * @param n The integer to write
+     */
+    public void writeNumber(long n) {
+        if (FORMAT == BinaryFormat.CBOR) {
+            if (n >= 0)
+                writeCBORHead(0, n);
+            else
+                writeCBORHead(1, ~n);
+        } else if (-32 <= n && n < 128)
+            putByte((int) n); // positive or negative fixint
+        else if (n >= 0) {
+            if (n <= 0xFF) {
+                putByte(0xCC);
+                putByte((int) n);
+            } else if (n <= 0xFFFF) {
+                putByte(0xCD);
+                putShort((int) n);
+            } else if (n <= 0xFFFFFFFFL) {
+                putByte(0xCE);
+                putInt((int) n);
+            } else {
+                putByte(0xCF);
+                putLong(n);
+            }
+        } else if (n >= Byte.MIN_VALUE) {
+            putByte(0xD0);
+            putByte((int) n);
+        } else if (n >= Short.MIN_VALUE) {
+            putByte(0xD1);
+            putShort((int) n);
+        } else if (n >= Integer.MIN_VALUE) {
+            putByte(0xD2);
+            putInt((int) n);
+        } else {
+            putByte(0xD3);
+            putLong(n);
+        }
+    }
+    /**
+     * Writes a JSON floating point number.
+     * <p>
+     * The number is written in single precision whenever that does not lose any precision.
+     *
+     * @param n The number to write
+     */
+    public void writeNumber(double n) {
+        boolean cbor = FORMAT == BinaryFormat.CBOR;
+        if ((float) n == n || Double.isNaN(n)) {
+            putByte(cbor ? 0xFA : 0xCA);
+            putInt(Float.floatToIntBits((float) n));
+        } else {
+            putByte(cbor ? 0xFB : 0xCB);
+            putLong(Double.doubleToLongBits(n));
+        }
+    }
+
+    /**
+     * Writes a JSON boolean.
+     *
+     * @param b The boolean to write
+     */
+    public void writeBoolean(boolean b) {
+        if (FORMAT == BinaryFormat.CBOR)
+            putByte(b ? 0xF5 : 0xF4);
+        else
+            putByte(b ? 0xC3 : 0xC2);
+    }
+    /**
+     * Writes a JSON {@code null}.
+     */
+    public void writeNull() {
+        putByte(FORMAT == BinaryFormat.CBOR ? 0xF6 : 0xC0);
+    }
+
+    /**
+     * Writes a CBOR initial byte and its (unsigned) argument.
+     *
+     * @param major The major type
+     * @param value The argument
+     */
+    private void writeCBORHead(int major, long value) {
+        major <<= 5;
+        if (0 <= value && value < 24)
+            putByte(major | (int) value);
+        else if (0 <= value && value <= 0xFF) {
+            putByte(major | 24);
+            putByte((int) value);
+        } else if (0 <= value && value <= 0xFFFF) {
+            putByte(major | 25);
+            putShort((int) value);
+        } else if (0 <= value && value <= 0xFFFFFFFFL) {
+            putByte(major | 26);
+            putInt((int) value);
+        } else {
+            putByte(major | 27);
+            putLong(value);
+        }
+    }
+    /**
+     * Writes a MessagePack header for a map, array, or string of the given size.
+     *
+     * @param size     The size of the map, array, or string
+     * @param fixed    The base value of the format's single-byte ("fix") header
+     * @param fixLimit The (exclusive) maximum size of the single-byte header
+     * @param header16 The header byte of the format with a 16-bit size
+     * @param header32 The header byte of the format with a 32-bit size
+     */
+    private void writeMessagePackHead(int size, int fixed, int fixLimit, int header16, int header32) {
+        if (size < fixLimit)
+            putByte(fixed | size);
+        else if (size <= 0xFFFF) {
+            putByte(header16);
+            putShort(size);
+        } else {
+            putByte(header32);
+            putInt(size);
+        }
+    }
+
+    /**
+     * Returns the length of the UTF-8 encoding of the given string.
+     * <p>
+     * Unpaired surrogates are counted as a single byte, since they are written as {@code '?'}.
+     *
+     * @param s The string
+     * @return The length of its UTF-8 encoding
+     */
+    private static int utf8Length(String s) {
+        int length = s.length();
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    length += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c))
+                    length += 2;
+            } else if (c >= 0x80)
+                length++;
+        }
+        return length;
+    }
+    /**
+     * Writes the UTF-8 encoding of the given string.
+     *
+     * @param s The string
+     */
+    private void putUTF8(String s) {
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (position == BYTES.length)
+                    flushBuffer();
+                BYTES[position++] = (byte) c;
+                continue;
+            }
+
+            require(4);
+            if (c < 0x800) {
+                BYTES[position++] = (byte) (0xC0 | c >> 6);
+                BYTES[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (!Character.isSurrogate(c)) {
+                BYTES[position++] = (byte) (0xE0 | c >> 12);
+                BYTES[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                BYTES[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                BYTES[position++] = (byte) (0xF0 | codePoint >> 18);
+                BYTES[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                BYTES[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                BYTES[position++] = (byte) (0x80 | codePoint & 0x3F);
+            } else
+                BYTES[position++] = '?';
+        }
+    }
+
+    private void putByte(int b) {
+        if (position == BYTES.length)
+            flushBuffer();
+        BYTES[position++] = (byte) b;
+    }
+    private void putShort(int s) {
+        require(2);
+        BYTES[position++] = (byte) (s >> 8);
+        BYTES[position++] = (byte) s;
+    }
+    private void putInt(int i) {
+        require(4);
+        for (int shift = 24; shift >= 0; shift -= 8)
+            BYTES[position++] = (byte) (i >> shift);
+    }
+    private void putLong(long l) {
+        require(8);
+        for (int shift = 56; shift >= 0; shift -= 8)
+            BYTES[position++] = (byte) (l >> shift);
+    }
+    /**
+     * Makes sure that the internal buffer has space for the given number of bytes.
+     *
+     * @param bytes The number of bytes
+     */
+    private void require(int bytes) {
+        if (position + bytes > BYTES.length)
+            flushBuffer();
+    }
+    /**
+     * Writes out the contents of the internal buffer.
+     *
+     * @throws IllegalStateException If an I/O error occurs
+     */
+    private void flushBuffer() {
+        if (BUFFER != null)
+            BUFFER.put(BYTES, 0, position);
+        else
+            try {
+                OUTPUT.write(BYTES, 0, position);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unexpected error while writing binary JSON", e);
+            }
+        position = 0;
+    }
+
+    /**
+     * Writes out all buffered output and flushes the underlying output stream, if any.
+     *
+     * @throws IllegalStateException If an I/O error occurs
+     */
+    @Override
+    public void flush() {
+        flushBuffer();
+        if (OUTPUT != null)
+            try {
+                OUTPUT.flush();
+            } catch (IOException e) {
+                throw new IllegalStateException("Unexpected error while writing binary JSON", e);
+            }
+    }
+    /**
+     * Writes out all buffered output and closes the underlying output stream, if any.
+     *
+     * @throws IllegalStateException If an I/O error occurs
+     */
+    @Override
+    public void close() {
+        flush();
+        if (OUTPUT != null)
+            try {
+                OUTPUT.close();
+            } catch (IOException e) {
+                throw new IllegalStateException("Unexpected error while closing binary JSON output", e);
+            }
+    }
+}
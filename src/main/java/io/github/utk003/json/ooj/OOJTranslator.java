@@ -25,13 +25,10 @@ SOFTWARE.
 package io.github.utk003.json.ooj;
 
 import io.github.utk003.json.scanner.Scanner;
-import io.github.utk003.json.traditional.node.JSONStorageElement;
+import io.github.utk003.json.traditional.node.JSONCursor;
 import io.github.utk003.json.traditional.node.JSONValue;
-import io.github.utk003.util.data.tuple.immutable.ImmutablePair;
-import io.github.utk003.util.misc.Verifier;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.*;
 
 /**
  * A translator for converting traditional JSON trees
@@ -41,7 +38,7 @@ import java.util.*;
  * Both are roughly equivalent in terms of speed.
  *
  * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
- * @version February 23, 2021
+ * @version October 19, 2026
  * @see JSONValue
  * @see OOJParser
  */
@@ -90,24 +87,19 @@ public class OOJTranslator {
      * for use in re-parsing the JSON or in outputting the original JSON.
      *
      * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
-     * @version February 23, 2021
+     * @version October 19, 2026
      * @see Scanner
      * @see JSONValue
      */
     public static class JSONValueStreamer implements Scanner {
-        private LinkedList<JSONValue> topJSON;
-        private LinkedList<?> topKeysOrInds;
-        boolean topIsKeyNotIndex;
-
-        private final Stack<LinkedList<JSONValue>> JSON = new Stack<>();
-        private final Stack<LinkedList<?>> KEYS_OR_INDS = new Stack<>();
-        private final Stack<Boolean> IS_KEY_NOT_INDEX = new Stack<>();
-
-        private static <K> LinkedList<K> getSingletonLinkedList(K element) {
-            LinkedList<K> list = new LinkedList<>();
-            list.add(element);
-            return list;
-        }
+        private final JSONCursor CURSOR;
+
+        // tokens that have been produced but not yet streamed (at most a comma, a key, and a colon)
+        private final String[] QUEUE = new String[3];
+        private int queueStart = 0, queueEnd = 0;
+
+        // whether or not the next element is the first in its object or array
+        private boolean first = true;
 
         /**
          * Creates a new {@code JSONValueStreamer} that will stream
@@ -116,9 +108,7 @@ public class OOJTranslator {
          * @param root The root of the JSON tree to stream
          */
         public JSONValueStreamer(JSONValue root) {
-            JSON.push(topJSON = getSingletonLinkedList(root));
-            KEYS_OR_INDS.push(topKeysOrInds = getSingletonLinkedList(JSONValue.ROOT_PATH));
-            IS_KEY_NOT_INDEX.push(topIsKeyNotIndex = true);
+            CURSOR = new JSONCursor(root);
 
             currentToken = advance0();
             nextToken = advance0();
@@ -127,13 +117,6 @@ public class OOJTranslator {
         private String currentToken, nextToken;
         private long tokensPassed = 1;
 
-        // 0 = nothing so far
-        // 1 = returned key
-        // 2 = returned colon - ready for recursion into obj
-        // 3 = done with prev - return comma
-        private int keyState = 2;
-        private final Stack<Integer> KEY_STATES = new Stack<>();
-
         /**
          * Retrieves the next token from the JSON tree.
          * <p>
@@ -143,75 +126,61 @@ public class OOJTranslator {
          * @return The next token to be streamed
          */
         private String advance0() {
-            if (topJSON.isEmpty()) {
-                JSON.pop();
-                KEYS_OR_INDS.pop();
-                IS_KEY_NOT_INDEX.pop();
-
-                if (JSON.isEmpty())
-                    return null;
-
-                boolean oldTopIsKeyNotIndex = topIsKeyNotIndex;
-
-                topJSON = JSON.peek();
-                topKeysOrInds = KEYS_OR_INDS.peek();
-                topIsKeyNotIndex = IS_KEY_NOT_INDEX.peek();
-                keyState = KEY_STATES.pop();
-
-                topJSON.removeFirst();
-                topKeysOrInds.removeFirst();
-
-                return oldTopIsKeyNotIndex ? "}" : "]";
-            }
+            if (queueStart != queueEnd)
+                return QUEUE[queueStart++];
+            if (!CURSOR.hasNext())
+                return null;
 
-            switch (keyState) {
-                case 0:
-                    keyState = 1;
-                    return "\"" + topKeysOrInds.getFirst() + "\"";
-                case 1:
-                    keyState = 2;
-                    return ":";
-                case 2:
-                    keyState = 3;
-                    break;
-                case 3:
-                    keyState = topIsKeyNotIndex ? 0 : 2; // !null -> object = 0, null -> array = 2
+            queueStart = queueEnd = 0;
+            switch (CURSOR.next()) {
+                case START_OBJECT:
+                    return startElement("{", true);
+
+                case START_ARRAY:
+                    return startElement("[", true);
+
+                case END_OBJECT:
+                    first = false;
+                    return "}";
+
+                case END_ARRAY:
+                    first = false;
+                    return "]";
+
+                case KEY:
+                    String key = "\"" + CURSOR.currentKey() + "\"";
+                    if (first) {
+                        QUEUE[queueEnd++] = ":";
+                        first = false;
+                        return key;
+                    }
+                    QUEUE[queueEnd++] = key;
+                    QUEUE[queueEnd++] = ":";
                     return ",";
 
+                case VALUE:
+                    return startElement(CURSOR.currentValue().toString(), false);
+
                 default:
                     throw new IllegalStateException("unexpected error while translating JSON");
             }
+        }
+        /**
+         * Produces the tokens for the start of an element, which
+         * are preceded by a comma if the element is in an array
+         * and is not the first element in that array.
+         *
+         * @param token       The first token of the element itself
+         * @param isContainer Whether or not the element is an object or an array
+         * @return The next token to be streamed
+         */
+        private String startElement(String token, boolean isContainer) {
+            first = isContainer;
+            if (CURSOR.currentIndex() <= 0)
+                return token;
 
-            // if here, we need to recurse to the next layer
-            JSONValue json = topJSON.getFirst();
-            if (json.TYPE == JSONValue.ValueType.OBJECT || json.TYPE == JSONValue.ValueType.ARRAY) {
-                ImmutablePair<? extends LinkedList<?>, LinkedList<JSONValue>> keyJSONPair =
-                        ((JSONStorageElement<?>) json).getElementsAsPairedLists();
-                Verifier.requireEqual(
-                        keyJSONPair.FIRST.size(), keyJSONPair.SECOND.size(),
-                        "JSONStorageElement data mismatch: number of keys doesn't match number of JSON child nodes"
-                );
-
-                JSON.push(topJSON = keyJSONPair.SECOND);
-                KEYS_OR_INDS.push(topKeysOrInds = keyJSONPair.FIRST);
-                IS_KEY_NOT_INDEX.push(topIsKeyNotIndex = json.TYPE == JSONValue.ValueType.OBJECT);
-
-                KEY_STATES.push(keyState);
-
-                if (topIsKeyNotIndex) {
-                    keyState = 0;
-                    return "{";
-                } else {
-                    keyState = 2;
-                    return "[";
-                }
-
-            } else {
-                topJSON.removeFirst();
-                topKeysOrInds.removeFirst();
-
-                return json.toString();
-            }
+            QUEUE[queueEnd++] = token;
+            return ",";
         }
 
         /**
@@ -30,7 +30,9 @@ import io.github.utk003.json.traditional.node.*;
 import io.github.utk003.util.misc.Verifier;
 
 import java.io.InputStream;
-import java.util.Stack;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 import static io.github.utk003.json.traditional.node.JSONValue.ROOT_PATH;
 
@@ -39,13 +41,18 @@ import static io.github.utk003.json.traditional.node.JSONValue.ROOT_PATH;
  * some form of {@link Scanner} or {@code Scanner}-accepted input format.
  * <p>
  * This parser provides both recursive and non-recursive implementations
- * for parsing JSON. Both are roughly equivalent in terms of speed.
+ * for parsing JSON. The non-recursive implementation is the faster of the two,
+ * and it is not limited by the depth of the method-call stack.
+ * It additionally provides a lazy implementation, which defers building
+ * the children of objects and arrays until they are first accessed, a
+ * parallel implementation, which builds large trees with multiple threads,
+ * and an off-heap implementation, which stores the tree outside of the heap.
  * <p>
  * For class-based OOJ parsing rather than tree-based parsing, check out the
  * {@link io.github.utk003.json.ooj} package.
  *
  * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
- * @version February 23, 2021
+ * @version October 19, 2026
  * @see JSONValue
  * @see Scanner
  * @see io.github.utk003.json.ooj
@@ -83,10 +90,11 @@ public class JSONParser {
     /**
      * Parses a {@link JSONValue} non-recursively from the given {@link InputStream}.
      * <p>
-     * This method's implementation is provided internally using {@link Stack}s to
-     * perform the same functionality as Java's internal method-call stack.
+     * This method's implementation is provided internally by an iterative state machine
+     * that keeps its own frame arrays in place of Java's internal method-call stack,
+     * so it can parse arbitrarily deeply nested JSON without overflowing the stack.
      * <p>
-     * Non-recursive parsing may improve speeds slightly over recursive-parsing due to
+     * Non-recursive parsing is usually faster than recursive parsing due to
      * fewer object instantiations, fewer garbage collections, and fewer method calls.
      *
      * @param source The input source for the JSON
@@ -99,10 +107,11 @@ public class JSONParser {
     /**
      * Parses a {@link JSONValue} non-recursively from the given {@link Scanner}.
      * <p>
-     * This method's implementation is provided internally using {@link Stack}s to
-     * perform the same functionality as Java's internal method-call stack.
+     * This method's implementation is provided internally by an iterative state machine
+     * that keeps its own frame arrays in place of Java's internal method-call stack,
+     * so it can parse arbitrarily deeply nested JSON without overflowing the stack.
      * <p>
-     * Non-recursive parsing may improve speeds slightly over recursive-parsing due to
+     * Non-recursive parsing is usually faster than recursive parsing due to
      * fewer object instantiations, fewer garbage collections, and fewer method calls.
      *
      * @param scanner The input source for the JSON as a {@code Scanner}
@@ -115,69 +124,266 @@ public class JSONParser {
         return parseNonRecursiveHelper(scanner);
     }
 
+    /**
+     * Parses a lazily-materialized {@link JSONValue} from the given {@link InputStream}.
+     * <p>
+     * This method's implementation is provided by {@link JSONValue#parseLazyJSON(Scanner)}.
+     * <p>
+     * Lazy parsing tokenizes the whole input up front but defers creating the
+     * children of every object and array until that container is first accessed.
+     * This can greatly reduce allocations when only a small part of a large JSON
+     * input is ever read.
+     *
+     * @param source The input source for the JSON
+     * @return The lazily-parsed {@code JSONValue} tree root
+     * @see JSONValue#parseLazyJSON(Scanner)
+     */
+    public static JSONValue parseLazy(InputStream source) {
+        return JSONValue.parseLazyJSON(new JSONScanner(source));
+    }
+    /**
+     * Parses a lazily-materialized {@link JSONValue} from the given {@link Scanner}.
+     * <p>
+     * This method directly wraps {@link JSONValue#parseLazyJSON(Scanner)}.
+     *
+     * @param scanner The input source for the JSON as a {@code Scanner}
+     * @return The lazily-parsed {@code JSONValue} tree root
+     * @see JSONValue#parseLazyJSON(Scanner)
+     * @see #parseLazy(InputStream)
+     */
+    public static JSONValue parseLazy(Scanner scanner) {
+        if (scanner.tokensPassed() == 0) scanner.advance();
+        Verifier.requireTrue(scanner.hasMore(), "The given scanner cannot be empty");
+        return JSONValue.parseLazyJSON(scanner);
+    }
+
+    /**
+     * Parses a {@link JSONValue} from the given {@link InputStream},
+     * building the tree with the threads of the given {@link ForkJoinPool}.
+     * <p>
+     * This method's implementation is provided by {@link JSONValue#parseParallelJSON(Scanner, ForkJoinPool)}.
+     * <p>
+     * Parallel parsing tokenizes the whole input up front and then builds the children
+     * of large objects and arrays as parallel fork-join tasks. This can greatly speed up
+     * parsing very large JSON inputs on machines with many cores, at the cost of
+     * keeping every token of the input in memory until the tree is built.
+     *
+     * @param source The input source for the JSON
+     * @param pool   The pool to build the tree in
+     * @return The parsed {@code JSONValue} tree root
+     * @see JSONValue#parseParallelJSON(Scanner, ForkJoinPool)
+     */
+    public static JSONValue parseParallel(InputStream source, ForkJoinPool pool) {
+        return JSONValue.parseParallelJSON(new JSONScanner(source), pool);
+    }
+    /**
+     * Parses a {@link JSONValue} from the given {@link Scanner},
+     * building the tree with the threads of the given {@link ForkJoinPool}.
+     * <p>
+     * This method directly wraps {@link JSONValue#parseParallelJSON(Scanner, ForkJoinPool)}.
+     *
+     * @param scanner The input source for the JSON as a {@code Scanner}
+     * @param pool    The pool to build the tree in
+     * @return The parsed {@code JSONValue} tree root
+     * @see JSONValue#parseParallelJSON(Scanner, ForkJoinPool)
+     * @see #parseParallel(InputStream, ForkJoinPool)
+     */
+    public static JSONValue parseParallel(Scanner scanner, ForkJoinPool pool) {
+        if (scanner.tokensPassed() == 0) scanner.advance();
+        Verifier.requireTrue(scanner.hasMore(), "The given scanner cannot be empty");
+        return JSONValue.parseParallelJSON(scanner, pool);
+    }
+
+    /**
+     * Parses an {@link OffHeapJSONDocument} from the given {@link InputStream},
+     * storing the whole tree in direct (off-heap) memory.
+     * <p>
+     * This method's implementation is provided by {@link OffHeapJSONDocument#load(Scanner)}.
+     * <p>
+     * Off-heap parsing keeps the parsed tree out of the Java heap entirely, so
+     * very large, read-only documents can be loaded without growing the heap or
+     * adding GC pressure. The returned document should be closed when it is no
+     * longer needed.
+     *
+     * @param source The input source for the JSON
+     * @return The parsed off-heap document
+     * @see OffHeapJSONDocument#load(Scanner)
+     */
+    public static OffHeapJSONDocument parseOffHeap(InputStream source) {
+        return OffHeapJSONDocument.load(new JSONScanner(source));
+    }
+    /**
+     * Parses an {@link OffHeapJSONDocument} from the given {@link Scanner},
+     * storing the whole tree in direct (off-heap) memory.
+     * <p>
+     * This method directly wraps {@link OffHeapJSONDocument#load(Scanner)}.
+     *
+     * @param scanner The input source for the JSON as a {@code Scanner}
+     * @return The parsed off-heap document
+     * @see OffHeapJSONDocument#load(Scanner)
+     * @see #parseOffHeap(InputStream)
+     */
+    public static OffHeapJSONDocument parseOffHeap(Scanner scanner) {
+        if (scanner.tokensPassed() == 0) scanner.advance();
+        Verifier.requireTrue(scanner.hasMore(), "The given scanner cannot be empty");
+        return OffHeapJSONDocument.load(scanner);
+    }
+    /**
+     * Parses an {@link OffHeapJSONDocument} from the given {@link InputStream},
+     * storing the whole tree in a memory-mapped file at the given path.
+     * <p>
+     * This method's implementation is provided by {@link OffHeapJSONDocument#load(Scanner, Path)}.
+     *
+     * @param source The input source for the JSON
+     * @param file   The path of the backing file
+     * @return The parsed off-heap document
+     * @see OffHeapJSONDocument#load(Scanner, Path)
+     */
+    public static OffHeapJSONDocument parseOffHeap(InputStream source, Path file) {
+        return OffHeapJSONDocument.load(new JSONScanner(source), file);
+    }
+    /**
+     * Parses an {@link OffHeapJSONDocument} from the given {@link Scanner},
+     * storing the whole tree in a memory-mapped file at the given path.
+     * <p>
+     * This method directly wraps {@link OffHeapJSONDocument#load(Scanner, Path)}.
+     *
+     * @param scanner The input source for the JSON as a {@code Scanner}
+     * @param file    The path of the backing file
+     * @return The parsed off-heap document
+     * @see OffHeapJSONDocument#load(Scanner, Path)
+     * @see #parseOffHeap(InputStream, Path)
+     */
+    public static OffHeapJSONDocument parseOffHeap(Scanner scanner, Path file) {
+        if (scanner.tokensPassed() == 0) scanner.advance();
+        Verifier.requireTrue(scanner.hasMore(), "The given scanner cannot be empty");
+        return OffHeapJSONDocument.load(scanner, file);
+    }
+
     /**
      * The non-recursive JSON parsing helper method
+     * <p>
+     * This method parses the JSON with an explicit state machine instead of the method-call
+     * stack. Each open object or array is a frame in a set of preallocated, growable parallel
+     * arrays (the container itself, whether or not it is an object, its number of children so
+     * far, and the length of its path), so no per-token boxing or collection operations are
+     * needed. Paths are built in a single shared {@link StringBuilder} that is truncated back
+     * to the parent's path length for every new child.
      *
      * @param scanner The input source as a {@link Scanner}
      * @return The parsed {@link JSONValue} tree root
+     * @throws IllegalArgumentException If the JSON is malformed
      * @see #parseNonRecursive(InputStream)
      * @see #parseNonRecursive(Scanner)
      */
     private static JSONValue parseNonRecursiveHelper(Scanner scanner) {
-        Stack<JSONValue> stack = new Stack<>();
-        Stack<String> strStack = new Stack<>(), pathTracker = new Stack<>();
-        Stack<Integer> numElementsStack = new Stack<>();
-
-        stack.push(getElement(scanner.current(), ROOT_PATH));
-        strStack.push(null);
-        pathTracker.push(ROOT_PATH);
-        numElementsStack.push(1);
-
-        JSONValue.ValueType type = stack.peek().TYPE;
-        boolean justAddedStorageElement = type == JSONValue.ValueType.OBJECT || type == JSONValue.ValueType.ARRAY;
-        numElementsStack.push(0);
-
-        while (scanner.hasMore()) {
-            String str = scanner.advance(), key;
-            char c = str.charAt(0);
-
-            if (c == '}' || c == ']' || c == ',') {
-                if (justAddedStorageElement)
-                    justAddedStorageElement = false;
-                else {
-                    JSONValue element = stack.pop();
-                    //noinspection unchecked
-                    ((JSONStorageElement<Object>) stack.peek()).modifyElement(strStack.pop(), element);
-                    pathTracker.pop(); // remove path from stack
-                    numElementsStack.pop(); // clear num elements counter
+        JSONValue root = getElement(requireValue(scanner.current()), ROOT_PATH);
+        if (!isStorageElement(root))
+            return root;
+
+        JSONValue[] containers = new JSONValue[16];
+        boolean[] isObject = new boolean[16];
+        int[] counts = new int[16], pathLengths = new int[16];
+        StringBuilder path = new StringBuilder(64).append(ROOT_PATH);
+
+        containers[0] = root;
+        isObject[0] = root.TYPE == JSONValue.ValueType.OBJECT;
+        pathLengths[0] = path.length();
+        int depth = 1;
+
+        while (depth > 0) {
+            int top = depth - 1;
+            boolean object = isObject[top];
+            char close = object ? '}' : ']';
+
+            String token = nextToken(scanner);
+            char c = token.charAt(0);
+            if (counts[top] > 0) {
+                if (c == ',') {
+                    c = (token = nextToken(scanner)).charAt(0);
+                    Verifier.requireTrue(c != close, object
+                            ? "Malformed JSON Object: trailing commas are not allowed"
+                            : "Malformed JSON Array: trailing commas are not allowed");
+                } else {
+                    Verifier.requireTrue(c == close, object
+                            ? "Malformed JSON Object: elements should be separated by commas (,)"
+                            : "Malformed JSON Array: elements should be separated by commas (,)");
+                    containers[top] = null;
+                    depth = top;
+                    continue;
                 }
+            } else if (c == close) {
+                containers[top] = null;
+                depth = top;
                 continue;
             }
 
-            if (stack.peek().TYPE == JSONValue.ValueType.OBJECT) {
-                key = str.substring(1, str.length() - 1); // str contains key for JSONValue
-                scanner.advance(); // skip colon
-                str = scanner.advance(); // s.advance() gets first token of nested element
+            path.setLength(pathLengths[top]);
+            JSONValue element;
+            if (object) {
+                Verifier.requireTrue(c == '"', "Malformed JSON Object: keys should be strings");
+                String key = token.substring(1, token.length() - 1); // remove quotes from key
+                Verifier.requireEqual(nextToken(scanner), ":", "Malformed JSON Object: key should be followed by a colon (:)");
+                element = getElement(requireValue(nextToken(scanner)), path.append('.').append(key).toString());
+                ((JSONObject) containers[top]).modifyElement(key, element);
             } else {
-                key = null;
-                // str contains first token of nested element
+                element = getElement(requireValue(token), path.append('[').append(counts[top]).append(']').toString());
+                ((JSONArray) containers[top]).append(element);
             }
+            counts[top]++;
 
-            int currIndex = numElementsStack.pop();
-            numElementsStack.push(currIndex + 1);
-
-            String path = pathTracker.peek() + (key == null ? "[" + currIndex + "]" : "." + key);
-            JSONValue element = getElement(str, path);
+            if (isStorageElement(element)) {
+                if (depth == containers.length) {
+                    int length = depth << 1;
+                    containers = Arrays.copyOf(containers, length);
+                    isObject = Arrays.copyOf(isObject, length);
+                    counts = Arrays.copyOf(counts, length);
+                    pathLengths = Arrays.copyOf(pathLengths, length);
+                }
+                containers[depth] = element;
+                isObject[depth] = element.TYPE == JSONValue.ValueType.OBJECT;
+                counts[depth] = 0;
+                pathLengths[depth] = path.length();
+                depth++;
+            }
+        }
+        return root;
+    }
 
-            strStack.push(key);
-            stack.push(element);
+    /**
+     * Advances the given {@link Scanner} to its next token.
+     *
+     * @param scanner The input source as a {@code Scanner}
+     * @return The next token
+     * @throws IllegalArgumentException If the input has no more tokens
+     */
+    private static String nextToken(Scanner scanner) {
+        Verifier.requireTrue(scanner.hasMore(), "Malformed JSON: input ended before all objects and arrays were closed");
+        return scanner.advance();
+    }
 
-            pathTracker.push(path);
-            numElementsStack.push(0);
+    /**
+     * Checks that the given token can start a JSON value.
+     *
+     * @param token The token to check
+     * @return The token
+     * @throws IllegalArgumentException If the token is a separator or closes an object or array
+     */
+    private static String requireValue(String token) {
+        char c = token.charAt(0);
+        if (c == '}' || c == ']' || c == ',' || c == ':')
+            throw new IllegalArgumentException("Malformed JSON: expected a value but found \"" + token + "\"");
+        return token;
+    }
 
-            justAddedStorageElement = element.TYPE == JSONValue.ValueType.OBJECT || element.TYPE == JSONValue.ValueType.ARRAY;
-        }
-        return stack.peek();
+    /**
+     * Checks whether or not the given {@link JSONValue} is an object or an array.
+     *
+     * @param value The {@code JSONValue} to check
+     * @return {@code true} if the value is an object or an array; otherwise, {@code false}
+     */
+    private static boolean isStorageElement(JSONValue value) {
+        return value.TYPE == JSONValue.ValueType.OBJECT || value.TYPE == JSONValue.ValueType.ARRAY;
     }
 
     /**
@@ -0,0 +1,272 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import io.github.utk003.util.data.tuple.immutable.ImmutablePair;
+
+import java.util.Collection;
+import java.util.function.BiFunction;
+
+/**
+ * A JSON document that can be safely read and modified by many threads at once.
+ * <p>
+ * Every object in a {@code ConcurrentJSONDocument} is a concurrent {@link JSONObject},
+ * backed by a {@link java.util.concurrent.ConcurrentHashMap}, and every array is a
+ * concurrent {@link JSONArray}, backed by a {@link java.util.concurrent.CopyOnWriteArrayList}.
+ * Readers (including {@link #findElements(String)}) therefore never block, and writers
+ * only ever lock the single object key or array they are modifying, so updates to
+ * unrelated parts of the document proceed in parallel.
+ * <p>
+ * Modifications are addressed by concrete paths in the same format as
+ * {@link JSONValue#findElements(String)}, optionally starting with
+ * {@link JSONValue#ROOT_PATH}. Wildcards are not allowed in these paths.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see JSONObject#JSONObject(String, boolean)
+ * @see JSONArray#JSONArray(String, boolean)
+ */
+public class ConcurrentJSONDocument {
+    private final JSONValue ROOT;
+
+    /**
+     * Creates a new {@code ConcurrentJSONDocument} holding a
+     * concurrent copy of the JSON tree rooted at the specified root.
+     *
+     * @param root The root of the JSON tree
+     * @see #toConcurrent(JSONValue)
+     */
+    public ConcurrentJSONDocument(JSONValue root) {
+        ROOT = toConcurrent(root);
+    }
+
+    /**
+     * Returns the root of this document's JSON tree.
+     *
+     * @return This document's root
+     */
+    public JSONValue getRoot() {
+        return ROOT;
+    }
+
+    /**
+     * Returns all elements in this document whose path matches the target path.
+     * <p>
+     * This method never blocks, even while other threads are modifying the document.
+     *
+     * @param path The target path along the JSON tree
+     * @return A {@code Collection} of all {@code JSONValue}s whose path matches the target path
+     * @see JSONValue#findElements(String)
+     */
+    public Collection<JSONValue> findElements(String path) {
+        return ROOT.findElements(path);
+    }
+    /**
+     * Returns the element at the specified concrete path in this document.
+     *
+     * @param path The concrete path of the element
+     * @return The element at that path, if it exists; otherwise, {@code null}
+     * @throws IllegalArgumentException If the path contains a wildcard
+     */
+    public JSONValue getElement(String path) {
+        JSONValue.PathTrace[] trace = JSONValue.tokenizeConcretePath(path);
+        JSONValue element = ROOT;
+        for (int i = 0; element != null && i < trace.length; i++)
+            element = child(element, trace[i]);
+        return element;
+    }
+
+    /**
+     * Atomically inserts the specified value at the specified path
+     * if and only if the parent object does not already have that key.
+     * <p>
+     * The value is inserted as a concurrent copy whose nodes have their paths in this
+     * document, unless it is already a concurrent tree with the correct root path.
+     *
+     * @param path  The concrete path to insert at, whose last step must be an object key
+     * @param value The value to insert
+     * @return The existing element at that path, if it exists; otherwise, {@code null}
+     * @throws IllegalArgumentException If the path is invalid or its parent is not an object
+     */
+    public JSONValue putIfAbsent(String path, JSONValue value) {
+        ImmutablePair<JSONValue, JSONValue.PathTrace> parent = resolveParent(path);
+        if (parent.SECOND.KEY == null || !(parent.FIRST instanceof JSONObject))
+            throw new IllegalArgumentException("The parent of \"" + path + "\" is not a JSON object");
+        String childPath = parent.FIRST.PATH + "." + parent.SECOND.KEY;
+        return ((JSONObject) parent.FIRST).putIfAbsent(parent.SECOND.KEY, toConcurrent(value, childPath));
+    }
+    /**
+     * Atomically recomputes the element at the specified path.
+     * <p>
+     * The function is given the canonical path of the element (for use as the
+     * {@link JSONValue#PATH} of any new node) and the element's current value
+     * (or {@code null}, if it does not exist). The new element is stored as a concurrent
+     * copy whose nodes have their paths in this document, unless it is already a concurrent
+     * tree with the correct root path. If the element's parent is an object,
+     * then returning {@code null} removes the element. If the parent is an array,
+     * then the path may also point one past the array's last index to append.
+     *
+     * @param path     The concrete path of the element to recompute
+     * @param function The function that computes the new element
+     * @return The new element at that path, if it exists; otherwise, {@code null}
+     * @throws IllegalArgumentException If the path is invalid
+     */
+    public JSONValue compute(String path, BiFunction<String, JSONValue, JSONValue> function) {
+        ImmutablePair<JSONValue, JSONValue.PathTrace> parent = resolveParent(path);
+        JSONValue parentElement = parent.FIRST;
+        JSONValue.PathTrace step = parent.SECOND;
+
+        if (step.KEY != null) {
+            if (!(parentElement instanceof JSONObject))
+                throw new IllegalArgumentException("The parent of \"" + path + "\" is not a JSON object");
+            String childPath = parentElement.PATH + "." + step.KEY;
+            return ((JSONObject) parentElement).compute(
+                    step.KEY, (key, old) -> toConcurrent(function.apply(childPath, old), childPath)
+            );
+        } else {
+            if (!(parentElement instanceof JSONArray))
+                throw new IllegalArgumentException("The parent of \"" + path + "\" is not a JSON array");
+            String childPath = parentElement.PATH + "[" + step.INDEX + "]";
+            return ((JSONArray) parentElement).compute(
+                    step.INDEX, (index, old) -> toConcurrent(function.apply(childPath, old), childPath)
+            );
+        }
+    }
+    /**
+     * Atomically appends the specified value to the array at the specified path.
+     * <p>
+     * The value is appended as a concurrent copy whose nodes have their paths in this
+     * document, unless it is already a concurrent tree with the correct root path.
+     *
+     * @param arrayPath The concrete path of the array
+     * @param value     The value to append
+     * @return The index the value was inserted at
+     * @throws IllegalArgumentException If the path does not point to an array
+     */
+    public int append(String arrayPath, JSONValue value) {
+        JSONValue array = getElement(arrayPath);
+        if (!(array instanceof JSONArray))
+            throw new IllegalArgumentException("\"" + arrayPath + "\" is not a JSON array");
+        return ((JSONArray) array).appendComputed(index -> toConcurrent(value, array.PATH + "[" + index + "]"));
+    }
+
+    /**
+     * Returns a concurrent version of the JSON tree rooted at the specified value.
+     * <p>
+     * Strings, numbers, and primitives are immutable and are returned as is.
+     * Objects and arrays that are already concurrent are also returned as is;
+     * all other objects and arrays are deeply copied into concurrent containers.
+     *
+     * @param value The root of the JSON tree to convert
+     * @return The concurrent JSON tree, or {@code null} if the argument is {@code null}
+     */
+    public static JSONValue toConcurrent(JSONValue value) {
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            if (object.isConcurrent())
+                return object;
+
+            JSONObject copy = new JSONObject(object.PATH, true);
+            JSONStorageElement.ElementIterator it = object.elementIterator();
+            while (it.advance())
+                copy.modifyElement(it.key(), toConcurrent(it.value()));
+            return copy;
+        }
+
+        if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            if (array.isConcurrent())
+                return array;
+
+            JSONArray copy = new JSONArray(array.PATH, true);
+            for (JSONValue element : array.getElements())
+                copy.append(toConcurrent(element));
+            return copy;
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns a concurrent version of the JSON tree rooted at the specified value,
+     * with the specified root path.
+     * <p>
+     * The value is returned as is if it is already a concurrent tree (or an immutable
+     * string, number, or primitive) with the specified path. Otherwise, it is deeply
+     * copied, so that every node in the copy has its correct path in the new tree.
+     *
+     * @param value The root of the JSON tree to convert
+     * @param path  The path of the converted tree's root
+     * @return The concurrent JSON tree, or {@code null} if the value is {@code null}
+     */
+    private static JSONValue toConcurrent(JSONValue value, String path) {
+        if (value == null)
+            return null;
+        boolean concurrent = value instanceof JSONObject ? ((JSONObject) value).isConcurrent()
+                : value instanceof JSONArray ? ((JSONArray) value).isConcurrent()
+                : !(value instanceof JSONStorageElement);
+        return concurrent && value.PATH.equals(path) ? value : JSONValue.copy(value, path, true);
+    }
+
+    /**
+     * Returns the child of the specified element identified by the specified path step.
+     *
+     * @param element The parent element
+     * @param step    The key or index of the child
+     * @return The child, if it exists; otherwise, {@code null}
+     */
+    private static JSONValue child(JSONValue element, JSONValue.PathTrace step) {
+        if (step.KEY != null)
+            return element instanceof JSONObject ? ((JSONObject) element).getElement(step.KEY) : null;
+
+        if (!(element instanceof JSONArray))
+            return null;
+        try {
+            // the array can shrink at any time, so its length cannot be checked in advance
+            return ((JSONArray) element).getElement(step.INDEX);
+        } catch (IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+    /**
+     * Resolves the parent of the element at the specified concrete path.
+     *
+     * @param path The concrete path of the element
+     * @return The parent element and the final step of the path
+     * @throws IllegalArgumentException If the path is the root path or its parent does not exist
+     */
+    private ImmutablePair<JSONValue, JSONValue.PathTrace> resolveParent(String path) {
+        JSONValue.PathTrace[] trace = JSONValue.tokenizeConcretePath(path);
+        int last = trace.length - 1;
+        if (last < 0)
+            throw new IllegalArgumentException("The root of a ConcurrentJSONDocument cannot be modified");
+
+        JSONValue element = ROOT;
+        for (int i = 0; i < last; i++)
+            if ((element = child(element, trace[i])) == null)
+                throw new IllegalArgumentException("The parent of \"" + path + "\" does not exist");
+        return new ImmutablePair<>(element, trace[last]);
+    }
+}
@@ -26,9 +26,13 @@ package io.github.utk003.json.traditional.node;
 
 import io.github.utk003.json.scanner.Scanner;
 import io.github.utk003.util.data.tuple.immutable.ImmutablePair;
+import io.github.utk003.util.misc.Verifier;
 
 import java.io.PrintStream;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
 
 /**
  * A {@link JSONValue} that represents a JSON array.
@@ -37,12 +41,23 @@ import java.util.*;
  * a parameter type of {@code Integer}.
  *
  * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
- * @version February 23, 2021
+ * @version October 19, 2026
  * @see JSONValue
  * @see JSONStorageElement
  */
 public class JSONArray extends JSONValue implements JSONStorageElement<Integer> {
-    private final List<JSONValue> ELEMENTS = new ArrayList<>();
+    private final List<JSONValue> ELEMENTS;
+
+    private volatile LazyJSONSource lazySource;
+    private final int LAZY_START;
+
+    private final boolean CONCURRENT, FROZEN, MEMOIZE_STRING;
+    private volatile int cachedHash = 0;
+    private volatile long cachedFingerprint = 0L;
+    private volatile long[] cachedKeySummary = null;
+    private volatile String cachedString = null;
+    private volatile JSONIndex[] indexes = null;
+    private volatile JSONChangeListeners listeners = null;
 
     /**
      * Creates a new {@code JSONArray} with the specified path in the JSON tree.
@@ -50,7 +65,63 @@ public class JSONArray extends JSONValue implements JSONStorageElement<Integer>
      * @param path This node's path in the JSON tree
      */
     public JSONArray(String path) {
+        this(path, false);
+    }
+    /**
+     * Creates a new {@code JSONArray} with the specified path in the JSON tree.
+     * <p>
+     * If the {@code concurrent} argument is {@code true}, then this array's
+     * elements are stored in a {@link CopyOnWriteArrayList}, which allows any
+     * number of threads to read this array without ever blocking. Modifications
+     * to a concurrent array are serialized by a lock private to this array, so
+     * writers to other arrays or objects are never blocked.
+     *
+     * @param path       This node's path in the JSON tree
+     * @param concurrent Whether or not this array should support concurrent modification
+     * @see ConcurrentJSONDocument
+     */
+    public JSONArray(String path, boolean concurrent) {
+        super(ValueType.ARRAY, path);
+        ELEMENTS = concurrent ? new CopyOnWriteArrayList<>() : new ArrayList<>();
+        lazySource = null;
+        LAZY_START = -1;
+        CONCURRENT = concurrent;
+        FROZEN = MEMOIZE_STRING = false;
+    }
+    /**
+     * Creates a new, unmaterialized {@code JSONArray} with the specified path in the
+     * JSON tree whose elements will be created from the specified {@link LazyJSONSource}
+     * the first time they are accessed.
+     *
+     * @param path   This node's path in the JSON tree
+     * @param source The lazy source backing this array
+     * @param start  The index of this array's opening bracket in the lazy source
+     * @see JSONValue#parseLazyJSON(Scanner)
+     */
+    JSONArray(String path, LazyJSONSource source, int start) {
+        super(ValueType.ARRAY, path);
+        ELEMENTS = new ArrayList<>();
+        lazySource = source;
+        LAZY_START = start;
+        CONCURRENT = FROZEN = MEMOIZE_STRING = false;
+    }
+    /**
+     * Creates a new, frozen {@code JSONArray} with the specified path
+     * in the JSON tree and the specified (already frozen) elements.
+     *
+     * @param path           This node's path in the JSON tree
+     * @param frozenElements This array's frozen elements
+     * @param memoizeString  Whether or not to cache this array's {@code toString()} output
+     * @see JSONValue#freeze(boolean)
+     */
+    JSONArray(String path, List<JSONValue> frozenElements, boolean memoizeString) {
         super(ValueType.ARRAY, path);
+        ELEMENTS = frozenElements;
+        lazySource = null;
+        LAZY_START = -1;
+        CONCURRENT = false;
+        FROZEN = true;
+        MEMOIZE_STRING = memoizeString;
     }
     /**
      * Creates a new {@code JSONArray} with the specified path in the JSON tree
@@ -75,19 +146,39 @@ public class JSONArray extends JSONValue implements JSONStorageElement<Integer>
         ELEMENTS.addAll(elements);
     }
 
+    /**
+     * Returns this array's elements, first materializing them
+     * from this array's {@link LazyJSONSource} if necessary.
+     * <p>
+     * Materialization happens at most once and is safe under concurrent access.
+     *
+     * @return The list holding this array's elements
+     */
+    private List<JSONValue> elements() {
+        if (lazySource != null)
+            synchronized (this) {
+                LazyJSONSource source = lazySource;
+                if (source != null) {
+                    source.materializeArray(ELEMENTS, LAZY_START, PATH);
+                    lazySource = null; // release the source for garbage collection
+                }
+            }
+        return ELEMENTS;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public final int numElements() {
-        return ELEMENTS.size();
+        return elements().size();
     }
     /**
      * {@inheritDoc}
      */
     @Override
     public final boolean isEmpty() {
-        return ELEMENTS.isEmpty();
+        return elements().isEmpty();
     }
 
     /**
@@ -95,22 +186,383 @@ public class JSONArray extends JSONValue implements JSONStorageElement<Integer>
      */
     @Override
     public void modifyElement(Integer index, JSONValue obj) {
-        if (index == null || index == numElements()) ELEMENTS.add(obj);
-        else ELEMENTS.set(index, obj);
+        requireNotFrozen();
+        if (CONCURRENT)
+            synchronized (ELEMENTS) {
+                modifyElement0(index, obj);
+            }
+        else
+            modifyElement0(index, obj);
+    }
+    /**
+     * The actual implementation of {@link #modifyElement(Integer, JSONValue)}.
+     *
+     * @param index The index to replace at
+     * @param obj   The new element
+     */
+    private void modifyElement0(Integer index, JSONValue obj) {
+        List<JSONValue> elements = elements();
+        boolean append = index == null || index == elements.size();
+        JSONValue old = append ? null : elements.get(index);
+        checkIndexes(old, obj);
+
+        if (append) elements.add(obj);
+        else elements.set(index, obj);
+        updateIndexes(old, obj);
+    }
+    /**
+     * Appends the specified {@code JSONValue} element to the end of this array.
+     * <p>
+     * If this {@code JSONArray} is concurrent, then this operation is atomic.
+     *
+     * @param obj The new element
+     * @return The index the new element was inserted at
+     */
+    public int append(JSONValue obj) {
+        requireNotFrozen();
+        if (CONCURRENT)
+            synchronized (ELEMENTS) {
+                checkIndexes(null, obj);
+                ELEMENTS.add(obj);
+                updateIndexes(null, obj);
+                return ELEMENTS.size() - 1;
+            }
+
+        List<JSONValue> elements = elements();
+        checkIndexes(null, obj);
+        elements.add(obj);
+        updateIndexes(null, obj);
+        return elements.size() - 1;
+    }
+    /**
+     * Appends the {@code JSONValue} element computed from its index to the end of this array.
+     * <p>
+     * If this {@code JSONArray} is concurrent, then this operation is atomic,
+     * so the function is given the index the element will actually be inserted at.
+     *
+     * @param function The function that computes the new element from its index
+     * @return The index the new element was inserted at
+     * @see ConcurrentJSONDocument#append(String, JSONValue)
+     */
+    int appendComputed(IntFunction<JSONValue> function) {
+        requireNotFrozen();
+        if (CONCURRENT)
+            synchronized (ELEMENTS) {
+                return append(function.apply(ELEMENTS.size()));
+            }
+        return append(function.apply(elements().size()));
+    }
+    /**
+     * Inserts the specified {@code JSONValue} element at the specified index in this array,
+     * shifting the element at that index (if any) and all following elements to the right.
+     * <p>
+     * Since the {@link JSONValue#PATH paths} of nodes are fixed when they are created, every
+     * shifted element is replaced by a copy of itself with its new path, so inserting near
+     * the start of a large array copies most of the array's subtrees.
+     * <p>
+     * If this {@code JSONArray} is concurrent, then this operation is atomic.
+     *
+     * @param index The index to insert at
+     * @param obj   The new element
+     * @throws IndexOutOfBoundsException If the index is negative or greater than the length of this array
+     */
+    public void insert(int index, JSONValue obj) {
+        requireNotFrozen();
+        if (CONCURRENT)
+            synchronized (ELEMENTS) {
+                insert0(index, obj);
+            }
+        else
+            insert0(index, obj);
+    }
+    /**
+     * Removes the element at the specified index from this array,
+     * shifting all following elements to the left.
+     * <p>
+     * As with {@link #insert(int, JSONValue)}, every shifted element is
+     * replaced by a copy of itself with its new path.
+     * <p>
+     * If this {@code JSONArray} is concurrent, then this operation is atomic.
+     *
+     * @param index The index to remove
+     * @return The removed element
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     */
+    public JSONValue remove(int index) {
+        requireNotFrozen();
+        if (CONCURRENT)
+            synchronized (ELEMENTS) {
+                return remove0(index);
+            }
+        return remove0(index);
+    }
+    /**
+     * The actual implementation of {@link #insert(int, JSONValue)}.
+     *
+     * @param index The index to insert at
+     * @param obj   The new element
+     */
+    private void insert0(int index, JSONValue obj) {
+        checkIndexes(null, obj);
+        List<JSONValue> elements = elements();
+        elements.add(index, obj);
+        updateIndexes(null, obj);
+        repathShifted(elements, index + 1);
+    }
+    /**
+     * The actual implementation of {@link #remove(int)}.
+     *
+     * @param index The index to remove
+     * @return The removed element
+     */
+    private JSONValue remove0(int index) {
+        List<JSONValue> elements = elements();
+        JSONValue removed = elements.remove(index);
+        updateIndexes(removed, null);
+        repathShifted(elements, index);
+        return removed;
+    }
+    /**
+     * Replaces every element of this array from the specified index onwards, all of which were
+     * just shifted by an insertion or a removal, with a copy of itself with its new path.
+     * <p>
+     * The elements are replaced with a single {@link List#replaceAll(java.util.function.UnaryOperator)}, so a
+     * concurrent array's backing list is only copied once, and readers never see a partial update.
+     *
+     * @param elements This array's elements
+     * @param from     The index of the first shifted element
+     */
+    private void repathShifted(List<JSONValue> elements, int from) {
+        int size = elements.size();
+        if (from >= size)
+            return;
+
+        JSONValue[] old = elements.subList(from, size).toArray(new JSONValue[0]), shifted = new JSONValue[old.length];
+        for (int i = 0; i < old.length; i++)
+            shifted[i] = JSONValue.copy(old[i], PATH + "[" + (from + i) + "]", CONCURRENT);
+
+        int[] position = {0};
+        elements.replaceAll(element -> {
+            int i = position[0]++;
+            return i < from ? element : shifted[i - from];
+        });
+        for (int i = 0; i < old.length; i++)
+            updateIndexes(old[i], shifted[i]);
+    }
+    /**
+     * Recomputes the element at the specified index from its current value using the
+     * given function. If the index is equal to the length of this array, then the
+     * function is given {@code null}, and its result is appended to this array.
+     * <p>
+     * If this {@code JSONArray} is concurrent, then this operation is atomic,
+     * and the function is called exactly once.
+     *
+     * @param index    The index to recompute
+     * @param function The function that computes the new element from the index and the old element
+     * @return The new element at that index
+     * @throws IndexOutOfBoundsException If the index is negative or greater than the length of this array
+     * @throws NullPointerException      If the function returns {@code null}
+     */
+    public JSONValue compute(int index, BiFunction<Integer, JSONValue, JSONValue> function) {
+        requireNotFrozen();
+        if (CONCURRENT)
+            synchronized (ELEMENTS) {
+                return compute0(index, function);
+            }
+        else
+            return compute0(index, function);
+    }
+    /**
+     * The actual implementation of {@link #compute(int, BiFunction)}.
+     *
+     * @param index    The index to recompute
+     * @param function The function that computes the new element from the index and the old element
+     * @return The new element at that index
+     */
+    private JSONValue compute0(int index, BiFunction<Integer, JSONValue, JSONValue> function) {
+        List<JSONValue> elements = elements();
+        int size = elements.size();
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+        JSONValue old = index == size ? null : elements.get(index);
+        JSONValue val = function.apply(index, old);
+        Verifier.requireNotNull(val, "A JSONArray element cannot be computed as null");
+        checkIndexes(old, val);
+
+        if (index == size) elements.add(val);
+        else elements.set(index, val);
+        updateIndexes(old, val);
+        return val;
+    }
+
+    /**
+     * Returns whether or not this {@code JSONArray} supports concurrent modification.
+     *
+     * @return {@code true}, if this array is concurrent; otherwise, {@code false}
+     * @see #JSONArray(String, boolean)
+     */
+    public boolean isConcurrent() {
+        return CONCURRENT;
+    }
+
+    /**
+     * Creates a hash index over the elements of this array, keyed by the value at the
+     * specified path from each element, and attaches it to this array.
+     * <p>
+     * For example, {@code items.createIndex("sku", true)} indexes the objects in
+     * {@code items} by their {@code "sku"}, so that {@code index.get("X")} finds the
+     * element whose {@code "sku"} is {@code "X"} in constant time. The index is kept up
+     * to date by every later modification of this array (see {@link JSONIndex}).
+     * If an index with the same key path is already attached, it is replaced.
+     *
+     * @param keyPath The concrete path of each element's key, relative to that element
+     *                (or the empty string, to index the elements by their own values)
+     * @param unique  Whether or not every key can map to at most one element
+     * @return The new index
+     * @throws IllegalArgumentException If the key path contains a wildcard
+     * @throws IllegalStateException    If the index is unique but two elements have the same key
+     * @see JSONIndex
+     */
+    public JSONIndex createIndex(String keyPath, boolean unique) {
+        JSONIndex index = new JSONIndex(keyPath, unique, this::elements);
+        if (CONCURRENT)
+            synchronized (ELEMENTS) {
+                attachIndex(index);
+            }
+        else
+            attachIndex(index);
+        return index;
+    }
+    /**
+     * Fills the specified index with this array's elements and attaches it to this array,
+     * replacing any attached index with the same key path.
+     *
+     * @param index The new index
+     */
+    private void attachIndex(JSONIndex index) {
+        for (JSONValue element : elements())
+            index.add(element);
+
+        JSONIndex[] attached = indexes;
+        if (attached == null)
+            attached = new JSONIndex[]{index};
+        else {
+            int i = 0;
+            while (i < attached.length && !attached[i].getKeyPath().equals(index.getKeyPath()))
+                i++;
+            attached = Arrays.copyOf(attached, Math.max(i + 1, attached.length));
+            attached[i] = index;
+        }
+        indexes = attached;
+    }
+    /**
+     * Returns the index attached to this array with the specified key path.
+     *
+     * @param keyPath The key path of the index
+     * @return The attached index, or {@code null} if there is none
+     * @see #createIndex(String, boolean)
+     */
+    public JSONIndex getIndex(String keyPath) {
+        JSONIndex[] attached = indexes;
+        if (attached != null)
+            for (JSONIndex index : attached)
+                if (index.getKeyPath().equals(keyPath))
+                    return index;
+        return null;
+    }
+    /**
+     * Detaches all indexes from this array. Detached indexes are no longer kept up to date.
+     *
+     * @see #createIndex(String, boolean)
+     */
+    public void dropIndexes() {
+        indexes = null;
+    }
+    /**
+     * Verifies that replacing one element of this array with another would not
+     * violate any of the unique indexes attached to this array.
+     *
+     * @param removed The element being replaced (or {@code null})
+     * @param added   The new element (or {@code null})
+     * @throws IllegalStateException If a unique index already has the new element's key
+     */
+    private void checkIndexes(JSONValue removed, JSONValue added) {
+        JSONIndex[] attached = indexes;
+        if (attached != null)
+            for (JSONIndex index : attached)
+                index.checkReplace(removed, added);
+    }
+    /**
+     * Updates the indexes attached to this array after one of its elements was replaced,
+     * and notifies this array's change listeners (see {@link #fireChange()}).
+     *
+     * @param removed The element that was replaced (or {@code null})
+     * @param added   The new element (or {@code null})
+     */
+    private void updateIndexes(JSONValue removed, JSONValue added) {
+        fireChange();
+        JSONIndex[] attached = indexes;
+        if (attached != null)
+            for (JSONIndex index : attached) {
+                if (removed != null)
+                    index.remove(removed);
+                if (added != null)
+                    index.add(added);
+            }
+    }
+
+    /**
+     * Adds the specified listener to this {@code JSONArray}, so that it is notified of
+     * every later modification of this array. Adding the same listener again has no effect.
+     * <p>
+     * Listeners are held weakly (see {@link JSONChangeListeners}). Frozen containers
+     * are never modified, so listeners are never added to them.
+     *
+     * @param listener The listener
+     */
+    void addChangeListener(Runnable listener) {
+        if (FROZEN)
+            return;
+        JSONChangeListeners attached = listeners;
+        if (attached == null)
+            synchronized (this) {
+                if ((attached = listeners) == null)
+                    listeners = attached = new JSONChangeListeners();
+            }
+        attached.add(listener);
+    }
+    /**
+     * Notifies the change listeners added to this {@code JSONArray} (if any).
+     */
+    private void fireChange() {
+        JSONChangeListeners attached = listeners;
+        if (attached != null)
+            attached.fire();
+    }
+
+    /**
+     * Verifies that this {@code JSONArray} is not frozen and can therefore be modified.
+     *
+     * @throws UnsupportedOperationException If this array is frozen
+     */
+    private void requireNotFrozen() {
+        if (FROZEN)
+            throw new UnsupportedOperationException("A frozen JSONArray cannot be modified");
     }
     /**
      * {@inheritDoc}
      */
     @Override
     public JSONValue getElement(Integer index) {
-        return ELEMENTS.get(index);
+        return elements().get(index);
     }
     /**
      * {@inheritDoc}
      */
     @Override
     public Collection<JSONValue> getElements() {
-        return Collections.unmodifiableList(ELEMENTS);
+        return Collections.unmodifiableList(elements());
     }
     /**
      * {@inheritDoc}
@@ -119,7 +571,7 @@ public class JSONArray extends JSONValue implements JSONStorageElement<Integer>
     public LinkedList<ImmutablePair<Integer, JSONValue>> getElementsPaired() {
         LinkedList<ImmutablePair<Integer, JSONValue>> list = new LinkedList<>();
         int i = 0;
-        for (JSONValue e : ELEMENTS)
+        for (JSONValue e : elements())
             list.addLast(new ImmutablePair<>(i++, e));
         return list;
     }
@@ -130,13 +582,42 @@ public class JSONArray extends JSONValue implements JSONStorageElement<Integer>
     public ImmutablePair<LinkedList<Integer>, LinkedList<JSONValue>> getElementsAsPairedLists() {
         ImmutablePair<LinkedList<Integer>, LinkedList<JSONValue>> pair = new ImmutablePair<>(new LinkedList<>(), new LinkedList<>());
         int i = 0;
-        for (JSONValue e : ELEMENTS) {
+        for (JSONValue e : elements()) {
             pair.FIRST.addLast(i++);
             pair.SECOND.addLast(e);
         }
         return pair;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ElementIterator elementIterator() {
+        Iterator<JSONValue> elements = elements().iterator();
+        return new ElementIterator() {
+            private JSONValue element = null;
+
+            @Override
+            public boolean advance() {
+                if (!elements.hasNext())
+                    return false;
+                element = elements.next();
+                return true;
+            }
+
+            @Override
+            public String key() {
+                return null;
+            }
+
+            @Override
+            public JSONValue value() {
+                return element;
+            }
+        };
+    }
+
     /**
      * Parses a {@code JSONArray} from the given {@link Scanner}.
      * <p>
@@ -164,55 +645,122 @@ public class JSONArray extends JSONValue implements JSONStorageElement<Integer>
      * {@inheritDoc}
      */
     @Override
-    public Collection<JSONValue> findElements(PathTrace[] tokenizedPath, int index) {
-        if (index == tokenizedPath.length)
-            return Collections.singleton(this);
+    protected void print(PrintStream out, int depth) {
+        JSONTextWriter.print(this, out, depth);
+    }
 
-        PathTrace trace = tokenizedPath[index];
-        if (trace.KEY != null)
-            return Collections.emptySet();
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isFrozen() {
+        return FROZEN;
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected JSONValue createFrozenCopy(boolean memoizeStrings) {
+        List<JSONValue> elements = elements();
+        List<JSONValue> frozenElements = new ArrayList<>(elements.size());
+        for (JSONValue element : elements)
+            frozenElements.add(element.freeze(memoizeStrings));
+        return new JSONArray(PATH, frozenElements, memoizeStrings);
+    }
 
-        index++;
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    long cachedFingerprint() {
+        return cachedFingerprint;
+    }
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only frozen {@code JSONArray}s cache their fingerprints.
+     */
+    @Override
+    void cacheFingerprint(long fingerprint) {
+        if (FROZEN)
+            cachedFingerprint = fingerprint;
+    }
 
-        Collection<JSONValue> elements;
-        if (trace.INDEX < 0) {
-            elements = new LinkedList<>();
-            for (JSONValue element : ELEMENTS)
-                elements.addAll(element.findElements(tokenizedPath, index));
-        } else
-            elements = getElement(trace.INDEX).findElements(tokenizedPath, index);
-        return elements;
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only frozen {@code JSONArray}s have key summaries, which
+     * are computed the first time they are needed.
+     */
+    @Override
+    long[] keySummary() {
+        if (!FROZEN)
+            return null;
+        long[] summary = cachedKeySummary;
+        return summary != null ? summary : JSONKeySummary.of(this);
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    long[] cachedKeySummary() {
+        return cachedKeySummary;
+    }
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only frozen {@code JSONArray}s cache their key summaries.
+     */
+    @Override
+    void cacheKeySummary(long[] summary) {
+        if (FROZEN)
+            cachedKeySummary = summary;
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * An unmaterialized {@code JSONArray} is measured together with its lazy source,
+     * and its children are not materialized.
      */
     @Override
-    protected void print(PrintStream out, int depth) {
-        depth++;
-        outputStringWithNewLine(out, "[");
-
-        int count = 0, total = ELEMENTS.size();
-        for (JSONValue jsonValue : ELEMENTS) {
-            outputString(out, "", depth);
-            jsonValue.print(out, depth);
-
-            if (++count != total)
-                outputStringWithNewLine(out, ",");
-            else
-                outputNewLine(out);
+    void measure(JSONMemoryReport report) {
+        report.addNode(TYPE, JSONMemoryReport.instanceSize(8, 19), PATH);
+        report.addString(cachedString);
+        report.addKeySummary(cachedKeySummary);
+
+        JSONIndex[] attached = indexes;
+        if (attached != null)
+            for (JSONIndex index : attached)
+                report.addContainer(index.estimateBytes());
+
+        LazyJSONSource source = lazySource;
+        if (source != null) {
+            report.addContainer(JSONMemoryReport.arrayListSize(0, false));
+            report.addLazySource(source);
+            return;
         }
 
-        depth--;
-        outputString(out, "]", depth);
+        int size = ELEMENTS.size();
+        report.addContainer(CONCURRENT ? JSONMemoryReport.copyOnWriteListSize(size) : JSONMemoryReport.arrayListSize(size, FROZEN));
+        for (JSONValue value : ELEMENTS)
+            report.push(value);
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * If this {@code JSONArray} is frozen, then its hash code is only computed once.
      */
     @Override
     public int hashCode() {
-        return ELEMENTS.hashCode();
+        if (!FROZEN)
+            return elements().hashCode();
+
+        int hash = cachedHash;
+        if (hash == 0)
+            cachedHash = hash = ELEMENTS.hashCode();
+        return hash;
     }
 
     /**
@@ -220,17 +768,40 @@ public class JSONArray extends JSONValue implements JSONStorageElement<Integer>
      */
     @Override
     public boolean equals(Object obj) {
-        return obj instanceof JSONArray && ELEMENTS.equals(((JSONArray) obj).ELEMENTS);
+        if (obj == this)
+            return true;
+        if (!(obj instanceof JSONArray))
+            return JSONValue.containerEquals(this, obj);
+
+        JSONArray other = (JSONArray) obj;
+        if (FROZEN && other.FROZEN && hashCode() != other.hashCode())
+            return false;
+        return elements().equals(other.elements());
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * If this {@code JSONArray} is frozen with string memoization
+     * enabled, then its string form is only computed once.
      */
     @Override
     public String toString() {
-        StringBuilder builder = new StringBuilder();
-        for (JSONValue element : ELEMENTS)
-            builder.append(",").append(element);
-        return "[" + (builder.length() == 0 ? "" : builder.substring(1)) + "]";
+        if (!MEMOIZE_STRING)
+            return buildString();
+
+        String str = cachedString;
+        if (str == null)
+            cachedString = str = buildString();
+        return str;
+    }
+    /**
+     * Builds the condensed string form of this {@code JSONArray}.
+     *
+     * @return This array's JSON in a condensed form
+     * @see #toString()
+     */
+    private String buildString() {
+        return JSONTextWriter.toCompactString(this);
     }
 }
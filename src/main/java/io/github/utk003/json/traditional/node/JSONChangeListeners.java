@@ -0,0 +1,76 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A package-private set of the listeners that are notified whenever
+ * a mutable {@link JSONObject} or {@link JSONArray} is modified.
+ * <p>
+ * Indexes over a tree (such as {@link JSONIndex}) attach a listener to
+ * every container whose modification could make them stale. Listeners are
+ * held weakly, so attaching an index does not keep it alive once it is no
+ * longer used, and cleared listeners are pruned whenever a listener is added.
+ * Adding a listener is synchronized, while notifying the listeners is lock-free.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ */
+final class JSONChangeListeners {
+    private volatile List<WeakReference<Runnable>> listeners = Collections.emptyList();
+
+    /**
+     * Adds the specified listener to this set, unless it is already in this set.
+     *
+     * @param listener The listener, which is compared by identity
+     */
+    synchronized void add(Runnable listener) {
+        List<WeakReference<Runnable>> current = listeners;
+        for (WeakReference<Runnable> reference : current)
+            if (reference.get() == listener)
+                return;
+
+        List<WeakReference<Runnable>> updated = new ArrayList<>(current.size() + 1);
+        for (WeakReference<Runnable> reference : current)
+            if (reference.get() != null)
+                updated.add(reference);
+        updated.add(new WeakReference<>(listener));
+        listeners = updated;
+    }
+    /**
+     * Notifies every listener in this set of a modification.
+     */
+    void fire() {
+        for (WeakReference<Runnable> reference : listeners) {
+            Runnable listener = reference.get();
+            if (listener != null)
+                listener.run();
+        }
+    }
+}
@@ -0,0 +1,667 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import io.github.utk003.json.scanner.Scanner;
+import io.github.utk003.util.misc.Verifier;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+
+/**
+ * A set of typed, primitive columns extracted from an array (or any other
+ * collection) of JSON records.
+ * <p>
+ * A {@code JSONColumns} is created by one of the {@code extract(...)} methods, which
+ * take a record path and any number of field paths. The record path selects the records,
+ * using the same syntax as {@link JSONValue#findElements(String)} (for example,
+ * {@code "events[*]"}), and is always resolved from the root, whether or not it starts
+ * with {@link JSONValue#ROOT_PATH}. Each field path is a concrete path (without any
+ * wildcards) relative to a record, such as {@code "ts"} or {@code "user.id"}, and
+ * becomes one {@link Column} with exactly one row per record.
+ * <p>
+ * Columns are filled in a single pass, either directly from a {@link Scanner}
+ * (without building a JSON tree at all) or from an existing tree. The type of each
+ * column is inferred from its values: integers produce a {@code long[]} column, which
+ * is widened to a {@code double[]} column if any value has a fraction or exponent,
+ * strings produce a {@code String[]} column, and booleans produce a {@code boolean[]}
+ * column. If a column holds values of incompatible types, then it becomes a string
+ * column holding the text of each value. Missing fields, {@code null}s, and fields
+ * whose values are objects or arrays are recorded in the column's null bitmap.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see JSONValue#findElements(String)
+ */
+public final class JSONColumns {
+    /**
+     * An enum for all the different possible types of a {@link Column}.
+     * <p>
+     * A column is {@code EMPTY} if none of its rows have a value.
+     *
+     * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+     * @version October 19, 2026
+     */
+    public enum ColumnType {
+        EMPTY, LONG, DOUBLE, BOOLEAN, STRING
+    }
+
+    /**
+     * A single typed column of a {@link JSONColumns}.
+     * <p>
+     * Only the array that matches the column's {@link ColumnType} holds its
+     * values, and the entries of that array for null rows are unspecified.
+     *
+     * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+     * @version October 19, 2026
+     */
+    public static final class Column {
+        private final String PATH;
+        private ColumnType type = ColumnType.EMPTY;
+        private long[] longs = null;
+        private double[] doubles = null;
+        private boolean[] booleans = null;
+        private String[] strings = null;
+        private final BitSet PRESENT = new BitSet();
+        private int size = 0;
+
+        /**
+         * A private constructor to create an empty {@code Column}.
+         *
+         * @param path The field path of this column
+         */
+        private Column(String path) {
+            PATH = path;
+        }
+
+        /**
+         * Returns the field path of this column, relative to its records.
+         *
+         * @return This column's field path
+         */
+        public String getPath() {
+            return PATH;
+        }
+        /**
+         * Returns the inferred type of this column.
+         *
+         * @return This column's type
+         */
+        public ColumnType getType() {
+            return type;
+        }
+        /**
+         * Returns the number of rows in this column.
+         *
+         * @return This column's size
+         */
+        public int size() {
+            return size;
+        }
+        /**
+         * Checks whether or not the specified row of this column is null (or missing).
+         *
+         * @param row The row
+         * @return {@code true} if the row has no value; otherwise, {@code false}
+         */
+        public boolean isNull(int row) {
+            return !PRESENT.get(row);
+        }
+        /**
+         * Returns the null bitmap of this column, in which the bit for every null (or missing) row is set.
+         *
+         * @return A new {@link BitSet} with the null rows of this column
+         */
+        public BitSet getNulls() {
+            BitSet nulls = (BitSet) PRESENT.clone();
+            nulls.flip(0, size);
+            return nulls;
+        }
+
+        /**
+         * Returns the values of this {@code LONG} column.
+         *
+         * @return The backing array of this column, which has exactly one entry per row
+         * @throws IllegalStateException If this column's type is not {@code LONG}
+         */
+        public long[] getLongs() {
+            requireType(ColumnType.LONG);
+            return longs;
+        }
+        /**
+         * Returns the values of this {@code DOUBLE} (or {@code LONG}) column.
+         *
+         * @return The backing array of this column (or a widened copy, for a {@code LONG} column),
+         * which has exactly one entry per row
+         * @throws IllegalStateException If this column's type is neither {@code DOUBLE} nor {@code LONG}
+         */
+        public double[] getDoubles() {
+            if (type == ColumnType.LONG) {
+                double[] widened = new double[size];
+                for (int i = 0; i < size; i++)
+                    widened[i] = longs[i];
+                return widened;
+            }
+            requireType(ColumnType.DOUBLE);
+            return doubles;
+        }
+        /**
+         * Returns the values of this {@code BOOLEAN} column.
+         *
+         * @return The backing array of this column, which has exactly one entry per row
+         * @throws IllegalStateException If this column's type is not {@code BOOLEAN}
+         */
+        public boolean[] getBooleans() {
+            requireType(ColumnType.BOOLEAN);
+            return booleans;
+        }
+        /**
+         * Returns the values of this {@code STRING} column.
+         *
+         * @return The backing array of this column, which has exactly one entry per row
+         * @throws IllegalStateException If this column's type is not {@code STRING}
+         */
+        public String[] getStrings() {
+            requireType(ColumnType.STRING);
+            return strings;
+        }
+
+        /**
+         * Verifies that this column has the specified type.
+         *
+         * @param expected The expected type
+         * @throws IllegalStateException If this column has a different type
+         */
+        private void requireType(ColumnType expected) {
+            if (type != expected)
+                throw new IllegalStateException("Column \"" + PATH + "\" has type " + type + ", not " + expected);
+        }
+
+        /**
+         * Sets the specified row to an integer value.
+         *
+         * @param row   The row
+         * @param value The value
+         * @param text  The value's JSON text, if known (or {@code null})
+         */
+        private void setLong(int row, long value, String text) {
+            if (type == ColumnType.EMPTY)
+                type = ColumnType.LONG;
+            if (type == ColumnType.LONG)
+                longs[row] = value;
+            else if (type == ColumnType.DOUBLE)
+                doubles[row] = value;
+            else
+                setString(row, text != null ? text : Long.toString(value), false);
+            PRESENT.set(row);
+        }
+        /**
+         * Sets the specified row to a floating-point value.
+         *
+         * @param row   The row
+         * @param value The value
+         * @param text  The value's JSON text, if known (or {@code null})
+         */
+        private void setDouble(int row, double value, String text) {
+            if (type == ColumnType.EMPTY)
+                type = ColumnType.DOUBLE;
+            else if (type == ColumnType.LONG) {
+                type = ColumnType.DOUBLE;
+                for (int i = 0; i < doubles.length && i < size; i++)
+                    doubles[i] = longs[i];
+            }
+            if (type == ColumnType.DOUBLE)
+                doubles[row] = value;
+            else
+                setString(row, text != null ? text : Double.toString(value), false);
+            PRESENT.set(row);
+        }
+        /**
+         * Sets the specified row to a boolean value.
+         *
+         * @param row   The row
+         * @param value The value
+         */
+        private void setBoolean(int row, boolean value) {
+            if (type == ColumnType.EMPTY)
+                type = ColumnType.BOOLEAN;
+            if (type == ColumnType.BOOLEAN)
+                booleans[row] = value;
+            else
+                setString(row, Boolean.toString(value), false);
+            PRESENT.set(row);
+        }
+        /**
+         * Sets the specified row to a string value, converting this column to a string column if necessary.
+         *
+         * @param row      The row
+         * @param value    The value
+         * @param isString Whether or not the value is a JSON string (rather than the text of some other value)
+         */
+        private void setString(int row, String value, boolean isString) {
+            if (type != ColumnType.STRING) {
+                if (type != ColumnType.EMPTY)
+                    for (int i = PRESENT.nextSetBit(0); i >= 0 && i < size; i = PRESENT.nextSetBit(i + 1))
+                        strings[i] = type == ColumnType.LONG ? Long.toString(longs[i])
+                                : type == ColumnType.DOUBLE ? Double.toString(doubles[i]) : Boolean.toString(booleans[i]);
+                type = ColumnType.STRING;
+            }
+            strings[row] = value;
+            PRESENT.set(row);
+        }
+
+        /**
+         * Adds a new, null row to the end of this column.
+         */
+        private void addRow() {
+            if (longs == null || size == longs.length) {
+                int capacity = longs == null ? 16 : size + (size >> 1);
+                longs = longs == null ? new long[capacity] : Arrays.copyOf(longs, capacity);
+                doubles = doubles == null ? new double[capacity] : Arrays.copyOf(doubles, capacity);
+                booleans = booleans == null ? new boolean[capacity] : Arrays.copyOf(booleans, capacity);
+                strings = strings == null ? new String[capacity] : Arrays.copyOf(strings, capacity);
+            }
+            size++;
+        }
+        /**
+         * Trims this column's array to its size and releases the arrays it does not use.
+         */
+        private void finish() {
+            longs = type == ColumnType.LONG ? Arrays.copyOf(longs, size) : null;
+            doubles = type == ColumnType.DOUBLE ? Arrays.copyOf(doubles, size) : null;
+            booleans = type == ColumnType.BOOLEAN ? Arrays.copyOf(booleans, size) : null;
+            strings = type == ColumnType.STRING ? Arrays.copyOf(strings, size) : null;
+        }
+    }
+
+    private final Column[] COLUMNS;
+    private int numRows = 0;
+
+    /**
+     * A private constructor to create a {@code JSONColumns} with no rows.
+     *
+     * @param fieldPaths The field path of each column
+     */
+    private JSONColumns(String[] fieldPaths) {
+        COLUMNS = new Column[fieldPaths.length];
+        for (int i = 0; i < fieldPaths.length; i++)
+            COLUMNS[i] = new Column(fieldPaths[i]);
+    }
+
+    /**
+     * Returns the number of rows (records) in these columns.
+     *
+     * @return The number of rows
+     */
+    public int numRows() {
+        return numRows;
+    }
+    /**
+     * Returns the number of columns.
+     *
+     * @return The number of columns
+     */
+    public int numColumns() {
+        return COLUMNS.length;
+    }
+    /**
+     * Returns the column at the specified position, which is the
+     * position of its field path in the {@code extract(...)} call.
+     *
+     * @param index The position of the column
+     * @return The column
+     * @throws IndexOutOfBoundsException If the position is out of bounds
+     */
+    public Column getColumn(int index) {
+        return COLUMNS[index];
+    }
+    /**
+     * Returns the column with the specified field path.
+     *
+     * @param fieldPath The field path of the column
+     * @return The column, or {@code null} if there is no such column
+     */
+    public Column getColumn(String fieldPath) {
+        for (Column column : COLUMNS)
+            if (column.PATH.equals(fieldPath))
+                return column;
+        return null;
+    }
+
+    /**
+     * Adds a new, null row to the end of every column.
+     */
+    private void addRow() {
+        numRows++;
+        for (Column column : COLUMNS)
+            column.addRow();
+    }
+    /**
+     * Finishes every column once all of the rows have been added.
+     *
+     * @return This {@code JSONColumns}
+     */
+    private JSONColumns finish() {
+        for (Column column : COLUMNS)
+            column.finish();
+        return this;
+    }
+
+    /**
+     * Extracts columns from the records of an existing JSON tree.
+     *
+     * @param root       The root of the JSON tree
+     * @param recordPath The path of the records, relative to the root
+     * @param fieldPaths The concrete path of each field, relative to a record
+     * @return The extracted columns
+     * @throws IllegalArgumentException If any field path contains a wildcard
+     */
+    public static JSONColumns extract(JSONValue root, String recordPath, String... fieldPaths) {
+        JSONValue.PathTrace[] records = tokenizeRecordPath(recordPath);
+        JSONValue.PathTrace[][] fields = tokenizeFieldPaths(fieldPaths);
+        JSONColumns columns = new JSONColumns(fieldPaths);
+
+        for (JSONValue record : records.length == 0 ? Collections.singleton(root) : root.findElements(records, 0)) {
+            int row = columns.numRows;
+            columns.addRow();
+            for (int i = 0; i < fields.length; i++) {
+                JSONValue value = follow(record, fields[i]);
+                if (value != null)
+                    set(columns.COLUMNS[i], row, value);
+            }
+        }
+        return columns.finish();
+    }
+    /**
+     * Follows the specified concrete path down from the specified element.
+     *
+     * @param element The element to start from
+     * @param path    The concrete path
+     * @return The element at the end of the path, or {@code null} if there is none
+     */
+    private static JSONValue follow(JSONValue element, JSONValue.PathTrace[] path) {
+        for (JSONValue.PathTrace step : path) {
+            if (element.TYPE != (step.KEY != null ? JSONValue.ValueType.OBJECT : JSONValue.ValueType.ARRAY))
+                return null;
+            if (step.KEY != null) {
+                @SuppressWarnings("unchecked")
+                JSONStorageElement<String> object = (JSONStorageElement<String>) element;
+                element = object.getElement(step.KEY);
+            } else {
+                @SuppressWarnings("unchecked")
+                JSONStorageElement<Integer> array = (JSONStorageElement<Integer>) element;
+                element = step.INDEX < array.numElements() ? array.getElement(step.INDEX) : null;
+            }
+            if (element == null)
+                return null;
+        }
+        return element;
+    }
+    /**
+     * Stores the value of the specified tree element in the specified row of a column.
+     *
+     * @param column The column
+     * @param row    The row
+     * @param value  The element
+     */
+    private static void set(Column column, int row, JSONValue value) {
+        switch (value.TYPE) {
+            case STRING:
+                column.setString(row, ((JSONString) value).STRING, true);
+                break;
+
+            case NUMBER:
+                Number number = ((JSONNumber) value).NUMBER;
+                if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte
+                        || number instanceof BigInteger && ((BigInteger) number).bitLength() < 64)
+                    column.setLong(row, number.longValue(), null);
+                else
+                    column.setDouble(row, number.doubleValue(), number instanceof BigDecimal || number instanceof BigInteger ? number.toString() : null);
+                break;
+
+            case PRIMITIVE:
+                Boolean bool = ((JSONPrimitive) value).VALUE;
+                if (bool != null)
+                    column.setBoolean(row, bool);
+                break;
+
+            default:
+                break; // objects and arrays are null
+        }
+    }
+
+    /**
+     * Extracts columns from the records of the JSON read from a {@link Scanner}, without building a JSON tree.
+     * <p>
+     * Subtrees that cannot contain any records or fields are skipped over token by token.
+     * The scanner is left on the last token of the root JSON element.
+     *
+     * @param scanner    The input source for the JSON as a {@code Scanner}
+     * @param recordPath The path of the records, relative to the root
+     * @param fieldPaths The concrete path of each field, relative to a record
+     * @return The extracted columns
+     * @throws IllegalArgumentException If any field path contains a wildcard, if the record path
+     *                                  contains a recursive descent ({@code ..}), if there are
+     *                                  more than 64 field paths, or if the JSON is malformed
+     */
+    public static JSONColumns extract(Scanner scanner, String recordPath, String... fieldPaths) {
+        JSONValue.PathTrace[] records = tokenizeRecordPath(recordPath);
+        for (JSONValue.PathTrace step : records)
+            Verifier.requireTrue(!step.isDescendant(), "Recursive descent cannot be used when extracting from a scanner");
+        JSONValue.PathTrace[][] fields = tokenizeFieldPaths(fieldPaths);
+        Verifier.requireTrue(fields.length <= 64, "At most 64 columns can be extracted from a scanner at once");
+        JSONColumns columns = new JSONColumns(fieldPaths);
+
+        if (scanner.tokensPassed() == 0) scanner.advance();
+        String token = scanner.current();
+        Verifier.requireNotNull(token, "The given scanner cannot be empty");
+
+        long allFields = fields.length == 64 ? -1L : (1L << fields.length) - 1;
+        boolean[] isObject = new boolean[16];
+        int[] counts = new int[16];
+        long[] masks = new long[16]; // the fields that continue below each container within a record
+        int depth = 0, recordDepth = -1;
+        String key = null;
+        int index = -1;
+
+        while (true) {
+            // the token starts a value (with the given key or index) at the current depth
+            char c = token.charAt(0);
+            boolean isContainer = c == '{' || c == '[';
+            long mask = 0L;
+            boolean push = false, isRecord = false;
+
+            if (recordDepth < 0) {
+                if (depth == 0 || matches(records[depth - 1], key, index)) {
+                    if (depth == records.length) {
+                        isRecord = true;
+                        columns.addRow();
+                        mask = allFields;
+                    } else
+                        push = isContainer;
+                }
+            } else {
+                int step = depth - recordDepth - 1;
+                for (long bits = masks[depth - 1]; bits != 0; bits &= bits - 1) {
+                    int field = Long.numberOfTrailingZeros(bits);
+                    if (matches(fields[field][step], key, index))
+                        mask |= 1L << field;
+                }
+            }
+
+            if (mask != 0) {
+                int relativeDepth = isRecord ? 0 : depth - recordDepth;
+                long continuing = 0L;
+                for (long bits = mask; bits != 0; bits &= bits - 1) {
+                    int field = Long.numberOfTrailingZeros(bits);
+                    if (fields[field].length == relativeDepth) {
+                        if (!isContainer)
+                            set(columns.COLUMNS[field], columns.numRows - 1, token);
+                    } else
+                        continuing |= 1L << field;
+                }
+                mask = continuing;
+                push = isContainer && (mask != 0 || isRecord);
+            }
+
+            if (push) {
+                if (depth == isObject.length) {
+                    int length = depth << 1;
+                    isObject = Arrays.copyOf(isObject, length);
+                    counts = Arrays.copyOf(counts, length);
+                    masks = Arrays.copyOf(masks, length);
+                }
+                if (isRecord)
+                    recordDepth = depth;
+                isObject[depth] = c == '{';
+                counts[depth] = 0;
+                masks[depth] = mask;
+                depth++;
+            } else if (isContainer)
+                skipContainer(scanner);
+
+            // find the start of the next value, closing containers along the way
+            while (true) {
+                if (depth == 0)
+                    return columns.finish();
+
+                int top = depth - 1;
+                token = nextToken(scanner);
+                c = token.charAt(0);
+                if (c == ',')
+                    token = nextToken(scanner);
+                else if (c == '}' || c == ']') {
+                    depth = top;
+                    if (depth == recordDepth)
+                        recordDepth = -1;
+                    continue;
+                }
+
+                if (isObject[top]) {
+                    key = token.substring(1, token.length() - 1); // remove quotes from key
+                    index = -1;
+                    Verifier.requireEqual(nextToken(scanner), ":", "Malformed JSON Object: key should be followed by a colon (:)");
+                    token = nextToken(scanner);
+                } else {
+                    key = null;
+                    index = counts[top];
+                }
+                counts[top]++;
+                break;
+            }
+        }
+    }
+    /**
+     * Checks whether or not a child with the specified key or index matches the specified path step.
+     *
+     * @param step  The path step
+     * @param key   The key of the child, if its parent is an object (otherwise, {@code null})
+     * @param index The index of the child, if its parent is an array
+     * @return {@code true} if the child matches the step; otherwise, {@code false}
+     */
+    private static boolean matches(JSONValue.PathTrace step, String key, int index) {
+        if (step.KEY != null)
+            return key != null && (step.KEY.equals("*") || step.KEY.equals(key));
+        return key == null && (step.INDEX < 0 || step.INDEX == index);
+    }
+    /**
+     * Stores the value of the specified scalar token in the specified row of a column.
+     *
+     * @param column The column
+     * @param row    The row
+     * @param token  The token
+     */
+    private static void set(Column column, int row, String token) {
+        char c = token.charAt(0);
+        if (c == '"')
+            column.setString(row, JSONString.unescape(token.substring(1, token.length() - 1)), true);
+        else if (c == 't' || c == 'f')
+            column.setBoolean(row, c == 't');
+        else if (c == '-' || '0' <= c && c <= '9') {
+            if (token.indexOf('.') < 0 && token.indexOf('e') < 0 && token.indexOf('E') < 0)
+                try {
+                    column.setLong(row, Long.parseLong(token), token);
+                    return;
+                } catch (NumberFormatException ignored) {
+                    // the integer does not fit in a long
+                }
+            column.setDouble(row, Double.parseDouble(token), token);
+        }
+    }
+    /**
+     * Advances the specified {@link Scanner} past the rest of the object or array that it is currently on.
+     *
+     * @param scanner The scanner, whose current token is an opening brace or bracket
+     */
+    private static void skipContainer(Scanner scanner) {
+        for (int level = 1; level > 0; ) {
+            char c = nextToken(scanner).charAt(0);
+            if (c == '{' || c == '[')
+                level++;
+            else if (c == '}' || c == ']')
+                level--;
+        }
+    }
+    /**
+     * Advances the specified {@link Scanner} to its next token.
+     *
+     * @param scanner The scanner
+     * @return The next token
+     * @throws IllegalArgumentException If the input has no more tokens
+     */
+    private static String nextToken(Scanner scanner) {
+        Verifier.requireTrue(scanner.hasMore(), "Malformed JSON: input ended before all objects and arrays were closed");
+        return scanner.advance();
+    }
+
+    /**
+     * Tokenizes a record path, stripping the leading {@link JSONValue#ROOT_PATH} anchor, if present.
+     *
+     * @param recordPath The record path
+     * @return The steps of the record path
+     */
+    private static JSONValue.PathTrace[] tokenizeRecordPath(String recordPath) {
+        JSONValue.PathTrace[] trace = JSONValue.tokenizePath(recordPath);
+        if (trace.length > 0 && JSONValue.ROOT_PATH.equals(trace[0].KEY))
+            return Arrays.copyOfRange(trace, 1, trace.length);
+        return trace;
+    }
+    /**
+     * Tokenizes every field path.
+     *
+     * @param fieldPaths The field paths
+     * @return The steps of every field path
+     * @throws IllegalArgumentException If any field path contains a wildcard
+     */
+    private static JSONValue.PathTrace[][] tokenizeFieldPaths(String[] fieldPaths) {
+        JSONValue.PathTrace[][] fields = new JSONValue.PathTrace[fieldPaths.length][];
+        for (int i = 0; i < fieldPaths.length; i++)
+            fields[i] = JSONValue.tokenizeConcretePath(fieldPaths[i]);
+        return fields;
+    }
+}
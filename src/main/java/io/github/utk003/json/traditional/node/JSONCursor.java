@@ -0,0 +1,250 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A depth-first, pull-style cursor over a JSON tree rooted at some {@link JSONValue}.
+ * <p>
+ * Each call to {@link #next()} returns the next {@link Event} in the tree, after which
+ * the element the event refers to can be read with {@link #currentValue()}, and its
+ * key or index in its parent can be read with {@link #currentKey()} and {@link #currentIndex()}.
+ * <p>
+ * For example, the tree for {@code {"a":[1,2]}} produces the events
+ * {@code START_OBJECT}, {@code KEY}, {@code START_ARRAY}, {@code VALUE}, {@code VALUE},
+ * {@code END_ARRAY}, and {@code END_OBJECT}.
+ * <p>
+ * A {@code JSONCursor} keeps its own stack of open objects and arrays, so it can walk
+ * arbitrarily deep trees, and it does not allocate anything per node (only a single
+ * {@link JSONStorageElement.ElementIterator} per object or array entered). Entire
+ * subtrees can be skipped with {@link #skipChildren()}.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see JSONVisitor
+ * @see JSONStorageElement#elementIterator()
+ */
+public class JSONCursor {
+    /**
+     * An enum for all the different events a {@link JSONCursor} can produce.
+     * <p>
+     * These enum values correspond as follows:
+     * <ul>
+     * <li>{@code START_OBJECT} and {@code END_OBJECT} for the start and end of a JSON object
+     * <li>{@code START_ARRAY} and {@code END_ARRAY} for the start and end of a JSON array
+     * <li>{@code KEY} for an object key, which always immediately precedes the corresponding child
+     * <li>{@code VALUE} for a string, number, or primitive
+     * </ul>
+     *
+     * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+     * @version October 19, 2026
+     */
+    public enum Event {
+        START_OBJECT, END_OBJECT, START_ARRAY, END_ARRAY, KEY, VALUE
+    }
+
+    private JSONStorageElement.ElementIterator[] iterators = new JSONStorageElement.ElementIterator[16];
+    private JSONValue[] containers = new JSONValue[16];
+    private String[] keys = new String[16];
+    private int[] indices = new int[16], childCounts = new int[16];
+    private int depth = 0;
+
+    private JSONValue pending;
+    private String pendingKey = null;
+    private int pendingIndex = -1;
+
+    private JSONValue currentValue = null;
+    private String currentKey = null;
+    private int currentIndex = -1;
+    private Event currentEvent = null;
+
+    /**
+     * Creates a new {@code JSONCursor} positioned before the specified root.
+     *
+     * @param root The root of the JSON tree to walk
+     */
+    public JSONCursor(JSONValue root) {
+        pending = root;
+    }
+
+    /**
+     * Returns whether or not there are any more events in the tree.
+     *
+     * @return {@code true}, if there are more events; otherwise, {@code false}
+     */
+    public boolean hasNext() {
+        return pending != null || depth > 0;
+    }
+
+    /**
+     * Advances to and returns the next event in the tree.
+     *
+     * @return The next event
+     * @throws NoSuchElementException If there are no more events
+     */
+    public Event next() {
+        if (pending != null) {
+            JSONValue value = pending;
+            pending = null;
+            return currentEvent = enter(value, pendingKey, pendingIndex);
+        }
+
+        if (depth == 0)
+            throw new NoSuchElementException("The JSON tree has no more events");
+
+        int top = depth - 1;
+        JSONStorageElement.ElementIterator it = iterators[top];
+        if (it != null && it.advance()) {
+            int index = childCounts[top]++;
+            String key = it.key();
+            if (key != null) {
+                pending = it.value();
+                pendingKey = key;
+                pendingIndex = -1;
+
+                currentValue = pending;
+                currentKey = key;
+                currentIndex = -1;
+                return currentEvent = Event.KEY;
+            }
+            return currentEvent = enter(it.value(), null, index);
+        }
+
+        // the container on top of the stack is finished
+        currentValue = containers[top];
+        currentKey = keys[top];
+        currentIndex = indices[top];
+
+        iterators[top] = null;
+        containers[top] = null;
+        keys[top] = null;
+        depth = top;
+
+        return currentEvent = currentValue.TYPE == JSONValue.ValueType.OBJECT ? Event.END_OBJECT : Event.END_ARRAY;
+    }
+
+    /**
+     * Produces the event for the start of the specified element,
+     * entering it if it is an object or array.
+     *
+     * @param value The element
+     * @param key   The element's key in its parent, if its parent is an object
+     * @param index The element's index in its parent, if its parent is an array
+     * @return The event for the element
+     */
+    private Event enter(JSONValue value, String key, int index) {
+        currentValue = value;
+        currentKey = key;
+        currentIndex = index;
+
+        boolean isObject = value.TYPE == JSONValue.ValueType.OBJECT;
+        if (!isObject && value.TYPE != JSONValue.ValueType.ARRAY)
+            return Event.VALUE;
+
+        if (depth == iterators.length) {
+            int length = depth << 1;
+            iterators = Arrays.copyOf(iterators, length);
+            containers = Arrays.copyOf(containers, length);
+            keys = Arrays.copyOf(keys, length);
+            indices = Arrays.copyOf(indices, length);
+            childCounts = Arrays.copyOf(childCounts, length);
+        }
+        iterators[depth] = ((JSONStorageElement<?>) value).elementIterator();
+        containers[depth] = value;
+        keys[depth] = key;
+        indices[depth] = index;
+        childCounts[depth] = 0;
+        depth++;
+
+        return isObject ? Event.START_OBJECT : Event.START_ARRAY;
+    }
+
+    /**
+     * Skips over all remaining children of the innermost open object or array,
+     * so that the next call to {@link #next()} returns its {@code END_OBJECT}
+     * or {@code END_ARRAY} event.
+     * <p>
+     * When called directly after a {@code START_OBJECT} or {@code START_ARRAY}
+     * event, this skips the entire subtree of that object or array. When called
+     * directly after a {@code KEY} event, this skips that key's value as well.
+     *
+     * @throws IllegalStateException If no object or array is currently open
+     */
+    public void skipChildren() {
+        if (depth == 0)
+            throw new IllegalStateException("No JSON object or array is currently open");
+        iterators[depth - 1] = null;
+        pending = null;
+    }
+
+    /**
+     * Returns the most recent event produced by {@link #next()}.
+     *
+     * @return The current event, or {@code null} if {@code next()} has not been called
+     */
+    public Event currentEvent() {
+        return currentEvent;
+    }
+    /**
+     * Returns the element that the current event refers to.
+     * <p>
+     * For {@code KEY} events, this is the child that the key maps to.
+     *
+     * @return The current element
+     */
+    public JSONValue currentValue() {
+        return currentValue;
+    }
+    /**
+     * Returns the key of the current element in its parent object.
+     *
+     * @return The current element's key, or {@code null} if its parent is not an object
+     */
+    public String currentKey() {
+        return currentKey;
+    }
+    /**
+     * Returns the index of the current element in its parent array.
+     *
+     * @return The current element's index, or {@code -1} if its parent is not an array
+     */
+    public int currentIndex() {
+        return currentIndex;
+    }
+    /**
+     * Returns the number of objects and arrays that are currently open.
+     * <p>
+     * After a {@code START_OBJECT} or {@code START_ARRAY} event, this includes
+     * the newly-entered object or array. After an {@code END_OBJECT} or
+     * {@code END_ARRAY} event, this no longer includes the exited object or array.
+     *
+     * @return The current depth of this cursor
+     */
+    public int depth() {
+        return depth;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A package-private helper class that computes the structural fingerprints
+ * of JSON trees by walking them with a {@link JSONCursor}.
+ * <p>
+ * A fingerprint is a 64-bit hash that is computed bottom-up: a leaf's fingerprint
+ * depends on its type and value, an array's on the fingerprints of its elements
+ * (in order), and an object's on its keys and the fingerprints of their values
+ * (in any order). Fingerprints that are cached by their containers (see
+ * {@link JSONValue#cachedFingerprint()}) are reused without walking the subtree.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see JSONValue#fingerprint()
+ */
+final class JSONFingerprint {
+    private static final long OBJECT_SEED = 0x6A09E667F3BCC908L, ARRAY_SEED = 0xBB67AE8584CAA73BL,
+            STRING_SEED = 0x3C6EF372FE94F82BL, LONG_SEED = 0xA54FF53A5F1D36F1L, DOUBLE_SEED = 0x510E527FADE682D1L,
+            NUMBER_SEED = 0x9B05688C2B3E6C1FL, TRUE = 0x1F83D9ABFB41BD6BL, FALSE = 0x5BE0CD19137E2179L,
+            NULL = 0xCBBB9D5DC1059ED8L;
+
+    /**
+     * A private constructor to prevent instantiation of this class.
+     */
+    private JSONFingerprint() {
+    }
+
+    /**
+     * Computes the fingerprint of the specified JSON tree.
+     * <p>
+     * If a map is given, then the fingerprint of every object and array in the
+     * tree is stored in it, and any fingerprints already in it are reused. This
+     * lets mutable trees, which cannot cache their own fingerprints, be compared
+     * subtree by subtree after a single walk.
+     *
+     * @param root  The root of the JSON tree
+     * @param known A map of already-computed fingerprints, which should compare keys by identity (or {@code null})
+     * @return The tree's fingerprint
+     */
+    static long of(JSONValue root, Map<JSONValue, Long> known) {
+        if (root.TYPE != JSONValue.ValueType.OBJECT && root.TYPE != JSONValue.ValueType.ARRAY)
+            return leaf(root);
+
+        long[] hashes = new long[16], keyHashes = new long[16];
+        int[] counts = new int[16];
+        long result = 0L;
+
+        JSONCursor cursor = new JSONCursor(root);
+        while (cursor.hasNext()) {
+            long fingerprint;
+            switch (cursor.next()) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    int top = cursor.depth() - 1;
+                    if (top == hashes.length) {
+                        hashes = Arrays.copyOf(hashes, top << 1);
+                        keyHashes = Arrays.copyOf(keyHashes, top << 1);
+                        counts = Arrays.copyOf(counts, top << 1);
+                    }
+
+                    long cached = cached(cursor.currentValue(), known);
+                    if (cached != 0L) {
+                        // reuse the cached fingerprint instead of walking the subtree
+                        cursor.skipChildren();
+                        hashes[top] = cached;
+                        counts[top] = -1;
+                    } else {
+                        hashes[top] = cursor.currentEvent() == JSONCursor.Event.START_OBJECT ? OBJECT_SEED : ARRAY_SEED;
+                        counts[top] = 0;
+                    }
+                    continue;
+
+                case KEY:
+                    keyHashes[cursor.depth() - 1] = string(cursor.currentKey());
+                    continue;
+
+                case VALUE:
+                    fingerprint = leaf(cursor.currentValue());
+                    break;
+
+                default:
+                    JSONValue container = cursor.currentValue();
+                    int depth = cursor.depth();
+                    if (counts[depth] < 0)
+                        fingerprint = hashes[depth];
+                    else {
+                        fingerprint = mix(hashes[depth] + counts[depth]);
+                        if (fingerprint == 0L)
+                            fingerprint = 1L; // 0 means "not cached"
+                        container.cacheFingerprint(fingerprint);
+                        if (known != null)
+                            known.put(container, fingerprint);
+                    }
+                    break;
+            }
+
+            int parent = cursor.depth() - 1;
+            if (parent < 0) {
+                result = fingerprint;
+                continue;
+            }
+            counts[parent]++;
+            if (cursor.currentKey() != null) // objects combine their entries in any order
+                hashes[parent] += mix(keyHashes[parent] ^ Long.rotateLeft(fingerprint, 29));
+            else // arrays combine their elements in order
+                hashes[parent] = Long.rotateLeft(hashes[parent] ^ fingerprint, 23) * 0x9E3779B97F4A7C15L;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the already-known fingerprint of the specified container.
+     *
+     * @param container The container
+     * @param known     A map of already-computed fingerprints (or {@code null})
+     * @return The container's fingerprint, or {@code 0} if it is not known
+     */
+    static long cached(JSONValue container, Map<JSONValue, Long> known) {
+        long cached = container.cachedFingerprint();
+        if (cached == 0L && known != null) {
+            Long value = known.get(container);
+            if (value != null)
+                cached = value;
+        }
+        return cached;
+    }
+
+    /**
+     * Computes the fingerprint of a string, number, or primitive.
+     *
+     * @param value The leaf value
+     * @return The value's fingerprint
+     */
+    static long leaf(JSONValue value) {
+        switch (value.TYPE) {
+            case STRING:
+                return mix(STRING_SEED ^ string(((JSONString) value).STRING));
+
+            case NUMBER:
+                Number number = ((JSONNumber) value).NUMBER;
+                if (number instanceof Long)
+                    return mix(LONG_SEED ^ mix(number.longValue()));
+                if (number instanceof Double)
+                    return mix(DOUBLE_SEED ^ mix(Double.doubleToLongBits(number.doubleValue())));
+                if (number instanceof BigInteger && ((BigInteger) number).bitLength() < 64)
+                    return mix(NUMBER_SEED ^ mix(number.longValue()));
+                // numbers of different classes are never equal to each other
+                return mix(NUMBER_SEED ^ string(number.getClass().getName() + ":" + number));
+
+            case PRIMITIVE:
+                Boolean bool = ((JSONPrimitive) value).VALUE;
+                return bool == null ? NULL : bool ? TRUE : FALSE;
+
+            default:
+                return of(value, null);
+        }
+    }
+
+    /**
+     * Computes a 64-bit hash of the specified string.
+     *
+     * @param s The string
+     * @return The string's hash
+     */
+    private static long string(String s) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0, n = s.length(); i < n; i++)
+            hash = (hash ^ s.charAt(i)) * 0x100000001B3L;
+        return mix(hash ^ s.length());
+    }
+
+    /**
+     * Scrambles the bits of the specified value (the finalizer of SplitMix64).
+     *
+     * @param z The value to scramble
+     * @return The scrambled value
+     */
+    private static long mix(long z) {
+        z = (z ^ z >>> 30) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ z >>> 27) * 0x94D049BB133111EBL;
+        return z ^ z >>> 31;
+    }
+}
@@ -0,0 +1,406 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * A hash index that maps the value at a fixed sub-path of each of a set of
+ * JSON elements (such as the {@code "sku"} of every element of {@code "items[*]"})
+ * to the elements that have that value.
+ * <p>
+ * An index is either unique, in which case no two indexed elements may have the
+ * same key, or multi-valued. Elements that do not have a value at the key path are
+ * not indexed. Keys are compared by value: strings by their (unescaped) contents,
+ * numbers by their {@link Number} values (so that the integer {@code 1} and the
+ * decimal {@code 1.0} are different keys), booleans and {@code null} by their
+ * values, and objects and arrays by {@link JSONValue#equals(Object)}. Lookups take
+ * either a {@link JSONValue} or a plain Java {@code String}, {@code Number},
+ * {@code Boolean}, or {@code null}.
+ * <p>
+ * An index that is attached to a {@link JSONArray} with {@link JSONArray#createIndex(String, boolean)}
+ * is updated incrementally by every modification of that array. An index built over a path in a
+ * tree with {@link #build(JSONValue, String, String, boolean)} is not updated when elements are
+ * added to or removed from the tree, so it indexes the elements that matched when it was built.
+ * <p>
+ * Modifications made inside of indexed elements (such as changing an element's key in place)
+ * are tracked as well: the index listens for changes to every mutable object and array on each
+ * element's key path (and inside the key itself, if it is an object or array), and any such
+ * change marks the index as stale. A stale index is rebuilt from its elements the next time it is
+ * used. Since the listeners are not removed from elements that are later removed from the index,
+ * modifying such an element can cause an unnecessary rebuild, but never an incorrect result.
+ * <p>
+ * All methods of this class are thread-safe.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see JSONArray#createIndex(String, boolean)
+ */
+public final class JSONIndex {
+    /**
+     * The key used for the JSON {@code null} value, since maps cannot tell a {@code null} key from a missing one
+     */
+    private static final Object NULL_KEY = new Object();
+
+    private final String KEY_PATH;
+    private final JSONValue.PathTrace[] KEY_TRACE;
+    private final boolean UNIQUE;
+    private final Supplier<? extends Iterable<JSONValue>> ELEMENTS;
+    private final Map<Object, Object> ENTRIES = new HashMap<>(); // a JSONValue, or a List<JSONValue> if not unique
+
+    private final Runnable LISTENER = this::markStale; // held strongly here, since containers hold it weakly
+    private volatile boolean stale = false;
+
+    /**
+     * Creates a new, empty {@code JSONIndex}.
+     *
+     * @param keyPath  The concrete path of the key of each indexed element, relative to that element
+     * @param unique   Whether or not every key can map to at most one element
+     * @param elements A supplier of the current elements to index, for rebuilding a stale index
+     * @throws IllegalArgumentException If the key path contains a wildcard
+     */
+    JSONIndex(String keyPath, boolean unique, Supplier<? extends Iterable<JSONValue>> elements) {
+        KEY_PATH = keyPath;
+        KEY_TRACE = JSONValue.tokenizeConcretePath(keyPath);
+        UNIQUE = unique;
+        ELEMENTS = elements;
+    }
+
+    /**
+     * Builds a snapshot index over all elements in the specified tree that match the specified path.
+     * <p>
+     * The elements' path is resolved from the root of the tree, using the syntax
+     * of {@link JSONValue#findElements(String)}, and the key path is resolved from
+     * each element. For example, {@code build(root, "items[*]", "sku", true)} indexes
+     * every element of the {@code "items"} array by its {@code "sku"}.
+     *
+     * @param root         The root of the JSON tree
+     * @param elementsPath The path of the elements to index
+     * @param keyPath      The concrete path of each element's key, relative to that element
+     * @param unique       Whether or not every key can map to at most one element
+     * @return The new index
+     * @throws IllegalArgumentException If the key path contains a wildcard
+     * @throws IllegalStateException    If the index is unique but two elements have the same key
+     */
+    public static JSONIndex build(JSONValue root, String elementsPath, String keyPath, boolean unique) {
+        List<JSONValue> elements = new ArrayList<>(root.findElements(elementsPath));
+        JSONIndex index = new JSONIndex(keyPath, unique, () -> elements);
+        for (JSONValue element : elements)
+            index.add(element);
+        return index;
+    }
+
+    /**
+     * Returns the key path of this index.
+     *
+     * @return The path of each indexed element's key, relative to that element
+     */
+    public String getKeyPath() {
+        return KEY_PATH;
+    }
+    /**
+     * Returns whether or not this index is unique.
+     *
+     * @return {@code true} if every key maps to at most one element; otherwise, {@code false}
+     */
+    public boolean isUnique() {
+        return UNIQUE;
+    }
+    /**
+     * Returns the number of distinct keys in this index.
+     *
+     * @return The number of keys
+     */
+    public synchronized int size() {
+        refresh();
+        return ENTRIES.size();
+    }
+
+    /**
+     * Returns the first indexed element with the specified key.
+     *
+     * @param key The key, as either a {@link JSONValue} or a plain Java value
+     * @return The element with that key (or the first such element, if this index is not unique),
+     * or {@code null} if there is none
+     */
+    public synchronized JSONValue get(Object key) {
+        refresh();
+        Object entry = ENTRIES.get(normalize(key));
+        if (entry instanceof List)
+            return ((List<?>) entry).isEmpty() ? null : (JSONValue) ((List<?>) entry).get(0);
+        return (JSONValue) entry;
+    }
+    /**
+     * Returns all of the indexed elements with the specified key.
+     *
+     * @param key The key, as either a {@link JSONValue} or a plain Java value
+     * @return A new list of the elements with that key, in the order they were indexed
+     */
+    public synchronized List<JSONValue> getAll(Object key) {
+        refresh();
+        Object entry = ENTRIES.get(normalize(key));
+        if (entry == null)
+            return new ArrayList<>(0);
+        if (entry instanceof JSONValue)
+            return new ArrayList<>(Collections.singletonList((JSONValue) entry));
+        @SuppressWarnings("unchecked")
+        List<JSONValue> elements = (List<JSONValue>) entry;
+        return new ArrayList<>(elements);
+    }
+    /**
+     * Checks whether or not any indexed element has the specified key.
+     *
+     * @param key The key, as either a {@link JSONValue} or a plain Java value
+     * @return {@code true} if some element has that key; otherwise, {@code false}
+     */
+    public synchronized boolean containsKey(Object key) {
+        refresh();
+        return ENTRIES.containsKey(normalize(key));
+    }
+
+    /**
+     * Verifies that the specified element can replace the other specified element in this index.
+     *
+     * @param removed The element being replaced (or {@code null})
+     * @param added   The new element (or {@code null})
+     * @throws IllegalStateException If this index is unique and another element already has the new element's key
+     */
+    synchronized void checkReplace(JSONValue removed, JSONValue added) {
+        if (!UNIQUE || added == null)
+            return;
+        refresh();
+        Object key = keyOf(added, false);
+        if (key == null)
+            return;
+        Object existing = ENTRIES.get(key);
+        if (existing != null && existing != removed)
+            throw duplicateKey(added);
+    }
+    /**
+     * Adds the specified element to this index, if it has a key.
+     * <p>
+     * If this index is stale, then the element is not added, since the
+     * rebuild will find it among the index's current elements anyway.
+     *
+     * @param element The element
+     * @throws IllegalStateException If this index is unique and another element already has the element's key
+     */
+    synchronized void add(JSONValue element) {
+        if (!stale)
+            insert(element);
+    }
+    /**
+     * Inserts the specified element into this index's hash table, if it has a key,
+     * and starts listening for changes to the element's key.
+     *
+     * @param element The element
+     * @throws IllegalStateException If this index is unique and another element already has the element's key
+     */
+    private void insert(JSONValue element) {
+        Object key = keyOf(element, true);
+        if (key == null)
+            return;
+
+        Object existing = ENTRIES.putIfAbsent(key, element);
+        if (existing == null)
+            return;
+        if (UNIQUE) {
+            if (existing != element)
+                throw duplicateKey(element);
+            return;
+        }
+
+        if (existing instanceof JSONValue) {
+            List<JSONValue> elements = new ArrayList<>(2);
+            elements.add((JSONValue) existing);
+            ENTRIES.put(key, elements);
+            existing = elements;
+        }
+        @SuppressWarnings("unchecked")
+        List<JSONValue> elements = (List<JSONValue>) existing;
+        elements.add(element);
+    }
+    /**
+     * Removes the specified element from this index, if it is indexed.
+     * <p>
+     * If this index is stale, then the element is not removed, since the
+     * rebuild will not find it among the index's current elements anyway.
+     *
+     * @param element The element
+     */
+    synchronized void remove(JSONValue element) {
+        if (stale)
+            return;
+        Object key = keyOf(element, false);
+        if (key == null)
+            return;
+
+        Object existing = ENTRIES.get(key);
+        if (existing == element)
+            ENTRIES.remove(key);
+        else if (existing instanceof List) {
+            List<?> elements = (List<?>) existing;
+            for (int i = 0; i < elements.size(); i++)
+                if (elements.get(i) == element) {
+                    elements.remove(i);
+                    break;
+                }
+            if (elements.size() == 1)
+                ENTRIES.put(key, elements.get(0));
+        }
+    }
+    /**
+     * Estimates the heap size of this index's hash table, excluding the indexed elements.
+     *
+     * @return The estimated size of this index, in bytes
+     * @see JSONMemoryReport
+     */
+    synchronized long estimateBytes() {
+        return JSONMemoryReport.instanceSize(5, 2) + JSONMemoryReport.hashMapSize(ENTRIES.size(), false);
+    }
+
+    /**
+     * Marks this index as stale, because an indexed element was modified in place.
+     */
+    private void markStale() {
+        stale = true;
+    }
+    /**
+     * Rebuilds this index from its current elements if it is stale.
+     * <p>
+     * The caller must hold this index's lock.
+     *
+     * @throws IllegalStateException If this index is unique but two elements now have the same key,
+     *                               in which case this index remains stale
+     */
+    private void refresh() {
+        if (!stale)
+            return;
+        stale = false; // modifications made during the rebuild mark the index stale again
+        ENTRIES.clear();
+        try {
+            for (JSONValue element : ELEMENTS.get())
+                insert(element);
+        } catch (IllegalStateException e) {
+            stale = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the normalized key of the specified element, which
+     * is the value at this index's key path from that element.
+     * <p>
+     * If the element is being indexed, then this index also starts listening for
+     * changes to every mutable container on the key path and inside of the key.
+     *
+     * @param element The element
+     * @param watch   Whether or not to listen for changes to the element's key
+     * @return The element's normalized key, or {@code null} if it has no value at the key path
+     */
+    private Object keyOf(JSONValue element, boolean watch) {
+        for (JSONValue.PathTrace step : KEY_TRACE) {
+            if (watch)
+                watch(element);
+            if (element.TYPE != (step.KEY != null ? JSONValue.ValueType.OBJECT : JSONValue.ValueType.ARRAY))
+                return null;
+            if (step.KEY != null) {
+                @SuppressWarnings("unchecked")
+                JSONStorageElement<String> object = (JSONStorageElement<String>) element;
+                element = object.getElement(step.KEY);
+            } else {
+                @SuppressWarnings("unchecked")
+                JSONStorageElement<Integer> array = (JSONStorageElement<Integer>) element;
+                element = step.INDEX < array.numElements() ? array.getElement(step.INDEX) : null;
+            }
+            if (element == null)
+                return null;
+        }
+        if (watch && (element.TYPE == JSONValue.ValueType.OBJECT || element.TYPE == JSONValue.ValueType.ARRAY)) {
+            JSONCursor cursor = new JSONCursor(element);
+            while (cursor.hasNext()) {
+                JSONCursor.Event event = cursor.next();
+                if (event == JSONCursor.Event.START_OBJECT || event == JSONCursor.Event.START_ARRAY)
+                    watch(cursor.currentValue());
+            }
+        }
+        return normalize(element);
+    }
+    /**
+     * Listens for changes to the specified element, if it is a mutable container.
+     *
+     * @param element The element
+     */
+    private void watch(JSONValue element) {
+        if (element instanceof JSONObject)
+            ((JSONObject) element).addChangeListener(LISTENER);
+        else if (element instanceof JSONArray)
+            ((JSONArray) element).addChangeListener(LISTENER);
+    }
+    /**
+     * Normalizes a lookup key (or the value of an element at the key path)
+     * so that equal JSON values always have equal keys.
+     *
+     * @param key The key, as either a {@link JSONValue} or a plain Java value
+     * @return The normalized key
+     */
+    private static Object normalize(Object key) {
+        if (key instanceof JSONValue) {
+            JSONValue value = (JSONValue) key;
+            switch (value.TYPE) {
+                case STRING:
+                    return ((JSONString) value).STRING;
+                case NUMBER:
+                    key = ((JSONNumber) value).NUMBER;
+                    break;
+                case PRIMITIVE:
+                    key = ((JSONPrimitive) value).VALUE;
+                    break;
+                default:
+                    return value;
+            }
+        }
+        if (key == null)
+            return NULL_KEY;
+        if (key instanceof Integer || key instanceof Short || key instanceof Byte)
+            return ((Number) key).longValue();
+        if (key instanceof Float)
+            return ((Float) key).doubleValue();
+        if (key instanceof BigInteger && ((BigInteger) key).bitLength() < 64)
+            return ((BigInteger) key).longValue();
+        return key;
+    }
+    /**
+     * Creates the exception for an element whose key is already in this unique index.
+     *
+     * @param element The element
+     * @return The exception to throw
+     */
+    private IllegalStateException duplicateKey(JSONValue element) {
+        return new IllegalStateException("Duplicate key at \"" + KEY_PATH + "\" in unique index: " + element.PATH);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import java.util.Arrays;
+
+/**
+ * A package-private helper class that computes key summaries of JSON trees.
+ * <p>
+ * A key summary is a Bloom filter of every object key that appears anywhere in a
+ * subtree (including the keys of the subtree's root), stored as an array of between
+ * {@value #MIN_WORDS} and {@value #MAX_WORDS} 64-bit words, and each key sets two
+ * of its bits. If a summary is missing either of a key's bits, then the key
+ * definitely does not appear in the subtree; otherwise, it probably does.
+ * <p>
+ * A single 64-bit word fills up once a subtree has more than a few dozen distinct
+ * keys, after which it cannot rule anything out, so summaries are sized from the
+ * (estimated) number of distinct keys in their subtrees, with about 8 bits per key
+ * (a false positive rate of about 5% per key). Every summary's size is a power of
+ * two, and a key's bits in a summary of {@code m} bits are its bits in a summary of
+ * {@value #MAX_WORDS} words modulo {@code m}, so a large summary can be folded into a
+ * smaller one exactly, and a small summary can be merged into a larger one by
+ * repeating it. Subtrees with more than about 500 distinct keys still fill up their
+ * (largest possible) summaries, and so are pruned less and less effectively.
+ * <p>
+ * Summaries are computed bottom-up and are cached by immutable containers (frozen
+ * and persistent objects and arrays), which compute them on demand the first time
+ * they are searched. Mutable containers are never summarized, since they cannot tell
+ * when one of their descendants changes. {@link JSONValue#findElements(String)} uses
+ * the summaries to skip the subtrees of wildcard and recursive descent steps that
+ * cannot match the rest of the path.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see JSONValue#keySummary()
+ */
+final class JSONKeySummary {
+    /**
+     * The size of the smallest key summary, in 64-bit words
+     */
+    static final int MIN_WORDS = 1;
+    /**
+     * The size of the largest key summary, in 64-bit words
+     */
+    static final int MAX_WORDS = 64;
+    /**
+     * The number of bits in the largest key summary
+     */
+    private static final int MAX_BITS = MAX_WORDS << 6;
+    /**
+     * The number of summary bits to use per (estimated) distinct key
+     */
+    private static final int BITS_PER_KEY = 8;
+
+    /**
+     * A private constructor to prevent instantiation of this class.
+     */
+    private JSONKeySummary() {
+    }
+
+    /**
+     * Computes the key summary of the specified JSON tree, caching the
+     * summaries of its immutable containers along the way.
+     * <p>
+     * Summaries that are already cached by containers
+     * (see {@link JSONValue#cachedKeySummary()}) are reused
+     * without walking their subtrees. Each open container is summarized
+     * at the largest size, and the summary is folded down to its final
+     * size once the container's subtree is done.
+     *
+     * @param root The root of the JSON tree
+     * @return The tree's key summary
+     */
+    static long[] of(JSONValue root) {
+        if (root.TYPE != JSONValue.ValueType.OBJECT && root.TYPE != JSONValue.ValueType.ARRAY)
+            return new long[MIN_WORDS];
+
+        long[][] filters = new long[16][];
+        long[] result = null;
+
+        JSONCursor cursor = new JSONCursor(root);
+        while (cursor.hasNext()) {
+            long[] filter;
+            switch (cursor.next()) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    int top = cursor.depth() - 1;
+                    if (top == filters.length)
+                        filters = Arrays.copyOf(filters, top << 1);
+                    if (filters[top] == null)
+                        filters[top] = new long[MAX_WORDS];
+                    else
+                        Arrays.fill(filters[top], 0L);
+
+                    long[] cached = cursor.currentValue().cachedKeySummary();
+                    if (cached != null) {
+                        // reuse the cached summary instead of walking the subtree
+                        cursor.skipChildren();
+                        merge(filters[top], cached);
+                    }
+                    continue;
+
+                case KEY:
+                    long hash = hash(cursor.currentKey());
+                    filter = filters[cursor.depth() - 1];
+                    filter[(int) hash >>> 6 & MAX_WORDS - 1] |= 1L << hash;
+                    filter[(int) (hash >>> 32) >>> 6 & MAX_WORDS - 1] |= 1L << (hash >>> 32);
+                    continue;
+
+                case VALUE:
+                    continue;
+
+                default:
+                    filter = filters[cursor.depth()];
+                    JSONValue container = cursor.currentValue();
+                    if (container.cachedKeySummary() == null)
+                        container.cacheKeySummary(fold(filter));
+                    break;
+            }
+
+            int parent = cursor.depth() - 1;
+            if (parent < 0)
+                result = filter;
+            else
+                merge(filters[parent], filter);
+        }
+        return fold(result);
+    }
+
+    /**
+     * Folds a summary of the largest size down to the size that suits
+     * the number of distinct keys it (approximately) holds.
+     *
+     * @param filter The summary, with {@value #MAX_WORDS} words
+     * @return The folded summary
+     */
+    private static long[] fold(long[] filter) {
+        int setBits = 0;
+        for (long word : filter)
+            setBits += Long.bitCount(word);
+
+        // each key sets about 2 bits, so there are about setBits / 2 distinct keys
+        int words = MIN_WORDS;
+        while (words < MAX_WORDS && words << 6 < setBits / 2 * BITS_PER_KEY)
+            words <<= 1;
+
+        long[] folded = new long[words];
+        for (int i = 0; i < MAX_WORDS; i++)
+            folded[i & words - 1] |= filter[i];
+        return folded;
+    }
+    /**
+     * Merges a summary of any size into a summary of the largest size.
+     *
+     * @param filter  The summary to merge into, with {@value #MAX_WORDS} words
+     * @param summary The summary to merge, which is repeated if it is smaller
+     */
+    private static void merge(long[] filter, long[] summary) {
+        for (int i = 0; i < MAX_WORDS; i++)
+            filter[i] |= summary[i & summary.length - 1];
+    }
+
+    /**
+     * Returns the summary hash of the specified key.
+     * <p>
+     * The low and high halves of the hash are the positions (modulo the size
+     * of a summary) of the two bits that the key sets in a summary.
+     *
+     * @param key The key
+     * @return The key's hash
+     */
+    static long hash(String key) {
+        long z = key.hashCode() * 0x9E3779B97F4A7C15L;
+        z = (z ^ z >>> 31) * 0xBF58476D1CE4E5B9L;
+        return z ^ z >>> 29;
+    }
+
+    /**
+     * Returns whether or not the subtree rooted at the specified value might contain all
+     * of the specified keys, using the value's key summary (if it has one).
+     *
+     * @param value The root of the subtree
+     * @param keys  The hashes of the keys (see {@link #hash(String)})
+     * @return {@code false}, if the subtree definitely does not contain all of the keys; otherwise, {@code true}
+     */
+    static boolean mightContain(JSONValue value, long[] keys) {
+        if (keys.length == 0 || value.TYPE != JSONValue.ValueType.OBJECT && value.TYPE != JSONValue.ValueType.ARRAY)
+            return true;
+        long[] summary = value.keySummary();
+        if (summary == null)
+            return true;
+
+        int mask = (summary.length << 6) - 1;
+        for (long hash : keys) {
+            int low = (int) hash & mask, high = (int) (hash >>> 32) & mask;
+            if ((summary[low >>> 6] & 1L << low) == 0L || (summary[high >>> 6] & 1L << high) == 0L)
+                return false;
+        }
+        return true;
+    }
+}
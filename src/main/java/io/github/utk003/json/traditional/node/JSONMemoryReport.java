@@ -0,0 +1,407 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * A breakdown of the estimated heap memory retained by a JSON tree.
+ * <p>
+ * A {@code JSONMemoryReport} is built by a single walk over the tree (see
+ * {@link JSONValue#memoryReport()}) that allocates nothing per node. It counts
+ * the tree's nodes by {@link JSONValue.ValueType type} and splits their estimated
+ * cost into the nodes themselves, their path strings, their string contents (object
+ * keys, string values, and memoized {@code toString()} output), boxed numbers,
+ * and the maps, lists, and tries that hold the children of objects and arrays.
+ * <p>
+ * All sizes are estimates for a 64-bit HotSpot JVM with compressed object pointers
+ * (12-byte object headers, 4-byte references, and 8-byte alignment). They are meant
+ * for sizing caches of parsed documents, not for exact accounting. In particular:
+ * <ul>
+ *     <li>A node that appears more than once in the tree is counted once per appearance.</li>
+ *     <li>Unmaterialized lazy containers (see {@link JSONValue#parseLazyJSON(io.github.utk003.json.scanner.Scanner)})
+ *     are counted together with their shared token index, which is counted only once.</li>
+ *     <li>The nodes of an off-heap document are created on demand and are not retained by their
+ *     parents, so only the views themselves are counted on the heap. The document's off-heap
+ *     records are reported separately by {@link #getOffHeapBytes()}.</li>
+ * </ul>
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see JSONValue#estimateRetainedBytes()
+ */
+public final class JSONMemoryReport {
+    private static final int HEADER_SIZE = 12, ARRAY_HEADER_SIZE = 16, REFERENCE_SIZE = 4, ALIGNMENT = 8;
+    private static final boolean COMPACT_STRINGS = !System.getProperty("java.specification.version", "1.8").startsWith("1.");
+
+    private final long[] COUNTS = new long[JSONValue.ValueType.values().length];
+    private long nodeBytes = 0L, pathBytes = 0L, stringBytes = 0L, numberBytes = 0L,
+            containerBytes = 0L, lazySourceBytes = 0L, offHeapBytes = 0L;
+
+    private JSONValue[] stack = new JSONValue[16];
+    private int stackSize = 0;
+    private LazyJSONSource lastSource = null;
+    private OffHeapJSONDocument lastDocument = null;
+
+    /**
+     * A private constructor to create an empty {@code JSONMemoryReport}.
+     */
+    private JSONMemoryReport() {
+    }
+
+    /**
+     * Measures the JSON tree rooted at the specified {@link JSONValue}.
+     *
+     * @param root The root of the JSON tree
+     * @return The tree's memory report
+     */
+    static JSONMemoryReport of(JSONValue root) {
+        JSONMemoryReport report = new JSONMemoryReport();
+        report.push(root);
+        while (report.stackSize > 0) {
+            JSONValue value = report.stack[--report.stackSize];
+            report.stack[report.stackSize] = null;
+            value.measure(report);
+        }
+        report.stack = null;
+        report.lastSource = null;
+        report.lastDocument = null;
+        return report;
+    }
+
+    /**
+     * Returns the number of nodes in the measured tree.
+     *
+     * @return The total node count
+     */
+    public long getNodeCount() {
+        long count = 0L;
+        for (long c : COUNTS)
+            count += c;
+        return count;
+    }
+    /**
+     * Returns the number of nodes of the specified type in the measured tree.
+     *
+     * @param type The node type
+     * @return The number of nodes of that type
+     */
+    public long getNodeCount(JSONValue.ValueType type) {
+        return COUNTS[type.ordinal()];
+    }
+
+    /**
+     * Returns the estimated size of the {@link JSONValue} objects themselves,
+     * excluding everything they reference.
+     *
+     * @return The estimated node bytes
+     */
+    public long getNodeBytes() {
+        return nodeBytes;
+    }
+    /**
+     * Returns the estimated size of the nodes' path strings.
+     *
+     * @return The estimated path bytes
+     */
+    public long getPathBytes() {
+        return pathBytes;
+    }
+    /**
+     * Returns the estimated size of the object keys, the string values (both their
+     * escaped and unescaped forms), and any memoized {@code toString()} output.
+     *
+     * @return The estimated string bytes
+     */
+    public long getStringBytes() {
+        return stringBytes;
+    }
+    /**
+     * Returns the estimated size of the boxed {@link Number} values of the tree's numbers.
+     * <p>
+     * Small integers that the JVM caches are free.
+     *
+     * @return The estimated number bytes
+     */
+    public long getNumberBytes() {
+        return numberBytes;
+    }
+    /**
+     * Returns the estimated size of the maps, lists, and persistent tries
+     * that hold the children of the tree's objects and arrays (along with
+     * the indexes and cached key summaries of those objects and arrays).
+     *
+     * @return The estimated container overhead, in bytes
+     */
+    public long getContainerBytes() {
+        return containerBytes;
+    }
+    /**
+     * Returns the estimated size of the token indexes that back
+     * the tree's unmaterialized lazy objects and arrays.
+     *
+     * @return The estimated lazy source bytes
+     */
+    public long getLazySourceBytes() {
+        return lazySourceBytes;
+    }
+    /**
+     * Returns the number of off-heap bytes used by the off-heap documents that the tree's nodes belong to.
+     * <p>
+     * These bytes are not included in {@link #getTotalBytes()}.
+     *
+     * @return The off-heap bytes
+     * @see OffHeapJSONDocument#sizeInBytes()
+     */
+    public long getOffHeapBytes() {
+        return offHeapBytes;
+    }
+    /**
+     * Returns the estimated total heap size of the measured tree.
+     * <p>
+     * This is the sum of all of the other estimates in this report, except for the off-heap bytes.
+     *
+     * @return The estimated retained heap bytes
+     * @see JSONValue#estimateRetainedBytes()
+     */
+    public long getTotalBytes() {
+        return nodeBytes + pathBytes + stringBytes + numberBytes + containerBytes + lazySourceBytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("JSONMemoryReport: ")
+                .append(getNodeCount()).append(" nodes, ~").append(getTotalBytes()).append(" bytes\n");
+        for (JSONValue.ValueType type : JSONValue.ValueType.values())
+            builder.append("  ").append(type.name().toLowerCase()).append(" nodes: ").append(COUNTS[type.ordinal()]).append('\n');
+        builder.append("  node bytes: ").append(nodeBytes).append('\n')
+                .append("  path bytes: ").append(pathBytes).append('\n')
+                .append("  string bytes: ").append(stringBytes).append('\n')
+                .append("  number bytes: ").append(numberBytes).append('\n')
+                .append("  container bytes: ").append(containerBytes).append('\n')
+                .append("  lazy source bytes: ").append(lazySourceBytes).append('\n')
+                .append("  off-heap bytes: ").append(offHeapBytes);
+        return builder.toString();
+    }
+
+    /**
+     * Schedules the specified child node to be measured.
+     *
+     * @param value The child node
+     */
+    void push(JSONValue value) {
+        if (stackSize == stack.length)
+            stack = Arrays.copyOf(stack, stackSize << 1);
+        stack[stackSize++] = value;
+    }
+
+    /**
+     * Records a node of the specified type, its own (shallow) size, and its path.
+     *
+     * @param type         The node's type
+     * @param shallowBytes The estimated size of the node object itself
+     * @param path         The node's path
+     */
+    void addNode(JSONValue.ValueType type, long shallowBytes, String path) {
+        COUNTS[type.ordinal()]++;
+        nodeBytes += shallowBytes;
+        if (path != null && path != JSONValue.ROOT_PATH) // the root path constant is shared by every tree
+            pathBytes += stringSize(path);
+    }
+    /**
+     * Records a string held by a node.
+     *
+     * @param s The string
+     */
+    void addString(String s) {
+        if (s != null)
+            stringBytes += stringSize(s);
+    }
+    /**
+     * Records the boxed number held by a node.
+     *
+     * @param number The number
+     */
+    void addNumber(Number number) {
+        numberBytes += numberSize(number);
+    }
+    /**
+     * Records the size of the data structure that holds a container's children.
+     *
+     * @param bytes The estimated size of the data structure
+     */
+    void addContainer(long bytes) {
+        containerBytes += bytes;
+    }
+    /**
+     * Records the size of a container's cached key summary (see {@link JSONKeySummary}), if it has one.
+     *
+     * @param summary The cached key summary (or {@code null})
+     */
+    void addKeySummary(long[] summary) {
+        if (summary != null)
+            containerBytes += arraySize(summary.length, 8);
+    }
+    /**
+     * Records the {@link LazyJSONSource} backing an unmaterialized container,
+     * unless it was the source recorded most recently.
+     *
+     * @param source The lazy source
+     */
+    void addLazySource(LazyJSONSource source) {
+        if (source != lastSource) {
+            lastSource = source;
+            lazySourceBytes += source.estimateBytes();
+        }
+    }
+    /**
+     * Records the {@link OffHeapJSONDocument} that a view belongs to,
+     * unless it was the document recorded most recently.
+     *
+     * @param document The off-heap document
+     */
+    void addOffHeapDocument(OffHeapJSONDocument document) {
+        if (document != lastDocument) {
+            lastDocument = document;
+            offHeapBytes += document.sizeInBytes();
+        }
+    }
+
+    /**
+     * Returns the estimated size of an object with the specified fields.
+     *
+     * @param references     The number of reference fields
+     * @param primitiveBytes The total size of the primitive fields
+     * @return The estimated object size, in bytes
+     */
+    static long instanceSize(int references, int primitiveBytes) {
+        return align(HEADER_SIZE + (long) references * REFERENCE_SIZE + primitiveBytes);
+    }
+    /**
+     * Returns the estimated size of an array.
+     *
+     * @param length      The array's length
+     * @param elementSize The size of each element, or {@code 0} for references
+     * @return The estimated array size, in bytes
+     */
+    static long arraySize(int length, int elementSize) {
+        return align(ARRAY_HEADER_SIZE + (long) length * (elementSize == 0 ? REFERENCE_SIZE : elementSize));
+    }
+    /**
+     * Returns the estimated size of a {@link String}, including its character array.
+     *
+     * @param s The string
+     * @return The estimated string size, in bytes
+     */
+    static long stringSize(String s) {
+        int length = s.length();
+        boolean latin1 = COMPACT_STRINGS;
+        for (int i = 0; latin1 && i < length; i++)
+            latin1 = s.charAt(i) <= 0xFF;
+        return instanceSize(1, 8) + arraySize(length, latin1 ? 1 : 2);
+    }
+    /**
+     * Returns the estimated size of a boxed {@link Number}.
+     *
+     * @param number The number
+     * @return The estimated number size, in bytes
+     */
+    static long numberSize(Number number) {
+        if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+            long value = number.longValue();
+            return value >= -128 && value <= 127 ? 0L : instanceSize(0, 8);
+        }
+        if (number instanceof BigInteger)
+            return instanceSize(1, 20) + arraySize((((BigInteger) number).bitLength() + 31) >>> 5, 4);
+        if (number instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) number;
+            long size = instanceSize(2, 16);
+            return decimal.precision() > 18 ? size + numberSize(decimal.unscaledValue()) : size;
+        }
+        return instanceSize(0, 8);
+    }
+    /**
+     * Returns the estimated size of a {@link java.util.HashMap} or a
+     * {@link java.util.concurrent.ConcurrentHashMap} with the specified number of entries.
+     *
+     * @param size       The number of entries
+     * @param concurrent Whether or not the map is a {@code ConcurrentHashMap}
+     * @return The estimated map size, in bytes
+     */
+    static long hashMapSize(int size, boolean concurrent) {
+        long bytes = concurrent ? instanceSize(7, 20) : instanceSize(4, 16);
+        if (size == 0)
+            return bytes;
+
+        int capacity = 16;
+        while (size > capacity - (capacity >>> 2))
+            capacity <<= 1;
+        return bytes + arraySize(capacity, 0) + size * instanceSize(3, 4);
+    }
+    /**
+     * Returns the estimated size of an {@link java.util.ArrayList} with the specified number of elements.
+     *
+     * @param size  The number of elements
+     * @param exact Whether or not the list's capacity is exactly its size
+     * @return The estimated list size, in bytes
+     */
+    static long arrayListSize(int size, boolean exact) {
+        long bytes = instanceSize(1, 8);
+        if (size == 0)
+            return bytes;
+
+        int capacity = size;
+        if (!exact)
+            for (capacity = 10; capacity < size; )
+                capacity += capacity >> 1;
+        return bytes + arraySize(capacity, 0);
+    }
+    /**
+     * Returns the estimated size of a {@link java.util.concurrent.CopyOnWriteArrayList}
+     * with the specified number of elements.
+     *
+     * @param size The number of elements
+     * @return The estimated list size, in bytes
+     */
+    static long copyOnWriteListSize(int size) {
+        // the list, its lock, and the lock's synchronizer
+        return instanceSize(2, 0) + instanceSize(1, 0) + instanceSize(3, 4) + arraySize(size, 0);
+    }
+
+    /**
+     * Rounds the specified size up to the JVM's object alignment.
+     *
+     * @param size The unaligned size
+     * @return The aligned size
+     */
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
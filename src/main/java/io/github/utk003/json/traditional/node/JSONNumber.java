@@ -27,14 +27,12 @@ package io.github.utk003.json.traditional.node;
 import io.github.utk003.json.scanner.Scanner;
 
 import java.io.PrintStream;
-import java.util.Collection;
-import java.util.Collections;
 
 /**
  * A {@link JSONValue} that represents a JSON number.
  *
  * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
- * @version February 23, 2021
+ * @version October 19, 2026
  * @see JSONValue
  */
 public class JSONNumber extends JSONValue {
@@ -82,16 +80,17 @@ public class JSONNumber extends JSONValue {
      * {@inheritDoc}
      */
     @Override
-    public Collection<JSONValue> findElements(PathTrace[] tokenizedPath, int index) {
-        return index == tokenizedPath.length ? Collections.singleton(this) : Collections.emptySet();
+    protected void print(PrintStream out, int depth) {
+        outputString(out, "" + NUMBER);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    protected void print(PrintStream out, int depth) {
-        outputString(out, "" + NUMBER);
+    void measure(JSONMemoryReport report) {
+        report.addNode(TYPE, JSONMemoryReport.instanceSize(3, 0), PATH);
+        report.addNumber(NUMBER);
     }
 
     /**
@@ -30,6 +30,8 @@ import io.github.utk003.util.misc.Verifier;
 
 import java.io.PrintStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 
 /**
  * A {@link JSONValue} that represents a JSON object.
@@ -38,35 +40,121 @@ import java.util.*;
  * a parameter type of {@code String}.
  *
  * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
- * @version February 23, 2021
+ * @version October 19, 2026
  * @see JSONValue
  * @see JSONStorageElement
  */
 public class JSONObject extends JSONValue implements JSONStorageElement<String> {
     private final Map<String, JSONValue> ELEMENTS;
 
+    private volatile LazyJSONSource lazySource;
+    private final int LAZY_START;
+
+    private final boolean CONCURRENT, FROZEN, MEMOIZE_STRING;
+    private volatile int cachedHash = 0;
+    private volatile long cachedFingerprint = 0L;
+    private volatile long[] cachedKeySummary = null;
+    private volatile JSONChangeListeners listeners = null;
+    private volatile String cachedString = null;
+
     /**
      * Creates a new {@code JSONObject} with the specified path in the JSON tree.
      *
      * @param path This node's path in the JSON tree
      */
     public JSONObject(String path) {
+        this(path, false);
+    }
+    /**
+     * Creates a new {@code JSONObject} with the specified path in the JSON tree.
+     * <p>
+     * If the {@code concurrent} argument is {@code true}, then this object's
+     * children are stored in a {@link ConcurrentHashMap}, which allows any number
+     * of threads to read and modify this object at the same time. Reads never block,
+     * and the atomic operations {@link #putIfAbsent(String, JSONValue)} and
+     * {@link #compute(String, BiFunction)} only lock the affected key.
+     *
+     * @param path       This node's path in the JSON tree
+     * @param concurrent Whether or not this object should support concurrent modification
+     * @see ConcurrentJSONDocument
+     */
+    public JSONObject(String path, boolean concurrent) {
+        super(ValueType.OBJECT, path);
+        ELEMENTS = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        lazySource = null;
+        LAZY_START = -1;
+        CONCURRENT = concurrent;
+        FROZEN = MEMOIZE_STRING = false;
+    }
+    /**
+     * Creates a new, unmaterialized {@code JSONObject} with the specified path in the
+     * JSON tree whose children will be created from the specified {@link LazyJSONSource}
+     * the first time they are accessed.
+     *
+     * @param path   This node's path in the JSON tree
+     * @param source The lazy source backing this object
+     * @param start  The index of this object's opening brace in the lazy source
+     * @see JSONValue#parseLazyJSON(Scanner)
+     */
+    JSONObject(String path, LazyJSONSource source, int start) {
         super(ValueType.OBJECT, path);
         ELEMENTS = new HashMap<>();
+        lazySource = source;
+        LAZY_START = start;
+        CONCURRENT = FROZEN = MEMOIZE_STRING = false;
+    }
+    /**
+     * Creates a new, frozen {@code JSONObject} with the specified path
+     * in the JSON tree and the specified (already frozen) children.
+     *
+     * @param path           This node's path in the JSON tree
+     * @param frozenElements This object's frozen children
+     * @param memoizeString  Whether or not to cache this object's {@code toString()} output
+     * @see JSONValue#freeze(boolean)
+     */
+    JSONObject(String path, Map<String, JSONValue> frozenElements, boolean memoizeString) {
+        super(ValueType.OBJECT, path);
+        ELEMENTS = frozenElements;
+        lazySource = null;
+        LAZY_START = -1;
+        CONCURRENT = false;
+        FROZEN = true;
+        MEMOIZE_STRING = memoizeString;
     }
+
+    /**
+     * Returns this object's children, first materializing them
+     * from this object's {@link LazyJSONSource} if necessary.
+     * <p>
+     * Materialization happens at most once and is safe under concurrent access.
+     *
+     * @return The map holding this object's children
+     */
+    private Map<String, JSONValue> elements() {
+        if (lazySource != null)
+            synchronized (this) {
+                LazyJSONSource source = lazySource;
+                if (source != null) {
+                    source.materializeObject(ELEMENTS, LAZY_START, PATH);
+                    lazySource = null; // release the source for garbage collection
+                }
+            }
+        return ELEMENTS;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public int numElements() {
-        return ELEMENTS.size();
+        return elements().size();
     }
     /**
      * {@inheritDoc}
      */
     @Override
     public boolean isEmpty() {
-        return ELEMENTS.isEmpty();
+        return elements().isEmpty();
     }
 
     /**
@@ -74,14 +162,102 @@ public class JSONObject extends JSONValue implements JSONStorageElement<String>
      */
     @Override
     public void modifyElement(String key, JSONValue val) {
-        ELEMENTS.put(key, val);
+        requireNotFrozen();
+        elements().put(key, val);
+        fireChange();
+    }
+    /**
+     * Sets the child with the specified key to the specified {@code JSONValue}
+     * element if and only if this object does not already have a child with that key.
+     * <p>
+     * If this {@code JSONObject} is concurrent, then this operation is atomic.
+     *
+     * @param key The key to insert at
+     * @param val The new child element
+     * @return The existing child with that key, if it exists; otherwise, {@code null}
+     * @see Map#putIfAbsent(Object, Object)
+     */
+    public JSONValue putIfAbsent(String key, JSONValue val) {
+        requireNotFrozen();
+        JSONValue existing = elements().putIfAbsent(key, val);
+        if (existing == null)
+            fireChange();
+        return existing;
+    }
+    /**
+     * Recomputes the child with the specified key from its current value
+     * (or {@code null}, if no such child exists) using the given function.
+     * <p>
+     * If the function returns {@code null}, then the child is removed.
+     * If this {@code JSONObject} is concurrent, then this operation is atomic,
+     * and the function is called at most once.
+     *
+     * @param key      The key to recompute
+     * @param function The function that computes the new child from the key and the old child
+     * @return The new child with that key, if it exists; otherwise, {@code null}
+     * @see Map#compute(Object, BiFunction)
+     */
+    public JSONValue compute(String key, BiFunction<String, JSONValue, JSONValue> function) {
+        requireNotFrozen();
+        JSONValue computed = elements().compute(key, function);
+        fireChange();
+        return computed;
+    }
+
+    /**
+     * Returns whether or not this {@code JSONObject} supports concurrent modification.
+     *
+     * @return {@code true}, if this object is concurrent; otherwise, {@code false}
+     * @see #JSONObject(String, boolean)
+     */
+    public boolean isConcurrent() {
+        return CONCURRENT;
+    }
+
+    /**
+     * Adds the specified listener to this {@code JSONObject}, so that it is notified of
+     * every later modification of this object. Adding the same listener again has no effect.
+     * <p>
+     * Listeners are held weakly (see {@link JSONChangeListeners}). Frozen containers
+     * are never modified, so listeners are never added to them.
+     *
+     * @param listener The listener
+     */
+    void addChangeListener(Runnable listener) {
+        if (FROZEN)
+            return;
+        JSONChangeListeners attached = listeners;
+        if (attached == null)
+            synchronized (this) {
+                if ((attached = listeners) == null)
+                    listeners = attached = new JSONChangeListeners();
+            }
+        attached.add(listener);
+    }
+    /**
+     * Notifies the change listeners added to this {@code JSONObject} (if any).
+     */
+    private void fireChange() {
+        JSONChangeListeners attached = listeners;
+        if (attached != null)
+            attached.fire();
+    }
+
+    /**
+     * Verifies that this {@code JSONObject} is not frozen and can therefore be modified.
+     *
+     * @throws UnsupportedOperationException If this object is frozen
+     */
+    private void requireNotFrozen() {
+        if (FROZEN)
+            throw new UnsupportedOperationException("A frozen JSONObject cannot be modified");
     }
     /**
      * {@inheritDoc}
      */
     @Override
     public JSONValue getElement(String key) {
-        return ELEMENTS.get(key);
+        return elements().get(key);
     }
 
     /**
@@ -89,7 +265,7 @@ public class JSONObject extends JSONValue implements JSONStorageElement<String>
      */
     @Override
     public Collection<JSONValue> getElements() {
-        return Collections.unmodifiableCollection(ELEMENTS.values());
+        return Collections.unmodifiableCollection(elements().values());
     }
     /**
      * {@inheritDoc}
@@ -97,7 +273,7 @@ public class JSONObject extends JSONValue implements JSONStorageElement<String>
     @Override
     public LinkedList<ImmutablePair<String, JSONValue>> getElementsPaired() {
         LinkedList<ImmutablePair<String, JSONValue>> list = new LinkedList<>();
-        for (Map.Entry<String, JSONValue> e : ELEMENTS.entrySet())
+        for (Map.Entry<String, JSONValue> e : elements().entrySet())
             list.addLast(new ImmutablePair<>(e.getKey(), e.getValue()));
         return list;
     }
@@ -107,13 +283,40 @@ public class JSONObject extends JSONValue implements JSONStorageElement<String>
     @Override
     public ImmutablePair<LinkedList<String>, LinkedList<JSONValue>> getElementsAsPairedLists() {
         ImmutablePair<LinkedList<String>, LinkedList<JSONValue>> pair = new ImmutablePair<>(new LinkedList<>(), new LinkedList<>());
-        for (Map.Entry<String, JSONValue> e : ELEMENTS.entrySet()) {
+        for (Map.Entry<String, JSONValue> e : elements().entrySet()) {
             pair.FIRST.addLast(e.getKey());
             pair.SECOND.addLast(e.getValue());
         }
         return pair;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ElementIterator elementIterator() {
+        Iterator<Map.Entry<String, JSONValue>> entries = elements().entrySet().iterator();
+        return new ElementIterator() {
+            private Map.Entry<String, JSONValue> entry = null;
+
+            @Override
+            public boolean advance() {
+                entry = entries.hasNext() ? entries.next() : null;
+                return entry != null;
+            }
+
+            @Override
+            public String key() {
+                return entry.getKey();
+            }
+
+            @Override
+            public JSONValue value() {
+                return entry.getValue();
+            }
+        };
+    }
+
     /**
      * Parses a {@code JSONObject} from the given {@link Scanner}.
      * <p>
@@ -150,60 +353,118 @@ public class JSONObject extends JSONValue implements JSONStorageElement<String>
      * {@inheritDoc}
      */
     @Override
-    public Collection<JSONValue> findElements(PathTrace[] tokenizedPath, int index) {
-        if (index == tokenizedPath.length)
-            return Collections.singleton(this);
+    protected void print(PrintStream out, int depth) {
+        JSONTextWriter.print(this, out, depth);
+    }
 
-        PathTrace trace = tokenizedPath[index];
-        if (trace.KEY == null)
-            return Collections.emptySet();
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isFrozen() {
+        return FROZEN;
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected JSONValue createFrozenCopy(boolean memoizeStrings) {
+        Map<String, JSONValue> elements = elements();
+        Map<String, JSONValue> frozenElements = new HashMap<>((int) (elements.size() / 0.75f) + 1);
+        for (Map.Entry<String, JSONValue> e : elements.entrySet())
+            frozenElements.put(e.getKey(), e.getValue().freeze(memoizeStrings));
+        return new JSONObject(PATH, frozenElements, memoizeStrings);
+    }
 
-        index++;
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    long cachedFingerprint() {
+        return cachedFingerprint;
+    }
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only frozen {@code JSONObject}s cache their fingerprints.
+     */
+    @Override
+    void cacheFingerprint(long fingerprint) {
+        if (FROZEN)
+            cachedFingerprint = fingerprint;
+    }
 
-        Collection<JSONValue> elements;
-        if (trace.KEY.equals("*")) {
-            elements = new LinkedList<>();
-            for (JSONValue element : ELEMENTS.values())
-                elements.addAll(element.findElements(tokenizedPath, index));
-        } else
-            elements = getElement(trace.KEY).findElements(tokenizedPath, index);
-        return elements;
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only frozen {@code JSONObject}s have key summaries, which
+     * are computed the first time they are needed.
+     */
+    @Override
+    long[] keySummary() {
+        if (!FROZEN)
+            return null;
+        long[] summary = cachedKeySummary;
+        return summary != null ? summary : JSONKeySummary.of(this);
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    long[] cachedKeySummary() {
+        return cachedKeySummary;
+    }
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only frozen {@code JSONObject}s cache their key summaries.
+     */
+    @Override
+    void cacheKeySummary(long[] summary) {
+        if (FROZEN)
+            cachedKeySummary = summary;
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * An unmaterialized {@code JSONObject} is measured together with its lazy source,
+     * and its children are not materialized.
      */
     @Override
-    protected void print(PrintStream out, int depth) {
-        depth++;
-        outputStringWithNewLine(out, "{");
-
-        int count = 0, total = ELEMENTS.size();
-        for (Map.Entry<String, JSONValue> entry : ELEMENTS.entrySet()) {
-            outputString(out, "", depth);
-            outputString(out, "\"");
-            outputString(out, entry.getKey());
-            outputString(out, "\"");
-            outputString(out, ": ");
-
-            entry.getValue().print(out, depth);
-
-            if (++count != total)
-                outputStringWithNewLine(out, ",");
-            else
-                outputNewLine(out);
+    void measure(JSONMemoryReport report) {
+        report.addNode(TYPE, JSONMemoryReport.instanceSize(7, 19), PATH);
+        report.addString(cachedString);
+        report.addKeySummary(cachedKeySummary);
+
+        LazyJSONSource source = lazySource;
+        if (source != null) {
+            report.addContainer(JSONMemoryReport.hashMapSize(0, false));
+            report.addLazySource(source);
+            return;
         }
 
-        depth--;
-        outputString(out, "}", depth);
+        report.addContainer(JSONMemoryReport.hashMapSize(ELEMENTS.size(), CONCURRENT));
+        for (Map.Entry<String, JSONValue> e : ELEMENTS.entrySet()) {
+            report.addString(e.getKey());
+            report.push(e.getValue());
+        }
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * If this {@code JSONObject} is frozen, then its hash code is only computed once.
      */
     @Override
     public int hashCode() {
-        return ELEMENTS.hashCode();
+        if (!FROZEN)
+            return elements().hashCode();
+
+        int hash = cachedHash;
+        if (hash == 0)
+            cachedHash = hash = ELEMENTS.hashCode();
+        return hash;
     }
 
     /**
@@ -211,17 +472,40 @@ public class JSONObject extends JSONValue implements JSONStorageElement<String>
      */
     @Override
     public boolean equals(Object obj) {
-        return obj instanceof JSONObject && ELEMENTS.equals(((JSONObject) obj).ELEMENTS);
+        if (obj == this)
+            return true;
+        if (!(obj instanceof JSONObject))
+            return JSONValue.containerEquals(this, obj);
+
+        JSONObject other = (JSONObject) obj;
+        if (FROZEN && other.FROZEN && hashCode() != other.hashCode())
+            return false;
+        return elements().equals(other.elements());
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * If this {@code JSONObject} is frozen with string memoization
+     * enabled, then its string form is only computed once.
      */
     @Override
     public String toString() {
-        StringBuilder builder = new StringBuilder();
-        for (Map.Entry<String, JSONValue> element : ELEMENTS.entrySet())
-            builder.append(",\"").append(element.getKey()).append("\":").append(element.getValue());
-        return "{" + (builder.length() == 0 ? "" : builder.substring(1)) + "}";
+        if (!MEMOIZE_STRING)
+            return buildString();
+
+        String str = cachedString;
+        if (str == null)
+            cachedString = str = buildString();
+        return str;
+    }
+    /**
+     * Builds the condensed string form of this {@code JSONObject}.
+     *
+     * @return This object's JSON in a condensed form
+     * @see #toString()
+     */
+    private String buildString() {
+        return JSONTextWriter.toCompactString(this);
     }
 }
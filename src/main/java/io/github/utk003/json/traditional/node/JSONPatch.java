@@ -0,0 +1,453 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import io.github.utk003.util.data.tuple.immutable.ImmutablePair;
+import io.github.utk003.util.misc.Verifier;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A utility class for computing and applying
+ * <a href="https://www.rfc-editor.org/rfc/rfc6902" target="_top">RFC 6902</a>
+ * JSON Patches.
+ * <p>
+ * {@link #diff(JSONValue, JSONValue)} compares two trees by their {@linkplain
+ * JSONValue#fingerprint() fingerprints}, so identical subtrees are skipped
+ * without being walked. If both trees are frozen or persistent (and so cache their
+ * fingerprints), then the diff only visits the parts of the trees that changed.
+ * <p>
+ * {@link #apply(JSONValue, JSONValue)} applies a patch in place to a tree of
+ * {@link JSONObject}s and {@link JSONArray}s. Paths in patches are
+ * <a href="https://www.rfc-editor.org/rfc/rfc6901" target="_top">RFC 6901</a>
+ * JSON Pointers, such as {@code "/a/0/b"}. Since the {@link JSONValue#PATH paths}
+ * of the nodes in a tree are fixed when the nodes are created, array elements that
+ * are shifted by an insertion or removal are replaced by copies with updated paths.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see JSONValue#fingerprint()
+ */
+public final class JSONPatch {
+    /**
+     * A private constructor to prevent instantiation of this class.
+     */
+    private JSONPatch() {
+    }
+
+    /**
+     * Computes a JSON Patch that transforms the source tree into the target tree.
+     * <p>
+     * The patch only contains {@code add}, {@code remove}, and {@code replace}
+     * operations. Common prefixes and suffixes of arrays are matched up, so a
+     * single insertion or removal in an array produces a single operation.
+     * <p>
+     * The {@code value}s in the patch are the target tree's own nodes rather than
+     * copies of them, so the target should not be modified while the patch is in use.
+     *
+     * @param source The source tree
+     * @param target The target tree
+     * @return The patch, as a JSON array of operations
+     */
+    public static JSONArray diff(JSONValue source, JSONValue target) {
+        Map<JSONValue, Long> known = new IdentityHashMap<>();
+        JSONArray patch = new JSONArray(JSONValue.ROOT_PATH);
+
+        JSONValue[] sources = {source}, targets = {target};
+        String[] pointers = {""};
+        int size = 1;
+
+        while (size > 0) {
+            JSONValue a = sources[--size], b = targets[size];
+            String pointer = pointers[size];
+            sources[size] = targets[size] = null;
+
+            if (a.TYPE != b.TYPE || a.TYPE != JSONValue.ValueType.OBJECT && a.TYPE != JSONValue.ValueType.ARRAY) {
+                if (!a.equals(b))
+                    addOperation(patch, "replace", pointer, b);
+                continue;
+            }
+            if (fingerprint(a, known) == fingerprint(b, known))
+                continue;
+
+            // queue up every pair of children that might differ
+            if (a.TYPE == JSONValue.ValueType.OBJECT) {
+                @SuppressWarnings("unchecked")
+                JSONStorageElement<String> objectA = (JSONStorageElement<String>) a, objectB = (JSONStorageElement<String>) b;
+
+                JSONStorageElement.ElementIterator it = objectA.elementIterator();
+                while (it.advance()) {
+                    JSONValue childB = objectB.getElement(it.key());
+                    if (childB == null)
+                        addOperation(patch, "remove", pointer(pointer, it.key()), null);
+                    else {
+                        if (size == sources.length) {
+                            sources = Arrays.copyOf(sources, size << 1);
+                            targets = Arrays.copyOf(targets, size << 1);
+                            pointers = Arrays.copyOf(pointers, size << 1);
+                        }
+                        sources[size] = it.value();
+                        targets[size] = childB;
+                        pointers[size++] = pointer(pointer, it.key());
+                    }
+                }
+                it = objectB.elementIterator();
+                while (it.advance())
+                    if (objectA.getElement(it.key()) == null)
+                        addOperation(patch, "add", pointer(pointer, it.key()), it.value());
+            } else {
+                @SuppressWarnings("unchecked")
+                JSONStorageElement<Integer> arrayA = (JSONStorageElement<Integer>) a, arrayB = (JSONStorageElement<Integer>) b;
+                int lengthA = arrayA.numElements(), lengthB = arrayB.numElements();
+
+                // skip over the unchanged elements at the start and end of the arrays
+                int prefix = 0, suffix = 0, common = Math.min(lengthA, lengthB);
+                while (prefix < common && sameFingerprint(arrayA.getElement(prefix), arrayB.getElement(prefix), known))
+                    prefix++;
+                while (prefix + suffix < common && sameFingerprint(
+                        arrayA.getElement(lengthA - suffix - 1), arrayB.getElement(lengthB - suffix - 1), known
+                ))
+                    suffix++;
+
+                // pair up the remaining elements by index, then remove or add the rest
+                int middleA = lengthA - prefix - suffix, middleB = lengthB - prefix - suffix;
+                int paired = Math.min(middleA, middleB);
+                for (int i = prefix; i < prefix + paired; i++) {
+                    if (size == sources.length) {
+                        sources = Arrays.copyOf(sources, size << 1);
+                        targets = Arrays.copyOf(targets, size << 1);
+                        pointers = Arrays.copyOf(pointers, size << 1);
+                    }
+                    sources[size] = arrayA.getElement(i);
+                    targets[size] = arrayB.getElement(i);
+                    pointers[size++] = pointer + "/" + i;
+                }
+                for (int i = prefix + middleA - 1; i >= prefix + paired; i--)
+                    addOperation(patch, "remove", pointer + "/" + i, null);
+                for (int i = prefix + paired; i < prefix + middleB; i++)
+                    addOperation(patch, "add", pointer + "/" + i, arrayB.getElement(i));
+            }
+        }
+        return patch;
+    }
+    /**
+     * Returns the fingerprint of the specified object or array, computing
+     * (and remembering) the fingerprints of its entire subtree if needed.
+     *
+     * @param container The object or array
+     * @param known     The fingerprints computed so far
+     * @return The container's fingerprint
+     */
+    private static long fingerprint(JSONValue container, Map<JSONValue, Long> known) {
+        long fingerprint = JSONFingerprint.cached(container, known);
+        return fingerprint != 0L ? fingerprint : JSONFingerprint.of(container, known);
+    }
+    /**
+     * Returns whether or not the specified values have the same fingerprint.
+     *
+     * @param a     The first value
+     * @param b     The second value
+     * @param known The fingerprints computed so far
+     * @return {@code true}, if the values (almost certainly) are equal; otherwise, {@code false}
+     */
+    private static boolean sameFingerprint(JSONValue a, JSONValue b, Map<JSONValue, Long> known) {
+        if (a.TYPE != b.TYPE)
+            return false;
+        if (a.TYPE != JSONValue.ValueType.OBJECT && a.TYPE != JSONValue.ValueType.ARRAY)
+            return a.equals(b);
+        return fingerprint(a, known) == fingerprint(b, known);
+    }
+    /**
+     * Appends an operation to the specified patch.
+     *
+     * @param patch   The patch
+     * @param op      The name of the operation
+     * @param pointer The JSON Pointer the operation targets
+     * @param value   The operation's value (or {@code null}, if it has none)
+     */
+    private static void addOperation(JSONArray patch, String op, String pointer, JSONValue value) {
+        String path = patch.PATH + "[" + patch.numElements() + "]";
+        JSONObject operation = new JSONObject(path);
+        operation.modifyElement("op", JSONString.ofValue(op, path + ".op"));
+        operation.modifyElement("path", JSONString.ofValue(pointer, path + ".path"));
+        if (value != null)
+            operation.modifyElement("value", value);
+        patch.append(operation);
+    }
+    /**
+     * Appends a key to the specified JSON Pointer, escaping it as needed.
+     * <p>
+     * Since object keys are stored in their escaped JSON forms, the key is first
+     * unescaped, so the pointer refers to the key's actual value (as required by
+     * <a href="https://www.rfc-editor.org/rfc/rfc6901" target="_top">RFC 6901</a>).
+     *
+     * @param pointer The JSON Pointer
+     * @param key     The key to append, as stored in its object
+     * @return The new JSON Pointer
+     */
+    private static String pointer(String pointer, String key) {
+        key = JSONString.unescape(key);
+        if (key.indexOf('~') >= 0 || key.indexOf('/') >= 0)
+            key = key.replace("~", "~0").replace("/", "~1");
+        return pointer + "/" + key;
+    }
+
+    /**
+     * Applies the specified JSON Patch to the specified tree.
+     * <p>
+     * All six operations ({@code add}, {@code remove}, {@code replace}, {@code move},
+     * {@code copy}, and {@code test}) are supported. Values are copied into the tree,
+     * so the patch can safely be reused afterwards. The operations are applied in order,
+     * so if one of them fails, then all of the operations before it will have been applied.
+     *
+     * @param root  The root of the tree to patch
+     * @param patch The patch, as a JSON array of operations
+     * @return The root of the patched tree, which is only different from the given root
+     * if the patch replaces the entire tree
+     * @throws IllegalArgumentException      If the patch is malformed, refers to a missing
+     *                                       element, or contains a failing {@code test}
+     * @throws UnsupportedOperationException If the patch modifies a container that is
+     *                                       neither a {@link JSONObject} nor a {@link JSONArray}
+     *                                       (or modifies a frozen one)
+     */
+    public static JSONValue apply(JSONValue root, JSONValue patch) {
+        Verifier.requireTrue(patch.TYPE == JSONValue.ValueType.ARRAY, "A JSON patch must be an array of operations");
+
+        JSONStorageElement.ElementIterator it = ((JSONStorageElement<?>) patch).elementIterator();
+        while (it.advance()) {
+            JSONValue operation = it.value();
+            Verifier.requireTrue(operation.TYPE == JSONValue.ValueType.OBJECT, "A JSON patch operation must be an object");
+            @SuppressWarnings("unchecked")
+            JSONStorageElement<String> fields = (JSONStorageElement<String>) operation;
+
+            String op = stringField(fields, "op"), pointer = stringField(fields, "path");
+            switch (op) {
+                case "add":
+                    root = add(root, pointer, valueField(fields));
+                    break;
+                case "remove":
+                    remove(root, pointer);
+                    break;
+                case "replace":
+                    JSONValue value = valueField(fields);
+                    get(root, pointer); // the target must exist
+                    if (pointer.isEmpty())
+                        root = JSONValue.copy(value, JSONValue.ROOT_PATH, false);
+                    else {
+                        remove(root, pointer);
+                        root = add(root, pointer, value);
+                    }
+                    break;
+                case "move":
+                    String from = stringField(fields, "from");
+                    Verifier.requireTrue(!pointer.startsWith(from + "/"), "A JSON patch cannot move a value into one of its own children");
+                    if (!from.equals(pointer)) {
+                        JSONValue moved = get(root, from);
+                        remove(root, from);
+                        root = add(root, pointer, moved);
+                    }
+                    break;
+                case "copy":
+                    root = add(root, pointer, get(root, stringField(fields, "from")));
+                    break;
+                case "test":
+                    Verifier.requireTrue(get(root, pointer).equals(valueField(fields)), "JSON patch test failed at " + pointer);
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unsupported JSON patch operation: " + op);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Returns the string value of a required field of a patch operation.
+     *
+     * @param operation The operation
+     * @param field     The name of the field
+     * @return The field's string value
+     */
+    private static String stringField(JSONStorageElement<String> operation, String field) {
+        JSONValue value = operation.getElement(field);
+        Verifier.requireTrue(value != null && value.TYPE == JSONValue.ValueType.STRING, "A JSON patch operation must have a string \"" + field + "\"");
+        return ((JSONString) value).STRING;
+    }
+    /**
+     * Returns the {@code value} field of a patch operation.
+     *
+     * @param operation The operation
+     * @return The field's value
+     */
+    private static JSONValue valueField(JSONStorageElement<String> operation) {
+        JSONValue value = operation.getElement("value");
+        Verifier.requireTrue(value != null, "A JSON patch operation is missing its \"value\"");
+        return value;
+    }
+
+    /**
+     * Returns the element the specified JSON Pointer refers to.
+     *
+     * @param root    The root of the tree
+     * @param pointer The JSON Pointer
+     * @return The element
+     * @throws IllegalArgumentException If no such element exists
+     */
+    private static JSONValue get(JSONValue root, String pointer) {
+        if (pointer.isEmpty())
+            return root;
+        ImmutablePair<JSONValue, String> location = locate(root, pointer);
+        JSONValue child = child(location.FIRST, location.SECOND, false);
+        Verifier.requireTrue(child != null, "JSON patch path does not exist: " + pointer);
+        return child;
+    }
+    /**
+     * Adds a copy of the specified value at the specified JSON Pointer.
+     *
+     * @param root    The root of the tree
+     * @param pointer The JSON Pointer
+     * @param value   The value to add
+     * @return The root of the tree
+     */
+    private static JSONValue add(JSONValue root, String pointer, JSONValue value) {
+        if (pointer.isEmpty())
+            return JSONValue.copy(value, JSONValue.ROOT_PATH, false);
+
+        ImmutablePair<JSONValue, String> location = locate(root, pointer);
+        JSONValue parent = location.FIRST;
+        String token = location.SECOND;
+        if (parent instanceof JSONObject)
+            ((JSONObject) parent).modifyElement(token, JSONValue.copy(value, parent.PATH + "." + token, false));
+        else if (parent instanceof JSONArray) {
+            JSONArray array = (JSONArray) parent;
+            int index = token.equals("-") ? array.numElements() : index(token, array.numElements() + 1);
+            array.insert(index, JSONValue.copy(value, parent.PATH + "[" + index + "]", false));
+        } else
+            throw unsupported(parent);
+        return root;
+    }
+    /**
+     * Removes the element at the specified JSON Pointer.
+     *
+     * @param root    The root of the tree
+     * @param pointer The JSON Pointer
+     */
+    private static void remove(JSONValue root, String pointer) {
+        Verifier.requireTrue(!pointer.isEmpty(), "A JSON patch cannot remove the entire tree");
+
+        ImmutablePair<JSONValue, String> location = locate(root, pointer);
+        JSONValue parent = location.FIRST;
+        String token = location.SECOND;
+        Verifier.requireTrue(child(parent, token, false) != null, "JSON patch path does not exist: " + pointer);
+
+        if (parent instanceof JSONObject)
+            ((JSONObject) parent).compute(token, (key, old) -> null);
+        else if (parent instanceof JSONArray)
+            ((JSONArray) parent).remove(index(token, ((JSONArray) parent).numElements()));
+        else
+            throw unsupported(parent);
+    }
+    private static UnsupportedOperationException unsupported(JSONValue container) {
+        return new UnsupportedOperationException("A JSON patch cannot modify " + container.getClass().getSimpleName() + " " + container.PATH);
+    }
+
+    /**
+     * Finds the parent of the element at the specified (non-empty) JSON Pointer.
+     *
+     * @param root    The root of the tree
+     * @param pointer The JSON Pointer
+     * @return The parent container and the last token of the pointer (see {@link #key(String)})
+     * @throws IllegalArgumentException If the pointer is malformed or the parent does not exist
+     */
+    private static ImmutablePair<JSONValue, String> locate(JSONValue root, String pointer) {
+        Verifier.requireTrue(pointer.charAt(0) == '/', "Malformed JSON pointer: " + pointer);
+
+        JSONValue current = root;
+        int start = 1;
+        for (int end; (end = pointer.indexOf('/', start)) >= 0; start = end + 1) {
+            current = child(current, key(pointer.substring(start, end)), true);
+            Verifier.requireTrue(current != null, "JSON patch path does not exist: " + pointer);
+        }
+        Verifier.requireTrue(
+                current.TYPE == JSONValue.ValueType.OBJECT || current.TYPE == JSONValue.ValueType.ARRAY,
+                "JSON patch path does not exist: " + pointer
+        );
+        return new ImmutablePair<>(current, key(pointer.substring(start)));
+    }
+    /**
+     * Returns the child of the specified value for the specified JSON Pointer token.
+     *
+     * @param value   The value
+     * @param token   The token (see {@link #key(String)})
+     * @param require Whether or not the value must be an object or array
+     * @return The child, or {@code null} if it does not exist
+     */
+    @SuppressWarnings("unchecked")
+    private static JSONValue child(JSONValue value, String token, boolean require) {
+        if (value.TYPE == JSONValue.ValueType.OBJECT)
+            return ((JSONStorageElement<String>) value).getElement(token);
+        if (value.TYPE == JSONValue.ValueType.ARRAY) {
+            JSONStorageElement<Integer> array = (JSONStorageElement<Integer>) value;
+            return array.getElement(index(token, array.numElements()));
+        }
+        Verifier.requireTrue(!require, "JSON patch path does not exist: " + token);
+        return null;
+    }
+    /**
+     * Parses a JSON Pointer array index.
+     *
+     * @param token The token
+     * @param limit The (exclusive) maximum index
+     * @return The index
+     * @throws IllegalArgumentException If the token is not a valid index
+     */
+    private static int index(String token, int limit) {
+        int index = -1;
+        if (!token.isEmpty() && token.length() <= 9 && (token.length() == 1 || token.charAt(0) != '0')) {
+            index = 0;
+            for (int i = 0; i < token.length() && index >= 0; i++) {
+                char c = token.charAt(i);
+                index = '0' <= c && c <= '9' ? index * 10 + c - '0' : -1;
+            }
+        }
+        Verifier.requireTrue(0 <= index && index < limit, "Invalid JSON patch array index: " + token);
+        return index;
+    }
+    /**
+     * Converts a JSON Pointer token to the escaped JSON form in which object keys are stored.
+     * <p>
+     * Array indices (and {@code "-"}) are never changed by this conversion.
+     *
+     * @param token The token, as written in the pointer
+     * @return The token as an object key
+     */
+    private static String key(String token) {
+        if (token.indexOf('~') >= 0)
+            token = token.replace("~1", "/").replace("~0", "~");
+        return JSONString.escape(token);
+    }
+}
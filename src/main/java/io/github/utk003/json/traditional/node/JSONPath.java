@@ -0,0 +1,421 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import io.github.utk003.json.scanner.Scanner;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A compiled path expression, as described by {@link JSONValue#findElements(String)}.
+ * <p>
+ * Compiling a path splits it into its steps, parses its indices, and precomputes
+ * the key summary hashes (see {@link JSONKeySummary}) of the keys that each part
+ * of the path needs, so a {@code JSONPath} can be reused for any number of searches
+ * without re-parsing the path. Paths without wildcards or recursive descents are
+ * evaluated as a straight chain of lookups, without any intermediate collections.
+ * <p>
+ * {@code JSONPath}s are immutable and can be freely shared between threads.
+ * The {@code String} overload of {@link JSONValue#findElements(String)} keeps
+ * a small least-recently-used cache of compiled paths, so repeated queries
+ * with the same path string are only compiled once.
+ * <p>
+ * A {@code JSONPath} can also search the JSON read from a {@link Scanner}
+ * directly (see {@link #findElements(Scanner)}), without building the JSON
+ * tree, which is useful for inputs that are too large to fit in memory.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see JSONValue#findElements(JSONPath)
+ */
+public final class JSONPath {
+    /**
+     * The maximum number of compiled paths kept by the cache behind {@link JSONValue#findElements(String)}.
+     */
+    private static final int CACHE_SIZE = 256;
+    private static final Map<String, JSONPath> CACHE = new LinkedHashMap<String, JSONPath>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JSONPath> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final String PATH;
+    private final JSONValue.PathTrace[] STEPS;
+    private final long[][] REQUIRED_KEYS;
+    private final boolean ANCHORED, WILDCARD, DESCENDANT, DISTINCT;
+
+    /**
+     * A private constructor to compile the given path.
+     *
+     * @param path The path expression
+     */
+    private JSONPath(String path) {
+        this(path, JSONValue.tokenizePath(path), 0);
+    }
+    /**
+     * Creates a {@code JSONPath} from the given (already tokenized) steps.
+     * <p>
+     * If the first step is the {@link JSONValue#ROOT_PATH} anchor, then it is stripped.
+     *
+     * @param path  The path expression
+     * @param steps The tokenized steps of the path
+     * @param index The index of the first step to use
+     */
+    JSONPath(String path, JSONValue.PathTrace[] steps, int index) {
+        PATH = path;
+        ANCHORED = index < steps.length && JSONValue.ROOT_PATH.equals(steps[index].KEY);
+        STEPS = Arrays.copyOfRange(steps, ANCHORED ? index + 1 : index, steps.length);
+
+        boolean wildcard = false, descendant = false, distinct = false;
+        REQUIRED_KEYS = new long[STEPS.length + 1][];
+        REQUIRED_KEYS[STEPS.length] = new long[0];
+        for (int i = STEPS.length - 1; i >= 0; i--) {
+            JSONValue.PathTrace step = STEPS[i];
+            REQUIRED_KEYS[i] = REQUIRED_KEYS[i + 1];
+            if (step.isDescendant()) {
+                distinct = descendant;
+                descendant = true;
+            }
+            else if (step.isWildcard())
+                wildcard = true;
+            else if (step.KEY != null) {
+                REQUIRED_KEYS[i] = Arrays.copyOf(REQUIRED_KEYS[i], REQUIRED_KEYS[i].length + 1);
+                REQUIRED_KEYS[i][REQUIRED_KEYS[i].length - 1] = JSONKeySummary.hash(step.KEY);
+            }
+        }
+        WILDCARD = wildcard;
+        DESCENDANT = descendant;
+        DISTINCT = distinct;
+    }
+
+    /**
+     * Compiles the specified path expression.
+     *
+     * @param path The path expression, in the format described by {@link JSONValue#findElements(String)}
+     * @return The compiled path
+     * @throws NumberFormatException If an array index in the path is not a valid integer
+     */
+    public static JSONPath compile(String path) {
+        return new JSONPath(path);
+    }
+    /**
+     * Returns the compiled form of the specified path expression, using
+     * (and updating) the cache of recently used paths.
+     *
+     * @param path The path expression
+     * @return The compiled path
+     * @see #compile(String)
+     */
+    static JSONPath cached(String path) {
+        synchronized (CACHE) {
+            JSONPath compiled = CACHE.get(path);
+            if (compiled != null)
+                return compiled;
+        }
+
+        JSONPath compiled = new JSONPath(path);
+        synchronized (CACHE) {
+            CACHE.put(path, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Returns the path expression this {@code JSONPath} was compiled from.
+     *
+     * @return The path expression
+     */
+    public String getPath() {
+        return PATH;
+    }
+    /**
+     * Returns the number of steps in this path, not counting the {@link JSONValue#ROOT_PATH} anchor.
+     *
+     * @return The number of steps
+     */
+    public int length() {
+        return STEPS.length;
+    }
+    /**
+     * Returns whether or not this path starts with the {@link JSONValue#ROOT_PATH} anchor.
+     *
+     * @return {@code true}, if this path is anchored; otherwise, {@code false}
+     */
+    public boolean isAnchored() {
+        return ANCHORED;
+    }
+    /**
+     * Returns whether or not this path has any wildcard keys or indices.
+     *
+     * @return {@code true}, if this path has a wildcard; otherwise, {@code false}
+     */
+    public boolean hasWildcard() {
+        return WILDCARD;
+    }
+    /**
+     * Returns whether or not this path has any recursive descent ({@code ..}) steps.
+     *
+     * @return {@code true}, if this path has a recursive descent; otherwise, {@code false}
+     */
+    public boolean hasRecursiveDescent() {
+        return DESCENDANT;
+    }
+    /**
+     * Returns whether or not this path is concrete, which means that it has
+     * no wildcards or recursive descents and can match at most one element.
+     *
+     * @return {@code true}, if this path is concrete; otherwise, {@code false}
+     */
+    public boolean isConcrete() {
+        return !WILDCARD && !DESCENDANT;
+    }
+
+    /**
+     * Finds all elements in the JSON tree rooted at the specified
+     * element whose paths (relative to it) match this path.
+     * <p>
+     * Concrete paths are followed with a straight chain of lookups. Other paths
+     * are searched iteratively, looking up concrete keys and indices directly and
+     * only iterating over the children of objects and arrays for wildcard steps
+     * (or over all descendants for recursive descent steps). An element that can be
+     * reached through more than one recursive descent step is only returned once.
+     * <p>
+     * Immutable containers summarize the keys in their subtrees (see
+     * {@link JSONKeySummary}), so any subtree that cannot contain all of
+     * the keys that the rest of the path needs is skipped without being
+     * walked.
+     *
+     * @param root The root of the search
+     * @return A {@code Collection} of all matching elements
+     */
+    Collection<JSONValue> search(JSONValue root) {
+        if (isConcrete()) {
+            JSONValue found = lookup(root);
+            return found == null ? Collections.emptyList() : Collections.singletonList(found);
+        }
+
+        List<JSONValue> found = new ArrayList<>();
+        // with more than one recursive descent, an element can be reached along several ways
+        Set<JSONValue> seen = DISTINCT ? Collections.newSetFromMap(new IdentityHashMap<>()) : null;
+
+        JSONStorageElement.ElementIterator[] iterators = new JSONStorageElement.ElementIterator[8];
+        int[] steps = new int[8];
+        int depth = 0;
+
+        JSONValue current = JSONKeySummary.mightContain(root, REQUIRED_KEYS[0]) ? root : null;
+        int step = 0;
+        while (true) {
+            // follow concrete steps until the path ends, fails, or hits a wildcard
+            while (current != null) {
+                if (step == STEPS.length) {
+                    if (seen == null || seen.add(current))
+                        found.add(current);
+                    break;
+                }
+
+                JSONValue.PathTrace trace = STEPS[step++];
+                boolean isDescendant = trace.isDescendant();
+                if (isDescendant || trace.isWildcard()) {
+                    if (!isDescendant && current.TYPE != (trace.KEY != null ? JSONValue.ValueType.OBJECT : JSONValue.ValueType.ARRAY))
+                        break;
+
+                    if (depth == iterators.length) {
+                        iterators = Arrays.copyOf(iterators, depth << 1);
+                        steps = Arrays.copyOf(steps, depth << 1);
+                    }
+                    iterators[depth] = isDescendant
+                            ? new DescendantIterator(current, REQUIRED_KEYS[step], step == STEPS.length)
+                            : ((JSONStorageElement<?>) current).elementIterator();
+                    steps[depth++] = step;
+                    break;
+                }
+
+                current = child(current, trace);
+            }
+
+            // resume the innermost wildcard that still has children left
+            while (depth > 0 && !iterators[depth - 1].advance())
+                iterators[--depth] = null;
+            if (depth == 0)
+                return found;
+
+            current = iterators[depth - 1].value();
+            step = steps[depth - 1];
+            if (!JSONKeySummary.mightContain(current, REQUIRED_KEYS[step]))
+                current = null; // the rest of the path cannot match anywhere in this subtree
+        }
+    }
+    /**
+     * Follows this (concrete) path from the specified element.
+     *
+     * @param root The element to start from
+     * @return The element at the end of the path, or {@code null} if there is no such element
+     */
+    JSONValue lookup(JSONValue root) {
+        JSONValue current = root;
+        for (int i = 0; i < STEPS.length && current != null; i++)
+            current = child(current, STEPS[i]);
+        return current;
+    }
+    /**
+     * Returns the child of the specified element at the specified concrete step.
+     *
+     * @param element The parent element
+     * @param step    The concrete key or index
+     * @return The child, or {@code null} if there is no such child
+     */
+    private static JSONValue child(JSONValue element, JSONValue.PathTrace step) {
+        if (step.KEY != null) {
+            if (element.TYPE != JSONValue.ValueType.OBJECT)
+                return null;
+            @SuppressWarnings("unchecked")
+            JSONStorageElement<String> object = (JSONStorageElement<String>) element;
+            return object.getElement(step.KEY);
+        }
+
+        if (element.TYPE != JSONValue.ValueType.ARRAY)
+            return null;
+        @SuppressWarnings("unchecked")
+        JSONStorageElement<Integer> array = (JSONStorageElement<Integer>) element;
+        return step.INDEX < array.numElements() ? array.getElement(step.INDEX) : null;
+    }
+
+    /**
+     * Finds all elements in the JSON read from the specified {@link Scanner}
+     * whose paths (relative to the root) match this path, without building
+     * the JSON tree.
+     * <p>
+     * Objects and arrays that cannot contain any matches are skipped over token
+     * by token, and only matching elements are built, so memory use is bounded
+     * by the size of the largest match rather than by the size of the input.
+     * <p>
+     * The scanner is read lazily, as the stream is consumed. Each match is returned
+     * as soon as it is complete, so if this path has a recursive descent, a match
+     * inside another match is returned before (and is part of) the outer match.
+     * Unlike in a JSON tree, which only keeps the last value of a duplicated key,
+     * every value of a duplicated key can match.
+     * Once the stream is exhausted, the scanner is left on the last token of the
+     * root JSON element.
+     *
+     * @param scanner The input source for the JSON as a {@code Scanner}
+     * @return A sequential {@code Stream} of all matching elements
+     * @throws IllegalArgumentException If this path has more than 63 steps, if the scanner
+     *                                  is empty, or (while reading) if the JSON is malformed
+     */
+    public Stream<JSONValue> findElements(Scanner scanner) {
+        Iterator<JSONValue> matches = new StreamingPathSearch(scanner, STEPS);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(matches, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+    /**
+     * Finds all elements in the JSON read from the specified {@link Scanner}
+     * whose paths (relative to the root) match this path, without building
+     * the JSON tree, and passes each one to the specified action.
+     * <p>
+     * This method reads the entire root JSON element.
+     *
+     * @param scanner The input source for the JSON as a {@code Scanner}
+     * @param action  The action to perform on each match
+     * @throws IllegalArgumentException If this path has more than 63 steps, if the scanner is empty, or if the JSON is malformed
+     * @see #findElements(Scanner)
+     */
+    public void findElements(Scanner scanner, Consumer<? super JSONValue> action) {
+        new StreamingPathSearch(scanner, STEPS).forEachRemaining(action);
+    }
+
+    /**
+     * A private iterator over an element and all of its descendants, for recursive descent steps.
+     * <p>
+     * Subtrees that cannot contain the keys that the rest of the path needs are skipped,
+     * and strings, numbers, and primitives are only iterated over if the path ends here
+     * (since no further step can match them).
+     */
+    private static final class DescendantIterator implements JSONStorageElement.ElementIterator {
+        private final JSONCursor CURSOR;
+        private final long[] REQUIRED_KEYS;
+        private final boolean INCLUDE_LEAVES;
+
+        /**
+         * Creates a {@code DescendantIterator} over the specified element and its descendants.
+         *
+         * @param root          The element whose subtree to iterate over
+         * @param requiredKeys  The summary hashes of the keys that the rest of the path needs
+         * @param includeLeaves Whether or not to iterate over strings, numbers, and primitives
+         */
+        private DescendantIterator(JSONValue root, long[] requiredKeys, boolean includeLeaves) {
+            CURSOR = new JSONCursor(root);
+            REQUIRED_KEYS = requiredKeys;
+            INCLUDE_LEAVES = includeLeaves;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean advance() {
+            while (CURSOR.hasNext()) {
+                switch (CURSOR.next()) {
+                    case START_OBJECT:
+                    case START_ARRAY:
+                        if (JSONKeySummary.mightContain(CURSOR.currentValue(), REQUIRED_KEYS))
+                            return true;
+                        CURSOR.skipChildren();
+                        break;
+
+                    case VALUE:
+                        if (INCLUDE_LEAVES)
+                            return true;
+                        break;
+                }
+            }
+            return false;
+        }
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String key() {
+            return CURSOR.currentKey();
+        }
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public JSONValue value() {
+            return CURSOR.currentValue();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return PATH;
+    }
+}
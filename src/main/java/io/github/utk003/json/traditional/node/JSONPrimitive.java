@@ -27,15 +27,13 @@ package io.github.utk003.json.traditional.node;
 import io.github.utk003.json.scanner.Scanner;
 
 import java.io.PrintStream;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.Objects;
 
 /**
  * A {@link JSONValue} that represents a JSON primitive (a boolean or {@code null}).
  *
  * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
- * @version February 23, 2021
+ * @version October 19, 2026
  * @see JSONValue
  */
 public class JSONPrimitive extends JSONValue {
@@ -83,16 +81,18 @@ public class JSONPrimitive extends JSONValue {
      * {@inheritDoc}
      */
     @Override
-    public Collection<JSONValue> findElements(PathTrace[] tokenizedPath, int index) {
-        return index == tokenizedPath.length ? Collections.singleton(this) : Collections.emptySet();
+    protected void print(PrintStream out, int depth) {
+        outputString(out, "" + VALUE);
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * The {@code Boolean} values themselves are shared constants, so they are not counted.
      */
     @Override
-    protected void print(PrintStream out, int depth) {
-        outputString(out, "" + VALUE);
+    void measure(JSONMemoryReport report) {
+        report.addNode(TYPE, JSONMemoryReport.instanceSize(3, 0), PATH);
     }
 
     /**
@@ -0,0 +1,199 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A utility class for saving JSON trees as binary snapshot files and for reopening them.
+ * <p>
+ * A snapshot holds the records of an {@link OffHeapJSONDocument} exactly as they are laid
+ * out in memory, so reopening a snapshot with {@link #open(Path)} only memory-maps the file:
+ * nothing is parsed or decoded up front, and the returned document can immediately look up
+ * keys and indices anywhere in the tree. This makes snapshots a fast replacement for
+ * re-parsing the same large JSON input every time a program starts.
+ * <p>
+ * A snapshot file starts with a fixed header (a magic number, a format version, the records'
+ * byte order, the root's address, and a table of segment offsets and lengths), followed by
+ * the data of every segment of the document's arena. See {@link OffHeapJSONDocument} for the
+ * format of the records themselves, which use a string dictionary, shared object shapes,
+ * inline and delta-encoded integers, and child offset tables.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see OffHeapJSONDocument
+ */
+public final class JSONSnapshot {
+    private static final long MAGIC = 0x4A534F4E534E4150L; // "JSONSNAP"
+    private static final int VERSION = 1;
+
+    /**
+     * The size of the fixed part of the header: the magic number, the version,
+     * the byte order, the root's address, and the number of segments
+     */
+    private static final int HEADER_SIZE = 8 + 4 + 1 + 8 + 4;
+    /**
+     * The size of each entry of the segment table: a file offset and a length
+     */
+    private static final int SEGMENT_ENTRY_SIZE = 8 + 4;
+
+    /**
+     * A private constructor to prevent instantiation of this class.
+     */
+    private JSONSnapshot() {
+    }
+
+    /**
+     * Writes a snapshot of the JSON tree rooted at the specified value to the specified file.
+     * <p>
+     * The file is created if it does not exist and is overwritten otherwise.
+     *
+     * @param root The root of the JSON tree
+     * @param file The path of the snapshot file
+     * @throws IllegalStateException If the file cannot be written
+     */
+    public static void write(JSONValue root, Path file) {
+        if (root instanceof OffHeapJSONContainer) {
+            OffHeapJSONContainer<?> container = (OffHeapJSONContainer<?>) root;
+            if (container.ADDRESS == container.DOCUMENT.rootAddress()) {
+                write(container.DOCUMENT, file);
+                return;
+            }
+        }
+
+        try (OffHeapJSONDocument document = OffHeapJSONDocument.copyOf(root)) {
+            write(document, file);
+        }
+    }
+    /**
+     * Writes a snapshot of the specified document to the specified file.
+     * <p>
+     * The file is created if it does not exist and is overwritten otherwise.
+     *
+     * @param document The document
+     * @param file     The path of the snapshot file
+     * @throws IllegalStateException If the file cannot be written
+     */
+    public static void write(OffHeapJSONDocument document, Path file) {
+        OffHeapArena arena = document.arena();
+        int segmentCount = arena.segmentCount();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + SEGMENT_ENTRY_SIZE * segmentCount);
+        header.putLong(MAGIC).putInt(VERSION);
+        header.put((byte) (arena.order() == ByteOrder.BIG_ENDIAN ? 1 : 0));
+        header.putLong(document.rootAddress()).putInt(segmentCount);
+
+        ByteBuffer[] segments = new ByteBuffer[segmentCount];
+        long offset = header.capacity();
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = arena.segmentData(i);
+            header.putLong(offset).putInt(segments[i].remaining());
+            offset += segments[i].remaining();
+        }
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(
+                file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE
+        )) {
+            writeFully(channel, header);
+            for (ByteBuffer segment : segments)
+                writeFully(channel, segment);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write JSON snapshot " + file, e);
+        }
+    }
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    /**
+     * Opens the snapshot at the specified file as a read-only {@link OffHeapJSONDocument}.
+     * <p>
+     * The file is memory-mapped rather than read, so this method runs in time
+     * proportional to the number of segments rather than the size of the JSON.
+     * The returned document should be closed when it is no longer needed.
+     *
+     * @param file The path of the snapshot file
+     * @return The snapshot's document
+     * @throws IllegalArgumentException If the file is not a valid snapshot
+     * @throws IllegalStateException    If the file cannot be read
+     */
+    public static OffHeapJSONDocument open(Path file) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0, file);
+            if (header.getLong() != MAGIC)
+                throw new IllegalArgumentException(file + " is not a JSON snapshot");
+            int version = header.getInt();
+            if (version != VERSION)
+                throw new IllegalArgumentException("Unsupported JSON snapshot version " + version + " in " + file);
+
+            ByteOrder order = header.get() == 1 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+            long root = header.getLong();
+            int segmentCount = header.getInt();
+
+            ByteBuffer table = ByteBuffer.allocate(SEGMENT_ENTRY_SIZE * segmentCount);
+            readFully(channel, table, HEADER_SIZE, file);
+
+            ByteBuffer[] segments = new ByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long offset = table.getLong();
+                int length = table.getInt();
+                if (offset < 0 || length < 0 || offset + length > channel.size())
+                    throw new IllegalArgumentException("Truncated JSON snapshot " + file);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, length).order(order);
+            }
+
+            return new OffHeapJSONDocument(new OffHeapArena(channel, segments), root);
+        } catch (IOException | RuntimeException e) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            if (e instanceof RuntimeException)
+                throw (RuntimeException) e;
+            throw new IllegalStateException("Unable to open JSON snapshot " + file, e);
+        }
+    }
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position, Path file) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0)
+                throw new IllegalArgumentException("Truncated JSON snapshot " + file);
+        }
+        buffer.flip();
+    }
+}
@@ -27,6 +27,7 @@ package io.github.utk003.json.traditional.node;
 import io.github.utk003.util.data.tuple.immutable.ImmutablePair;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedList;
 
 /**
@@ -43,7 +44,7 @@ import java.util.LinkedList;
  *
  * @param <E> The key/index type for this {@code JSONStorageElement}
  * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
- * @version February 23, 2021
+ * @version October 19, 2026
  */
 public interface JSONStorageElement<E> {
     /**
@@ -112,4 +113,73 @@ public interface JSONStorageElement<E> {
      * @return This {@code JSONStorageElement}'s children and their keys/indices paired in a {@code LinkedList}
      */
     LinkedList<ImmutablePair<E, JSONValue>> getElementsPaired();
+
+    /**
+     * Returns a new {@link ElementIterator} over all of this {@code JSONStorageElement}'s
+     * {@code JSONValue} children and their keys.
+     * <p>
+     * The default implementation iterates over {@link #getElementsPaired()}. The
+     * objects and arrays in this package override it to iterate over their children
+     * directly, without allocating anything per child, so it is the preferred way to
+     * walk over a JSON tree. Check out {@link JSONCursor} and {@link JSONVisitor} for
+     * full depth-first traversals.
+     *
+     * @return An iterator over this {@code JSONStorageElement}'s children
+     */
+    default ElementIterator elementIterator() {
+        Iterator<ImmutablePair<E, JSONValue>> elements = getElementsPaired().iterator();
+        return new ElementIterator() {
+            private ImmutablePair<E, JSONValue> element = null;
+
+            @Override
+            public boolean advance() {
+                if (!elements.hasNext())
+                    return false;
+                element = elements.next();
+                return true;
+            }
+
+            @Override
+            public String key() {
+                return element.FIRST instanceof String ? (String) element.FIRST : null;
+            }
+
+            @Override
+            public JSONValue value() {
+                return element.SECOND;
+            }
+        };
+    }
+
+    /**
+     * A cursor-style iterator over the children of a {@link JSONStorageElement}.
+     * <p>
+     * An {@code ElementIterator} starts positioned before the first child. Each call
+     * to {@link #advance()} moves it to the next child, after which that child and its
+     * key can be read with {@link #value()} and {@link #key()}.
+     *
+     * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+     * @version October 19, 2026
+     * @see JSONStorageElement#elementIterator()
+     */
+    interface ElementIterator {
+        /**
+         * Advances this iterator to the next child, if one exists.
+         *
+         * @return {@code true}, if this iterator advanced to a new child; otherwise, {@code false}
+         */
+        boolean advance();
+        /**
+         * Returns the key of the current child.
+         *
+         * @return The current child's key, or {@code null} if the iterated element is an array
+         */
+        String key();
+        /**
+         * Returns the current child.
+         *
+         * @return The current child
+         */
+        JSONValue value();
+    }
 }
@@ -27,15 +27,13 @@ package io.github.utk003.json.traditional.node;
 import io.github.utk003.json.scanner.Scanner;
 
 import java.io.PrintStream;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.Iterator;
 
 /**
  * A {@link JSONValue} that represents a JSON string.
  *
  * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
- * @version February 23, 2021
+ * @version October 19, 2026
  * @see JSONValue
  */
 public class JSONString extends JSONValue {
@@ -60,6 +58,132 @@ public class JSONString extends JSONValue {
         ORIGINAL = str;
         STRING = preprocess(str);
     }
+    /**
+     * A private constructor to create a {@code JSONString} from an already
+     * processed string and its escaped original form.
+     *
+     * @param original The original (escaped) string
+     * @param str      The processed string
+     * @param path     This node's path in the JSON tree
+     */
+    private JSONString(String original, String str, String path) {
+        super(ValueType.STRING, path);
+
+        ORIGINAL = original;
+        STRING = str;
+    }
+
+    /**
+     * Creates a {@code JSONString} that represents exactly the given {@code String}
+     * and has the given path.
+     * <p>
+     * Unlike {@link #JSONString(String, String)}, the argument is the string's actual
+     * value rather than its (escaped) JSON form, so it is never checked for escaped
+     * characters. This is useful for strings that do not come from JSON text.
+     *
+     * @param value The {@code String} this {@code JSONString} represents
+     * @param path  This node's path in the JSON tree
+     * @return The newly created {@code JSONString}
+     * @see #escape(String)
+     */
+    public static JSONString ofValue(String value, String path) {
+        return new JSONString(escape(value), value, path);
+    }
+
+    /**
+     * Returns a copy of this {@code JSONString} with the given path.
+     *
+     * @param path The copy's path in the JSON tree
+     * @return The copy
+     */
+    JSONString copy(String path) {
+        return new JSONString(ORIGINAL, STRING, path);
+    }
+
+    /**
+     * Unescapes the given escaped {@code String} (the text between the quotes of a JSON string).
+     * <p>
+     * If the string has no escape sequences, then the argument itself is returned.
+     * This method is the inverse of {@link #escape(String)}, so it can also be used to
+     * read the keys of {@link JSONObject}s, which are stored in their escaped forms.
+     *
+     * @param s The escaped string
+     * @return The unescaped string
+     * @throws RuntimeException If the string has invalid escaped characters
+     */
+    public static String unescape(String s) {
+        return s.indexOf('\\') < 0 ? s : preprocess(s);
+    }
+    /**
+     * Escapes the given {@code String} so that it can be written between quotes in JSON text.
+     * <p>
+     * Quotes, backslashes, and control characters are escaped. If the string
+     * has none of these, then the argument itself is returned.
+     *
+     * @param s The string to escape
+     * @return The escaped string
+     */
+    public static String escape(String s) {
+        int i = 0, len = s.length();
+        while (i < len && !needsEscape(s.charAt(i)))
+            i++;
+        if (i == len)
+            return s;
+
+        StringBuilder builder = new StringBuilder(len + 16).append(s, 0, i);
+        for (; i < len; i++) {
+            char c = s.charAt(i);
+            if (!needsEscape(c)) {
+                builder.append(c);
+                continue;
+            }
+            switch (c) {
+                case '\"':
+                case '\\':
+                    builder.append('\\').append(c);
+                    break;
+                case '\b':
+                    builder.append("\\b");
+                    break;
+                case '\f':
+                    builder.append("\\f");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+
+                default:
+                    builder.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 15, 16));
+                    break;
+            }
+        }
+        return builder.toString();
+    }
+    /**
+     * Returns whether or not the given character must be escaped in JSON text.
+     *
+     * @param c The character to check
+     * @return {@code true}, if the character is a quote, a backslash, or a control character; otherwise, {@code false}
+     */
+    private static boolean needsEscape(char c) {
+        return c < 0x20 || c == '"' || c == '\\';
+    }
+
+    /**
+     * Returns the original string (without escaped character substitutions, etc.)
+     * that this {@code JSONString} was created from.
+     *
+     * @return The original string
+     */
+    String original() {
+        return ORIGINAL;
+    }
 
     /**
      * Processes the input {@code String} to replace
@@ -169,18 +293,24 @@ public class JSONString extends JSONValue {
      * {@inheritDoc}
      */
     @Override
-    public Collection<JSONValue> findElements(PathTrace[] tokenizedPath, int index) {
-        return index == tokenizedPath.length ? Collections.singleton(this) : Collections.emptySet();
+    protected void print(PrintStream out, int depth) {
+        outputString(out, "\"");
+        outputString(out, ORIGINAL);
+        outputString(out, "\"");
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * The escaped and unescaped forms of the string are only counted
+     * separately if they are different {@code String} objects.
      */
     @Override
-    protected void print(PrintStream out, int depth) {
-        outputString(out, "\"");
-        outputString(out, ORIGINAL);
-        outputString(out, "\"");
+    void measure(JSONMemoryReport report) {
+        report.addNode(TYPE, JSONMemoryReport.instanceSize(4, 0), PATH);
+        report.addString(STRING);
+        if (ORIGINAL != STRING)
+            report.addString(ORIGINAL);
     }
 
     /**
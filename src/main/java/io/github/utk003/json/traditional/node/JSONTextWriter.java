@@ -0,0 +1,179 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import java.io.PrintStream;
+
+/**
+ * A package-private helper class that writes JSON objects and arrays
+ * as text by walking them with a {@link JSONCursor}.
+ * <p>
+ * This class provides the implementations of {@code print(...)} and
+ * {@code toString()} for all of the JSON containers in this package,
+ * so arbitrarily deep trees can be written without recursion.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see JSONValue#print(PrintStream)
+ * @see JSONValue#toString()
+ */
+final class JSONTextWriter {
+    /**
+     * A private constructor to prevent instantiation of this class.
+     */
+    private JSONTextWriter() {
+    }
+
+    /**
+     * Builds the condensed string form of the specified JSON tree.
+     *
+     * @param root The root of the JSON tree
+     * @return The tree's JSON in a condensed form
+     */
+    static String toCompactString(JSONValue root) {
+        StringBuilder builder = new StringBuilder();
+        JSONCursor cursor = new JSONCursor(root);
+
+        // whether the next element must be preceded by a comma
+        boolean separate = false;
+        while (cursor.hasNext()) {
+            switch (cursor.next()) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    if (separate)
+                        builder.append(',');
+                    builder.append(cursor.currentEvent() == JSONCursor.Event.START_OBJECT ? '{' : '[');
+                    separate = false;
+                    break;
+
+                case END_OBJECT:
+                    builder.append('}');
+                    separate = true;
+                    break;
+
+                case END_ARRAY:
+                    builder.append(']');
+                    separate = true;
+                    break;
+
+                case KEY:
+                    if (separate)
+                        builder.append(',');
+                    builder.append('"').append(cursor.currentKey()).append("\":");
+                    separate = false;
+                    break;
+
+                case VALUE:
+                    if (separate)
+                        builder.append(',');
+                    builder.append(cursor.currentValue());
+                    separate = true;
+                    break;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Prints the specified JSON tree to the specified {@link PrintStream}
+     * in a nicely formatted way, starting at the specified depth.
+     *
+     * @param root  The root of the JSON tree
+     * @param out   The target output stream
+     * @param depth The depth of the root (for formatting purposes)
+     */
+    static void print(JSONValue root, PrintStream out, int depth) {
+        JSONCursor cursor = new JSONCursor(root);
+
+        // whether the next element is the first in its container
+        // and whether it directly follows its key, respectively
+        boolean first = true, afterKey = false;
+        while (cursor.hasNext()) {
+            JSONCursor.Event event = cursor.next();
+            int level = depth + cursor.depth();
+            switch (event) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    if (!afterKey && cursor.depth() > 1)
+                        startChild(out, first, level - 1);
+                    out.print(event == JSONCursor.Event.START_OBJECT ? "{" : "[");
+                    out.println();
+                    first = true;
+                    afterKey = false;
+                    break;
+
+                case END_OBJECT:
+                case END_ARRAY:
+                    if (!first)
+                        out.println();
+                    indent(out, level);
+                    out.print(event == JSONCursor.Event.END_OBJECT ? "}" : "]");
+                    first = false;
+                    break;
+
+                case KEY:
+                    startChild(out, first, level);
+                    out.print("\"");
+                    out.print(cursor.currentKey());
+                    out.print("\": ");
+                    first = false;
+                    afterKey = true;
+                    break;
+
+                case VALUE:
+                    if (!afterKey)
+                        startChild(out, first, level);
+                    cursor.currentValue().print(out, level);
+                    first = false;
+                    afterKey = false;
+                    break;
+            }
+        }
+    }
+    /**
+     * Prints the separator and indentation that precede an element in a container.
+     *
+     * @param out   The target output stream
+     * @param first Whether or not the element is the first in its container
+     * @param level The indentation level of the element
+     */
+    private static void startChild(PrintStream out, boolean first, int level) {
+        if (!first) {
+            out.print(",");
+            out.println();
+        }
+        indent(out, level);
+    }
+    /**
+     * Prints the indentation for the specified level.
+     *
+     * @param out   The target output stream
+     * @param level The indentation level
+     */
+    private static void indent(PrintStream out, int level) {
+        for (int i = 0; i < level; i++)
+            out.print("  ");
+    }
+}
@@ -25,10 +25,12 @@ SOFTWARE.
 package io.github.utk003.json.traditional.node;
 
 import io.github.utk003.json.scanner.Scanner;
+import io.github.utk003.util.data.tuple.immutable.ImmutablePair;
 import io.github.utk003.util.misc.Verifier;
 
 import java.io.PrintStream;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * An abstract class that represents a node for a JSON tree.
@@ -48,12 +50,14 @@ import java.util.*;
  * in a condensed form that has no whitespace.
  * <p>
  * Lastly, the {@link #findElements(String)} method can be used to find all
- * elements in the tree whose paths match a specific path expression.
+ * elements in the tree whose paths match a specific path expression, and the
+ * {@link #accept(JSONVisitor)} method can be used to walk the entire tree.
  *
  * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
- * @version February 23, 2021
+ * @version October 19, 2026
  * @see ValueType
  * @see JSONStorageElement
+ * @see JSONVisitor
  */
 public abstract class JSONValue {
     /**
@@ -145,10 +149,17 @@ public abstract class JSONValue {
          * <p>
          * Otherwise, if this key is not {@code null}, then {@link #INDEX} will necessarily
          * be {@code -1}. If this key is {@code "*"}, then any child of the object matches.
+         * If this key is empty, then this {@code PathTrace} is a recursive descent step
+         * ({@code ..}), which matches the element itself and all of its descendants.
          * Otherwise, the child must specifically match the value of this key.
          */
         public final String KEY;
 
+        /**
+         * The recursive descent step ({@code ..}).
+         */
+        static final PathTrace DESCENDANT = new PathTrace("", true);
+
         /**
          * A private constructor to create a {@code PathTrace}
          * with the given key or index.
@@ -168,6 +179,25 @@ public abstract class JSONValue {
                 KEY = null;
             }
         }
+
+        /**
+         * Returns whether or not this {@code PathTrace} is a wildcard
+         * key or index, which matches any child of its object or array.
+         *
+         * @return {@code true}, if this step is a wildcard; otherwise, {@code false}
+         */
+        boolean isWildcard() {
+            return KEY == null ? INDEX < 0 : KEY.equals("*");
+        }
+        /**
+         * Returns whether or not this {@code PathTrace} is a recursive descent step.
+         *
+         * @return {@code true}, if this step is {@link #DESCENDANT}; otherwise, {@code false}
+         * @see #DESCENDANT
+         */
+        boolean isDescendant() {
+            return KEY != null && KEY.isEmpty();
+        }
     }
 
     /**
@@ -185,6 +215,55 @@ public abstract class JSONValue {
     public static JSONValue parseJSON(Scanner s) {
         return parseJSON(s, ROOT_PATH);
     }
+    /**
+     * Parses a lazily-materialized JSON tree from the input scanner
+     * and returns a {@code JSONValue} corresponding to the root of the tree.
+     * <p>
+     * This method tokenizes the entire input in a single pass and builds a
+     * structural index that records where every object and array ends. The
+     * children of each {@link JSONObject} and {@link JSONArray} are only created
+     * the first time that container is accessed (via {@code getElement(...)},
+     * {@code getElements()}, {@code findElements(...)}, etc.), after which they
+     * are cached. Subtrees that are never accessed are never built.
+     * <p>
+     * Materialization is thread-safe, so the returned tree can be shared
+     * between concurrent readers.
+     * <p>
+     * This method provides the implementation of the lazy parsing
+     * methods {@code parseLazy(...)} from the
+     * {@link io.github.utk003.json.traditional.JSONParser} class.
+     *
+     * @param s The input scanner
+     * @return The root of the lazily-parsed JSON tree
+     * @see io.github.utk003.json.traditional.JSONParser
+     */
+    public static JSONValue parseLazyJSON(Scanner s) {
+        return LazyJSONSource.index(s).element(0, ROOT_PATH);
+    }
+    /**
+     * Parses a JSON tree from the input scanner using the threads of the given
+     * {@link ForkJoinPool} and returns a {@code JSONValue} corresponding to the root of the tree.
+     * <p>
+     * This method first tokenizes the entire input in a single pass and records where
+     * every object and array ends, exactly like {@link #parseLazyJSON(Scanner)}. It then
+     * builds the tree eagerly, splitting the children of large objects and arrays into
+     * ranges that are built as parallel fork-join tasks and spliced back together in order.
+     * Small subtrees are built sequentially, so deeply nested input is also supported.
+     * <p>
+     * The returned tree is identical to the one returned by {@link #parseJSON(Scanner)}.
+     * <p>
+     * This method provides the implementation of the parallel parsing
+     * methods {@code parseParallel(...)} from the
+     * {@link io.github.utk003.json.traditional.JSONParser} class.
+     *
+     * @param s    The input scanner
+     * @param pool The pool to build the tree in
+     * @return The root of the parsed JSON tree
+     * @see io.github.utk003.json.traditional.JSONParser
+     */
+    public static JSONValue parseParallelJSON(Scanner s, ForkJoinPool pool) {
+        return ParallelJSONBuilder.build(LazyJSONSource.index(s), pool);
+    }
     /**
      * A package-private helper for JSON parsing that additionally
      * tracks the path of the currently-parsed element in the tree.
@@ -224,7 +303,12 @@ public abstract class JSONValue {
      * for the indices.
      * Additionally, an asterisk ({@code *}) can be used to
      * designate a wildcard element, which means any child at that level will
-     * match that specific part of the path.
+     * match that specific part of the path, and two periods ({@code ..}) can be
+     * used for recursive descent, which means that the rest of the path can
+     * match starting from any element at or below that level (for example,
+     * {@code "..id"} finds every {@code "id"} key in the tree). Each matching
+     * element is returned once, even if a path with several recursive descents
+     * reaches it in more than one way.
      * Lastly, if {@link #ROOT_PATH} is provided as the first step in the path,
      * then the path will be treated as "anchored". In other words, the path
      * will be treated as an absolute path from the root of the tree. If the
@@ -236,31 +320,371 @@ public abstract class JSONValue {
      * @return A {@code Collection} of all {@code JSONValue}s whose path matches the target path
      */
     public final Collection<JSONValue> findElements(String path) {
+        return JSONPath.cached(path).search(this);
+    }
+    /**
+     * Returns a {@code Collection} of {@code JSONValue}s corresponding
+     * to all elements in the JSON tree rooted at this {@code JSONValue}
+     * whose path in the tree matches the specified compiled path.
+     *
+     * @param path The compiled target path
+     * @return A {@code Collection} of all {@code JSONValue}s whose path matches the target path
+     * @see #findElements(String)
+     * @see JSONPath#compile(String)
+     */
+    public final Collection<JSONValue> findElements(JSONPath path) {
+        return path.search(this);
+    }
+    /**
+     * A package-private helper that splits a path expression (as described
+     * by {@link #findElements(String)}) into its {@link PathTrace} steps.
+     *
+     * @param path The path expression
+     * @return An array of all {@code PathTrace} elements in the path
+     */
+    static PathTrace[] tokenizePath(String path) {
+        if (path.isEmpty())
+            return new PathTrace[0];
+
         String[] splitPath = path.split("[.\\[]");
-        ArrayList<PathTrace> pathList = new ArrayList<>();
+        int offset = splitPath.length > 0 && splitPath[0].isEmpty() ? 1 : 0; // the path starts with an array index
+        PathTrace[] trace = new PathTrace[splitPath.length - offset];
+
+        int length = 0;
+        for (int i = offset; i < splitPath.length; i++) {
+            String element = splitPath[i];
+            if (element.isEmpty()) {
+                // ".." is a recursive descent, and consecutive descents are redundant
+                if (length == 0 || !trace[length - 1].isDescendant())
+                    trace[length++] = PathTrace.DESCENDANT;
+                continue;
+            }
 
-        for (String element : splitPath) {
             int lenMin1 = element.length() - 1;
             if (element.charAt(lenMin1) == ']')
-                pathList.add(new PathTrace(element.substring(0, lenMin1), false));
+                trace[length++] = new PathTrace(element.substring(0, lenMin1), false);
+            else
+                trace[length++] = new PathTrace(element, true);
+        }
+        return length == trace.length ? trace : Arrays.copyOf(trace, length);
+    }
+    /**
+     * A package-private helper that tokenizes a concrete path (a path with no wildcards
+     * or recursive descents) and strips the leading {@link #ROOT_PATH} anchor, if present.
+     *
+     * @param path The concrete path
+     * @return An array of all {@link PathTrace} elements in the path, excluding the anchor
+     * @throws IllegalArgumentException If the path contains a wildcard or a recursive descent
+     */
+    static PathTrace[] tokenizeConcretePath(String path) {
+        PathTrace[] trace = tokenizePath(path);
+        for (PathTrace step : trace)
+            if (step.isWildcard() || step.isDescendant())
+                throw new IllegalArgumentException("Wildcards are not allowed in \"" + path + "\"");
+
+        if (trace.length > 0 && ROOT_PATH.equals(trace[0].KEY))
+            return Arrays.copyOfRange(trace, 1, trace.length);
+        return trace;
+    }
+    /**
+     * A package-private helper that creates a deep copy of the specified tree with the
+     * specified root path, so that every node in the copy has its correct path.
+     * <p>
+     * The copy is built with a {@link JSONCursor}, so the tree can be arbitrarily deep.
+     * Strings, numbers, and primitives that already have their correct paths are
+     * immutable and are shared with the original tree rather than copied.
+     *
+     * @param value      The root of the tree to copy
+     * @param path       The path of the copy's root
+     * @param concurrent Whether or not the objects and arrays in the copy should be concurrent
+     * @return The copy
+     */
+    static JSONValue copy(JSONValue value, String path, boolean concurrent) {
+        if (value.TYPE != JSONValue.ValueType.OBJECT && value.TYPE != JSONValue.ValueType.ARRAY)
+            return copyLeaf(value, path);
+
+        JSONValue[] stack = new JSONValue[16];
+        int depth = 0;
+        JSONValue root = null;
+
+        JSONCursor cursor = new JSONCursor(value);
+        while (cursor.hasNext()) {
+            JSONCursor.Event event = cursor.next();
+            if (event == JSONCursor.Event.KEY)
+                continue;
+            if (event == JSONCursor.Event.END_OBJECT || event == JSONCursor.Event.END_ARRAY) {
+                stack[--depth] = null;
+                continue;
+            }
+
+            String childPath = depth == 0 ? path : cursor.currentKey() != null ?
+                    stack[depth - 1].PATH + "." + cursor.currentKey() :
+                    stack[depth - 1].PATH + "[" + cursor.currentIndex() + "]";
+            JSONValue child;
+            if (event == JSONCursor.Event.START_OBJECT)
+                child = new JSONObject(childPath, concurrent);
+            else if (event == JSONCursor.Event.START_ARRAY)
+                child = new JSONArray(childPath, concurrent);
+            else
+                child = copyLeaf(cursor.currentValue(), childPath);
+
+            if (depth == 0)
+                root = child;
+            else if (stack[depth - 1] instanceof JSONObject)
+                ((JSONObject) stack[depth - 1]).modifyElement(cursor.currentKey(), child);
             else
-                pathList.add(new PathTrace(element, true));
+                ((JSONArray) stack[depth - 1]).append(child);
+
+            if (event != JSONCursor.Event.VALUE) {
+                if (depth == stack.length)
+                    stack = Arrays.copyOf(stack, depth << 1);
+                stack[depth++] = child;
+            }
         }
+        return root;
+    }
+    /**
+     * Copies the specified string, number, or primitive with the specified path.
+     *
+     * @param value The value to copy
+     * @param path  The path of the copy
+     * @return The copy
+     */
+    private static JSONValue copyLeaf(JSONValue value, String path) {
+        if (value.PATH.equals(path))
+            return value;
+        switch (value.TYPE) {
+            case STRING:
+                return ((JSONString) value).copy(path);
+            case NUMBER:
+                return new JSONNumber(((JSONNumber) value).NUMBER, path);
 
-        PathTrace[] trace = pathList.toArray(new PathTrace[0]);
-        if (trace.length == 0)
-            return Collections.singleton(this);
-        return findElements(trace, ROOT_PATH.equals(trace[0].KEY) ? 1 : 0);
+            default:
+                return new JSONPrimitive(((JSONPrimitive) value).VALUE, path);
+        }
     }
     /**
-     * A protected helper for {@link #findElements(String)} that must
-     * be implemented by any subclass.
+     * A protected helper for {@link #findElements(String)}.
+     * <p>
+     * The steps of the path are compiled into a {@link JSONPath}, which performs the search.
      *
      * @param tokenizedPath An array of all {@link PathTrace} elements in the path
      * @param index         The current index of the search in the array
      * @return A {@code Collection} of all {@code JSONValue}s in the subtree rooted at this {@code JSONValue} whose path matches the target path
      */
-    protected abstract Collection<JSONValue> findElements(PathTrace[] tokenizedPath, int index);
+    protected Collection<JSONValue> findElements(PathTrace[] tokenizedPath, int index) {
+        return new JSONPath(null, tokenizedPath, index).search(this);
+    }
+
+    /**
+     * Walks the JSON tree rooted at this {@code JSONValue} depth-first,
+     * reporting every element to the specified {@link JSONVisitor}.
+     * <p>
+     * The walk is iterative (see {@link JSONCursor}), so arbitrarily deep
+     * trees can be visited without overflowing the call stack.
+     *
+     * @param visitor The visitor to report elements to
+     * @see JSONVisitor
+     */
+    public final void accept(JSONVisitor visitor) {
+        JSONCursor cursor = new JSONCursor(this);
+        while (cursor.hasNext()) {
+            switch (cursor.next()) {
+                case START_OBJECT:
+                    if (!visitor.enterObject(cursor.currentValue()))
+                        cursor.skipChildren();
+                    break;
+
+                case END_OBJECT:
+                    visitor.exitObject(cursor.currentValue());
+                    break;
+
+                case START_ARRAY:
+                    if (!visitor.enterArray(cursor.currentValue()))
+                        cursor.skipChildren();
+                    break;
+
+                case END_ARRAY:
+                    visitor.exitArray(cursor.currentValue());
+                    break;
+
+                case KEY:
+                    visitor.key(cursor.currentKey());
+                    break;
+
+                case VALUE:
+                    visitor.value(cursor.currentValue());
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Returns a 64-bit structural fingerprint of the JSON tree rooted at this {@code JSONValue}.
+     * <p>
+     * Fingerprints are computed bottom-up, so equal trees always have equal fingerprints,
+     * and trees with different fingerprints are never equal. Conversely, trees with equal
+     * fingerprints are equal with overwhelming probability, which makes fingerprints a
+     * cheap way to check whether (and where) two large trees differ.
+     * <p>
+     * Immutable objects and arrays (frozen and persistent containers) compute their
+     * fingerprints at most once, so the fingerprint of an updated persistent tree only
+     * needs to be recomputed along the paths that actually changed.
+     *
+     * @return This {@code JSONValue}'s fingerprint
+     * @see JSONPatch#diff(JSONValue, JSONValue)
+     */
+    public final long fingerprint() {
+        return JSONFingerprint.of(this, null);
+    }
+    /**
+     * Returns this {@code JSONValue}'s cached fingerprint, if it has one.
+     *
+     * @return The cached fingerprint, or {@code 0} if none is cached
+     * @see #fingerprint()
+     */
+    long cachedFingerprint() {
+        return 0L;
+    }
+    /**
+     * Caches this {@code JSONValue}'s fingerprint, if it is immutable.
+     *
+     * @param fingerprint The fingerprint to cache
+     * @see #fingerprint()
+     */
+    void cacheFingerprint(long fingerprint) {
+    }
+
+    /**
+     * Returns this {@code JSONValue}'s key summary, if it has or can cache one.
+     * <p>
+     * Only immutable containers summarize their keys, since mutable containers
+     * cannot tell when one of their descendants changes.
+     *
+     * @return The key summary, or {@code null} if this {@code JSONValue} has none
+     * @see JSONKeySummary
+     */
+    long[] keySummary() {
+        return null;
+    }
+    /**
+     * Returns this {@code JSONValue}'s cached key summary, if it has one.
+     *
+     * @return The cached key summary, or {@code null} if none is cached
+     * @see JSONKeySummary
+     */
+    long[] cachedKeySummary() {
+        return null;
+    }
+    /**
+     * Caches this {@code JSONValue}'s key summary, if it is immutable.
+     *
+     * @param summary The key summary to cache
+     * @see JSONKeySummary
+     */
+    void cacheKeySummary(long[] summary) {
+    }
+
+    /**
+     * Estimates the heap memory retained by the JSON tree rooted at this {@code JSONValue}.
+     * <p>
+     * This method is equivalent to
+     * <pre>
+     * this.memoryReport().getTotalBytes();
+     * </pre>
+     * and is cheap enough to be used as the weigher of a memory-bounded cache of parsed documents.
+     *
+     * @return The estimated number of heap bytes retained by this tree
+     * @see #memoryReport()
+     */
+    public final long estimateRetainedBytes() {
+        return memoryReport().getTotalBytes();
+    }
+    /**
+     * Returns a breakdown of the heap memory retained by the JSON tree rooted at this {@code JSONValue}.
+     * <p>
+     * The report is computed in a single walk over the tree, without allocating anything per
+     * node, and without materializing lazy objects and arrays or decoding off-heap documents.
+     *
+     * @return The tree's {@link JSONMemoryReport}
+     * @see #estimateRetainedBytes()
+     */
+    public final JSONMemoryReport memoryReport() {
+        return JSONMemoryReport.of(this);
+    }
+    /**
+     * Adds this {@code JSONValue}'s own footprint to the specified report,
+     * and schedules any children that this value retains to be measured.
+     *
+     * @param report The report being built
+     * @see #memoryReport()
+     */
+    void measure(JSONMemoryReport report) {
+        report.addNode(TYPE, JSONMemoryReport.instanceSize(2, 0), PATH);
+    }
+
+    /**
+     * Returns a deeply immutable snapshot of the JSON tree rooted at this {@code JSONValue}.
+     * <p>
+     * This method is equivalent to
+     * <pre>
+     * this.freeze(false);
+     * </pre>
+     *
+     * @return A frozen copy of this {@code JSONValue}
+     * @see #freeze(boolean)
+     */
+    public final JSONValue freeze() {
+        return freeze(false);
+    }
+    /**
+     * Returns a deeply immutable snapshot of the JSON tree rooted at this {@code JSONValue}.
+     * <p>
+     * Frozen {@link JSONObject}s and {@link JSONArray}s reject all modifications
+     * by throwing an {@link UnsupportedOperationException}, and they compute their
+     * hash codes only once, caching the result for later calls. If the
+     * {@code memoizeStrings} argument is {@code true}, then the output of
+     * {@link #toString()} will also be cached by every frozen container.
+     * <p>
+     * All state in a frozen tree is stored in {@code final} fields and is never
+     * mutated after construction (aside from the caches, which are volatile), so a frozen
+     * tree can be safely published to and shared between any number of threads
+     * without any external synchronization.
+     * <p>
+     * If this {@code JSONValue} is already frozen, then it is returned as is.
+     *
+     * @param memoizeStrings Whether or not frozen containers should cache their {@code toString()} output
+     * @return A frozen copy of this {@code JSONValue}
+     * @see #isFrozen()
+     */
+    public final JSONValue freeze(boolean memoizeStrings) {
+        return isFrozen() ? this : createFrozenCopy(memoizeStrings);
+    }
+    /**
+     * Returns whether or not this {@code JSONValue} is frozen (deeply immutable).
+     * <p>
+     * Strings, numbers, and primitives are immutable and are therefore always frozen.
+     * Objects and arrays are only frozen if they were created by {@link #freeze(boolean)}.
+     *
+     * @return {@code true}, if this {@code JSONValue} is frozen; otherwise, {@code false}
+     * @see #freeze(boolean)
+     */
+    public boolean isFrozen() {
+        return true;
+    }
+    /**
+     * A protected helper for {@link #freeze(boolean)} that creates a
+     * frozen copy of this {@code JSONValue} and all of its children.
+     * <p>
+     * This method is only called if {@link #isFrozen()} returns {@code false},
+     * so it must be implemented by any subclass that can be mutated.
+     *
+     * @param memoizeStrings Whether or not frozen containers should cache their {@code toString()} output
+     * @return A frozen copy of this {@code JSONValue}
+     */
+    protected JSONValue createFrozenCopy(boolean memoizeStrings) {
+        return this;
+    }
 
     /**
      * Prints this {@code JSONValue} to the specified {@link PrintStream}
@@ -376,9 +800,48 @@ public abstract class JSONValue {
     /**
      * This method should be implemented by all subclasses.
      * {@inheritDoc}
+     * <p>
+     * Objects and arrays are compared by content, so they are equal to any object
+     * or array of the same JSON type with equal children, however either is stored.
      */
     @Override
     public abstract boolean equals(Object obj);
+    /**
+     * A package-private helper for the {@code equals(Object)} methods of all objects and arrays,
+     * which compares an object or array to another object by content, through {@link JSONStorageElement}.
+     * <p>
+     * Objects and arrays are equal to any object or array of the same JSON type with
+     * equal children, no matter how either of them is stored. For example, a {@link JSONObject}
+     * is equal to a {@link PersistentJSONObject} or an {@link OffHeapJSONObject} with the same
+     * children.
+     *
+     * @param container The object or array
+     * @param obj       The object to compare it to
+     * @return {@code true}, if the other object is an equal object or array; otherwise, {@code false}
+     */
+    static boolean containerEquals(JSONValue container, Object obj) {
+        if (!(obj instanceof JSONValue) || !(obj instanceof JSONStorageElement) || ((JSONValue) obj).TYPE != container.TYPE)
+            return false;
+
+        JSONStorageElement<?> first = (JSONStorageElement<?>) container, second = (JSONStorageElement<?>) obj;
+        if (first.numElements() != second.numElements())
+            return false;
+
+        JSONStorageElement.ElementIterator it = first.elementIterator();
+        if (container.TYPE == ValueType.OBJECT) {
+            @SuppressWarnings("unchecked")
+            JSONStorageElement<String> other = (JSONStorageElement<String>) second;
+            while (it.advance())
+                if (!it.value().equals(other.getElement(it.key())))
+                    return false;
+        } else {
+            JSONStorageElement.ElementIterator otherIt = second.elementIterator();
+            while (it.advance())
+                if (!otherIt.advance() || !it.value().equals(otherIt.value()))
+                    return false;
+        }
+        return true;
+    }
 
     /**
      * This method should be implemented by all subclasses.
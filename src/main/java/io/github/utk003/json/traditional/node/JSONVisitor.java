@@ -0,0 +1,90 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+/**
+ * A callback interface for walking a JSON tree with {@link JSONValue#accept(JSONVisitor)}.
+ * <p>
+ * The tree is walked depth-first and iteratively, so arbitrarily deep trees can be
+ * visited without overflowing the call stack. Every method has an empty default
+ * implementation, so implementations only need to override the callbacks they use.
+ * <p>
+ * Returning {@code false} from {@link #enterObject(JSONValue)} or {@link #enterArray(JSONValue)}
+ * skips that object's or array's children, but the matching {@code exit} callback is still made.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see JSONCursor
+ */
+public interface JSONVisitor {
+    /**
+     * Called at the start of each JSON object.
+     *
+     * @param object The object being entered
+     * @return {@code true}, if the object's children should be visited; otherwise, {@code false}
+     */
+    default boolean enterObject(JSONValue object) {
+        return true;
+    }
+    /**
+     * Called at the end of each JSON object.
+     *
+     * @param object The object being exited
+     */
+    default void exitObject(JSONValue object) {
+    }
+
+    /**
+     * Called at the start of each JSON array.
+     *
+     * @param array The array being entered
+     * @return {@code true}, if the array's children should be visited; otherwise, {@code false}
+     */
+    default boolean enterArray(JSONValue array) {
+        return true;
+    }
+    /**
+     * Called at the end of each JSON array.
+     *
+     * @param array The array being exited
+     */
+    default void exitArray(JSONValue array) {
+    }
+
+    /**
+     * Called for each key in a JSON object, directly before its value is visited.
+     *
+     * @param key The key
+     */
+    default void key(String key) {
+    }
+    /**
+     * Called for each JSON string, number, and primitive.
+     *
+     * @param value The value
+     */
+    default void value(JSONValue value) {
+    }
+}
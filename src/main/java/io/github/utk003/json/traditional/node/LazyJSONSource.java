@@ -0,0 +1,382 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import io.github.utk003.json.scanner.Scanner;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A package-private structural index over a fully-tokenized JSON input
+ * that backs lazily-materialized {@link JSONObject}s and {@link JSONArray}s.
+ * <p>
+ * The index is built in a single pass over a {@link Scanner}, storing every
+ * token in order along with the index of the matching closing token for every
+ * opening brace or bracket. This allows any container to locate its children
+ * (and skip over their subtrees) without constructing any {@link JSONValue}
+ * nodes until they are actually needed.
+ * <p>
+ * The same index also lets {@link ParallelJSONBuilder} split the work of
+ * building a fully materialized tree between multiple threads.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see JSONValue#parseLazyJSON(Scanner)
+ */
+final class LazyJSONSource {
+    private final String[] TOKENS;
+    private final int[] MATCHES;
+
+    /**
+     * A private constructor to create a {@code LazyJSONSource}
+     * from the already-built token and bracket-match arrays.
+     *
+     * @param tokens  All of the tokens in the JSON input
+     * @param matches The index of the matching closing token for each opening token
+     */
+    private LazyJSONSource(String[] tokens, int[] matches) {
+        TOKENS = tokens;
+        MATCHES = matches;
+    }
+
+    // The token expected next by the structural validation in index(Scanner)
+    private static final int VALUE = 0, VALUE_OR_CLOSE = 1, KEY = 2, KEY_OR_CLOSE = 3, COLON = 4, SEPARATOR = 5;
+
+    /**
+     * Tokenizes the remainder of the given {@link Scanner} (starting at its current
+     * token) and builds the bracket-matching index for the tokenized JSON.
+     * <p>
+     * The structure of the JSON is validated while it is tokenized, so misplaced or missing
+     * commas, colons, and closing braces or brackets are rejected here, exactly as they are
+     * by the non-recursive parser, rather than when the affected container is materialized.
+     * <p>
+     * Tokenization stops as soon as the root JSON element is complete, so
+     * any trailing input in the {@code Scanner} is left unconsumed.
+     *
+     * @param s The input scanner
+     * @return The newly built {@code LazyJSONSource}
+     * @throws IllegalArgumentException If the JSON input is malformed
+     */
+    static LazyJSONSource index(Scanner s) {
+        String[] tokens = new String[64];
+        int[] matches = new int[64], openStack = new int[16];
+        int size = 0, depth = 0, expect = VALUE;
+
+        String token = s.current();
+        while (true) {
+            if (size == tokens.length) {
+                tokens = Arrays.copyOf(tokens, size << 1);
+                matches = Arrays.copyOf(matches, size << 1);
+            }
+            tokens[size] = token;
+            matches[size] = size;
+
+            char c = token.charAt(0);
+            switch (expect) {
+                case KEY_OR_CLOSE:
+                case KEY:
+                    if (c == '}' && expect == KEY_OR_CLOSE)
+                        expect = close(matches, openStack, --depth, size);
+                    else if (c == '}')
+                        throw new IllegalArgumentException("Malformed JSON Object: trailing commas are not allowed");
+                    else if (c == '"')
+                        expect = COLON;
+                    else
+                        throw new IllegalArgumentException("Malformed JSON Object: keys should be strings");
+                    break;
+
+                case COLON:
+                    if (c != ':')
+                        throw new IllegalArgumentException("Malformed JSON Object: key should be followed by a colon (:)");
+                    expect = VALUE;
+                    break;
+
+                case SEPARATOR:
+                    boolean object = tokens[openStack[depth - 1]].charAt(0) == '{';
+                    if (c == ',')
+                        expect = object ? KEY : VALUE;
+                    else if (c == (object ? '}' : ']'))
+                        expect = close(matches, openStack, --depth, size);
+                    else
+                        throw new IllegalArgumentException(object
+                                ? "Malformed JSON Object: elements should be separated by commas (,)"
+                                : "Malformed JSON Array: elements should be separated by commas (,)");
+                    break;
+
+                default: // VALUE or VALUE_OR_CLOSE
+                    if (c == ']' && expect == VALUE_OR_CLOSE)
+                        expect = close(matches, openStack, --depth, size);
+                    else if (c == '{' || c == '[') {
+                        if (depth == openStack.length)
+                            openStack = Arrays.copyOf(openStack, depth << 1);
+                        openStack[depth++] = size;
+                        expect = c == '{' ? KEY_OR_CLOSE : VALUE_OR_CLOSE;
+                    } else if (c == ']' && depth > 0 && tokens[size - 1].charAt(0) == ',')
+                        throw new IllegalArgumentException("Malformed JSON Array: trailing commas are not allowed");
+                    else if (c == '}' || c == ']' || c == ',' || c == ':')
+                        throw new IllegalArgumentException("Malformed JSON: expected a value but found \"" + token + "\"");
+                    else
+                        expect = SEPARATOR;
+                    break;
+            }
+            size++;
+
+            if (depth == 0 || !s.hasMore())
+                break;
+            token = s.advance();
+        }
+
+        if (depth != 0)
+            throw new IllegalArgumentException("Malformed JSON: input ended before all objects and arrays were closed");
+        return new LazyJSONSource(tokens, matches);
+    }
+    /**
+     * Records the closing token at the given index as the match of the innermost
+     * open object or array and returns the token expected after it.
+     *
+     * @param matches   The bracket-match array
+     * @param openStack The indices of the opening tokens of all open objects and arrays
+     * @param depth     The index of the innermost open object or array in {@code openStack}
+     * @param index     The index of the closing token
+     * @return The token expected after the closing token
+     */
+    private static int close(int[] matches, int[] openStack, int depth, int index) {
+        matches[openStack[depth]] = index;
+        return SEPARATOR;
+    }
+
+    /**
+     * Returns the index of the last token of the JSON element that starts at the given token index.
+     *
+     * @param start The index of the first token of the element
+     * @return The index of the last token of the element
+     */
+    int end(int start) {
+        return MATCHES[start];
+    }
+    /**
+     * Returns the token at the given index.
+     *
+     * @param index The index of the token
+     * @return The token
+     */
+    String token(int index) {
+        return TOKENS[index];
+    }
+
+    /**
+     * Estimates the heap size of this source's token and bracket-match arrays, including the tokens themselves.
+     *
+     * @return The estimated size of this source, in bytes
+     * @see JSONMemoryReport
+     */
+    long estimateBytes() {
+        long bytes = JSONMemoryReport.instanceSize(2, 0)
+                + JSONMemoryReport.arraySize(TOKENS.length, 0) + JSONMemoryReport.arraySize(MATCHES.length, 4);
+        for (String token : TOKENS)
+            if (token != null)
+                bytes += JSONMemoryReport.stringSize(token);
+        return bytes;
+    }
+
+    /**
+     * Creates the {@link JSONValue} whose first token is at the given index.
+     * <p>
+     * Objects and arrays are created as unmaterialized nodes backed by
+     * this source, while strings, numbers, and primitives are created eagerly.
+     *
+     * @param start The index of the first token of the element
+     * @param path  The path of the element in the JSON tree
+     * @return The newly created {@code JSONValue}
+     */
+    JSONValue element(int start, String path) {
+        String token = TOKENS[start];
+        char c = token.charAt(0);
+        switch (c) {
+            case '{':
+                return new JSONObject(path, this, start);
+
+            case '[':
+                return new JSONArray(path, this, start);
+
+            default:
+                return leaf(token, path);
+        }
+    }
+    /**
+     * Creates the {@link JSONValue} whose first token is at the given index, with
+     * any object or array created as an empty (but fully materialized) container.
+     *
+     * @param start The index of the first token of the element
+     * @param path  The path of the element in the JSON tree
+     * @return The newly created {@code JSONValue}
+     */
+    private JSONValue eagerElement(int start, String path) {
+        String token = TOKENS[start];
+        switch (token.charAt(0)) {
+            case '{':
+                return new JSONObject(path);
+
+            case '[':
+                return new JSONArray(path);
+
+            default:
+                return leaf(token, path);
+        }
+    }
+    /**
+     * Creates the string, number, or primitive {@link JSONValue} represented by the given token.
+     *
+     * @param token The token
+     * @param path  The path of the element in the JSON tree
+     * @return The newly created {@code JSONValue}
+     */
+    static JSONValue leaf(String token, String path) {
+        char c = token.charAt(0);
+        if (c == '"')
+            return new JSONString(token.substring(1, token.length() - 1), path);
+        if (c == '-' || '0' <= c && c <= '9')
+            return new JSONNumber(token, path);
+        return new JSONPrimitive(token, path);
+    }
+
+    /**
+     * Creates the fully materialized JSON tree whose first token is at the given index.
+     * <p>
+     * The tree is built iteratively, so it can be arbitrarily deeply nested.
+     *
+     * @param start The index of the first token of the element
+     * @param path  The path of the element in the JSON tree
+     * @return The root of the newly created tree
+     * @see ParallelJSONBuilder
+     */
+    JSONValue build(int start, String path) {
+        JSONValue root = eagerElement(start, path);
+        if (root.TYPE != JSONValue.ValueType.OBJECT && root.TYPE != JSONValue.ValueType.ARRAY)
+            return root;
+
+        JSONValue[] containers = new JSONValue[16];
+        String[] paths = new String[16];
+        int[] positions = new int[16], counts = new int[16];
+
+        containers[0] = root;
+        paths[0] = path;
+        positions[0] = end(start) == start + 1 ? start + 1 : start;
+        int depth = 1;
+
+        while (depth > 0) {
+            int top = depth - 1, i = positions[top];
+            char c = TOKENS[i].charAt(0);
+            if (c == '}' || c == ']') {
+                containers[top] = null;
+                paths[top] = null;
+                depth = top;
+                continue;
+            }
+
+            JSONValue element;
+            i++; // skip the opening token or the comma
+            if (containers[top].TYPE == JSONValue.ValueType.OBJECT) {
+                String key = TOKENS[i];
+                key = key.substring(1, key.length() - 1); // remove quotes from key
+                i += 2; // skip key and colon
+                element = eagerElement(i, paths[top] + "." + key);
+                ((JSONObject) containers[top]).modifyElement(key, element);
+            } else {
+                element = eagerElement(i, paths[top] + "[" + counts[top] + "]");
+                ((JSONArray) containers[top]).append(element);
+            }
+            counts[top]++;
+            positions[top] = end(i) + 1; // either a comma or the closing token
+
+            if (element.TYPE == JSONValue.ValueType.OBJECT || element.TYPE == JSONValue.ValueType.ARRAY) {
+                if (depth == containers.length) {
+                    int length = depth << 1;
+                    containers = Arrays.copyOf(containers, length);
+                    paths = Arrays.copyOf(paths, length);
+                    positions = Arrays.copyOf(positions, length);
+                    counts = Arrays.copyOf(counts, length);
+                }
+                containers[depth] = element;
+                paths[depth] = element.PATH;
+                positions[depth] = end(i) == i + 1 ? i + 1 : i;
+                counts[depth] = 0;
+                depth++;
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Creates all direct children of the JSON object starting at the given
+     * token index and stores them in the given map.
+     *
+     * @param elements The map to store the children in
+     * @param start    The index of the object's opening brace
+     * @param path     The path of the object in the JSON tree
+     */
+    void materializeObject(Map<String, JSONValue> elements, int start, String path) {
+        int i = start + 1;
+        if (TOKENS[i].charAt(0) == '}')
+            return;
+
+        while (true) {
+            String key = TOKENS[i];
+            key = key.substring(1, key.length() - 1); // remove quotes from key
+            i += 2; // skip key and colon
+
+            elements.put(key, element(i, path + "." + key));
+
+            i = end(i) + 1; // either a comma or the closing brace
+            if (TOKENS[i++].charAt(0) == '}')
+                return;
+        }
+    }
+
+    /**
+     * Creates all direct children of the JSON array starting at the given
+     * token index and stores them in the given list.
+     *
+     * @param elements The list to store the children in
+     * @param start    The index of the array's opening bracket
+     * @param path     The path of the array in the JSON tree
+     */
+    void materializeArray(List<JSONValue> elements, int start, String path) {
+        int i = start + 1;
+        if (TOKENS[i].charAt(0) == ']')
+            return;
+
+        int index = 0;
+        while (true) {
+            elements.add(element(i, path + "[" + index++ + "]"));
+
+            i = end(i) + 1; // either a comma or the closing bracket
+            if (TOKENS[i++].charAt(0) == ']')
+                return;
+        }
+    }
+}
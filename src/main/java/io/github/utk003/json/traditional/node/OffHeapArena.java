@@ -0,0 +1,252 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * A package-private, append-only region of off-heap memory that backs an {@link OffHeapJSONDocument}.
+ * <p>
+ * The arena is made up of segments, each of which is either a direct {@link ByteBuffer}
+ * or a region of a memory-mapped file. Every record is allocated entirely within a single
+ * segment and is addressed by a {@code long} whose upper 32 bits hold the segment index and
+ * whose lower 32 bits hold the record's offset in that segment. This allows arenas (and
+ * therefore documents) to be far larger than the 2 GB limit of a single {@code ByteBuffer}.
+ * <p>
+ * An arena is written by a single thread while its document is being loaded. Afterwards,
+ * it is only ever read through absolute accessors, so it can be shared between threads.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see OffHeapJSONDocument
+ */
+final class OffHeapArena implements Closeable {
+    /**
+     * The default size of each segment (64 MB)
+     */
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 26;
+
+    private final FileChannel CHANNEL;
+    private final int SEGMENT_SIZE;
+
+    private volatile ByteBuffer[] segments = new ByteBuffer[4];
+    private int[] segmentLengths = new int[4];
+    private int segmentCount = 0;
+    private long filePosition = 0, bytesUsed = 0;
+
+    /**
+     * Creates a new, empty {@code OffHeapArena}.
+     * <p>
+     * If the channel is {@code null}, then the arena is backed by direct {@code ByteBuffer}s;
+     * otherwise, its segments are mapped from the channel's file, which must be open
+     * for both reading and writing.
+     *
+     * @param channel     The channel of the backing file, or {@code null}
+     * @param segmentSize The minimum size of each segment
+     */
+    OffHeapArena(FileChannel channel, int segmentSize) {
+        CHANNEL = channel;
+        SEGMENT_SIZE = segmentSize;
+    }
+    /**
+     * Creates a read-only {@code OffHeapArena} from segments that were
+     * previously written out with {@link #segmentData(int)}.
+     *
+     * @param channel  The channel of the file the segments are mapped from, or {@code null}
+     * @param segments The segments, in order
+     */
+    OffHeapArena(FileChannel channel, ByteBuffer[] segments) {
+        CHANNEL = channel;
+        SEGMENT_SIZE = 0;
+
+        this.segments = segments;
+        segmentCount = segments.length;
+        segmentLengths = new int[segmentCount];
+        for (int i = 0; i < segmentCount; i++)
+            bytesUsed += segmentLengths[i] = segments[i].capacity();
+    }
+
+    /**
+     * Allocates a record of the specified size in this arena.
+     *
+     * @param size The size of the record, in bytes
+     * @return The address of the new record
+     * @throws IOException If the backing file cannot be mapped
+     */
+    long allocate(long size) throws IOException {
+        if (size > Integer.MAX_VALUE)
+            throw new IllegalStateException("A single off-heap record cannot exceed " + Integer.MAX_VALUE + " bytes");
+
+        ByteBuffer[] segments = this.segments;
+        int last = segmentCount - 1;
+        if (last < 0 || segments[last].capacity() - segmentLengths[last] < size) {
+            int segmentSize = (int) Math.max(SEGMENT_SIZE, size);
+            ByteBuffer segment = CHANNEL == null
+                    ? ByteBuffer.allocateDirect(segmentSize)
+                    : CHANNEL.map(FileChannel.MapMode.READ_WRITE, filePosition, segmentSize);
+            filePosition += segmentSize;
+
+            if (segmentCount == segments.length) {
+                this.segments = segments = Arrays.copyOf(segments, segmentCount << 1);
+                segmentLengths = Arrays.copyOf(segmentLengths, segmentCount << 1);
+            }
+            segments[last = segmentCount++] = segment.order(ByteOrder.nativeOrder());
+        }
+
+        long address = (long) last << 32 | segmentLengths[last];
+        segmentLengths[last] += size;
+        bytesUsed += size;
+        return address;
+    }
+
+    /**
+     * Returns the segment that holds the specified address.
+     *
+     * @param address The address
+     * @return The address's segment
+     * @throws IllegalStateException If this arena has been closed
+     */
+    private ByteBuffer segment(long address) {
+        ByteBuffer[] segments = this.segments;
+        if (segments == null)
+            throw new IllegalStateException("This off-heap JSON document has been closed");
+        return segments[(int) (address >>> 32)];
+    }
+
+    // absolute accessors, all of which throw an IllegalStateException once this arena is closed
+
+    byte getByte(long address) {
+        return segment(address).get((int) address);
+    }
+    int getInt(long address) {
+        return segment(address).getInt((int) address);
+    }
+    long getLong(long address) {
+        return segment(address).getLong((int) address);
+    }
+    double getDouble(long address) {
+        return segment(address).getDouble((int) address);
+    }
+    /**
+     * Copies the specified number of bytes, starting at the specified address, into a new array.
+     *
+     * @param address The address of the first byte
+     * @param length  The number of bytes to copy
+     * @return The copied bytes
+     */
+    byte[] getBytes(long address, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer segment = segment(address).duplicate();
+        segment.position((int) address);
+        segment.get(bytes);
+        return bytes;
+    }
+
+    void putByte(long address, byte value) {
+        segment(address).put((int) address, value);
+    }
+    void putInt(long address, int value) {
+        segment(address).putInt((int) address, value);
+    }
+    void putLong(long address, long value) {
+        segment(address).putLong((int) address, value);
+    }
+    void putDouble(long address, double value) {
+        segment(address).putDouble((int) address, value);
+    }
+    /**
+     * Copies the specified bytes into this arena, starting at the specified address.
+     *
+     * @param address The address of the first byte
+     * @param bytes   The bytes to copy
+     */
+    void putBytes(long address, byte[] bytes) {
+        ByteBuffer segment = segment(address).duplicate();
+        segment.position((int) address);
+        segment.put(bytes);
+    }
+
+    /**
+     * Returns the number of segments in this arena.
+     *
+     * @return The number of segments
+     */
+    int segmentCount() {
+        return segmentCount;
+    }
+    /**
+     * Returns a read-only view of the allocated part of the specified segment.
+     * <p>
+     * Writing out these views in order and mapping them back with
+     * {@link #OffHeapArena(FileChannel, ByteBuffer[])} recreates this arena
+     * with every address still valid.
+     *
+     * @param index The index of the segment
+     * @return The segment's data
+     */
+    ByteBuffer segmentData(int index) {
+        ByteBuffer data = segment((long) index << 32).asReadOnlyBuffer();
+        data.position(0).limit(segmentLengths[index]);
+        return data.slice().order(data.order());
+    }
+    /**
+     * Returns the byte order of this arena's segments.
+     *
+     * @return The byte order
+     */
+    ByteOrder order() {
+        return segmentCount == 0 ? ByteOrder.nativeOrder() : segment(0).order();
+    }
+
+    /**
+     * Returns the number of bytes allocated in this arena.
+     *
+     * @return The number of bytes used
+     */
+    long bytesUsed() {
+        return bytesUsed;
+    }
+
+    /**
+     * Releases all segments of this arena and closes its backing file, if any.
+     * <p>
+     * All later reads from this arena throw an {@link IllegalStateException}. The
+     * segments' memory is returned to the operating system once the segments
+     * become unreachable, which happens as soon as no read is still in progress.
+     *
+     * @throws IOException If the backing file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        segments = null;
+        if (CHANNEL != null)
+            CHANNEL.close();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An {@link OffHeapJSONContainer} that represents a view of a JSON array.
+ * <p>
+ * The elements of an off-heap array are stored as a flat table of record
+ * addresses, so {@link #getElement(Integer)} runs in constant time. Arrays
+ * of integers are instead delta-encoded in small blocks, so accessing one
+ * of their elements only decodes the block that holds it.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see OffHeapJSONDocument
+ * @see JSONArray
+ */
+public final class OffHeapJSONArray extends OffHeapJSONContainer<Integer> {
+    /**
+     * Creates a new {@code OffHeapJSONArray} view.
+     *
+     * @param document The document that holds this array
+     * @param address  The address of this array's record
+     * @param tag      The tag of this array's record
+     * @param path     The path of this array in the JSON tree
+     */
+    OffHeapJSONArray(OffHeapJSONDocument document, long address, byte tag, String path) {
+        super(ValueType.ARRAY, document, address, tag, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Integer keyAt(int position) {
+        return position;
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    JSONValue elementAt(int position) {
+        String path = PATH + "[" + position + "]";
+        if (TAG == OffHeapJSONDocument.LONG_ARRAY)
+            return new JSONNumber(DOCUMENT.packedElement(ADDRESS, position), path);
+
+        int width = OffHeapJSONDocument.addressWidth(TAG);
+        return DOCUMENT.slotElement(ADDRESS + OffHeapJSONDocument.HEADER_SIZE + (long) width * position, width, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int numElements() {
+        return DOCUMENT.arena().getInt(ADDRESS + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     */
+    @Override
+    public JSONValue getElement(Integer index) {
+        if (index < 0 || index >= numElements())
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + numElements());
+        return elementAt(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ElementIterator elementIterator() {
+        int size = numElements();
+        return new ElementIterator() {
+            private int position = -1;
+
+            @Override
+            public boolean advance() {
+                if (position + 1 >= size)
+                    return false;
+                position++;
+                return true;
+            }
+
+            @Override
+            public String key() {
+                return null;
+            }
+
+            @Override
+            public JSONValue value() {
+                return elementAt(position);
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The frozen copy is a {@link JSONArray} stored entirely on the heap,
+     * so it remains readable after this view's document is closed.
+     */
+    @Override
+    protected JSONValue createFrozenCopy(boolean memoizeStrings) {
+        int size = numElements();
+        List<JSONValue> frozenElements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            frozenElements.add(elementAt(i).freeze(memoizeStrings));
+        return new JSONArray(PATH, frozenElements, memoizeStrings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0, n = numElements(); i < n; i++)
+            hash = 31 * hash + elementAt(i).hashCode();
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this)
+            return true;
+        if (!(obj instanceof OffHeapJSONArray))
+            return JSONValue.containerEquals(this, obj);
+
+        OffHeapJSONArray other = (OffHeapJSONArray) obj;
+        if (DOCUMENT == other.DOCUMENT && ADDRESS == other.ADDRESS)
+            return true;
+
+        int size = numElements();
+        if (size != other.numElements())
+            return false;
+        for (int i = 0; i < size; i++)
+            if (!elementAt(i).equals(other.elementAt(i)))
+                return false;
+        return true;
+    }
+}
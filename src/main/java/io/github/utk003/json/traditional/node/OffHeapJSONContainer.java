@@ -0,0 +1,211 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import io.github.utk003.util.data.tuple.immutable.ImmutablePair;
+
+import java.io.PrintStream;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.LinkedList;
+
+/**
+ * An abstract {@link JSONValue} that represents a view of an object or
+ * array stored in an {@link OffHeapJSONDocument}.
+ * <p>
+ * A view only holds its document, its record's address, and its path,
+ * so views are cheap to create and are never cached by the document.
+ * Every child returned by a view is likewise a new view (for objects and
+ * arrays) or a newly decoded {@code JSONValue} (for all other elements).
+ * <p>
+ * Off-heap documents are read-only, so views reject all modifications. However,
+ * views are not frozen (see {@link JSONValue#freeze(boolean)}), as they can no
+ * longer be read once their document is closed. Freezing a view instead copies
+ * its whole subtree into frozen {@link JSONObject}s and {@link JSONArray}s on the heap.
+ *
+ * @param <E> The key/index type for this container
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see OffHeapJSONObject
+ * @see OffHeapJSONArray
+ */
+public abstract class OffHeapJSONContainer<E> extends JSONValue implements JSONStorageElement<E> {
+    /**
+     * The document this view reads from
+     */
+    final OffHeapJSONDocument DOCUMENT;
+    /**
+     * The address of this view's record in the document's arena
+     */
+    final long ADDRESS;
+    /**
+     * The tag of this view's record, which determines its exact format
+     */
+    final byte TAG;
+
+    /**
+     * Creates a new {@code OffHeapJSONContainer} view.
+     *
+     * @param type     The type of this container (either {@code OBJECT} or {@code ARRAY})
+     * @param document The document that holds this container
+     * @param address  The address of this container's record
+     * @param tag      The tag of this container's record
+     * @param path     The path of this container in the JSON tree
+     */
+    OffHeapJSONContainer(ValueType type, OffHeapJSONDocument document, long address, byte tag, String path) {
+        super(type, path);
+        DOCUMENT = document;
+        ADDRESS = address;
+        TAG = tag;
+    }
+
+    /**
+     * Returns the document that this view reads from.
+     *
+     * @return This view's document
+     */
+    public final OffHeapJSONDocument getDocument() {
+        return DOCUMENT;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final boolean isEmpty() {
+        return numElements() == 0;
+    }
+
+    /**
+     * Returns the key or index of the child at the specified position in this container's record.
+     *
+     * @param position The position of the child
+     * @return The child's key or index
+     */
+    abstract E keyAt(int position);
+    /**
+     * Returns the child at the specified position in this container's record.
+     *
+     * @param position The position of the child
+     * @return The child
+     */
+    abstract JSONValue elementAt(int position);
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned collection is an unmodifiable view.
+     */
+    @Override
+    public final Collection<JSONValue> getElements() {
+        return new AbstractList<JSONValue>() {
+            @Override
+            public JSONValue get(int index) {
+                if (index < 0 || index >= size())
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+                return elementAt(index);
+            }
+
+            @Override
+            public int size() {
+                return numElements();
+            }
+        };
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final LinkedList<ImmutablePair<E, JSONValue>> getElementsPaired() {
+        LinkedList<ImmutablePair<E, JSONValue>> list = new LinkedList<>();
+        for (int i = 0, n = numElements(); i < n; i++)
+            list.addLast(new ImmutablePair<>(keyAt(i), elementAt(i)));
+        return list;
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final ImmutablePair<LinkedList<E>, LinkedList<JSONValue>> getElementsAsPairedLists() {
+        ImmutablePair<LinkedList<E>, LinkedList<JSONValue>> pair = new ImmutablePair<>(new LinkedList<>(), new LinkedList<>());
+        for (int i = 0, n = numElements(); i < n; i++) {
+            pair.FIRST.addLast(keyAt(i));
+            pair.SECOND.addLast(elementAt(i));
+        }
+        return pair;
+    }
+
+    /**
+     * Always throws an {@link UnsupportedOperationException},
+     * as off-heap documents are read-only.
+     *
+     * @param key The key/index to replace at
+     * @param obj The new child element
+     * @throws UnsupportedOperationException Always
+     */
+    @Override
+    public final void modifyElement(E key, JSONValue obj) {
+        throw new UnsupportedOperationException("An off-heap JSON document cannot be modified");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Off-heap views are never frozen, as they are only readable while their
+     * document is open, so {@link #freeze(boolean)} always copies them to the heap.
+     */
+    @Override
+    public final boolean isFrozen() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Off-heap views are created on demand and do not retain their children,
+     * so only this view (and, separately, its document's off-heap size) is counted.
+     */
+    @Override
+    void measure(JSONMemoryReport report) {
+        report.addNode(TYPE, JSONMemoryReport.instanceSize(3, 9), PATH);
+        report.addOffHeapDocument(DOCUMENT);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final void print(PrintStream out, int depth) {
+        JSONTextWriter.print(this, out, depth);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final String toString() {
+        return JSONTextWriter.toCompactString(this);
+    }
+}
@@ -0,0 +1,966 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import io.github.utk003.json.scanner.Scanner;
+import io.github.utk003.util.misc.Verifier;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A read-only JSON document whose entire tree is stored outside of the Java heap.
+ * <p>
+ * The structure, strings, and numbers of an {@code OffHeapJSONDocument} are encoded
+ * into an arena of direct {@link java.nio.ByteBuffer}s or of a memory-mapped file, so
+ * documents far larger than the heap can be loaded without adding any GC pressure.
+ * Loading is a single pass over the input tokens that only keeps the currently open
+ * objects and arrays on the heap.
+ * <p>
+ * The tree is read through {@link #getRoot()}, which returns an {@link OffHeapJSONObject}
+ * or {@link OffHeapJSONArray} view. These views are ordinary {@link JSONValue}s, so printing,
+ * {@link JSONValue#findElements(String)}, {@link JSONCursor}s, etc. all work as usual.
+ * Views and leaf values are created on demand and are never cached, so they are
+ * short-lived and can be collected as soon as the caller is done with them.
+ * <p>
+ * Object keys are binary searched by hash, so key lookups run in {@code O(log n)} time,
+ * and array elements are accessed in constant time. The encoding is compact: repeated
+ * strings (keys and values alike) are only stored once, integers are variable-length
+ * encoded, arrays of integers are delta-encoded, objects with the same keys share a single
+ * copy of those keys, and child offsets only take four bytes whenever they fit. The same encoding is used by {@link JSONSnapshot} files.
+ * <p>
+ * A document should be closed with {@link #close()} once it is no longer needed. Closing
+ * a document releases its arena (and closes its backing file, if any), after which any
+ * access through its views throws an {@link IllegalStateException}. Documents are
+ * immutable after loading, so they can be read by any number of threads at once.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see OffHeapJSONObject
+ * @see OffHeapJSONArray
+ * @see JSONSnapshot
+ */
+public final class OffHeapJSONDocument implements AutoCloseable {
+    /*
+     * Record formats (all multi-byte values use the arena's byte order):
+     *
+     * Children are stored in slots of 8 bytes (OBJECT, ARRAY, SHAPE) or 4 bytes (the _32 variants).
+     * A slot with its top bit clear holds the address of the child's record, while a slot with its
+     * top bit set holds an integer child inline, as a 63 (or 31) bit two's complement value.
+     *
+     * OBJECT, OBJECT_32:  tag, shape address, then one value slot per key, in the order of the shape's keys
+     * SHAPE, SHAPE_32:    tag, int count, then count entries of (int key hash, key address), sorted by key
+     *                     hash; objects with the same keys share a single shape record
+     * ARRAY, ARRAY_32:    tag, int count, then count element slots
+     * LONG_ARRAY:         tag, int count, int offsets of each block of PACKED_BLOCK_SIZE elements (relative
+     *                     to the end of the offsets), then each block as a zigzag varint of its first element
+     *                     followed by zigzag varint deltas between consecutive elements
+     * STRING:             tag, int length, then length bytes of (unprocessed) UTF-8 text
+     * LONG:               tag, then a zigzag varint
+     * DOUBLE:             tag, then an 8 byte double
+     * TRUE, FALSE, NULL:  tag only
+     */
+    static final byte OBJECT = 1, ARRAY = 2, STRING = 3, LONG = 4, DOUBLE = 5, TRUE = 6, FALSE = 7, NULL = 8,
+            OBJECT_32 = 9, ARRAY_32 = 10, LONG_ARRAY = 11, SHAPE = 12, SHAPE_32 = 13;
+
+    /**
+     * The size of the header of an array, shape, or string record: a tag and a count or length
+     */
+    static final int HEADER_SIZE = 5;
+    /**
+     * The number of elements in each independently-decodable block of a {@code LONG_ARRAY} record
+     */
+    static final int PACKED_BLOCK_SIZE = 16;
+
+    /**
+     * The maximum number of distinct strings that are deduplicated while loading a document
+     */
+    private static final int MAX_SHARED_STRINGS = 1 << 16;
+    /**
+     * The maximum number of keys an object can have for its shape to be shared with other objects
+     */
+    private static final int MAX_SHARED_SHAPE_SIZE = 64;
+
+    private final OffHeapArena ARENA;
+    private final long ROOT;
+
+    /**
+     * A package-private constructor to create an {@code OffHeapJSONDocument}
+     * from a fully-loaded arena.
+     *
+     * @param arena The arena that holds the document
+     * @param root  The address of the root record
+     */
+    OffHeapJSONDocument(OffHeapArena arena, long root) {
+        ARENA = arena;
+        ROOT = root;
+    }
+
+    /**
+     * Loads an {@code OffHeapJSONDocument} from the specified {@link Scanner}
+     * into direct (off-heap) memory, starting at the scanner's current token.
+     *
+     * @param s The input scanner
+     * @return The loaded document
+     * @throws IllegalArgumentException If the JSON is malformed
+     * @see io.github.utk003.json.traditional.JSONParser#parseOffHeap(Scanner)
+     */
+    public static OffHeapJSONDocument load(Scanner s) {
+        OffHeapArena arena = new OffHeapArena(null, OffHeapArena.DEFAULT_SEGMENT_SIZE);
+        try {
+            return new OffHeapJSONDocument(arena, new Loader(arena).load(s));
+        } catch (IOException | RuntimeException e) {
+            throw failed(arena, e);
+        }
+    }
+    /**
+     * Loads an {@code OffHeapJSONDocument} from the specified {@link Scanner}
+     * into a memory-mapped file at the specified path, starting at the scanner's
+     * current token.
+     * <p>
+     * The file is created if it does not exist and is overwritten otherwise.
+     * Since the document is paged in and out by the operating system, it can
+     * even be larger than the physical memory of the machine.
+     *
+     * @param s    The input scanner
+     * @param file The path of the backing file
+     * @return The loaded document
+     * @throws IllegalArgumentException If the JSON is malformed
+     * @throws IllegalStateException    If the backing file cannot be created or mapped
+     * @see io.github.utk003.json.traditional.JSONParser#parseOffHeap(Scanner, Path)
+     */
+    public static OffHeapJSONDocument load(Scanner s, Path file) {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(
+                    file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE
+            );
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to open off-heap JSON storage file " + file, e);
+        }
+
+        OffHeapArena arena = new OffHeapArena(channel, OffHeapArena.DEFAULT_SEGMENT_SIZE);
+        try {
+            return new OffHeapJSONDocument(arena, new Loader(arena).load(s));
+        } catch (IOException | RuntimeException e) {
+            throw failed(arena, e);
+        }
+    }
+    /**
+     * Copies the JSON tree rooted at the specified value into a new
+     * {@code OffHeapJSONDocument} in direct (off-heap) memory.
+     * <p>
+     * The tree is walked with a {@link JSONCursor}, so it can be arbitrarily deep.
+     *
+     * @param root The root of the JSON tree to copy
+     * @return The new document
+     */
+    public static OffHeapJSONDocument copyOf(JSONValue root) {
+        OffHeapArena arena = new OffHeapArena(null, OffHeapArena.DEFAULT_SEGMENT_SIZE);
+        try {
+            return new OffHeapJSONDocument(arena, new Loader(arena).load(new JSONCursor(root)));
+        } catch (IOException | RuntimeException e) {
+            throw failed(arena, e);
+        }
+    }
+    /**
+     * Closes the specified arena after a failed load, ignoring any errors while closing.
+     *
+     * @param arena The arena to close
+     * @param e     The error that caused the load to fail
+     * @return The exception to throw
+     */
+    private static RuntimeException failed(OffHeapArena arena, Exception e) {
+        try {
+            arena.close();
+        } catch (IOException ignored) {
+        }
+        if (e instanceof RuntimeException)
+            return (RuntimeException) e;
+        return new IllegalStateException("Unable to allocate off-heap JSON storage", e);
+    }
+
+    /**
+     * Returns the root of this document.
+     * <p>
+     * Every call returns a new view of the root, so this method can be called freely.
+     *
+     * @return The root of this document
+     * @throws IllegalStateException If this document has been closed
+     */
+    public JSONValue getRoot() {
+        return element(ROOT, JSONValue.ROOT_PATH);
+    }
+
+    /**
+     * Returns the number of off-heap bytes this document's records occupy.
+     *
+     * @return The size of this document, in bytes
+     */
+    public long sizeInBytes() {
+        return ARENA.bytesUsed();
+    }
+
+    /**
+     * Releases this document's off-heap memory and closes its backing file, if any.
+     * <p>
+     * After this method is called, all views of this document throw an
+     * {@link IllegalStateException} when they are read.
+     *
+     * @throws IllegalStateException If the backing file cannot be closed
+     */
+    @Override
+    public void close() {
+        try {
+            ARENA.close();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to close off-heap JSON storage", e);
+        }
+    }
+
+    /**
+     * Returns the arena that holds this document.
+     *
+     * @return This document's arena
+     */
+    OffHeapArena arena() {
+        return ARENA;
+    }
+    /**
+     * Returns the address of this document's root record.
+     *
+     * @return The root's address
+     */
+    long rootAddress() {
+        return ROOT;
+    }
+
+    /**
+     * Returns a {@link JSONValue} for the record at the specified address.
+     * <p>
+     * Objects and arrays are returned as views, while strings, numbers,
+     * and primitives are decoded into new {@code JSONValue}s.
+     *
+     * @param address The address of the record
+     * @param path    The path of the element in the JSON tree
+     * @return The element at that address
+     */
+    JSONValue element(long address, String path) {
+        byte tag = ARENA.getByte(address);
+        switch (tag) {
+            case OBJECT:
+            case OBJECT_32:
+                return new OffHeapJSONObject(this, address, tag, path);
+            case ARRAY:
+            case ARRAY_32:
+            case LONG_ARRAY:
+                return new OffHeapJSONArray(this, address, tag, path);
+            case STRING:
+                return new JSONString(string(address), path);
+            case LONG:
+                return new JSONNumber(varLong(address + 1), path);
+            case DOUBLE:
+                return new JSONNumber(ARENA.getDouble(address + 1), path);
+            case TRUE:
+                return new JSONPrimitive(true, path);
+            case FALSE:
+                return new JSONPrimitive(false, path);
+            case NULL:
+                return new JSONPrimitive((Boolean) null, path);
+
+            default:
+                throw new IllegalStateException("Corrupted off-heap JSON record at address " + address);
+        }
+    }
+    /**
+     * Returns a {@link JSONValue} for the child stored in the specified slot.
+     *
+     * @param slot  The address of the slot
+     * @param width The width of the slot (either {@code 4} or {@code 8} bytes)
+     * @param path  The path of the child in the JSON tree
+     * @return The child stored in that slot
+     */
+    JSONValue slotElement(long slot, int width, String path) {
+        if (width == 4) {
+            int value = ARENA.getInt(slot);
+            return value < 0 ? new JSONNumber((long) (value << 1 >> 1), path) : element(value, path);
+        }
+        long value = ARENA.getLong(slot);
+        return value < 0 ? new JSONNumber(value << 1 >> 1, path) : element(value, path);
+    }
+    /**
+     * Reads an address of the specified width.
+     *
+     * @param slot  The address of the stored address
+     * @param width The width of the stored address (either {@code 4} or {@code 8} bytes)
+     * @return The stored address
+     */
+    long address(long slot, int width) {
+        return width == 4 ? ARENA.getInt(slot) & 0xFFFFFFFFL : ARENA.getLong(slot);
+    }
+    /**
+     * Returns the width of the child slots in a record with the specified tag.
+     *
+     * @param tag The record's tag
+     * @return The width of its slots, in bytes
+     */
+    static int addressWidth(byte tag) {
+        return tag == OBJECT_32 || tag == ARRAY_32 || tag == SHAPE_32 ? 4 : 8;
+    }
+
+    /**
+     * Decodes the string record at the specified address.
+     *
+     * @param address The address of the string record
+     * @return The decoded string
+     */
+    String string(long address) {
+        return new String(ARENA.getBytes(address + HEADER_SIZE, ARENA.getInt(address + 1)), StandardCharsets.UTF_8);
+    }
+    /**
+     * Returns whether or not the string record at the specified address holds the specified bytes.
+     *
+     * @param address The address of the string record
+     * @param bytes   The UTF-8 bytes to compare against
+     * @return {@code true}, if the record holds exactly those bytes; otherwise, {@code false}
+     */
+    boolean stringEquals(long address, byte[] bytes) {
+        if (ARENA.getInt(address + 1) != bytes.length)
+            return false;
+        address += HEADER_SIZE;
+        for (int i = 0; i < bytes.length; i++)
+            if (ARENA.getByte(address + i) != bytes[i])
+                return false;
+        return true;
+    }
+
+    /**
+     * Decodes the zigzag varint at the specified address.
+     *
+     * @param address The address of the varint
+     * @return The decoded value
+     */
+    long varLong(long address) {
+        long raw = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = ARENA.getByte(address++);
+            raw |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return raw >>> 1 ^ -(raw & 1);
+        }
+    }
+    /**
+     * Decodes the element at the specified index of the {@code LONG_ARRAY} record at the specified address.
+     * <p>
+     * Only the block that holds the element is decoded, so this runs in constant time.
+     *
+     * @param address The address of the {@code LONG_ARRAY} record
+     * @param index   The index of the element
+     * @return The decoded element
+     */
+    long packedElement(long address, int index) {
+        int count = ARENA.getInt(address + 1), blocks = (count + PACKED_BLOCK_SIZE - 1) / PACKED_BLOCK_SIZE;
+        int block = index / PACKED_BLOCK_SIZE;
+
+        long data = address + HEADER_SIZE + 4L * blocks;
+        long position = data + ARENA.getInt(address + HEADER_SIZE + 4L * block);
+
+        long value = 0;
+        for (int i = block * PACKED_BLOCK_SIZE; i <= index; i++) {
+            long raw = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = ARENA.getByte(position++);
+                raw |= (long) (b & 0x7F) << shift;
+                if (b >= 0)
+                    break;
+            }
+            value += raw >>> 1 ^ -(raw & 1);
+        }
+        return value;
+    }
+
+    /**
+     * A private helper class that writes a JSON document
+     * into an arena in a single, non-recursive pass.
+     * <p>
+     * Since a record must be written after all of its children, the
+     * children of every currently open object and array are buffered
+     * in a reusable {@link Frame} until the container is closed.
+     * Integers are buffered as raw values rather than as records, so
+     * that arrays of integers can be delta-encoded when they are closed
+     * and small integers can be stored inline in their parent's slots.
+     */
+    private static final class Loader {
+        private final OffHeapArena ARENA;
+        private final long TRUE_ADDRESS, FALSE_ADDRESS, NULL_ADDRESS;
+        private final Map<String, Long> SHARED_STRINGS = new HashMap<>(), SHARED_SHAPES = new HashMap<>();
+
+        private Frame[] frames = new Frame[16];
+        private int depth = 0;
+
+        // reusable scratch space for closing objects and encoding varints
+        private long[] order = new long[16], keyAddresses = new long[16];
+        private final byte[] VARINT = new byte[10];
+
+        private Loader(OffHeapArena arena) throws IOException {
+            ARENA = arena;
+            TRUE_ADDRESS = writeTag(TRUE);
+            FALSE_ADDRESS = writeTag(FALSE);
+            NULL_ADDRESS = writeTag(NULL);
+        }
+
+        /**
+         * Loads the JSON from the scanner, starting at its current token.
+         *
+         * @param s The input scanner
+         * @return The address of the root record
+         * @throws IOException If the arena cannot allocate more memory
+         */
+        private long load(Scanner s) throws IOException {
+            String token = s.current();
+            while (true) {
+                // token is the first token of a value
+                Verifier.requireTrue(token != null, "Malformed JSON: unexpected end of input");
+                char c = requireValue(token).charAt(0);
+                if (c == '{' || c == '[') {
+                    Frame frame = push(c == '{');
+                    token = next(s);
+                    if (!(frame.isObject ? "}" : "]").equals(token)) {
+                        if (frame.isObject)
+                            token = readKey(s, token, frame);
+                        continue;
+                    }
+
+                    long address = pop();
+                    if (depth == 0)
+                        return address;
+                    frames[depth - 1].add(address, false);
+                } else if (depth == 0)
+                    return writeLeaf(token);
+                else
+                    addLeaf(frames[depth - 1], token);
+
+                // close every container that ends here
+                while (true) {
+                    Frame frame = frames[depth - 1];
+                    token = next(s);
+                    if (",".equals(token)) {
+                        token = next(s);
+                        Verifier.requireTrue(!(frame.isObject ? "}" : "]").equals(token), frame.isObject
+                                ? "Malformed JSON Object: trailing commas are not allowed"
+                                : "Malformed JSON Array: trailing commas are not allowed");
+                        if (frame.isObject)
+                            token = readKey(s, token, frame);
+                        break;
+                    }
+
+                    Verifier.requireEqual(
+                            token, frame.isObject ? "}" : "]",
+                            "Malformed JSON " + (frame.isObject ? "Object" : "Array") + ": elements should be separated by commas (,)"
+                    );
+                    long address = pop();
+                    if (depth == 0)
+                        return address;
+                    frames[depth - 1].add(address, false);
+                }
+            }
+        }
+        /**
+         * Reads an object key and its colon.
+         *
+         * @param s     The input scanner
+         * @param token The key token
+         * @param frame The frame of the object
+         * @return The first token of the key's value
+         */
+        private String readKey(Scanner s, String token, Frame frame) {
+            Verifier.requireTrue(
+                    token != null && token.length() >= 2 && token.charAt(0) == '"',
+                    "Malformed JSON Object: keys should be strings"
+            );
+            frame.key = token.substring(1, token.length() - 1);
+            Verifier.requireEqual(next(s), ":", "Malformed JSON Object: key should be followed by a colon (:)");
+            return next(s);
+        }
+        /**
+         * Advances the given scanner to its next token.
+         *
+         * @param s The input scanner
+         * @return The next token
+         * @throws IllegalArgumentException If the input has no more tokens
+         */
+        private static String next(Scanner s) {
+            Verifier.requireTrue(s.hasMore(), "Malformed JSON: input ended before all objects and arrays were closed");
+            return s.advance();
+        }
+        /**
+         * Checks that the given token can start a JSON value.
+         *
+         * @param token The token to check
+         * @return The token
+         * @throws IllegalArgumentException If the token is a separator or closes an object or array
+         */
+        private static String requireValue(String token) {
+            char c = token.charAt(0);
+            if (c == '}' || c == ']' || c == ',' || c == ':')
+                throw new IllegalArgumentException("Malformed JSON: expected a value but found \"" + token + "\"");
+            return token;
+        }
+
+        /**
+         * Loads the JSON tree walked by the specified cursor.
+         *
+         * @param cursor The cursor
+         * @return The address of the root record
+         * @throws IOException If the arena cannot allocate more memory
+         */
+        private long load(JSONCursor cursor) throws IOException {
+            while (true) {
+                long address;
+                switch (cursor.next()) {
+                    case START_OBJECT:
+                    case START_ARRAY:
+                        push(cursor.currentEvent() == JSONCursor.Event.START_OBJECT);
+                        continue;
+
+                    case KEY:
+                        frames[depth - 1].key = cursor.currentKey();
+                        continue;
+
+                    case VALUE:
+                        JSONValue value = cursor.currentValue();
+                        if (depth == 0)
+                            return writeLeaf(value);
+                        addLeaf(frames[depth - 1], value);
+                        continue;
+
+                    default: // END_OBJECT and END_ARRAY
+                        address = pop();
+                }
+
+                if (depth == 0)
+                    return address;
+                frames[depth - 1].add(address, false);
+            }
+        }
+
+        private Frame push(boolean isObject) {
+            if (depth == frames.length)
+                frames = Arrays.copyOf(frames, depth << 1);
+
+            Frame frame = frames[depth];
+            if (frame == null)
+                frames[depth] = frame = new Frame();
+            frame.reset(isObject);
+            depth++;
+            return frame;
+        }
+        private long pop() throws IOException {
+            Frame frame = frames[--depth];
+            if (!frame.isObject && frame.count > 1 && frame.rawCount == frame.count)
+                return writePackedArray(frame);
+
+            // write out any buffered integers too large to be stored inline as records of their own
+            for (int i = 0; i < frame.count; i++)
+                if (frame.raw[i] && !isImmediate(frame.values[i])) {
+                    frame.values[i] = writeLong(frame.values[i]);
+                    frame.raw[i] = false;
+                    frame.rawCount--;
+                }
+
+            return frame.isObject ? writeObject(frame) : writeArray(frame);
+        }
+
+        /**
+         * Writes a {@code LONG_ARRAY} record for the specified frame, whose elements must all be integers.
+         *
+         * @param frame The frame of the array
+         * @return The address of the new record
+         * @throws IOException If the arena cannot allocate more memory
+         */
+        private long writePackedArray(Frame frame) throws IOException {
+            int count = frame.count, blocks = (count + PACKED_BLOCK_SIZE - 1) / PACKED_BLOCK_SIZE;
+
+            // measure the encoded blocks first, since records cannot grow once allocated
+            long dataSize = 0;
+            for (int i = 0; i < count; i++)
+                dataSize += varLongSize(i % PACKED_BLOCK_SIZE == 0 ? frame.values[i] : frame.values[i] - frame.values[i - 1]);
+
+            long address = ARENA.allocate(HEADER_SIZE + 4L * blocks + dataSize);
+            ARENA.putByte(address, LONG_ARRAY);
+            ARENA.putInt(address + 1, count);
+
+            long data = address + HEADER_SIZE + 4L * blocks, position = data;
+            for (int i = 0; i < count; i++) {
+                long delta = frame.values[i];
+                if (i % PACKED_BLOCK_SIZE == 0)
+                    ARENA.putInt(address + HEADER_SIZE + 4L * (i / PACKED_BLOCK_SIZE), (int) (position - data));
+                else
+                    delta -= frame.values[i - 1];
+                position += putVarLong(position, delta);
+            }
+            return address;
+        }
+        /**
+         * Writes an {@code ARRAY} or {@code ARRAY_32} record for the specified frame.
+         *
+         * @param frame The frame of the array
+         * @return The address of the new record
+         * @throws IOException If the arena cannot allocate more memory
+         */
+        private long writeArray(Frame frame) throws IOException {
+            int count = frame.count, width = width(frame, 0);
+            long address = ARENA.allocate(HEADER_SIZE + (long) width * count);
+            ARENA.putByte(address, width == 4 ? ARRAY_32 : ARRAY);
+            ARENA.putInt(address + 1, count);
+            for (int i = 0; i < count; i++)
+                putSlot(address + HEADER_SIZE + (long) width * i, frame, i, width);
+            return address;
+        }
+        /**
+         * Writes an {@code OBJECT} or {@code OBJECT_32} record for the specified frame.
+         * <p>
+         * The object's keys are stored in a separate shape record, which is shared
+         * by every object with exactly the same keys. The entries of the shape are
+         * sorted by key hash so that keys can be binary searched, and only the last
+         * value of any duplicated key is kept.
+         *
+         * @param frame The frame of the object
+         * @return The address of the new record
+         * @throws IOException If the arena cannot allocate more memory
+         */
+        private long writeObject(Frame frame) throws IOException {
+            int count = frame.count;
+            if (order.length < count)
+                order = new long[Math.max(count, order.length << 1)];
+
+            // sort by hash, breaking ties by position so that duplicates stay in order
+            for (int i = 0; i < count; i++)
+                order[i] = (long) frame.keys[i].hashCode() << 32 | i;
+            Arrays.sort(order, 0, count);
+
+            // drop all but the last occurrence of each duplicated key
+            int unique = 0;
+            for (int i = 0; i < count; i++) {
+                int index = (int) order[i];
+                boolean duplicated = false;
+                for (int j = i + 1; j < count && order[j] >>> 32 == order[i] >>> 32 && !duplicated; j++)
+                    duplicated = frame.keys[index].equals(frame.keys[(int) order[j]]);
+                if (!duplicated)
+                    order[unique++] = order[i];
+            }
+
+            long shape = writeShape(frame, unique);
+            int width = shape >>> 31 != 0 ? 8 : width(frame, 0);
+
+            long address = ARENA.allocate(1 + (long) width * (unique + 1));
+            ARENA.putByte(address, width == 4 ? OBJECT_32 : OBJECT);
+            putAddress(address + 1, shape, width);
+            for (int i = 0; i < unique; i++)
+                putSlot(address + 1 + (long) width * (i + 1), frame, (int) order[i], width);
+            Arrays.fill(frame.keys, 0, count, null);
+            return address;
+        }
+        /**
+         * Writes (or reuses) the shape record for the first {@code count} keys in
+         * {@link #order}, which must be sorted by hash and free of duplicates.
+         *
+         * @param frame The frame of the object
+         * @param count The number of keys
+         * @return The address of the shape record
+         * @throws IOException If the arena cannot allocate more memory
+         */
+        private long writeShape(Frame frame, int count) throws IOException {
+            String signature = null;
+            if (count <= MAX_SHARED_SHAPE_SIZE) {
+                StringBuilder builder = new StringBuilder();
+                for (int i = 0; i < count; i++)
+                    builder.append(frame.keys[(int) order[i]]).append('\0');
+                Long shared = SHARED_SHAPES.get(signature = builder.toString());
+                if (shared != null)
+                    return shared;
+            }
+
+            if (keyAddresses.length < count)
+                keyAddresses = new long[Math.max(count, keyAddresses.length << 1)];
+            int width = 4;
+            for (int i = 0; i < count; i++)
+                if ((keyAddresses[i] = writeString(frame.keys[(int) order[i]])) >>> 31 != 0)
+                    width = 8;
+
+            long address = ARENA.allocate(HEADER_SIZE + (long) (4 + width) * count);
+            ARENA.putByte(address, width == 4 ? SHAPE_32 : SHAPE);
+            ARENA.putInt(address + 1, count);
+            for (int i = 0; i < count; i++) {
+                long entry = address + HEADER_SIZE + (long) (4 + width) * i;
+                ARENA.putInt(entry, (int) (order[i] >>> 32));
+                putAddress(entry + 4, keyAddresses[i], width);
+            }
+
+            if (signature != null && SHARED_SHAPES.size() < MAX_SHARED_STRINGS)
+                SHARED_SHAPES.put(signature, address);
+            return address;
+        }
+
+        /**
+         * Returns the narrowest width that can hold all of the children of the specified frame.
+         *
+         * @param frame The frame
+         * @param start The index of the first child to check
+         * @return {@code 4}, if every child fits in 4 bytes; otherwise, {@code 8}
+         */
+        private static int width(Frame frame, int start) {
+            for (int i = start; i < frame.count; i++)
+                if (!frame.raw[i] && frame.values[i] >>> 31 != 0)
+                    return 8;
+            return 4;
+        }
+        /**
+         * Writes the specified child of the specified frame into a slot, either
+         * as the address of its record or (for small integers) as an inline value.
+         *
+         * @param slot  The address of the slot
+         * @param frame The frame
+         * @param index The index of the child in the frame
+         * @param width The width of the slot
+         */
+        private void putSlot(long slot, Frame frame, int index, int width) {
+            long value = frame.values[index];
+            if (frame.raw[index])
+                value = width == 4 ? (value & 0x7FFFFFFFL) | 0x80000000L : value | Long.MIN_VALUE;
+            putAddress(slot, value, width);
+        }
+        private void putAddress(long slot, long address, int width) {
+            if (width == 4)
+                ARENA.putInt(slot, (int) address);
+            else
+                ARENA.putLong(slot, address);
+        }
+        /**
+         * Returns whether or not the specified integer can be stored inline in a slot of any width.
+         *
+         * @param value The integer
+         * @return {@code true}, if the integer fits in 31 bits; otherwise, {@code false}
+         */
+        private static boolean isImmediate(long value) {
+            return value == (int) (value << 33 >> 33);
+        }
+
+        /**
+         * Buffers a string, number, or primitive token in the specified frame.
+         *
+         * @param frame The frame of the enclosing object or array
+         * @param token The token
+         * @throws IOException If the arena cannot allocate more memory
+         */
+        private void addLeaf(Frame frame, String token) throws IOException {
+            if (isInteger(token))
+                frame.add(Long.parseLong(token), true);
+            else
+                frame.add(writeLeaf(token), false);
+        }
+        /**
+         * Buffers a string, number, or primitive in the specified frame.
+         *
+         * @param frame The frame of the enclosing object or array
+         * @param value The value
+         * @throws IOException If the arena cannot allocate more memory
+         */
+        private void addLeaf(Frame frame, JSONValue value) throws IOException {
+            if (value instanceof JSONNumber && isInteger(((JSONNumber) value).NUMBER))
+                frame.add(((JSONNumber) value).NUMBER.longValue(), true);
+            else
+                frame.add(writeLeaf(value), false);
+        }
+
+        /**
+         * Writes a record for a string, number, or primitive token.
+         *
+         * @param token The token
+         * @return The address of the token's record
+         * @throws IOException If the arena cannot allocate more memory
+         */
+        private long writeLeaf(String token) throws IOException {
+            char c = token.charAt(0);
+            if (c == '"')
+                return writeString(token.substring(1, token.length() - 1));
+
+            if (c == '-' || '0' <= c && c <= '9')
+                return isInteger(token) ? writeLong(Long.parseLong(token)) : writeDouble(Double.parseDouble(token));
+
+            return "true".equals(token) ? TRUE_ADDRESS : "false".equals(token) ? FALSE_ADDRESS : NULL_ADDRESS;
+        }
+        /**
+         * Writes a record for a string, number, or primitive.
+         *
+         * @param value The value
+         * @return The address of the value's record
+         * @throws IOException If the arena cannot allocate more memory
+         */
+        private long writeLeaf(JSONValue value) throws IOException {
+            switch (value.TYPE) {
+                case STRING:
+                    return writeString(((JSONString) value).original());
+
+                case NUMBER:
+                    Number number = ((JSONNumber) value).NUMBER;
+                    return isInteger(number) ? writeLong(number.longValue()) : writeDouble(number.doubleValue());
+
+                case PRIMITIVE:
+                    Boolean bool = ((JSONPrimitive) value).VALUE;
+                    return bool == null ? NULL_ADDRESS : bool ? TRUE_ADDRESS : FALSE_ADDRESS;
+
+                default:
+                    throw new IllegalArgumentException("Unexpected JSON element type " + value.TYPE);
+            }
+        }
+
+        /**
+         * Writes a string's record, reusing an earlier record for the same string if possible.
+         *
+         * @param str The string
+         * @return The address of the string's record
+         * @throws IOException If the arena cannot allocate more memory
+         */
+        private long writeString(String str) throws IOException {
+            Long shared = SHARED_STRINGS.get(str);
+            if (shared != null)
+                return shared;
+
+            byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            long address = ARENA.allocate(HEADER_SIZE + (long) bytes.length);
+            ARENA.putByte(address, STRING);
+            ARENA.putInt(address + 1, bytes.length);
+            ARENA.putBytes(address + HEADER_SIZE, bytes);
+
+            if (SHARED_STRINGS.size() < MAX_SHARED_STRINGS)
+                SHARED_STRINGS.put(str, address);
+            return address;
+        }
+        private long writeLong(long value) throws IOException {
+            long address = ARENA.allocate(1 + varLongSize(value));
+            ARENA.putByte(address, LONG);
+            putVarLong(address + 1, value);
+            return address;
+        }
+        private long writeDouble(double value) throws IOException {
+            long address = ARENA.allocate(9);
+            ARENA.putByte(address, DOUBLE);
+            ARENA.putDouble(address + 1, value);
+            return address;
+        }
+        private long writeTag(byte tag) throws IOException {
+            long address = ARENA.allocate(1);
+            ARENA.putByte(address, tag);
+            return address;
+        }
+
+        /**
+         * Returns the number of bytes in the zigzag varint encoding of the specified value.
+         *
+         * @param value The value
+         * @return The size of its encoding
+         */
+        private static int varLongSize(long value) {
+            long raw = value << 1 ^ value >> 63;
+            int size = 1;
+            while ((raw >>>= 7) != 0)
+                size++;
+            return size;
+        }
+        /**
+         * Writes the zigzag varint encoding of the specified value.
+         *
+         * @param address The address to write at
+         * @param value   The value
+         * @return The number of bytes written
+         */
+        private int putVarLong(long address, long value) {
+            long raw = value << 1 ^ value >> 63;
+            int size = 0;
+            while ((raw & ~0x7FL) != 0) {
+                VARINT[size++] = (byte) (raw & 0x7F | 0x80);
+                raw >>>= 7;
+            }
+            VARINT[size++] = (byte) raw;
+            for (int i = 0; i < size; i++)
+                ARENA.putByte(address + i, VARINT[i]);
+            return size;
+        }
+
+        private static boolean isInteger(String token) {
+            char c = token.charAt(0);
+            return (c == '-' || '0' <= c && c <= '9') && !(token.contains("e") || token.contains("E") || token.contains("."));
+        }
+        private static boolean isInteger(Number number) {
+            return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+        }
+    }
+
+    /**
+     * A private helper class that buffers the children of an open object or array while loading.
+     */
+    private static final class Frame {
+        private boolean isObject;
+        private long[] values = new long[8];
+        private boolean[] raw = new boolean[8];
+        private String[] keys = new String[8];
+        private String key;
+        private int count, rawCount;
+
+        private void reset(boolean isObject) {
+            this.isObject = isObject;
+            count = rawCount = 0;
+        }
+
+        /**
+         * Adds a child to this frame.
+         *
+         * @param value The child's address, or its value if it is a raw integer
+         * @param isRaw Whether or not the child is a raw integer
+         */
+        private void add(long value, boolean isRaw) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count << 1);
+                raw = Arrays.copyOf(raw, count << 1);
+                keys = Arrays.copyOf(keys, count << 1);
+            }
+            values[count] = value;
+            raw[count] = isRaw;
+            if (isRaw)
+                rawCount++;
+            if (isObject)
+                keys[count] = key;
+            count++;
+        }
+    }
+}
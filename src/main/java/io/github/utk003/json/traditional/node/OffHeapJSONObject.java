@@ -0,0 +1,225 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An {@link OffHeapJSONContainer} that represents a view of a JSON object.
+ * <p>
+ * The keys of an off-heap object are stored in a shape record that is shared by
+ * every object in the document with the same keys. The keys of a shape are sorted
+ * by their hash codes, so {@link #getElement(String)} binary searches the shape in
+ * {@code O(log n)} time. Iteration follows the same (hash) order.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see OffHeapJSONDocument
+ * @see JSONObject
+ */
+public final class OffHeapJSONObject extends OffHeapJSONContainer<String> {
+    private final int WIDTH, SHAPE_WIDTH, SIZE;
+    private final long SHAPE;
+
+    /**
+     * Creates a new {@code OffHeapJSONObject} view.
+     *
+     * @param document The document that holds this object
+     * @param address  The address of this object's record
+     * @param tag      The tag of this object's record
+     * @param path     The path of this object in the JSON tree
+     */
+    OffHeapJSONObject(OffHeapJSONDocument document, long address, byte tag, String path) {
+        super(ValueType.OBJECT, document, address, tag, path);
+        WIDTH = OffHeapJSONDocument.addressWidth(tag);
+        SHAPE = document.address(address + 1, WIDTH);
+        SHAPE_WIDTH = OffHeapJSONDocument.addressWidth(document.arena().getByte(SHAPE));
+        SIZE = document.arena().getInt(SHAPE + 1);
+    }
+
+    /**
+     * Returns the address of the entry at the specified position in this object's shape.
+     * <p>
+     * Each entry holds the key's hash, followed by the address of the key.
+     *
+     * @param position The position of the entry
+     * @return The entry's address
+     */
+    private long entry(int position) {
+        return SHAPE + OffHeapJSONDocument.HEADER_SIZE + (long) (4 + SHAPE_WIDTH) * position;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int numElements() {
+        return SIZE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    String keyAt(int position) {
+        return DOCUMENT.string(DOCUMENT.address(entry(position) + 4, SHAPE_WIDTH));
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    JSONValue elementAt(int position) {
+        return elementAt(position, keyAt(position));
+    }
+    /**
+     * Returns the child at the specified position, given its already-decoded key.
+     *
+     * @param position The position of the child
+     * @param key      The child's key
+     * @return The child
+     */
+    private JSONValue elementAt(int position, String key) {
+        return DOCUMENT.slotElement(ADDRESS + 1 + (long) WIDTH * (position + 1), WIDTH, PATH + "." + key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JSONValue getElement(String key) {
+        OffHeapArena arena = DOCUMENT.arena();
+        int hash = key.hashCode();
+
+        // find the first entry whose hash is at least the key's hash
+        int low = 0, high = numElements();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (arena.getInt(entry(mid)) < hash)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+
+        byte[] bytes = null;
+        for (int i = low, n = numElements(); i < n && arena.getInt(entry(i)) == hash; i++) {
+            if (bytes == null)
+                bytes = key.getBytes(StandardCharsets.UTF_8);
+            if (DOCUMENT.stringEquals(DOCUMENT.address(entry(i) + 4, SHAPE_WIDTH), bytes))
+                return elementAt(i, key);
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ElementIterator elementIterator() {
+        int size = numElements();
+        return new ElementIterator() {
+            private int position = -1;
+            private String key = null;
+
+            @Override
+            public boolean advance() {
+                if (position + 1 >= size)
+                    return false;
+                key = keyAt(++position);
+                return true;
+            }
+
+            @Override
+            public String key() {
+                return key;
+            }
+
+            @Override
+            public JSONValue value() {
+                return elementAt(position, key);
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The frozen copy is a {@link JSONObject} stored entirely on the heap,
+     * so it remains readable after this view's document is closed.
+     */
+    @Override
+    protected JSONValue createFrozenCopy(boolean memoizeStrings) {
+        Map<String, JSONValue> frozenElements = new HashMap<>((int) (numElements() / 0.75f) + 1);
+        for (int i = 0, n = numElements(); i < n; i++) {
+            String key = keyAt(i);
+            frozenElements.put(key, elementAt(i, key).freeze(memoizeStrings));
+        }
+        return new JSONObject(PATH, frozenElements, memoizeStrings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void measure(JSONMemoryReport report) {
+        report.addNode(TYPE, JSONMemoryReport.instanceSize(3, 29), PATH);
+        report.addOffHeapDocument(DOCUMENT);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0, n = numElements(); i < n; i++)
+            hash += DOCUMENT.arena().getInt(entry(i)) ^ elementAt(i).hashCode();
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this)
+            return true;
+        if (!(obj instanceof OffHeapJSONObject))
+            return JSONValue.containerEquals(this, obj);
+
+        OffHeapJSONObject other = (OffHeapJSONObject) obj;
+        if (DOCUMENT == other.DOCUMENT && ADDRESS == other.ADDRESS)
+            return true;
+        if (numElements() != other.numElements())
+            return false;
+
+        ElementIterator it = elementIterator();
+        while (it.advance())
+            if (!it.value().equals(other.getElement(it.key())))
+                return false;
+        return true;
+    }
+}
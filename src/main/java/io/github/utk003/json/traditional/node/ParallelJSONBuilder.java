@@ -0,0 +1,193 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A package-private fork-join task that builds a fully materialized JSON tree
+ * from a {@link LazyJSONSource} using multiple threads.
+ * <p>
+ * Because the source already knows where every object and array ends, the direct
+ * children of a large container can be located without building them. Each large
+ * container's children are therefore split into contiguous ranges of roughly equal
+ * token counts, and each range is built as a separate fork-join task. Children that
+ * are themselves large containers are split the same way, while small subtrees are
+ * built sequentially with {@link LazyJSONSource#build(int, String)}. Each range stores
+ * its children in a shared results array by position, and the container is filled in
+ * order once all of its ranges are done, so the keys and indices of the tree match
+ * those of a sequentially parsed tree exactly.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see JSONValue#parseParallelJSON(io.github.utk003.json.scanner.Scanner, ForkJoinPool)
+ */
+final class ParallelJSONBuilder extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of tokens below which a range of children is built by a single task
+     */
+    private static final int SPLIT_THRESHOLD = 1 << 13;
+    /**
+     * The container nesting depth below which subtrees are always built sequentially
+     */
+    private static final int MAX_PARALLEL_DEPTH = 64;
+
+    private final LazyJSONSource SOURCE;
+    private final String PATH;
+    private final String[] KEYS;
+    private final int[] STARTS;
+    private final JSONValue[] RESULTS;
+    private final int LOW, HIGH, DEPTH;
+
+    /**
+     * A private constructor to create a task that builds a range of a container's children.
+     *
+     * @param source  The source to build from
+     * @param path    The path of the container
+     * @param keys    The keys of the container's children, or {@code null} if the container is an array
+     * @param starts  The index of the first token of each of the container's children
+     * @param results The array to store the built children in
+     * @param low     The position of the first child to build (inclusive)
+     * @param high    The position of the last child to build (exclusive)
+     * @param depth   The nesting depth of the container
+     */
+    private ParallelJSONBuilder(LazyJSONSource source, String path, String[] keys, int[] starts,
+                                JSONValue[] results, int low, int high, int depth) {
+        SOURCE = source;
+        PATH = path;
+        KEYS = keys;
+        STARTS = starts;
+        RESULTS = results;
+        LOW = low;
+        HIGH = high;
+        DEPTH = depth;
+    }
+
+    /**
+     * Builds the whole JSON tree indexed by the given source in the given pool.
+     *
+     * @param source The source to build from
+     * @param pool   The pool to build the tree in
+     * @return The root of the newly created tree
+     */
+    static JSONValue build(LazyJSONSource source, ForkJoinPool pool) {
+        return pool.invoke(new RecursiveTask<JSONValue>() {
+            @Override
+            protected JSONValue compute() {
+                return buildElement(source, 0, JSONValue.ROOT_PATH, 0);
+            }
+        });
+    }
+
+    /**
+     * Builds the JSON tree whose first token is at the given index, in parallel
+     * if it is a large enough object or array.
+     *
+     * @param source The source to build from
+     * @param start  The index of the first token of the element
+     * @param path   The path of the element
+     * @param depth  The nesting depth of the element
+     * @return The root of the newly created tree
+     */
+    private static JSONValue buildElement(LazyJSONSource source, int start, String path, int depth) {
+        char c = source.token(start).charAt(0);
+        if (c != '{' && c != '[' || source.end(start) - start < SPLIT_THRESHOLD || depth >= MAX_PARALLEL_DEPTH)
+            return source.build(start, path);
+
+        boolean isObject = c == '{';
+        int end = source.end(start), skip = isObject ? 3 : 1; // skip the key and colon, if present
+        int count = 0;
+        if (end != start + 1)
+            for (int i = start; i != end; i = source.end(i + skip) + 1) // i is the opening token or a comma
+                count++;
+
+        String[] keys = isObject ? new String[count] : null;
+        int[] starts = new int[count];
+        for (int i = start, n = 0; n < count; n++) {
+            if (isObject) {
+                String key = source.token(i + 1);
+                keys[n] = key.substring(1, key.length() - 1); // remove quotes from key
+            }
+            starts[n] = i + skip;
+            i = source.end(i + skip) + 1;
+        }
+
+        JSONValue[] results = new JSONValue[count];
+        new ParallelJSONBuilder(source, path, keys, starts, results, 0, count, depth + 1).compute();
+
+        if (isObject) {
+            JSONObject obj = new JSONObject(path);
+            for (int i = 0; i < count; i++)
+                obj.modifyElement(keys[i], results[i]);
+            return obj;
+        }
+        JSONArray arr = new JSONArray(path);
+        for (JSONValue element : results)
+            arr.append(element);
+        return arr;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void compute() {
+        if (HIGH - LOW > 1 && SOURCE.end(STARTS[HIGH - 1]) - STARTS[LOW] >= SPLIT_THRESHOLD) {
+            int mid = split();
+            invokeAll(
+                    new ParallelJSONBuilder(SOURCE, PATH, KEYS, STARTS, RESULTS, LOW, mid, DEPTH),
+                    new ParallelJSONBuilder(SOURCE, PATH, KEYS, STARTS, RESULTS, mid, HIGH, DEPTH)
+            );
+            return;
+        }
+
+        for (int i = LOW; i < HIGH; i++) {
+            String path = KEYS == null ? PATH + "[" + i + "]" : PATH + "." + KEYS[i];
+            RESULTS[i] = buildElement(SOURCE, STARTS[i], path, DEPTH);
+        }
+    }
+    /**
+     * Finds the child that starts closest to the middle token of this range,
+     * so that both halves of the range have roughly equal token counts.
+     *
+     * @return The position of the first child of the second half (strictly between {@code LOW} and {@code HIGH})
+     */
+    private int split() {
+        int middle = (STARTS[LOW] + SOURCE.end(STARTS[HIGH - 1])) >>> 1;
+        int mid = Arrays.binarySearch(STARTS, LOW + 1, HIGH, middle);
+        if (mid >= 0)
+            return mid;
+
+        mid = -mid - 1; // the first child that starts after the middle token
+        if (mid == HIGH || mid > LOW + 1 && middle - STARTS[mid - 1] < STARTS[mid] - middle)
+            mid--;
+        return mid;
+    }
+}
@@ -0,0 +1,457 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import java.util.Arrays;
+
+/**
+ * A package-private persistent (immutable, structurally shared) hash map,
+ * implemented as a hash array mapped trie (HAMT).
+ * <p>
+ * Every "modifying" operation returns a new map in {@code O(log32 n)} time,
+ * copying only the trie nodes along the path to the modified key and sharing
+ * all other nodes with the original map. Keys and values cannot be {@code null}.
+ *
+ * @param <K> The key type of this map
+ * @param <V> The value type of this map
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see PersistentJSONObject
+ */
+final class PersistentHashMap<K, V> {
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+    private static final int BITS = 5, MASK = 0x1f;
+
+    private final Node ROOT;
+    private final int SIZE;
+
+    /**
+     * A private constructor to create a {@code PersistentHashMap}
+     * with the given trie root and number of entries.
+     *
+     * @param root The trie root, or {@code null} if the map is empty
+     * @param size The number of entries in this map
+     */
+    private PersistentHashMap(Node root, int size) {
+        ROOT = root;
+        SIZE = size;
+    }
+
+    /**
+     * Returns the empty {@code PersistentHashMap}.
+     *
+     * @param <K> The key type of the map
+     * @param <V> The value type of the map
+     * @return The empty map
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns the number of entries in this map.
+     *
+     * @return The number of entries in this map
+     */
+    int size() {
+        return SIZE;
+    }
+
+    /**
+     * Returns the value associated with the given key.
+     *
+     * @param key The key to look up
+     * @return The associated value, if it exists; otherwise, {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    V get(Object key) {
+        return ROOT == null ? null : (V) ROOT.find(0, hash(key), key);
+    }
+
+    /**
+     * Returns a map equal to this map, except that the given key is associated with the given value.
+     *
+     * @param key The key to associate
+     * @param val The value to associate with the key
+     * @return The new map, or this map if the key is already associated with that exact value
+     */
+    PersistentHashMap<K, V> with(K key, V val) {
+        boolean[] added = {false};
+        Node root = (ROOT == null ? BitmapNode.EMPTY : ROOT).assoc(0, hash(key), key, val, added);
+        return root == ROOT ? this : new PersistentHashMap<>(root, added[0] ? SIZE + 1 : SIZE);
+    }
+
+    /**
+     * Returns a map equal to this map, except that the given key has no associated value.
+     *
+     * @param key The key to remove
+     * @return The new map, or this map if the key was not present
+     */
+    PersistentHashMap<K, V> without(Object key) {
+        if (ROOT == null)
+            return this;
+        Node root = ROOT.without(0, hash(key), key);
+        return root == ROOT ? this : root == null ? empty() : new PersistentHashMap<>(root, SIZE - 1);
+    }
+
+    /**
+     * Returns a new {@link EntryIterator} over all entries of this map.
+     *
+     * @return An iterator over this map's entries
+     */
+    EntryIterator<K, V> entryIterator() {
+        return new EntryIterator<>(ROOT);
+    }
+
+    /**
+     * Estimates the heap size of this map's trie, excluding its keys and values.
+     *
+     * @return The estimated size of this map, in bytes
+     * @see JSONMemoryReport
+     */
+    long estimateBytes() {
+        long bytes = JSONMemoryReport.instanceSize(1, 4);
+        return ROOT == null ? bytes : bytes + estimateBytes(ROOT);
+    }
+    /**
+     * Estimates the heap size of the given trie node and all of its descendants.
+     *
+     * @param node The trie node
+     * @return The estimated size of the subtrie, in bytes
+     */
+    private static long estimateBytes(Node node) {
+        Object[] array = node.array();
+        long bytes = JSONMemoryReport.instanceSize(1, 4) + JSONMemoryReport.arraySize(array.length, 0);
+        for (int i = 0; i < array.length; i += 2)
+            if (array[i] == null && array[i + 1] instanceof Node)
+                bytes += estimateBytes((Node) array[i + 1]);
+        return bytes;
+    }
+
+    /**
+     * Computes the spread hash code of the given key.
+     *
+     * @param key The key
+     * @return The key's spread hash code
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the bit in a node's bitmap that corresponds to the given hash at the given shift.
+     *
+     * @param hash  The hash code
+     * @param shift The trie level shift
+     * @return The corresponding bitmap bit
+     */
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * Creates a trie node holding the two given entries.
+     *
+     * @param shift The trie level shift of the new node
+     * @param k1    The first key
+     * @param v1    The first value
+     * @param h2    The second key's hash code
+     * @param k2    The second key
+     * @param v2    The second value
+     * @return The new trie node
+     */
+    private static Node createNode(int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+        int h1 = hash(k1);
+        if (h1 == h2)
+            return new CollisionNode(h1, new Object[]{k1, v1, k2, v2});
+
+        boolean[] added = {false};
+        return BitmapNode.EMPTY
+                .assoc(shift, h1, k1, v1, added)
+                .assoc(shift, h2, k2, v2, added);
+    }
+
+    /**
+     * Returns a copy of the given array with the given index set to the given value.
+     *
+     * @param array The original array
+     * @param i     The index to set
+     * @param val   The new value
+     * @return The modified copy
+     */
+    private static Object[] cloneAndSet(Object[] array, int i, Object val) {
+        Object[] clone = array.clone();
+        clone[i] = val;
+        return clone;
+    }
+
+    /**
+     * Returns a copy of the given array without the key/value pair starting at the given index.
+     *
+     * @param array The original array
+     * @param i     The index of the pair's key
+     * @return The shortened copy
+     */
+    private static Object[] removePair(Object[] array, int i) {
+        Object[] copy = new Object[array.length - 2];
+        System.arraycopy(array, 0, copy, 0, i);
+        System.arraycopy(array, i + 2, copy, i, copy.length - i);
+        return copy;
+    }
+
+    /**
+     * A node in a {@link PersistentHashMap}'s trie.
+     * <p>
+     * Every node stores its contents in a single array of alternating keys and values.
+     * A {@code null} key means that the following value is a child node instead.
+     */
+    private interface Node {
+        Object find(int shift, int hash, Object key);
+        Node assoc(int shift, int hash, Object key, Object val, boolean[] added);
+        Node without(int shift, int hash, Object key);
+        Object[] array();
+    }
+
+    /**
+     * A trie node whose populated slots are indicated by a 32-bit bitmap.
+     */
+    private static final class BitmapNode implements Node {
+        private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int BITMAP;
+        private final Object[] ARRAY;
+
+        private BitmapNode(int bitmap, Object[] array) {
+            BITMAP = bitmap;
+            ARRAY = array;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(BITMAP & (bit - 1)) << 1;
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((BITMAP & bit) == 0)
+                return null;
+
+            int i = index(bit);
+            Object k = ARRAY[i], v = ARRAY[i + 1];
+            if (k == null)
+                return ((Node) v).find(shift + BITS, hash, key);
+            return key.equals(k) ? v : null;
+        }
+
+        @Override
+        public Node assoc(int shift, int hash, Object key, Object val, boolean[] added) {
+            int bit = bit(hash, shift), i = index(bit);
+            if ((BITMAP & bit) != 0) {
+                Object k = ARRAY[i], v = ARRAY[i + 1];
+                if (k == null) {
+                    Node child = ((Node) v).assoc(shift + BITS, hash, key, val, added);
+                    return child == v ? this : new BitmapNode(BITMAP, cloneAndSet(ARRAY, i + 1, child));
+                }
+                if (key.equals(k))
+                    return val == v ? this : new BitmapNode(BITMAP, cloneAndSet(ARRAY, i + 1, val));
+
+                added[0] = true;
+                Object[] array = cloneAndSet(ARRAY, i, null);
+                array[i + 1] = createNode(shift + BITS, k, v, hash, key, val);
+                return new BitmapNode(BITMAP, array);
+            }
+
+            added[0] = true;
+            Object[] array = new Object[ARRAY.length + 2];
+            System.arraycopy(ARRAY, 0, array, 0, i);
+            array[i] = key;
+            array[i + 1] = val;
+            System.arraycopy(ARRAY, i, array, i + 2, ARRAY.length - i);
+            return new BitmapNode(BITMAP | bit, array);
+        }
+
+        @Override
+        public Node without(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((BITMAP & bit) == 0)
+                return this;
+
+            int i = index(bit);
+            Object k = ARRAY[i], v = ARRAY[i + 1];
+            if (k == null) {
+                Node child = ((Node) v).without(shift + BITS, hash, key);
+                if (child == v)
+                    return this;
+                if (child != null)
+                    return new BitmapNode(BITMAP, cloneAndSet(ARRAY, i + 1, child));
+            } else if (!key.equals(k))
+                return this;
+
+            return BITMAP == bit ? null : new BitmapNode(BITMAP ^ bit, removePair(ARRAY, i));
+        }
+
+        @Override
+        public Object[] array() {
+            return ARRAY;
+        }
+    }
+
+    /**
+     * A trie node holding multiple entries whose keys have identical hash codes.
+     */
+    private static final class CollisionNode implements Node {
+        private final int HASH;
+        private final Object[] ARRAY;
+
+        private CollisionNode(int hash, Object[] array) {
+            HASH = hash;
+            ARRAY = array;
+        }
+
+        private int index(Object key) {
+            for (int i = 0; i < ARRAY.length; i += 2)
+                if (key.equals(ARRAY[i]))
+                    return i;
+            return -1;
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            if (hash != HASH)
+                return null;
+            int i = index(key);
+            return i < 0 ? null : ARRAY[i + 1];
+        }
+
+        @Override
+        public Node assoc(int shift, int hash, Object key, Object val, boolean[] added) {
+            if (hash != HASH)
+                return new BitmapNode(bit(HASH, shift), new Object[]{null, this})
+                        .assoc(shift, hash, key, val, added);
+
+            int i = index(key);
+            if (i >= 0)
+                return ARRAY[i + 1] == val ? this : new CollisionNode(HASH, cloneAndSet(ARRAY, i + 1, val));
+
+            added[0] = true;
+            Object[] array = Arrays.copyOf(ARRAY, ARRAY.length + 2);
+            array[ARRAY.length] = key;
+            array[ARRAY.length + 1] = val;
+            return new CollisionNode(HASH, array);
+        }
+
+        @Override
+        public Node without(int shift, int hash, Object key) {
+            if (hash != HASH)
+                return this;
+            int i = index(key);
+            if (i < 0)
+                return this;
+            return ARRAY.length == 2 ? null : new CollisionNode(HASH, removePair(ARRAY, i));
+        }
+
+        @Override
+        public Object[] array() {
+            return ARRAY;
+        }
+    }
+
+    /**
+     * A depth-first iterator over the entries of a {@link PersistentHashMap}
+     * that uses an explicit stack of trie node arrays.
+     *
+     * @param <K> The key type of the map
+     * @param <V> The value type of the map
+     */
+    static final class EntryIterator<K, V> {
+        private Object[][] arrays = new Object[8][];
+        private int[] positions = new int[8];
+        private int depth = 0;
+
+        private K key = null;
+        private V value = null;
+
+        private EntryIterator(Node root) {
+            if (root != null)
+                arrays[depth++] = root.array();
+        }
+
+        /**
+         * Advances to the next entry, if one exists.
+         *
+         * @return {@code true}, if this iterator advanced to a new entry; otherwise, {@code false}
+         */
+        @SuppressWarnings("unchecked")
+        boolean advance() {
+            while (depth > 0) {
+                int top = depth - 1, pos = positions[top];
+                Object[] array = arrays[top];
+                if (pos >= array.length) {
+                    arrays[top] = null;
+                    positions[top] = 0;
+                    depth--;
+                    continue;
+                }
+
+                positions[top] = pos + 2;
+                Object k = array[pos], v = array[pos + 1];
+                if (k != null) {
+                    key = (K) k;
+                    value = (V) v;
+                    return true;
+                }
+
+                if (depth == arrays.length) {
+                    arrays = Arrays.copyOf(arrays, depth << 1);
+                    positions = Arrays.copyOf(positions, depth << 1);
+                }
+                arrays[depth++] = ((Node) v).array();
+            }
+            key = null;
+            value = null;
+            return false;
+        }
+
+        /**
+         * Returns the key of the current entry.
+         *
+         * @return The current key
+         */
+        K key() {
+            return key;
+        }
+        /**
+         * Returns the value of the current entry.
+         *
+         * @return The current value
+         */
+        V value() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import io.github.utk003.util.data.tuple.immutable.ImmutablePair;
+
+import java.io.PrintStream;
+import java.util.*;
+
+/**
+ * A {@link PersistentJSONContainer} that represents a JSON array.
+ * <p>
+ * The elements of a {@code PersistentJSONArray} are stored in a 32-way radix
+ * trie, so random access, {@link #withElement(Integer, JSONValue)}, {@link #append(JSONValue)},
+ * and removal of the last element all run in {@code O(log32 n)} time and share all
+ * untouched elements with this array. Removing an element from the middle of the array
+ * shifts every later index, so every later element is copied with its new path, and it
+ * therefore costs time proportional to the size of the rest of the array.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see PersistentJSONContainer
+ * @see JSONArray
+ */
+public final class PersistentJSONArray extends PersistentJSONContainer<Integer> {
+    private final PersistentVector<JSONValue> ELEMENTS;
+
+    /**
+     * Creates a new, empty {@code PersistentJSONArray} with the specified path in the JSON tree.
+     *
+     * @param path This node's path in the JSON tree
+     */
+    public PersistentJSONArray(String path) {
+        this(path, PersistentVector.empty());
+    }
+    /**
+     * A private constructor to create a {@code PersistentJSONArray}
+     * with the specified path and elements.
+     *
+     * @param path     This node's path in the JSON tree
+     * @param elements This array's elements
+     */
+    private PersistentJSONArray(String path, PersistentVector<JSONValue> elements) {
+        super(ValueType.ARRAY, path);
+        ELEMENTS = elements;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int numElements() {
+        return ELEMENTS.size();
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return ELEMENTS.size() == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JSONValue getElement(Integer index) {
+        return ELEMENTS.get(index);
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<JSONValue> getElements() {
+        return new AbstractList<JSONValue>() {
+            @Override
+            public JSONValue get(int index) {
+                return ELEMENTS.get(index);
+            }
+
+            @Override
+            public Iterator<JSONValue> iterator() {
+                return ELEMENTS.iterator();
+            }
+
+            @Override
+            public int size() {
+                return ELEMENTS.size();
+            }
+        };
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LinkedList<ImmutablePair<Integer, JSONValue>> getElementsPaired() {
+        LinkedList<ImmutablePair<Integer, JSONValue>> list = new LinkedList<>();
+        int i = 0;
+        for (JSONValue e : ELEMENTS)
+            list.addLast(new ImmutablePair<>(i++, e));
+        return list;
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutablePair<LinkedList<Integer>, LinkedList<JSONValue>> getElementsAsPairedLists() {
+        ImmutablePair<LinkedList<Integer>, LinkedList<JSONValue>> pair = new ImmutablePair<>(new LinkedList<>(), new LinkedList<>());
+        int i = 0;
+        for (JSONValue e : ELEMENTS) {
+            pair.FIRST.addLast(i++);
+            pair.SECOND.addLast(e);
+        }
+        return pair;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ElementIterator elementIterator() {
+        Iterator<JSONValue> elements = ELEMENTS.iterator();
+        return new ElementIterator() {
+            private JSONValue element = null;
+
+            @Override
+            public boolean advance() {
+                if (!elements.hasNext())
+                    return false;
+                element = elements.next();
+                return true;
+            }
+
+            @Override
+            public String key() {
+                return null;
+            }
+
+            @Override
+            public JSONValue value() {
+                return element;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the index is {@code null} or equal to the length of
+     * this array, then the value is appended instead.
+     *
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     */
+    @Override
+    public PersistentJSONArray withElement(Integer index, JSONValue value) {
+        if (index == null)
+            return append(value);
+        PersistentVector<JSONValue> elements = ELEMENTS.with(index, toPersistent(value, PATH + "[" + index + "]"));
+        return new PersistentJSONArray(PATH, elements);
+    }
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All later elements are shifted down by one index, and since their paths
+     * change, they are replaced by copies with the new paths.
+     */
+    @Override
+    public PersistentJSONArray withoutElement(Integer index) {
+        if (index < 0 || index >= ELEMENTS.size())
+            return this;
+        PersistentVector<JSONValue> elements = ELEMENTS.without(index);
+        for (int i = index; i < elements.size(); i++)
+            elements = elements.with(i, toPersistent(elements.get(i), PATH + "[" + i + "]"));
+        return new PersistentJSONArray(PATH, elements);
+    }
+    /**
+     * Returns an array equal to this one with the specified value appended.
+     * <p>
+     * The value is first converted with {@link #toPersistent(JSONValue)}, and it is
+     * copied with a new path if its path is not its path in this array.
+     *
+     * @param value The new element
+     * @return The new array
+     */
+    public PersistentJSONArray append(JSONValue value) {
+        return new PersistentJSONArray(PATH, ELEMENTS.append(toPersistent(value, PATH + "[" + ELEMENTS.size() + "]")));
+    }
+
+    /**
+     * Verifies that the specified path step is an array index.
+     *
+     * @param step The path step
+     * @return The step's index
+     * @throws IllegalArgumentException If the step is an object key
+     */
+    private int requireIndex(PathTrace step) {
+        if (step.KEY != null)
+            throw new IllegalArgumentException(PATH + " is a JSON array and cannot be indexed by \"" + step.KEY + "\"");
+        return step.INDEX;
+    }
+    @Override
+    JSONValue getStep(PathTrace step) {
+        int index = requireIndex(step);
+        return index < ELEMENTS.size() ? ELEMENTS.get(index) : null;
+    }
+    @Override
+    PersistentJSONArray withStep(PathTrace step, JSONValue value) {
+        return withElement(requireIndex(step), value);
+    }
+    @Override
+    PersistentJSONArray withoutStep(PathTrace step) {
+        return withoutElement(requireIndex(step));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The whole vector trie is counted, even if parts of it are shared with other versions of this array.
+     */
+    @Override
+    void measure(JSONMemoryReport report) {
+        report.addNode(TYPE, JSONMemoryReport.instanceSize(4, 12), PATH);
+        report.addContainer(ELEMENTS.estimateBytes());
+        report.addKeySummary(cachedKeySummary());
+        for (JSONValue value : ELEMENTS)
+            report.push(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void print(PrintStream out, int depth) {
+        JSONTextWriter.print(this, out, depth);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int computeHashCode() {
+        int hash = 1;
+        for (JSONValue element : ELEMENTS)
+            hash = 31 * hash + element.hashCode();
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this)
+            return true;
+        if (!(obj instanceof PersistentJSONArray))
+            return JSONValue.containerEquals(this, obj);
+
+        PersistentJSONArray other = (PersistentJSONArray) obj;
+        if (ELEMENTS.size() != other.ELEMENTS.size() || hashCode() != other.hashCode())
+            return false;
+
+        Iterator<JSONValue> it = other.ELEMENTS.iterator();
+        for (JSONValue element : ELEMENTS)
+            if (!element.equals(it.next()))
+                return false;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return JSONTextWriter.toCompactString(this);
+    }
+}
@@ -0,0 +1,309 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+/**
+ * An abstract {@link JSONValue} that represents a persistent JSON object or array.
+ * <p>
+ * Persistent containers are immutable: instead of being modified in place, every
+ * update returns a new container that shares all untouched children (and their
+ * entire subtrees) with the original. This makes it cheap to keep many versions of
+ * a large JSON document around at once, such as for undo histories or snapshots.
+ * <p>
+ * The path-level operations {@link #with(String, JSONValue)} and {@link #without(String)}
+ * return a new root in {@code O(d log32 n)} time, where {@code d} is the depth of the
+ * path, by copying only the containers along that path. Every node keeps its correct
+ * {@link JSONValue#PATH}, so a new value is copied with new paths if it came from
+ * elsewhere, and so are the array elements that a removal shifts down.
+ * <p>
+ * Since persistent containers are immutable, they are always frozen (see
+ * {@link JSONValue#freeze(boolean)}) and can be freely shared between threads.
+ * All read-only accessors, including {@link JSONValue#findElements(String)},
+ * behave exactly as they do for {@link JSONObject}s and {@link JSONArray}s.
+ *
+ * @param <E> The key/index type for this container
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see PersistentJSONObject
+ * @see PersistentJSONArray
+ */
+public abstract class PersistentJSONContainer<E> extends JSONValue implements JSONStorageElement<E> {
+    private volatile int cachedHash = 0;
+    private volatile long cachedFingerprint = 0L;
+    private volatile long[] cachedKeySummary = null;
+
+    /**
+     * Creates a new {@code PersistentJSONContainer} with the given type and path.
+     *
+     * @param type The type of this container (either {@code OBJECT} or {@code ARRAY})
+     * @param path The path of this container in the JSON tree
+     */
+    PersistentJSONContainer(ValueType type, String path) {
+        super(type, path);
+    }
+
+    /**
+     * Returns a persistent version of the JSON tree rooted at the specified value.
+     * <p>
+     * Strings, numbers, primitives, and persistent containers are returned as is,
+     * while all other objects and arrays are deeply copied into persistent containers.
+     *
+     * @param value The root of the JSON tree to convert
+     * @return The persistent JSON tree
+     */
+    public static JSONValue toPersistent(JSONValue value) {
+        if (value instanceof PersistentJSONContainer)
+            return value;
+
+        if (value instanceof JSONObject) {
+            PersistentJSONObject copy = new PersistentJSONObject(value.PATH);
+            ElementIterator it = ((JSONObject) value).elementIterator();
+            while (it.advance())
+                copy = copy.withElement(it.key(), it.value());
+            return copy;
+        }
+
+        if (value instanceof JSONArray) {
+            PersistentJSONArray copy = new PersistentJSONArray(value.PATH);
+            for (JSONValue element : ((JSONArray) value).getElements())
+                copy = copy.append(element);
+            return copy;
+        }
+
+        return value;
+    }
+    /**
+     * Returns a persistent version of the JSON tree rooted at the specified value
+     * (see {@link #toPersistent(JSONValue)}), with the specified path.
+     * <p>
+     * If the value's path is different, then the whole tree is copied with new paths.
+     *
+     * @param value The root of the JSON tree to convert
+     * @param path  The path of the root in its new JSON tree
+     * @return The persistent JSON tree
+     */
+    static JSONValue toPersistent(JSONValue value, String path) {
+        return toPersistent(path.equals(value.PATH) ? value : JSONValue.copy(value, path, false));
+    }
+
+    /**
+     * Returns a container equal to this one, except that the child with
+     * the specified key/index is set to the specified value.
+     * <p>
+     * The value is first converted with {@link #toPersistent(JSONValue)}, and it is
+     * copied with new paths if its path is not its path in this container.
+     *
+     * @param key   The key/index to set
+     * @param value The new child
+     * @return The new container, or this container if the child is unchanged
+     */
+    public abstract PersistentJSONContainer<E> withElement(E key, JSONValue value);
+    /**
+     * Returns a container equal to this one, except that
+     * the child with the specified key/index is removed.
+     *
+     * @param key The key/index to remove
+     * @return The new container, or this container if no such child exists
+     */
+    public abstract PersistentJSONContainer<E> withoutElement(E key);
+
+    /**
+     * Returns a new tree equal to the tree rooted at this container, except
+     * that the element at the specified concrete path is set to the specified value.
+     * <p>
+     * The path is in the same format as {@link JSONValue#findElements(String)},
+     * optionally starting with {@link JSONValue#ROOT_PATH}, but it cannot contain
+     * wildcards. Every container along the path must already exist; only the final
+     * step may refer to a new object key (or to the index one past the end of an array).
+     *
+     * @param path  The concrete path of the element to set
+     * @param value The new element
+     * @return The root of the new tree
+     * @throws IllegalArgumentException If the path is invalid or does not exist
+     */
+    public final PersistentJSONContainer<E> with(String path, JSONValue value) {
+        PathTrace[] trace = tokenizeConcretePath(path);
+        if (trace.length == 0)
+            throw new IllegalArgumentException("The root of a persistent JSON tree cannot be replaced");
+        return with(trace, 0, value);
+    }
+    /**
+     * Returns a new tree equal to the tree rooted at this container,
+     * except that the element at the specified concrete path is removed.
+     * <p>
+     * Removing an array element shifts all later elements down by one.
+     *
+     * @param path The concrete path of the element to remove
+     * @return The root of the new tree, or this container if no such element exists
+     * @throws IllegalArgumentException If the path is invalid
+     * @see #with(String, JSONValue)
+     */
+    public final PersistentJSONContainer<E> without(String path) {
+        PathTrace[] trace = tokenizeConcretePath(path);
+        if (trace.length == 0)
+            throw new IllegalArgumentException("The root of a persistent JSON tree cannot be removed");
+        return without(trace, 0);
+    }
+
+    private PersistentJSONContainer<E> with(PathTrace[] trace, int index, JSONValue value) {
+        PathTrace step = trace[index];
+        if (index == trace.length - 1)
+            return withStep(step, value);
+        return withStep(step, childContainer(step).with(trace, index + 1, value));
+    }
+    private PersistentJSONContainer<E> without(PathTrace[] trace, int index) {
+        PathTrace step = trace[index];
+        if (index == trace.length - 1)
+            return withoutStep(step);
+
+        JSONValue child = getStep(step);
+        if (child == null)
+            return this;
+        if (!(child instanceof PersistentJSONContainer))
+            throw new IllegalArgumentException(child.PATH + " is not a persistent JSON object or array");
+
+        PersistentJSONContainer<?> oldChild = (PersistentJSONContainer<?>) child;
+        PersistentJSONContainer<?> newChild = oldChild.without(trace, index + 1);
+        return newChild == oldChild ? this : withStep(step, newChild);
+    }
+    private PersistentJSONContainer<?> childContainer(PathTrace step) {
+        JSONValue child = getStep(step);
+        if (child == null)
+            throw new IllegalArgumentException("An element along the path does not exist (" + PATH + " has no child " +
+                    (step.KEY == null ? "[" + step.INDEX + "]" : "\"" + step.KEY + "\"") + ")");
+        if (!(child instanceof PersistentJSONContainer))
+            throw new IllegalArgumentException(child.PATH + " is not a persistent JSON object or array");
+        return (PersistentJSONContainer<?>) child;
+    }
+
+    /**
+     * Returns the child identified by the specified path step.
+     *
+     * @param step The key or index of the child
+     * @return The child, if it exists; otherwise, {@code null}
+     * @throws IllegalArgumentException If the step is the wrong kind (key or index) for this container
+     */
+    abstract JSONValue getStep(PathTrace step);
+    /**
+     * Returns {@link #withElement(Object, JSONValue)} for the key or index in the specified path step.
+     *
+     * @param step  The key or index of the child
+     * @param value The new child
+     * @return The new container
+     * @throws IllegalArgumentException If the step is the wrong kind (key or index) for this container
+     */
+    abstract PersistentJSONContainer<E> withStep(PathTrace step, JSONValue value);
+    /**
+     * Returns {@link #withoutElement(Object)} for the key or index in the specified path step.
+     *
+     * @param step The key or index of the child
+     * @return The new container
+     * @throws IllegalArgumentException If the step is the wrong kind (key or index) for this container
+     */
+    abstract PersistentJSONContainer<E> withoutStep(PathTrace step);
+
+    /**
+     * Always throws an {@link UnsupportedOperationException}, since persistent
+     * containers are immutable. Use {@link #withElement(Object, JSONValue)} instead.
+     *
+     * @param key The key/index to replace at
+     * @param obj The new child element
+     * @throws UnsupportedOperationException Always
+     */
+    @Override
+    public final void modifyElement(E key, JSONValue obj) {
+        throw new UnsupportedOperationException("A persistent JSON container cannot be modified in place; use withElement(...)");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Persistent containers are immutable and are therefore always frozen.
+     */
+    @Override
+    public final boolean isFrozen() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    final long cachedFingerprint() {
+        return cachedFingerprint;
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    final void cacheFingerprint(long fingerprint) {
+        cachedFingerprint = fingerprint;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The key summary is computed the first time it is needed.
+     */
+    @Override
+    final long[] keySummary() {
+        long[] summary = cachedKeySummary;
+        return summary != null ? summary : JSONKeySummary.of(this);
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    final long[] cachedKeySummary() {
+        return cachedKeySummary;
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    final void cacheKeySummary(long[] summary) {
+        cachedKeySummary = summary;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The hash code of a persistent container is only computed once.
+     */
+    @Override
+    public final int hashCode() {
+        int hash = cachedHash;
+        if (hash == 0)
+            cachedHash = hash = computeHashCode();
+        return hash;
+    }
+    /**
+     * Computes the hash code of this container from its children.
+     *
+     * @return This container's hash code
+     * @see #hashCode()
+     */
+    abstract int computeHashCode();
+}
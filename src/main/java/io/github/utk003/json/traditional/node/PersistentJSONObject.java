@@ -0,0 +1,283 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import io.github.utk003.util.data.tuple.immutable.ImmutablePair;
+
+import java.io.PrintStream;
+import java.util.*;
+
+/**
+ * A {@link PersistentJSONContainer} that represents a JSON object.
+ * <p>
+ * The children of a {@code PersistentJSONObject} are stored in a hash array
+ * mapped trie, so {@link #withElement(String, JSONValue)} and
+ * {@link #withoutElement(String)} run in {@code O(log32 n)} time
+ * and share all untouched children with this object.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see PersistentJSONContainer
+ * @see JSONObject
+ */
+public final class PersistentJSONObject extends PersistentJSONContainer<String> {
+    private final PersistentHashMap<String, JSONValue> ELEMENTS;
+
+    /**
+     * Creates a new, empty {@code PersistentJSONObject} with the specified path in the JSON tree.
+     *
+     * @param path This node's path in the JSON tree
+     */
+    public PersistentJSONObject(String path) {
+        this(path, PersistentHashMap.empty());
+    }
+    /**
+     * A private constructor to create a {@code PersistentJSONObject}
+     * with the specified path and children.
+     *
+     * @param path     This node's path in the JSON tree
+     * @param elements This object's children
+     */
+    private PersistentJSONObject(String path, PersistentHashMap<String, JSONValue> elements) {
+        super(ValueType.OBJECT, path);
+        ELEMENTS = elements;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int numElements() {
+        return ELEMENTS.size();
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return ELEMENTS.size() == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JSONValue getElement(String key) {
+        return ELEMENTS.get(key);
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<JSONValue> getElements() {
+        return new AbstractCollection<JSONValue>() {
+            @Override
+            public Iterator<JSONValue> iterator() {
+                PersistentHashMap.EntryIterator<String, JSONValue> entries = ELEMENTS.entryIterator();
+                return new Iterator<JSONValue>() {
+                    private boolean peeked = false, hasNext = false;
+
+                    @Override
+                    public boolean hasNext() {
+                        if (!peeked) {
+                            hasNext = entries.advance();
+                            peeked = true;
+                        }
+                        return hasNext;
+                    }
+
+                    @Override
+                    public JSONValue next() {
+                        if (!hasNext())
+                            throw new NoSuchElementException();
+                        peeked = false;
+                        return entries.value();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ELEMENTS.size();
+            }
+        };
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LinkedList<ImmutablePair<String, JSONValue>> getElementsPaired() {
+        LinkedList<ImmutablePair<String, JSONValue>> list = new LinkedList<>();
+        PersistentHashMap.EntryIterator<String, JSONValue> entries = ELEMENTS.entryIterator();
+        while (entries.advance())
+            list.addLast(new ImmutablePair<>(entries.key(), entries.value()));
+        return list;
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutablePair<LinkedList<String>, LinkedList<JSONValue>> getElementsAsPairedLists() {
+        ImmutablePair<LinkedList<String>, LinkedList<JSONValue>> pair = new ImmutablePair<>(new LinkedList<>(), new LinkedList<>());
+        PersistentHashMap.EntryIterator<String, JSONValue> entries = ELEMENTS.entryIterator();
+        while (entries.advance()) {
+            pair.FIRST.addLast(entries.key());
+            pair.SECOND.addLast(entries.value());
+        }
+        return pair;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ElementIterator elementIterator() {
+        PersistentHashMap.EntryIterator<String, JSONValue> entries = ELEMENTS.entryIterator();
+        return new ElementIterator() {
+            @Override
+            public boolean advance() {
+                return entries.advance();
+            }
+
+            @Override
+            public String key() {
+                return entries.key();
+            }
+
+            @Override
+            public JSONValue value() {
+                return entries.value();
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersistentJSONObject withElement(String key, JSONValue value) {
+        PersistentHashMap<String, JSONValue> elements = ELEMENTS.with(key, toPersistent(value, PATH + "." + key));
+        return elements == ELEMENTS ? this : new PersistentJSONObject(PATH, elements);
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersistentJSONObject withoutElement(String key) {
+        PersistentHashMap<String, JSONValue> elements = ELEMENTS.without(key);
+        return elements == ELEMENTS ? this : new PersistentJSONObject(PATH, elements);
+    }
+
+    /**
+     * Verifies that the specified path step is an object key.
+     *
+     * @param step The path step
+     * @return The step's key
+     * @throws IllegalArgumentException If the step is an array index
+     */
+    private String requireKey(PathTrace step) {
+        if (step.KEY == null)
+            throw new IllegalArgumentException(PATH + " is a JSON object and cannot be indexed by [" + step.INDEX + "]");
+        return step.KEY;
+    }
+    @Override
+    JSONValue getStep(PathTrace step) {
+        return getElement(requireKey(step));
+    }
+    @Override
+    PersistentJSONObject withStep(PathTrace step, JSONValue value) {
+        return withElement(requireKey(step), value);
+    }
+    @Override
+    PersistentJSONObject withoutStep(PathTrace step) {
+        return withoutElement(requireKey(step));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The whole hash trie is counted, even if parts of it are shared with other versions of this object.
+     */
+    @Override
+    void measure(JSONMemoryReport report) {
+        report.addNode(TYPE, JSONMemoryReport.instanceSize(4, 12), PATH);
+        report.addContainer(ELEMENTS.estimateBytes());
+        report.addKeySummary(cachedKeySummary());
+        PersistentHashMap.EntryIterator<String, JSONValue> entries = ELEMENTS.entryIterator();
+        while (entries.advance()) {
+            report.addString(entries.key());
+            report.push(entries.value());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void print(PrintStream out, int depth) {
+        JSONTextWriter.print(this, out, depth);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int computeHashCode() {
+        int hash = 0;
+        PersistentHashMap.EntryIterator<String, JSONValue> entries = ELEMENTS.entryIterator();
+        while (entries.advance())
+            hash += entries.key().hashCode() ^ entries.value().hashCode();
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this)
+            return true;
+        if (!(obj instanceof PersistentJSONObject))
+            return JSONValue.containerEquals(this, obj);
+
+        PersistentJSONObject other = (PersistentJSONObject) obj;
+        if (ELEMENTS.size() != other.ELEMENTS.size() || hashCode() != other.hashCode())
+            return false;
+
+        PersistentHashMap.EntryIterator<String, JSONValue> entries = ELEMENTS.entryIterator();
+        while (entries.advance())
+            if (!entries.value().equals(other.ELEMENTS.get(entries.key())))
+                return false;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return JSONTextWriter.toCompactString(this);
+    }
+}
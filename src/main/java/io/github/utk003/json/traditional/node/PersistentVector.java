@@ -0,0 +1,336 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A package-private persistent (immutable, structurally shared) vector,
+ * implemented as a 32-way radix trie with a separate tail buffer.
+ * <p>
+ * Random access, replacement, appending, and removal of the last element all
+ * return a new vector in {@code O(log32 n)} time (appends are amortized
+ * {@code O(1)}), copying only the trie nodes along the path to the modified
+ * index and sharing all other nodes with the original vector.
+ *
+ * @param <V> The element type of this vector
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see PersistentJSONArray
+ */
+final class PersistentVector<V> implements Iterable<V> {
+    private static final int BITS = 5, WIDTH = 1 << BITS, MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int SIZE, SHIFT;
+    private final Object[] ROOT, TAIL;
+
+    /**
+     * A private constructor to create a {@code PersistentVector} from its internal state.
+     *
+     * @param size  The number of elements in the vector
+     * @param shift The shift of the root trie level
+     * @param root  The root trie node
+     * @param tail  The tail buffer holding the last (up to 32) elements
+     */
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        SIZE = size;
+        SHIFT = shift;
+        ROOT = root;
+        TAIL = tail;
+    }
+
+    /**
+     * Returns the empty {@code PersistentVector}.
+     *
+     * @param <V> The element type of the vector
+     * @return The empty vector
+     */
+    @SuppressWarnings("unchecked")
+    static <V> PersistentVector<V> empty() {
+        return (PersistentVector<V>) EMPTY;
+    }
+
+    /**
+     * Returns the number of elements in this vector.
+     *
+     * @return The number of elements in this vector
+     */
+    int size() {
+        return SIZE;
+    }
+
+    /**
+     * Estimates the heap size of this vector's trie, excluding its elements.
+     *
+     * @return The estimated size of this vector, in bytes
+     * @see JSONMemoryReport
+     */
+    long estimateBytes() {
+        return JSONMemoryReport.instanceSize(2, 8) + JSONMemoryReport.arraySize(TAIL.length, 0) + estimateBytes(ROOT, SHIFT);
+    }
+    /**
+     * Estimates the heap size of the given trie node and all of its descendants.
+     *
+     * @param node  The trie node
+     * @param level The node's level in the trie (leaves are at level {@code 0})
+     * @return The estimated size of the subtrie, in bytes
+     */
+    private static long estimateBytes(Object[] node, int level) {
+        if (node == EMPTY_NODE)
+            return 0L;
+        long bytes = JSONMemoryReport.arraySize(node.length, 0);
+        if (level > 0)
+            for (Object child : node)
+                if (child != null)
+                    bytes += estimateBytes((Object[]) child, level - BITS);
+        return bytes;
+    }
+
+    /**
+     * Returns the index of the first element stored in the tail buffer.
+     *
+     * @return The tail offset
+     */
+    private int tailOffset() {
+        return SIZE < WIDTH ? 0 : ((SIZE - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Returns the leaf array that holds the element at the given index.
+     *
+     * @param i The element index
+     * @return The leaf array containing that element
+     */
+    private Object[] arrayFor(int i) {
+        if (i >= tailOffset())
+            return TAIL;
+        Object[] node = ROOT;
+        for (int level = SHIFT; level > 0; level -= BITS)
+            node = (Object[]) node[(i >>> level) & MASK];
+        return node;
+    }
+
+    /**
+     * Returns the element at the given index.
+     *
+     * @param i The element index
+     * @return The element at that index
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     */
+    @SuppressWarnings("unchecked")
+    V get(int i) {
+        if (i < 0 || i >= SIZE)
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + SIZE);
+        return (V) arrayFor(i)[i & MASK];
+    }
+
+    /**
+     * Returns a vector equal to this vector, except that the element at the
+     * given index is replaced. If the index equals the size of this vector,
+     * then the element is appended instead.
+     *
+     * @param i   The element index
+     * @param val The new element
+     * @return The new vector
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     */
+    PersistentVector<V> with(int i, V val) {
+        if (i == SIZE)
+            return append(val);
+        if (i < 0 || i > SIZE)
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + SIZE);
+
+        if (i >= tailOffset()) {
+            Object[] tail = TAIL.clone();
+            tail[i & MASK] = val;
+            return new PersistentVector<>(SIZE, SHIFT, ROOT, tail);
+        }
+        return new PersistentVector<>(SIZE, SHIFT, assoc(SHIFT, ROOT, i, val), TAIL);
+    }
+    private static Object[] assoc(int level, Object[] node, int i, Object val) {
+        Object[] copy = node.clone();
+        if (level == 0)
+            copy[i & MASK] = val;
+        else {
+            int sub = (i >>> level) & MASK;
+            copy[sub] = assoc(level - BITS, (Object[]) node[sub], i, val);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns a vector equal to this vector with the given element appended.
+     *
+     * @param val The new element
+     * @return The new vector
+     */
+    PersistentVector<V> append(V val) {
+        if (SIZE - tailOffset() < WIDTH) {
+            Object[] tail = Arrays.copyOf(TAIL, TAIL.length + 1);
+            tail[TAIL.length] = val;
+            return new PersistentVector<>(SIZE + 1, SHIFT, ROOT, tail);
+        }
+
+        Object[] root;
+        int shift = SHIFT;
+        if ((SIZE >>> BITS) > (1 << SHIFT)) {
+            // root overflow: grow the trie by one level
+            root = new Object[WIDTH];
+            root[0] = ROOT;
+            root[1] = newPath(SHIFT, TAIL);
+            shift += BITS;
+        } else
+            root = pushTail(SHIFT, ROOT, TAIL);
+        return new PersistentVector<>(SIZE + 1, shift, root, new Object[]{val});
+    }
+    private Object[] pushTail(int level, Object[] parent, Object[] tail) {
+        int sub = ((SIZE - 1) >>> level) & MASK;
+        Object[] copy = parent.clone();
+        if (level == BITS)
+            copy[sub] = tail;
+        else {
+            Object[] child = (Object[]) parent[sub];
+            copy[sub] = child != null ? pushTail(level - BITS, child, tail) : newPath(level - BITS, tail);
+        }
+        return copy;
+    }
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0)
+            return node;
+        Object[] path = new Object[WIDTH];
+        path[0] = newPath(level - BITS, node);
+        return path;
+    }
+
+    /**
+     * Returns a vector equal to this vector with its last element removed.
+     *
+     * @return The new vector
+     * @throws IllegalStateException If this vector is empty
+     */
+    PersistentVector<V> pop() {
+        if (SIZE == 0)
+            throw new IllegalStateException("Cannot pop from an empty vector");
+        if (SIZE == 1)
+            return empty();
+
+        if (SIZE - tailOffset() > 1)
+            return new PersistentVector<>(SIZE - 1, SHIFT, ROOT, Arrays.copyOf(TAIL, TAIL.length - 1));
+
+        Object[] tail = arrayFor(SIZE - 2);
+        Object[] root = popTail(SHIFT, ROOT);
+        int shift = SHIFT;
+        if (root == null)
+            root = EMPTY_NODE;
+        if (SHIFT > BITS && root[1] == null) {
+            // only one child left: shrink the trie by one level
+            root = (Object[]) root[0];
+            shift -= BITS;
+        }
+        return new PersistentVector<>(SIZE - 1, shift, root, tail);
+    }
+    private Object[] popTail(int level, Object[] node) {
+        int sub = ((SIZE - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Object[] child = popTail(level - BITS, (Object[]) node[sub]);
+            if (child == null && sub == 0)
+                return null;
+            Object[] copy = node.clone();
+            copy[sub] = child;
+            return copy;
+        }
+        if (sub == 0)
+            return null;
+        Object[] copy = node.clone();
+        copy[sub] = null;
+        return copy;
+    }
+
+    /**
+     * Returns a vector equal to this vector with the element at the
+     * given index removed and all later elements shifted down by one.
+     * <p>
+     * Removing one of the last (up to 32) elements, which are stored in the tail
+     * buffer, is {@code O(log32 n)}. Removing any other element requires every
+     * later index to shift, so the vector is rebuilt in {@code O(n)} time instead.
+     *
+     * @param i The element index
+     * @return The new vector
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     */
+    PersistentVector<V> without(int i) {
+        if (i < 0 || i >= SIZE)
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + SIZE);
+        if (i == SIZE - 1)
+            return pop();
+
+        int tailOffset = tailOffset();
+        if (i >= tailOffset) {
+            Object[] tail = new Object[TAIL.length - 1];
+            int j = i - tailOffset;
+            System.arraycopy(TAIL, 0, tail, 0, j);
+            System.arraycopy(TAIL, j + 1, tail, j, tail.length - j);
+            return new PersistentVector<>(SIZE - 1, SHIFT, ROOT, tail);
+        }
+
+        PersistentVector<V> vector = empty();
+        int index = 0;
+        for (V val : this)
+            if (index++ != i)
+                vector = vector.append(val);
+        return vector;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+            private int index = 0;
+            private Object[] leaf = null;
+
+            @Override
+            public boolean hasNext() {
+                return index < SIZE;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (index >= SIZE)
+                    throw new NoSuchElementException();
+                if ((index & MASK) == 0 || leaf == null)
+                    leaf = arrayFor(index);
+                return (V) leaf[index++ & MASK];
+            }
+        };
+    }
+}
@@ -0,0 +1,346 @@
+/*
+MIT License
+
+Copyright (c) 2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+package io.github.utk003.json.traditional.node;
+
+import io.github.utk003.json.scanner.Scanner;
+import io.github.utk003.util.misc.Verifier;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A package-private iterator over the elements of the JSON read from a
+ * {@link Scanner} whose paths match a {@link JSONPath}, which never builds
+ * the rest of the JSON tree.
+ * <p>
+ * The path is run as a nondeterministic automaton whose states are the
+ * positions in the path: every open object or array keeps the set of
+ * positions that its path can be at (as a bit mask), and the set of each
+ * child is computed from its parent's set and the child's key or index.
+ * Objects and arrays whose sets are empty cannot contain any matches, so
+ * they are skipped over token by token.
+ * <p>
+ * Matching elements are built as they are read, and each match is returned
+ * as soon as it is complete. A match inside another match (which is only
+ * possible with recursive descent) is therefore returned before the match
+ * that contains it, and it is also part of that match's tree. Memory use is
+ * bounded by the size of the largest match and the depth of the JSON.
+ *
+ * @author Utkarsh Priyam (<a href="https://github.com/utk003" target="_top">utk003</a>)
+ * @version October 19, 2026
+ * @see JSONPath#findElements(Scanner)
+ */
+final class StreamingPathSearch implements Iterator<JSONValue> {
+    private final Scanner SCANNER;
+    private final JSONValue.PathTrace[] STEPS;
+    private final long DESCENDANTS, MATCH;
+
+    private boolean[] isObject = new boolean[16];
+    private int[] counts = new int[16], indices = new int[16];
+    private long[] states = new long[16];
+    private String[] keys = new String[16];
+    private JSONValue[] containers = new JSONValue[16]; // the element being built at each depth, if any
+    private int depth = 0;
+
+    private String token, key = null;
+    private int index = -1;
+    private boolean pending = true, done = false;
+    private JSONValue next = null;
+
+    /**
+     * Creates a {@code StreamingPathSearch} for the specified
+     * path steps over the JSON read from the specified scanner.
+     *
+     * @param scanner The input source for the JSON as a {@code Scanner}
+     * @param steps   The steps of the path, without the {@link JSONValue#ROOT_PATH} anchor
+     * @throws IllegalArgumentException If the path has more than 63 steps or if the scanner is empty
+     */
+    StreamingPathSearch(Scanner scanner, JSONValue.PathTrace[] steps) {
+        Verifier.requireTrue(steps.length < 64, "At most 63 path steps can be searched for in a scanner");
+        SCANNER = scanner;
+        STEPS = steps;
+        MATCH = 1L << steps.length;
+
+        long descendants = 0L;
+        for (int i = 0; i < steps.length; i++)
+            if (steps[i].isDescendant())
+                descendants |= 1L << i;
+        DESCENDANTS = descendants;
+
+        if (scanner.tokensPassed() == 0) scanner.advance();
+        token = scanner.current();
+        Verifier.requireNotNull(token, "The given scanner cannot be empty");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done)
+            next = advance();
+        return next != null;
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JSONValue next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        JSONValue match = next;
+        next = null;
+        return match;
+    }
+
+    /**
+     * Reads the JSON until the next match is complete.
+     *
+     * @return The next match, or {@code null} if there are no more matches
+     * @throws IllegalArgumentException If the JSON is malformed
+     */
+    private JSONValue advance() {
+        while (true) {
+            if (pending) {
+                // the token starts a value (with the given key or index) at the current depth
+                pending = false;
+                JSONValue match = read();
+                if (match != null)
+                    return match;
+            }
+
+            // find the start of the next value, closing containers along the way
+            if (depth == 0) {
+                done = true;
+                return null;
+            }
+
+            int top = depth - 1;
+            boolean object = isObject[top];
+            char close = object ? '}' : ']';
+            token = nextToken(SCANNER);
+            char c = token.charAt(0);
+            if (counts[top] > 0 && c == ',') {
+                c = (token = nextToken(SCANNER)).charAt(0);
+                Verifier.requireTrue(c != close, object
+                        ? "Malformed JSON Object: trailing commas are not allowed"
+                        : "Malformed JSON Array: trailing commas are not allowed");
+            } else if (c == close) {
+                depth = top;
+                JSONValue container = containers[top];
+                containers[top] = null;
+                if ((states[top] & MATCH) != 0)
+                    return container;
+                continue;
+            } else if (counts[top] > 0)
+                throw new IllegalArgumentException(object
+                        ? "Malformed JSON Object: elements should be separated by commas (,)"
+                        : "Malformed JSON Array: elements should be separated by commas (,)");
+
+            if (object) {
+                Verifier.requireTrue(c == '"', "Malformed JSON Object: keys should be strings");
+                key = token.substring(1, token.length() - 1); // remove quotes from key
+                index = -1;
+                Verifier.requireEqual(nextToken(SCANNER), ":", "Malformed JSON Object: key should be followed by a colon (:)");
+                token = requireValue(nextToken(SCANNER));
+            } else {
+                key = null;
+                index = counts[top];
+                requireValue(token);
+            }
+            counts[top]++;
+            pending = true;
+        }
+    }
+    /**
+     * Reads the value that starts at the current token, building it if it is
+     * (or is inside) a match and skipping it if it cannot contain any matches.
+     *
+     * @return The value, if it is a complete match; otherwise, {@code null}
+     */
+    private JSONValue read() {
+        long state = depth == 0 ? closure(1L) : transition(states[depth - 1]);
+        JSONValue parent = depth == 0 ? null : containers[depth - 1];
+        boolean build = parent != null || (state & MATCH) != 0;
+
+        char c = token.charAt(0);
+        boolean isContainer = c == '{' || c == '[';
+        if (!isContainer) {
+            if (!build)
+                return null;
+            JSONValue leaf = LazyJSONSource.leaf(token, path(parent));
+            attach(parent, leaf);
+            return (state & MATCH) != 0 ? leaf : null;
+        }
+
+        if (!build && state == 0L) {
+            skipContainer(SCANNER);
+            return null;
+        }
+
+        if (depth == isObject.length) {
+            int length = depth << 1;
+            isObject = Arrays.copyOf(isObject, length);
+            counts = Arrays.copyOf(counts, length);
+            indices = Arrays.copyOf(indices, length);
+            states = Arrays.copyOf(states, length);
+            keys = Arrays.copyOf(keys, length);
+            containers = Arrays.copyOf(containers, length);
+        }
+        if (build) {
+            String path = path(parent);
+            JSONValue container = c == '{' ? new JSONObject(path) : new JSONArray(path);
+            attach(parent, container);
+            containers[depth] = container;
+        }
+        isObject[depth] = c == '{';
+        counts[depth] = 0;
+        indices[depth] = index;
+        states[depth] = state;
+        keys[depth] = key;
+        depth++;
+        return null;
+    }
+
+    /**
+     * Computes the set of path positions of the current child from the set of its parent.
+     *
+     * @param parent The parent's set of path positions
+     * @return The child's set of path positions
+     */
+    private long transition(long parent) {
+        long state = 0L;
+        for (long bits = parent & ~MATCH; bits != 0; bits &= bits - 1) {
+            int position = Long.numberOfTrailingZeros(bits);
+            JSONValue.PathTrace step = STEPS[position];
+            if (step.isDescendant())
+                state |= 1L << position; // a recursive descent can continue below any child
+            else if (matches(step, key, index))
+                state |= 1L << (position + 1);
+        }
+        return closure(state);
+    }
+    /**
+     * Adds the positions after the recursive descents in the specified
+     * set, since a recursive descent also matches the element itself.
+     *
+     * @param state The set of path positions
+     * @return The closed set of path positions
+     */
+    private long closure(long state) {
+        return state | (state & DESCENDANTS) << 1; // consecutive descents are never tokenized
+    }
+    /**
+     * Checks whether or not a child with the specified key or index matches the specified path step.
+     *
+     * @param step  The path step
+     * @param key   The key of the child, if its parent is an object (otherwise, {@code null})
+     * @param index The index of the child, if its parent is an array
+     * @return {@code true} if the child matches the step; otherwise, {@code false}
+     */
+    private static boolean matches(JSONValue.PathTrace step, String key, int index) {
+        if (step.KEY != null)
+            return key != null && (step.KEY.equals("*") || step.KEY.equals(key));
+        return key == null && (step.INDEX < 0 || step.INDEX == index);
+    }
+
+    /**
+     * Returns the path of the current child in the JSON tree.
+     *
+     * @param parent The element being built for the child's parent, if any
+     * @return The child's path
+     */
+    private String path(JSONValue parent) {
+        if (depth == 0)
+            return JSONValue.ROOT_PATH;
+        if (parent != null)
+            return key != null ? parent.PATH + "." + key : parent.PATH + "[" + index + "]";
+
+        StringBuilder path = new StringBuilder(64).append(JSONValue.ROOT_PATH);
+        for (int i = 1; i < depth; i++) {
+            if (keys[i] != null)
+                path.append('.').append(keys[i]);
+            else
+                path.append('[').append(indices[i]).append(']');
+        }
+        if (key != null)
+            return path.append('.').append(key).toString();
+        return path.append('[').append(index).append(']').toString();
+    }
+    /**
+     * Adds the specified element to the element being built for its parent, if any.
+     *
+     * @param parent  The element being built for the parent (or {@code null})
+     * @param element The child element
+     */
+    private void attach(JSONValue parent, JSONValue element) {
+        if (parent == null)
+            return;
+        if (key != null)
+            ((JSONObject) parent).modifyElement(key, element);
+        else
+            ((JSONArray) parent).append(element);
+    }
+
+    /**
+     * Advances the specified {@link Scanner} past the rest of the object or array that it is currently on.
+     *
+     * @param scanner The scanner, whose current token is an opening brace or bracket
+     */
+    private static void skipContainer(Scanner scanner) {
+        for (int level = 1; level > 0; ) {
+            char c = nextToken(scanner).charAt(0);
+            if (c == '{' || c == '[')
+                level++;
+            else if (c == '}' || c == ']')
+                level--;
+        }
+    }
+    /**
+     * Checks that the specified token can start a JSON value.
+     *
+     * @param token The token to check
+     * @return The token
+     * @throws IllegalArgumentException If the token is a separator or closes an object or array
+     */
+    private static String requireValue(String token) {
+        char c = token.charAt(0);
+        if (c == '}' || c == ']' || c == ',' || c == ':')
+            throw new IllegalArgumentException("Malformed JSON: expected a value but found \"" + token + "\"");
+        return token;
+    }
+    /**
+     * Advances the specified {@link Scanner} to its next token.
+     *
+     * @param scanner The scanner
+     * @return The next token
+     * @throws IllegalArgumentException If the input has no more tokens
+     */
+    private static String nextToken(Scanner scanner) {
+        Verifier.requireTrue(scanner.hasMore(), "Malformed JSON: input ended before all objects and arrays were closed");
+        return scanner.advance();
+    }
+}
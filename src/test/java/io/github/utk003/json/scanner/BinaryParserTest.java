@@ -0,0 +1,95 @@
+package io.github.utk003.json.scanner;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+import io.github.utk003.json.binary.BinaryFormat;
+import io.github.utk003.json.binary.BinaryJSONReader;
+import io.github.utk003.json.binary.BinaryJSONScanner;
+import io.github.utk003.json.binary.BinaryJSONWriter;
+import io.github.utk003.json.traditional.JSONParser;
+import io.github.utk003.json.traditional.node.JSONValue;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+public class BinaryParserTest {
+    private static final String IN = "test/in/", OUT = "test/out/binary/";
+    public static void main(String[] args) throws IOException {
+        String fileName = "test.json";
+
+        for (BinaryFormat format : BinaryFormat.values()) {
+            System.out.println("Starting " + format + " JSON Parser Test on \"" + fileName + "\"");
+
+            byte[] encoded = BinaryJSONWriter.encode(JSONParser.parseNonRecursive(new FileInputStream(IN + fileName)), format);
+            System.out.println("Encoded Size: " + encoded.length + " bytes");
+
+            int numIterations = 1000;
+            long start = System.nanoTime();
+            for (int i = 0; i < numIterations; i++) {
+                JSONValue json = BinaryJSONReader.decode(encoded, format);
+                json.println(new PrintStream(new FileOutputStream(OUT + format + "-" + fileName)));
+            }
+            long end = System.nanoTime();
+
+            System.out.println("Parsing Duration: " + (end - start) / 1_000_000.0 / numIterations + " ms");
+            System.out.println("Parsing Duration: " + (end - start) / 1_000_000_000.0 / numIterations + " s");
+
+            System.out.println("JSON parsing output in \"" + OUT + format + "-" + fileName + "\"");
+        }
+
+        // keys with escape sequences must be unescaped when written and escaped exactly once when read;
+        // JSONScanner decodes its input with the platform charset, so the non-ASCII key needs to be encodable
+        Charset charset = Charset.defaultCharset();
+        String nonAscii = charset.newEncoder().canEncode('\u00e9') ? ", \"\u00e9\": true" : "";
+        String escaped = "{\"quote\\\"key\": {\"back\\\\slash\": [1, \"a\\\"b\"], \"tab\\tkey\": null" + nonAscii + "}}";
+        JSONValue original = JSONParser.parseNonRecursive(new ByteArrayInputStream(escaped.getBytes(charset)));
+        for (BinaryFormat format : BinaryFormat.values()) {
+            byte[] encoded = BinaryJSONWriter.encode(original, format);
+            JSONValue tree = BinaryJSONReader.decode(encoded, format);
+            JSONValue scanned = JSONParser.parseNonRecursive(new BinaryJSONScanner(ByteBuffer.wrap(encoded), format));
+            if (!tree.equals(original) || !scanned.equals(original))
+                throw new IllegalStateException(format + " did not round-trip escaped keys: " + tree);
+            System.out.println(format + " round-trips escaped keys: " + tree);
+        }
+
+        // a declared length longer than the input is rejected without allocating that much
+        byte[][] hostile = {
+                {0x7a, 0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x61},
+                {0x5a, 0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x61},
+                {(byte) 0x81, 0x7a, 0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xff}
+        };
+        for (byte[] bytes : hostile) {
+            try {
+                BinaryJSONReader.decode(bytes, BinaryFormat.CBOR);
+                throw new IllegalStateException("A truncated CBOR string was decoded");
+            } catch (IllegalArgumentException ignored) {
+            }
+            try {
+                new BinaryJSONReader(new ByteArrayInputStream(bytes), BinaryFormat.CBOR).readTree();
+                throw new IllegalStateException("A truncated CBOR string was read from a stream");
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        System.out.println("Rejected " + hostile.length + " CBOR strings longer than their input");
+    }
+}
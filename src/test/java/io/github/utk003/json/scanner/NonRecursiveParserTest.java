@@ -46,5 +46,29 @@ public class NonRecursiveParserTest {
         System.out.println("Parsing Duration: " + (end - start) / 1_000_000_000.0 / numIterations + " s");
 
         System.out.println("JSON parsing output in \"" + OUT + fileName + "\"");
+
+        String[][] malformed = {
+                {"[1,]", "Malformed JSON Array: trailing commas are not allowed"},
+                {"{\"a\":1,}", "Malformed JSON Object: trailing commas are not allowed"},
+                {"{,}", "Malformed JSON Object: keys should be strings"},
+                {"{1:2}", "Malformed JSON Object: keys should be strings"},
+                {"{]", "Malformed JSON Object: keys should be strings"},
+                {"[,1]", "Malformed JSON: expected a value but found \",\""},
+                {"[}", "Malformed JSON: expected a value but found \"}\""},
+                {"{\"a\":}", "Malformed JSON: expected a value but found \"}\""},
+                {"[1 2]", "Malformed JSON Array: elements should be separated by commas (,)"},
+                {"{\"a\" 1}", "Malformed JSON Object: key should be followed by a colon (:)"},
+                {"[1,2", "Malformed JSON: input ended before all objects and arrays were closed"}
+        };
+        for (String[] test : malformed) {
+            try {
+                JSONParser.parseNonRecursive(new ByteArrayInputStream(test[0].getBytes()));
+                throw new IllegalStateException("Malformed JSON was parsed non-recursively: " + test[0]);
+            } catch (IllegalArgumentException e) {
+                if (!test[1].equals(e.getMessage()))
+                    throw new IllegalStateException("Wrong error for " + test[0] + ": " + e.getMessage(), e);
+                System.out.println("Rejected " + test[0] + ": " + e.getMessage());
+            }
+        }
     }
 }
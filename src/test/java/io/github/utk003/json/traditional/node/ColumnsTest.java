@@ -0,0 +1,116 @@
+package io.github.utk003.json.traditional.node;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+
+import io.github.utk003.util.misc.Verifier;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class ColumnsTest {
+    private static final String[] FIELDS = {"id", "score", "flag", "name", "mixed", "nested", "user.id", "missing"};
+
+    public static void main(String[] args) {
+        Random random = new Random(38);
+        int numRows = 5000;
+        long[] ids = new long[numRows], userIds = new long[numRows];
+        double[] scores = new double[numRows];
+        boolean[] flags = new boolean[numRows];
+        String[] names = new String[numRows];
+
+        // the document is ASCII (with the non-ASCII names escaped), so it reads the same under any platform charset
+        StringBuilder builder = new StringBuilder("{\"meta\": {\"id\": \"not a record\"}, \"events\": [");
+        for (int i = 0; i < numRows; i++) {
+            ids[i] = random.nextLong();
+            scores[i] = i % 7 == 3 ? i : random.nextInt(1000) / 4.0;
+            flags[i] = random.nextBoolean();
+            names[i] = i % 5 == 0 ? null : "name \"" + i + "\"\u00e9";
+            userIds[i] = random.nextInt(100);
+
+            builder.append(i == 0 ? "" : ", ").append("{\"skip\": ").append(TestJSON.random(random, 3))
+                    .append(", \"id\": ").append(ids[i])
+                    .append(", \"score\": ").append(i % 7 == 3 ? String.valueOf(i) : String.valueOf(scores[i]))
+                    .append(", \"flag\": ").append(flags[i])
+                    .append(", \"name\": ").append(names[i] == null ? "null" : "\"" + JSONString.escape(names[i]).replace("\u00e9", "\\u00e9") + "\"")
+                    .append(", \"mixed\": ").append(i % 2 == 0 ? String.valueOf(i) : "\"" + i + "\"")
+                    .append(", \"nested\": ").append(i % 3 == 0 ? "[" + i + "]" : "{\"id\": " + i + "}")
+                    .append(", \"user\": {\"id\": ").append(userIds[i]).append("}}");
+        }
+        String text = builder.append("]}").toString();
+
+        JSONColumns fromTree = JSONColumns.extract(TestJSON.parse(text), "events[*]", FIELDS);
+        JSONColumns fromScanner = JSONColumns.extract(TestJSON.scanner(text), "events[*]", FIELDS);
+        for (JSONColumns columns : new JSONColumns[]{fromTree, fromScanner}) {
+            Verifier.requireEqual(columns.numRows(), numRows, "Wrong row count");
+            Verifier.requireEqual(columns.numColumns(), FIELDS.length, "Wrong column count");
+
+            requireColumn(columns.getColumn("id"), JSONColumns.ColumnType.LONG, 0);
+            Verifier.requireTrue(Arrays.equals(columns.getColumn("id").getLongs(), ids), "Wrong long values");
+            requireColumn(columns.getColumn("score"), JSONColumns.ColumnType.DOUBLE, 0);
+            Verifier.requireTrue(Arrays.equals(columns.getColumn("score").getDoubles(), scores), "Wrong double values");
+            requireColumn(columns.getColumn("flag"), JSONColumns.ColumnType.BOOLEAN, 0);
+            Verifier.requireTrue(Arrays.equals(columns.getColumn("flag").getBooleans(), flags), "Wrong boolean values");
+            requireColumn(columns.getColumn("user.id"), JSONColumns.ColumnType.LONG, 0);
+            Verifier.requireTrue(Arrays.equals(columns.getColumn("user.id").getLongs(), userIds), "Wrong nested values");
+
+            JSONColumns.Column name = requireColumn(columns.getColumn("name"), JSONColumns.ColumnType.STRING, numRows / 5);
+            for (int i = 0; i < numRows; i++)
+                Verifier.requireTrue(names[i] == null ? name.isNull(i) : names[i].equals(name.getStrings()[i]), "Wrong string value in row " + i);
+
+            JSONColumns.Column mixed = requireColumn(columns.getColumn("mixed"), JSONColumns.ColumnType.STRING, 0);
+            for (int i = 0; i < numRows; i++)
+                Verifier.requireEqual(mixed.getStrings()[i], String.valueOf(i), "Conflicting types should become strings");
+
+            requireColumn(columns.getColumn("nested"), JSONColumns.ColumnType.EMPTY, numRows);
+            requireColumn(columns.getColumn("missing"), JSONColumns.ColumnType.EMPTY, numRows);
+            Verifier.requireTrue(columns.getColumn(4) == mixed, "Columns should be in field path order");
+        }
+
+        // wildcards in the record path, with records at different positions
+        String groups = "{\"a\": {\"items\": [{\"v\": 1}, {\"v\": 2}]}, \"b\": {\"items\": [{\"v\": 3.5}]}, \"c\": {\"other\": [{\"v\": 9}]}}";
+        for (JSONColumns columns : new JSONColumns[]{
+                JSONColumns.extract(TestJSON.parse(groups), "*.items[*]", "v"),
+                JSONColumns.extract(TestJSON.scanner(groups), "*.items[*]", "v")}) {
+            double[] values = requireColumn(columns.getColumn("v"), JSONColumns.ColumnType.DOUBLE, 0).getDoubles().clone();
+            Arrays.sort(values);
+            Verifier.requireTrue(Arrays.equals(values, new double[]{1, 2, 3.5}), "Wrong wildcard records: " + Arrays.toString(values));
+        }
+
+        for (String field : new String[]{"*", "a[*]", "a..b"}) {
+            try {
+                JSONColumns.extract(TestJSON.parse(groups), "*", field);
+                throw new IllegalStateException("Wildcard field path was accepted: " + field);
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        System.out.println("Extracted " + FIELDS.length + " columns of " + numRows + " rows from a tree and a scanner");
+    }
+
+    private static JSONColumns.Column requireColumn(JSONColumns.Column column, JSONColumns.ColumnType type, int numNulls) {
+        Verifier.requireEqual(column.getType(), type, "Wrong type for column " + column.getPath());
+        Verifier.requireTrue(column.getNulls().length() <= column.size(), "Null bitmap is too long for column " + column.getPath());
+        Verifier.requireEqual(column.getNulls().cardinality(), numNulls, "Wrong null count for column " + column.getPath());
+        return column;
+    }
+}
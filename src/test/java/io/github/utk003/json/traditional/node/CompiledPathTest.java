@@ -0,0 +1,98 @@
+package io.github.utk003.json.traditional.node;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+
+import io.github.utk003.util.misc.Verifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CompiledPathTest {
+    public static void main(String[] args) throws Exception {
+        Random random = new Random(41);
+        JSONValue[] trees = new JSONValue[200];
+        for (int i = 0; i < trees.length; i++) {
+            trees[i] = TestJSON.parse(i == 0 ? TestJSON.SAMPLE : TestJSON.random(random, 0));
+            if (i % 2 == 1)
+                trees[i] = trees[i].freeze(); // frozen trees prune subtrees with key summaries
+        }
+
+        // compiled paths match a direct recursive search of the tree
+        int numQueries = 0, numMatches = 0;
+        for (int i = 0; i < 2000; i++) {
+            String text = TestJSON.randomPath(random);
+            JSONPath path = JSONPath.compile(text);
+            Verifier.requireEqual(path.getPath(), text, "A compiled path should keep its text");
+            Verifier.requireTrue(path.isAnchored() == text.startsWith(JSONValue.ROOT_PATH), "Wrong anchoring for " + text);
+            Verifier.requireTrue(path.hasRecursiveDescent() == text.contains(".."), "Wrong recursive descent flag for " + text);
+            Verifier.requireTrue(path.isConcrete() == !(text.contains("*") || text.contains("..")), "Wrong concreteness for " + text);
+
+            for (JSONValue tree : trees) {
+                List<JSONValue> expected = TestJSON.search(tree, text);
+                requireSame(new ArrayList<>(tree.findElements(path)), expected, text);
+                requireSame(new ArrayList<>(tree.findElements(text)), expected, text);
+                numQueries += 2;
+                numMatches += expected.size();
+            }
+        }
+
+        // an element reached through several recursive descents only matches once
+        JSONValue nested = TestJSON.parse("{\"a\":{\"a\":{\"a\":{\"a\":1}}}}");
+        JSONPath twice = JSONPath.compile("..a..a");
+        Verifier.requireEqual(nested.findElements(twice).size(), 3, "Wrong number of distinct matches for ..a..a");
+
+        // the same compiled paths can be shared between threads
+        JSONPath[] shared = new JSONPath[32];
+        for (int i = 0; i < shared.length; i++)
+            shared[i] = JSONPath.compile(TestJSON.randomPath(random));
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++)
+                futures.add(pool.submit(() -> {
+                    for (int round = 0; round < 20; round++)
+                        for (JSONPath path : shared)
+                            for (JSONValue tree : trees)
+                                requireSame(new ArrayList<>(tree.findElements(path)), TestJSON.search(tree, path.getPath()), path.getPath());
+                    return null;
+                }));
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            pool.shutdown();
+        }
+        Verifier.requireTrue(numMatches > numQueries / 10, "Too few of the random paths match anything");
+        System.out.println("Ran " + numQueries + " compiled path queries against a direct search (" + numMatches + " matches)");
+    }
+
+    static void requireSame(List<JSONValue> found, List<JSONValue> expected, String path) {
+        Verifier.requireEqual(found.size(), expected.size(), "Wrong number of matches for " + path);
+        for (int i = 0; i < found.size(); i++)
+            Verifier.requireTrue(found.get(i) == expected.get(i), "Wrong match (or order) for " + path + " at " + i);
+    }
+}
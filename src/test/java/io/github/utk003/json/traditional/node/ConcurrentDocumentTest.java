@@ -0,0 +1,97 @@
+package io.github.utk003.json.traditional.node;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+import io.github.utk003.util.misc.Verifier;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ConcurrentDocumentTest {
+    public static void main(String[] args) throws Exception {
+        ConcurrentJSONDocument document = new ConcurrentJSONDocument(TestJSON.parse("{\"counters\": {}, \"log\": [], \"queue\": [0]}"));
+
+        int numThreads = 8, numUpdates = 2000;
+        ExecutorService pool = Executors.newFixedThreadPool(numThreads + 2);
+        AtomicBoolean done = new AtomicBoolean(false);
+        try {
+            // a reader and a writer that keep racing on the last element of the queue
+            Future<?> reader = pool.submit(() -> {
+                while (!done.get())
+                    document.getElement("queue[" + (((JSONArray) document.getElement("queue")).numElements() - 1) + "]");
+                return null;
+            });
+            Future<?> shrinker = pool.submit(() -> {
+                JSONArray queue = (JSONArray) document.getElement("queue");
+                while (!done.get()) {
+                    queue.append(TestJSON.parse("1"));
+                    queue.remove(queue.numElements() - 1);
+                }
+                return null;
+            });
+
+            Future<?>[] writers = new Future<?>[numThreads];
+            for (int t = 0; t < numThreads; t++) {
+                int thread = t;
+                writers[t] = pool.submit(() -> {
+                    for (int i = 0; i < numUpdates; i++) {
+                        document.putIfAbsent("counters.c" + i % 16, TestJSON.parse("{\"count\": 0, \"by\": []}"));
+                        document.compute("counters.c" + i % 16 + ".count", (path, old) ->
+                                new JSONNumber(((JSONNumber) old).NUMBER.longValue() + 1, path));
+                        document.append("counters.c" + i % 16 + ".by", TestJSON.parse("[" + thread + "]"));
+                        document.append("log", TestJSON.parse("{\"thread\": " + thread + ", \"i\": " + i + "}"));
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> writer : writers)
+                writer.get();
+            done.set(true);
+            reader.get();
+            shrinker.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        long total = 0;
+        for (JSONValue count : document.findElements("counters.*.count"))
+            total += ((JSONNumber) count).NUMBER.longValue();
+        Verifier.requireTrue(total == (long) numThreads * numUpdates, "Lost counter updates: " + total);
+        Verifier.requireTrue(document.findElements("counters.*.by[*]").size() == numThreads * numUpdates, "Lost appends");
+        Verifier.requireTrue(document.findElements("log[*]").size() == numThreads * numUpdates, "Lost log entries");
+        TestJSON.requireCorrectPaths(document.getRoot());
+
+        // computed trees get their paths in the document, and computing null removes an element
+        document.compute("counters.c0.extra", (path, old) -> TestJSON.parse("{\"nested\": [1, {\"deep\": 2}]}"));
+        document.compute("log[0]", (path, old) -> TestJSON.parse("[3]"));
+        TestJSON.requireCorrectPaths(document.getRoot());
+        Verifier.requireEqual(document.getElement("counters.c0.extra.nested[1].deep").PATH, JSONValue.ROOT_PATH + ".counters.c0.extra.nested[1].deep", "Wrong path of a computed element");
+        Verifier.requireTrue(document.compute("counters.c0.extra", (path, old) -> null) == null, "Computing null should remove the element");
+        Verifier.requireTrue(document.getElement("counters.c0.extra") == null, "Computing null should remove the element");
+
+        // the document should hold the same values as a tree built by a single thread
+        JSONValue copy = TestJSON.parse(document.getRoot().toString());
+        Verifier.requireTrue(copy.equals(document.getRoot()), "The document should equal its parsed string form");
+        System.out.println("Counted " + total + " concurrent updates in " + document.findElements("counters.*").size() + " counters");
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.utk003.json.traditional.node;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+import io.github.utk003.util.misc.Verifier;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.*;
+
+public class FreezeTest {
+    public static void main(String[] args) throws Exception {
+        JSONValue json = TestJSON.parse(TestJSON.SAMPLE);
+        JSONValue frozen = json.freeze(true);
+
+        Verifier.requireTrue(frozen.isFrozen() && !json.isFrozen(), "Only the copy should be frozen");
+        Verifier.requireTrue(frozen.freeze() == frozen, "Freezing a frozen tree should return the same tree");
+        Verifier.requireTrue(frozen.equals(json) && json.equals(frozen), "A frozen copy should equal its source");
+        Verifier.requireTrue(frozen.hashCode() == json.hashCode(), "A frozen copy should hash like its source");
+        Verifier.requireTrue(frozen.fingerprint() == json.fingerprint(), "A frozen copy should have the same fingerprint");
+        Verifier.requireTrue(frozen.toString() == frozen.toString() && frozen.toString().length() == json.toString().length(), "A memoized string should be cached");
+
+        for (JSONValue container : frozen.findElements("..*")) {
+            try {
+                if (container instanceof JSONObject)
+                    ((JSONObject) container).modifyElement("k", TestJSON.parse("1"));
+                else if (container instanceof JSONArray)
+                    ((JSONArray) container).append(TestJSON.parse("1"));
+                else
+                    continue;
+                throw new IllegalStateException("Frozen container was modified: " + container.PATH);
+            } catch (UnsupportedOperationException ignored) {
+            }
+        }
+        System.out.println("Frozen copy matches " + json);
+
+        // concurrent readers of a fresh frozen tree should all see the same cached values
+        Random random = new Random(27);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 200; i++) {
+                JSONValue source = TestJSON.parse(TestJSON.random(random, 0)), copy = source.freeze(true);
+                Set<String> seen = ConcurrentHashMap.newKeySet();
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?>[] readers = new Future<?>[8];
+                for (int t = 0; t < readers.length; t++)
+                    readers[t] = pool.submit(() -> {
+                        start.await();
+                        seen.add(copy.hashCode() + " " + copy.fingerprint() + " " + copy.toString().length());
+                        return null;
+                    });
+                start.countDown();
+                for (Future<?> reader : readers)
+                    reader.get();
+
+                Set<String> expected = new HashSet<>();
+                expected.add(source.hashCode() + " " + source.fingerprint() + " " + source.toString().length());
+                Verifier.requireEqual(seen, expected, "Concurrent readers saw different cached values");
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("Concurrent readers agree on 200 random frozen trees");
+
+        // freezing an off-heap view should copy it to the heap
+        JSONValue copied;
+        try (OffHeapJSONDocument document = OffHeapJSONDocument.copyOf(json)) {
+            Verifier.requireTrue(!document.getRoot().isFrozen(), "Off-heap views should not be frozen");
+            copied = document.getRoot().freeze();
+        }
+        Verifier.requireTrue(copied instanceof JSONObject && copied.isFrozen(), "An off-heap view should be frozen on the heap");
+        Verifier.requireTrue(copied.equals(json), "A closed document's frozen copy should still be readable");
+        System.out.println("Off-heap copy frozen on the heap: " + copied);
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.utk003.json.traditional.node;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+
+import io.github.utk003.util.misc.Verifier;
+
+import java.util.*;
+
+public class IndexTest {
+    public static void main(String[] args) {
+        JSONObject root = (JSONObject) TestJSON.parse("{\"items\": [" +
+                "{\"sku\": \"a\", \"info\": {\"id\": 1}, \"tags\": [\"x\"]}, " +
+                "{\"sku\": \"b\", \"info\": {\"id\": 2}, \"tags\": [\"y\"]}, " +
+                "{\"sku\": \"c\", \"info\": {\"id\": 1}, \"tags\": [\"x\", \"y\"]}]}");
+        JSONArray items = (JSONArray) root.getElement("items");
+        JSONIndex bySku = items.createIndex("sku", true);
+        JSONIndex byId = items.createIndex("info.id", false);
+        JSONIndex byTags = items.createIndex("tags", false);
+        JSONIndex snapshot = JSONIndex.build(root, "items[*]", "sku", true);
+
+        // change a key in place
+        JSONObject b = (JSONObject) items.getElement(1);
+        b.modifyElement("sku", new JSONString("B", b.PATH + ".sku"));
+        for (JSONIndex index : new JSONIndex[]{bySku, snapshot}) {
+            Verifier.requireTrue(index.get("B") == b, "In-place key change was not tracked");
+            Verifier.requireTrue(!index.containsKey("b"), "Old key is still indexed");
+        }
+
+        // change a nested key in place, and replace the object holding it
+        JSONObject info = (JSONObject) ((JSONObject) items.getElement(2)).getElement("info");
+        info.modifyElement("id", new JSONNumber(2L, info.PATH + ".id"));
+        Verifier.requireEqual(byId.getAll(1).size(), 1, "Nested in-place key change was not tracked");
+        Verifier.requireEqual(byId.getAll(2).size(), 2, "Nested in-place key change was not tracked");
+        ((JSONObject) items.getElement(0)).modifyElement("info", TestJSON.parse("{\"id\": 3}"));
+        Verifier.requireTrue(byId.get(3) == items.getElement(0) && !byId.containsKey(1), "Replaced key container was not tracked");
+
+        // change an array key in place
+        ((JSONArray) ((JSONObject) items.getElement(0)).getElement("tags")).append(new JSONString("y", "tags[1]"));
+        Verifier.requireEqual(byTags.getAll(TestJSON.parse("[\"x\", \"y\"]")).size(), 2, "In-place change inside a key was not tracked");
+
+        // a duplicate key made in place is reported by the unique index until it is fixed
+        JSONObject a = (JSONObject) items.getElement(0);
+        a.modifyElement("sku", new JSONString("c", a.PATH + ".sku"));
+        try {
+            bySku.get("c");
+            throw new IllegalStateException("Duplicate key made in place was not reported");
+        } catch (IllegalStateException e) {
+            Verifier.requireTrue(e.getMessage().startsWith("Duplicate key"), "Wrong error: " + e.getMessage());
+        }
+        a.modifyElement("sku", new JSONString("a", a.PATH + ".sku"));
+        Verifier.requireTrue(bySku.get("a") == a && bySku.size() == 3, "Index was not rebuilt after the duplicate was fixed");
+
+        // an element slot holding null is replaced, not appended to
+        JSONArray holes = new JSONArray("holes");
+        holes.append(null);
+        holes.append(new JSONNumber(1L, "holes[1]"));
+        JSONNumber zero = new JSONNumber(0L, "holes[0]");
+        holes.modifyElement(0, zero);
+        Verifier.requireTrue(holes.numElements() == 2 && holes.getElement(0) == zero, "A null element should be replaced in place");
+
+        // random array and in-place modifications, checked against a scan of the array
+        Random random = new Random(39);
+        int numRenames = 0;
+        for (int i = 0; i < 2000; i++) {
+            int n = items.numElements();
+            try {
+                switch (random.nextInt(5)) {
+                    case 0:
+                        items.append(item(random, "items[" + n + "]"));
+                        break;
+                    case 1:
+                        if (n > 0)
+                            items.remove(random.nextInt(n));
+                        break;
+                    case 2:
+                        items.insert(random.nextInt(n + 1), item(random, "items[0]"));
+                        break;
+                    default:
+                        if (n > 0) {
+                            JSONObject item = (JSONObject) items.getElement(random.nextInt(n));
+                            if (random.nextBoolean())
+                                item.modifyElement("sku", new JSONString("s" + random.nextInt(1000), item.PATH + ".sku"));
+                            else
+                                ((JSONObject) item.getElement("info")).modifyElement("id", new JSONNumber((long) random.nextInt(5), item.PATH + ".info.id"));
+                        }
+                        break;
+                }
+            } catch (IllegalStateException e) {
+                // a duplicate key made in place is reported until it is renamed below
+            }
+
+            Set<JSONValue> skus = new HashSet<>();
+            for (JSONValue item : elements(items))
+                if (!skus.add(((JSONObject) item).getElement("sku")))
+                    ((JSONObject) item).modifyElement("sku", new JSONString("u" + numRenames++, item.PATH + ".sku"));
+            requireIndexed(items, bySku, "sku");
+            requireIndexed(items, byId, "info.id");
+        }
+        System.out.println("Checked " + items.numElements() + " indexed elements after 2000 random modifications (" + numRenames + " duplicate keys renamed)");
+    }
+
+    private static JSONValue item(Random random, String path) {
+        JSONValue item = TestJSON.parse("{\"sku\": \"n" + random.nextInt(1_000_000) + "\", \"info\": {\"id\": " + random.nextInt(5) + "}, \"tags\": []}");
+        return JSONValue.copy(item, path, false);
+    }
+
+    private static List<JSONValue> elements(JSONArray array) {
+        List<JSONValue> elements = new ArrayList<>(array.numElements());
+        for (int i = 0; i < array.numElements(); i++)
+            elements.add(array.getElement(i));
+        return elements;
+    }
+
+    private static void requireIndexed(JSONArray items, JSONIndex index, String keyPath) {
+        Map<JSONValue, List<JSONValue>> expected = new HashMap<>();
+        for (JSONValue item : elements(items)) {
+            Iterator<JSONValue> keys = item.findElements(keyPath).iterator();
+            expected.computeIfAbsent(keys.hasNext() ? keys.next() : null, key -> new ArrayList<>()).add(item);
+        }
+        Verifier.requireEqual(index.size(), expected.size(), "Wrong number of keys in the index on " + keyPath);
+        for (Map.Entry<JSONValue, List<JSONValue>> e : expected.entrySet()) {
+            Set<JSONValue> indexed = Collections.newSetFromMap(new IdentityHashMap<>());
+            indexed.addAll(index.getAll(e.getKey()));
+            Verifier.requireEqual(indexed.size(), e.getValue().size(), "Wrong number of elements for a key on " + keyPath);
+            Verifier.requireTrue(indexed.containsAll(e.getValue()), "Element is missing from the index on " + keyPath);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.utk003.json.traditional.node;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+
+import io.github.utk003.json.traditional.JSONParser;
+import io.github.utk003.util.misc.Verifier;
+
+import java.util.Random;
+
+public class IterativeParserTest {
+    public static void main(String[] args) {
+        Random random = new Random(36);
+        for (int i = 0; i < 2000; i++) {
+            String text = i == 0 ? TestJSON.SAMPLE : TestJSON.random(random, 0);
+            JSONValue iterative = JSONParser.parseNonRecursive(TestJSON.input(text));
+            JSONValue recursive = JSONParser.parseRecursive(TestJSON.input(text));
+            Verifier.requireTrue(iterative.equals(recursive), "Iterative and recursive parses differ: " + text);
+            Verifier.requireEqual(iterative.toString(), recursive.toString(), "Iterative and recursive parses print differently: " + text);
+            TestJSON.requireCorrectPaths(iterative);
+        }
+
+        // deeply nested documents should be parsed without recursion (paths grow quadratically, so keep the depth moderate)
+        int depth = 5000;
+        StringBuilder builder = new StringBuilder(4 * depth);
+        for (int i = 0; i < depth; i++)
+            builder.append(i % 2 == 0 ? "{\"a\":" : "[");
+        builder.append("0");
+        for (int i = depth - 1; i >= 0; i--)
+            builder.append(i % 2 == 0 ? '}' : ']');
+        JSONValue deep = JSONParser.parseNonRecursive(TestJSON.input(builder.toString()));
+        int levels = 0;
+        for (JSONValue value = deep; value.TYPE != JSONValue.ValueType.NUMBER; levels++)
+            value = value.TYPE == JSONValue.ValueType.OBJECT ? ((JSONObject) value).getElement("a") : ((JSONArray) value).getElement(0);
+        Verifier.requireEqual(levels, depth, "Wrong nesting depth");
+
+        System.out.println("Parsed 2000 documents iteratively and recursively, and a document nested " + depth + " levels deep");
+    }
+}
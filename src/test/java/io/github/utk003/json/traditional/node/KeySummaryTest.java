@@ -0,0 +1,77 @@
+package io.github.utk003.json.traditional.node;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+
+import io.github.utk003.util.misc.Verifier;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+public class KeySummaryTest {
+    private static final String[] PATHS = {"*.k3", "..k5", "..k2..k7", "*[*].k1", "..*.k0.k4", "..k9[*]", "..absent", "k1..absent"};
+
+    public static void main(String[] args) {
+        // summaries must never rule out a subtree that has a match
+        Random random = new Random(40);
+        int numQueries = 0;
+        for (int i = 0; i < 500; i++) {
+            JSONValue json = TestJSON.parse(TestJSON.random(random, 0));
+            JSONValue[] immutable = {json.freeze(), PersistentJSONContainer.toPersistent(json)};
+            for (String path : PATHS)
+                for (JSONValue tree : immutable) {
+                    Verifier.requireEqual(new ArrayList<>(tree.findElements(path)).size(), json.findElements(path).size(),
+                            "Key summaries pruned a match of " + path);
+                    numQueries++;
+                }
+        }
+
+        // summaries are sized from the number of distinct keys, so they only saturate on very large key sets
+        System.out.println("distinct keys | summary words | false positive rate");
+        for (int numKeys : new int[]{1, 8, 32, 64, 128, 256, 512, 1024, 4096}) {
+            StringBuilder builder = new StringBuilder("{\"records\": [");
+            for (int k = 0; k < numKeys; k++)
+                builder.append(k == 0 ? "" : ", ").append("{\"key").append(k).append("\": ").append(k).append('}');
+            JSONValue frozen = TestJSON.parse(builder.append("]}").toString()).freeze();
+
+            long[] summary = frozen.keySummary();
+            Verifier.requireTrue(summary.length >= JSONKeySummary.MIN_WORDS && summary.length <= JSONKeySummary.MAX_WORDS
+                    && Integer.bitCount(summary.length) == 1, "Summary size should be a power of two within the limits");
+            for (int k = 0; k < numKeys; k++)
+                Verifier.requireTrue(JSONKeySummary.mightContain(frozen, new long[]{JSONKeySummary.hash("key" + k)}), "False negative for key" + k);
+
+            int falsePositives = 0, numAbsent = 10_000;
+            for (int k = 0; k < numAbsent; k++)
+                if (JSONKeySummary.mightContain(frozen, new long[]{JSONKeySummary.hash("absent" + k)}))
+                    falsePositives++;
+            double rate = (double) falsePositives / numAbsent;
+            System.out.printf("%13d | %13d | %.3f%n", numKeys, summary.length, rate);
+            if (numKeys <= 512)
+                Verifier.requireTrue(rate < 0.1, "Summary of " + numKeys + " keys is too full: " + rate);
+
+            // small records get small summaries
+            Verifier.requireEqual(frozen.findElements("records[0]").iterator().next().keySummary().length, JSONKeySummary.MIN_WORDS, "A single key should fit in the smallest summary");
+        }
+        System.out.println("Ran " + numQueries + " pruned searches over frozen and persistent trees");
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.utk003.json.traditional.node;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+
+import io.github.utk003.json.traditional.JSONParser;
+import io.github.utk003.util.misc.Verifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+public class MemoryReportTest {
+    public static void main(String[] args) {
+        Random random = new Random(35);
+        long bytes = 0;
+        for (int i = 0; i < 1000; i++) {
+            String text = i == 0 ? TestJSON.SAMPLE : TestJSON.random(random, 0);
+            JSONValue json = TestJSON.parse(text);
+            long[] counts = count(json);
+
+            for (JSONValue tree : new JSONValue[]{json, json.freeze(), PersistentJSONContainer.toPersistent(json)}) {
+                JSONMemoryReport report = tree.memoryReport();
+                requireConsistent(report);
+                for (JSONValue.ValueType type : JSONValue.ValueType.values())
+                    Verifier.requireEqual(report.getNodeCount(type), counts[type.ordinal()], "Wrong " + type + " node count");
+                Verifier.requireEqual(tree.estimateRetainedBytes(), report.getTotalBytes(), "Estimate should match the report");
+                Verifier.requireTrue(report.getOffHeapBytes() == 0 && report.getLazySourceBytes() == 0, "Heap trees have no off-heap or lazy bytes");
+            }
+            Verifier.requireTrue(json.estimateRetainedBytes() > text.getBytes(StandardCharsets.UTF_8).length,
+                    "A heap tree should be larger than its text");
+            bytes += json.estimateRetainedBytes();
+
+            // measuring a lazy tree should not materialize it
+            JSONValue lazy = JSONParser.parseLazy(TestJSON.input(text));
+            JSONMemoryReport lazyReport = lazy.memoryReport();
+            requireConsistent(lazyReport);
+            Verifier.requireEqual(lazyReport.getNodeCount(), 1L, "Measuring a lazy tree should not materialize it");
+            Verifier.requireTrue(lazyReport.getLazySourceBytes() > 0, "A lazy tree should report its source");
+            Verifier.requireEqual(lazy.memoryReport().getNodeCount(), 1L, "Measuring a lazy tree should not materialize it");
+
+            try (OffHeapJSONDocument document = OffHeapJSONDocument.copyOf(json)) {
+                JSONMemoryReport report = document.getRoot().memoryReport();
+                requireConsistent(report);
+                Verifier.requireEqual(report.getNodeCount(), 1L, "Measuring an off-heap tree should not decode it");
+                Verifier.requireEqual(report.getOffHeapBytes(), document.sizeInBytes(), "Wrong off-heap byte count");
+                Verifier.requireTrue(report.getTotalBytes() < json.estimateRetainedBytes(), "Off-heap bytes should not count as heap bytes");
+            }
+        }
+
+        // estimates should grow with the tree
+        JSONArray array = (JSONArray) TestJSON.parse("[]");
+        long previous = array.estimateRetainedBytes();
+        for (int i = 0; i < 100; i++) {
+            array.append(TestJSON.parse("{\"value\": \"element " + i + "\"}"));
+            long current = array.estimateRetainedBytes();
+            Verifier.requireTrue(current > previous, "Appending an element should increase the estimate");
+            previous = current;
+        }
+        Verifier.requireEqual(array.memoryReport().getNodeCount(JSONValue.ValueType.STRING), 100L, "Wrong string count");
+        System.out.println("Measured 1000 trees (~" + bytes + " bytes on the heap)");
+    }
+
+    private static long[] count(JSONValue root) {
+        long[] counts = new long[JSONValue.ValueType.values().length];
+        JSONCursor cursor = new JSONCursor(root);
+        while (cursor.hasNext()) {
+            JSONCursor.Event event = cursor.next();
+            if (event != JSONCursor.Event.KEY && event != JSONCursor.Event.END_OBJECT && event != JSONCursor.Event.END_ARRAY)
+                counts[cursor.currentValue().TYPE.ordinal()]++;
+        }
+        return counts;
+    }
+
+    private static void requireConsistent(JSONMemoryReport report) {
+        long nodes = 0;
+        for (JSONValue.ValueType type : JSONValue.ValueType.values())
+            nodes += report.getNodeCount(type);
+        Verifier.requireEqual(report.getNodeCount(), nodes, "Node counts should add up");
+        Verifier.requireEqual(report.getTotalBytes(), report.getNodeBytes() + report.getPathBytes() + report.getStringBytes() +
+                report.getNumberBytes() + report.getContainerBytes() + report.getLazySourceBytes(), "Byte counts should add up");
+        Verifier.requireTrue(report.getNodeBytes() > 0, "Every tree has nodes");
+    }
+}
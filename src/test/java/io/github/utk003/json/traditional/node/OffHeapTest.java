@@ -0,0 +1,75 @@
+package io.github.utk003.json.traditional.node;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+import io.github.utk003.json.traditional.JSONParser;
+import io.github.utk003.util.misc.Verifier;
+
+import java.util.Random;
+
+public class OffHeapTest {
+    public static void main(String[] args) {
+        Random random = new Random(31);
+        long bytes = 0;
+        for (int i = 0; i < 1000; i++) {
+            String text = i == 0 ? TestJSON.SAMPLE : TestJSON.random(random, 0);
+            JSONValue json = TestJSON.parse(text);
+            try (OffHeapJSONDocument copied = OffHeapJSONDocument.copyOf(json);
+                 OffHeapJSONDocument parsed = JSONParser.parseOffHeap(TestJSON.input(text))) {
+                for (OffHeapJSONDocument document : new OffHeapJSONDocument[]{copied, parsed}) {
+                    JSONValue root = document.getRoot();
+                    Verifier.requireTrue(root.equals(json) && json.equals(root), "Off-heap and heap trees should be equal");
+                    Verifier.requireTrue(root.hashCode() == json.hashCode(), "Off-heap and heap trees should have equal hash codes");
+                    Verifier.requireTrue(root.fingerprint() == json.fingerprint(), "Off-heap and heap trees should have equal fingerprints");
+                    Verifier.requireEqual(root.findElements("..*").size(), json.findElements("..*").size(), "Off-heap search found different elements");
+                    Verifier.requireTrue(root.equals(PersistentJSONContainer.toPersistent(json)), "Off-heap and persistent trees should be equal");
+                    bytes += document.sizeInBytes();
+                }
+                Verifier.requireTrue(copied.getRoot().equals(parsed.getRoot()), "Off-heap trees from different documents should be equal");
+            }
+        }
+        System.out.println("Checked 1000 off-heap documents (" + bytes + " bytes off-heap)");
+
+        try (OffHeapJSONDocument document = OffHeapJSONDocument.copyOf(TestJSON.parse("{\"a\": [1, 2]}"))) {
+            Verifier.requireTrue(!document.getRoot().equals(TestJSON.parse("{\"a\": [1, 2, 3]}")), "Different objects should not be equal");
+            Verifier.requireTrue(!document.getRoot().equals(TestJSON.parse("[{\"a\": [1, 2]}]")), "Objects should not equal arrays");
+        }
+
+        // malformed input is rejected with the same errors as the iterative parser
+        String[] malformed = {"[,]", "[:]", "[1,:]", "]", "[1,", "[1,]", "{\"a\":1,}", "[1 2]", "{1: 2}", "{\"a\" 1}", "{\"a\":}", "[[1]"};
+        for (String json : malformed) {
+            String expected;
+            try {
+                JSONParser.parseNonRecursive(TestJSON.input(json));
+                throw new IllegalStateException("The iterative parser accepted " + json);
+            } catch (IllegalArgumentException e) {
+                expected = e.getMessage();
+            }
+            try (OffHeapJSONDocument document = JSONParser.parseOffHeap(TestJSON.input(json))) {
+                throw new IllegalStateException("Malformed JSON was loaded off-heap: " + json + " as " + document.getRoot());
+            } catch (IllegalArgumentException e) {
+                Verifier.requireEqual(e.getMessage(), expected, "Wrong error for " + json);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.utk003.json.traditional.node;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+
+import io.github.utk003.json.traditional.JSONParser;
+import io.github.utk003.util.misc.Verifier;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelParseTest {
+    public static void main(String[] args) {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random random = new Random(37);
+            for (int i = 0; i < 1000; i++) {
+                String text = i == 0 ? TestJSON.SAMPLE : TestJSON.random(random, 0);
+                requireSameTree(text, pool);
+            }
+
+            // large enough to be split into many fork-join tasks, with large containers nested in each other
+            StringBuilder builder = new StringBuilder("{\"records\": [");
+            for (int i = 0; i < 20_000; i++)
+                builder.append(i == 0 ? "" : ", ").append(TestJSON.random(random, 2));
+            builder.append("], \"groups\": {");
+            for (int i = 0; i < 200; i++) {
+                builder.append(i == 0 ? "" : ", ").append("\"g").append(i).append("\": [");
+                for (int j = 0; j < 200; j++)
+                    builder.append(j == 0 ? "" : ", ").append(i * j);
+                builder.append(']');
+            }
+            String text = builder.append("}}").toString();
+            requireSameTree(text, pool);
+            requireSameTree(text, ForkJoinPool.commonPool());
+
+            // a few large children among many small ones, so splitting by token counts gives uneven child counts
+            StringBuilder skewed = new StringBuilder("[");
+            for (int i = 0; i < 5000; i++) {
+                skewed.append(i == 0 ? "" : ", ");
+                if (i % 1000 == 0) {
+                    skewed.append('[');
+                    for (int j = 0; j < 20_000; j++)
+                        skewed.append(j == 0 ? "" : ", ").append(j);
+                    skewed.append(']');
+                } else
+                    skewed.append(i);
+            }
+            requireSameTree(skewed.append(']').toString(), pool);
+
+            // malformed input should be rejected before any tasks are forked
+            String[] malformed = {"[1 2]", "{\"a\" 1}", "[1,]", "{\"a\":1,}", "{\"a\":1]", "{1:2}", "[1,2"};
+            for (String json : malformed) {
+                try {
+                    JSONParser.parseParallel(TestJSON.input(json), pool);
+                    throw new IllegalStateException("Malformed JSON was parsed in parallel: " + json);
+                } catch (IllegalArgumentException ignored) {
+                }
+            }
+            System.out.println("Parsed 1003 documents in parallel (" + text.length() + " characters in the largest)");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void requireSameTree(String text, ForkJoinPool pool) {
+        JSONValue parallel = JSONParser.parseParallel(TestJSON.input(text), pool);
+        JSONValue sequential = TestJSON.parse(text);
+        Verifier.requireTrue(parallel.equals(sequential), "Parallel and sequential parses differ");
+        Verifier.requireEqual(parallel.toString(), sequential.toString(), "Parallel and sequential parses print differently");
+        TestJSON.requireCorrectPaths(parallel);
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.utk003.json.traditional.node;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+
+import io.github.utk003.util.misc.Verifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class PatchTest {
+    public static void main(String[] args) {
+        Random random = new Random(34);
+        int numPatches = 0;
+        for (int i = 0; i < 2000; i++) {
+            String source = TestJSON.random(random, 0), target = TestJSON.random(random, 0);
+            requireRoundTrip(source, target);
+            requireRoundTrip(source, source);
+            numPatches++;
+        }
+
+        // insertions and removals in the middle of arrays shift the elements after them
+        requireRoundTrip("[1, {\"a\": [2]}, [3, 4], 5]", "[0, 1, {\"a\": [2]}, [3, 4], 5]");
+        requireRoundTrip("[1, {\"a\": [2]}, [3, 4], 5]", "[{\"a\": [2]}, [3, 4], 5]");
+        requireRoundTrip("{\"x\": [[1], [2], [3]]}", "{\"x\": [[2], [3]], \"y\": [[0], [1], [2], [3]]}");
+
+        // keys that need escaping, both in JSON and in JSON Pointers
+        String keys = "{\"q\\\"uote\": 1, \"a/b\": {\"~0\": [1]}, \"t~1\": 2, \"\u00e9\\n\": {}}";
+        requireRoundTrip(keys, "{\"q\\\"uote\": 2, \"a/b\": {\"~0\": [1, 2]}, \"\u00e9\\n\": {\"/\": null}}");
+        requireRoundTrip("{}", keys);
+        requireRoundTrip(keys, "{}");
+
+        JSONValue patch = JSONPatch.diff(TestJSON.parse("{\"a/b\": {\"~\": 1, \"q\\\"\": 1}}"),
+                TestJSON.parse("{\"a/b\": {\"~\": 2, \"q\\\"\": 2}}"));
+        List<String> pointers = new ArrayList<>();
+        for (JSONValue operation : ((JSONArray) patch).getElements())
+            pointers.add(((JSONString) ((JSONObject) operation).getElement("path")).STRING);
+        Verifier.requireTrue(pointers.contains("/a~1b/~0"), "Pointers should escape '~' and '/': " + pointers);
+        Verifier.requireTrue(pointers.contains("/a~1b/q\""), "Pointers should hold unescaped keys: " + pointers);
+        numPatches += 3;
+
+        System.out.println("Applied " + numPatches + " patch round trips");
+    }
+
+    private static void requireRoundTrip(String source, String target) {
+        JSONValue from = TestJSON.parse(source), to = TestJSON.parse(target);
+        JSONValue patch = JSONPatch.diff(from, to);
+
+        JSONValue result = JSONPatch.apply(TestJSON.parse(source), patch);
+        Verifier.requireTrue(result.equals(to), "Patch did not reproduce the target: " + source + " -> " + target + " via " + patch);
+        TestJSON.requireCorrectPaths(result);
+        Verifier.requireTrue(from.equals(TestJSON.parse(source)), "Diffing should not modify the source");
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.utk003.json.traditional.node;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+import io.github.utk003.util.misc.Verifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class PersistentTest {
+    public static void main(String[] args) {
+        Random random = new Random(29);
+        int numVersions = 0;
+        for (int i = 0; i < 500; i++) {
+            JSONValue json = TestJSON.parse(TestJSON.random(random, 0));
+            PersistentJSONContainer<?> persistent = (PersistentJSONContainer<?>) PersistentJSONContainer.toPersistent(json);
+            requireSame(json, persistent);
+
+            List<PersistentJSONContainer<?>> versions = new ArrayList<>();
+            List<String> snapshots = new ArrayList<>();
+            for (int v = 0; v < 10; v++) {
+                versions.add(persistent);
+                snapshots.add(persistent.toString());
+
+                // pick a random existing element (or a new key or index) with a random walk from the root
+                StringBuilder path = new StringBuilder(JSONValue.ROOT_PATH);
+                JSONValue parent = json, child;
+                while (true) {
+                    int size = ((JSONStorageElement<?>) parent).numElements(), position = random.nextInt(size + 1);
+                    if (parent instanceof JSONObject) {
+                        String key = position < size ? new ArrayList<>(((JSONObject) parent).getElementsPaired()).get(position).FIRST : "new" + v;
+                        path.append('.').append(key);
+                        child = ((JSONObject) parent).getElement(key);
+                    } else {
+                        path.append('[').append(position).append(']');
+                        child = position < size ? ((JSONArray) parent).getElement(position) : null;
+                    }
+                    if (child == null || !(child instanceof JSONStorageElement) || random.nextInt(3) == 0)
+                        break;
+                    parent = child;
+                }
+
+                int index = path.lastIndexOf("[") > path.lastIndexOf(".") ? Integer.parseInt(path.substring(path.lastIndexOf("[") + 1, path.length() - 1)) : -1;
+                String key = index < 0 ? path.substring(path.lastIndexOf(".") + 1) : null;
+                if (child != null && random.nextBoolean()) {
+                    persistent = persistent.without(path.toString());
+                    if (key != null)
+                        ((JSONObject) parent).compute(key, (k, old) -> null);
+                    else
+                        ((JSONArray) parent).remove(index);
+                } else {
+                    JSONValue value = TestJSON.parse(TestJSON.random(random, 3));
+                    persistent = persistent.with(path.toString(), value);
+                    if (key != null)
+                        ((JSONObject) parent).modifyElement(key, value);
+                    else
+                        ((JSONArray) parent).modifyElement(index, value);
+                }
+                requireSame(json, persistent);
+                numVersions++;
+            }
+
+            // older versions must be unaffected by later updates
+            for (int v = 0; v < versions.size(); v++)
+                Verifier.requireEqual(versions.get(v).toString(), snapshots.get(v), "An older persistent version changed");
+        }
+        System.out.println("Checked " + numVersions + " persistent versions against mutable trees");
+
+        // inserted values and shifted array elements are given their paths in the new tree
+        PersistentJSONContainer<?> tree = (PersistentJSONContainer<?>) PersistentJSONContainer.toPersistent(TestJSON.parse("{\"arr\": [{\"x\": 1}, {\"y\": [2]}]}"));
+        JSONValue removed = tree.without("arr[0]");
+        Verifier.requireEqual(removed.findElements("arr[0]").iterator().next().PATH, "<root>.arr[0]", "A shifted element should have its new path");
+        Verifier.requireEqual(removed.findElements("arr[0].y[0]").iterator().next().PATH, "<root>.arr[0].y[0]", "A shifted subtree should have its new paths");
+        JSONValue added = tree.with("arr[1].y", TestJSON.parse("{\"z\": [1]}"));
+        Verifier.requireEqual(added.findElements("arr[1].y.z").iterator().next().PATH, "<root>.arr[1].y.z", "An inserted subtree should have its new paths");
+        Verifier.requireTrue(tree.findElements("arr[0]").iterator().next() == added.findElements("arr[0]").iterator().next(), "Untouched elements should be shared");
+
+        JSONValue object = PersistentJSONContainer.toPersistent(TestJSON.parse("{\"a\": [1, 2]}"));
+        Verifier.requireTrue(!object.equals(TestJSON.parse("{\"a\": [1, 2, 3]}")), "Different objects should not be equal");
+        Verifier.requireTrue(!object.equals(TestJSON.parse("[{\"a\": [1, 2]}]")), "Objects should not equal arrays");
+        Verifier.requireTrue(!TestJSON.parse("[]").equals(PersistentJSONContainer.toPersistent(TestJSON.parse("{}"))), "Arrays should not equal objects");
+    }
+
+    private static void requireSame(JSONValue json, JSONValue persistent) {
+        Verifier.requireTrue(persistent.equals(json) && json.equals(persistent), "Persistent and mutable trees should be equal");
+        Verifier.requireTrue(persistent.hashCode() == json.hashCode(), "Persistent and mutable trees should have equal hash codes");
+        Verifier.requireTrue(persistent.fingerprint() == json.fingerprint(), "Persistent and mutable trees should have equal fingerprints");
+        TestJSON.requireCorrectPaths(persistent);
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.utk003.json.traditional.node;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+import io.github.utk003.util.misc.Verifier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class SnapshotTest {
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            Random random = new Random(32);
+            for (int i = 0; i < 500; i++) {
+                JSONValue json = TestJSON.parse(i == 0 ? TestJSON.SAMPLE : i % 5 == 0 ? numbers(random) : TestJSON.random(random, 0));
+
+                JSONSnapshot.write(json, file);
+                try (OffHeapJSONDocument document = JSONSnapshot.open(file)) {
+                    JSONValue root = document.getRoot();
+                    Verifier.requireTrue(root.equals(json) && json.equals(root), "A reopened snapshot should equal the original tree");
+                    Verifier.requireTrue(root.toString().length() == json.toString().length(), "A reopened snapshot should print the original tree");
+
+                    // a snapshot of a reopened snapshot should be the same tree
+                    Path copy = Files.createTempFile("snapshot", ".bin");
+                    try {
+                        JSONSnapshot.write(document, copy);
+                        try (OffHeapJSONDocument reopened = JSONSnapshot.open(copy)) {
+                            Verifier.requireTrue(reopened.getRoot().equals(json), "A snapshot of a snapshot should equal the original tree");
+                        }
+                    } finally {
+                        Files.delete(copy);
+                    }
+                }
+            }
+            System.out.println("Reopened 500 snapshots");
+
+            Files.write(file, "not a snapshot".getBytes());
+            try {
+                JSONSnapshot.open(file).close();
+                throw new IllegalStateException("An invalid snapshot was opened");
+            } catch (IllegalArgumentException e) {
+                System.out.println("Rejected an invalid snapshot: " + e.getMessage());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static String numbers(Random random) {
+        // large arrays of integers are delta-encoded in blocks
+        StringBuilder builder = new StringBuilder("{\"small\": [");
+        for (int i = 0, n = random.nextInt(300); i < n; i++)
+            builder.append(i == 0 ? "" : ",").append(random.nextInt(200) - 100);
+        builder.append("], \"large\": [");
+        for (int i = 0, n = random.nextInt(300); i < n; i++)
+            builder.append(i == 0 ? "" : ",").append(random.nextLong());
+        return builder.append("], \"mixed\": [1, -2.5, 3, \"4\", 9223372036854775807, -9223372036854775808]}").toString();
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.utk003.json.traditional.node;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+
+import io.github.utk003.json.scanner.Scanner;
+import io.github.utk003.util.misc.Verifier;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class StreamingPathTest {
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        String[] texts = new String[200];
+        JSONValue[] trees = new JSONValue[texts.length];
+        for (int i = 0; i < texts.length; i++)
+            trees[i] = TestJSON.parse(texts[i] = i == 0 ? TestJSON.SAMPLE : TestJSON.random(random, 0));
+
+        // streamed matches are the same as the matches in the tree, although nested matches come out first
+        int numQueries = 0, numMatches = 0;
+        for (int i = 0; i < 1000; i++) {
+            JSONPath path = JSONPath.compile(TestJSON.randomPath(random));
+            for (int t = 0; t < texts.length; t++) {
+                List<JSONValue> expected = TestJSON.search(trees[t], path.getPath());
+                List<JSONValue> streamed = path.findElements(TestJSON.scanner(texts[t])).collect(Collectors.toList());
+                requireSameMatches(streamed, expected, path.getPath());
+
+                List<JSONValue> consumed = new ArrayList<>();
+                Scanner scanner = TestJSON.scanner(texts[t]);
+                path.findElements(scanner, consumed::add);
+                requireSameMatches(consumed, expected, path.getPath());
+                char last = scanner.current().charAt(0);
+                Verifier.requireTrue(last == '}' || last == ']', "The scanner should be left on the end of the root element");
+
+                numQueries++;
+                numMatches += expected.size();
+            }
+        }
+
+        // every value of a duplicated key matches
+        List<JSONValue> duplicates = JSONPath.compile("a").findElements(TestJSON.scanner("{\"a\": 1, \"b\": 2, \"a\": 3}")).collect(Collectors.toList());
+        Verifier.requireEqual(duplicates.size(), 2, "Every value of a duplicated key should match");
+
+        // matches are read lazily, so a short-circuiting stream stops early
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < 100_000; i++)
+            builder.append(i == 0 ? "" : ", ").append("{\"id\": ").append(i).append('}');
+        Scanner scanner = TestJSON.scanner(builder.append(']').toString());
+        Optional<JSONValue> first = JSONPath.compile("[*].id").findElements(scanner).findFirst();
+        Verifier.requireTrue(first.isPresent() && first.get().toString().equals("0"), "Wrong first match");
+        Verifier.requireTrue(scanner.tokensPassed() < 100, "A short-circuiting stream should not read the whole input");
+
+        for (String malformed : new String[]{"[1 2]", "{\"a\" 1}", "[{\"a\": 1]", "[1,", "[1,]", "{\"a\": 1,}", "{1: 2}", "[}"}) {
+            try {
+                JSONPath.compile("..a").findElements(TestJSON.scanner(malformed)).count();
+                throw new IllegalStateException("Malformed JSON was searched: " + malformed);
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        System.out.println("Streamed " + numQueries + " path queries (" + numMatches + " matches)");
+    }
+
+    private static void requireSameMatches(List<JSONValue> streamed, List<JSONValue> expected, String path) {
+        // a tree search can reach the same element through more than one recursive descent, but a stream cannot
+        Map<String, JSONValue> byPath = new HashMap<>();
+        for (JSONValue match : expected)
+            byPath.put(match.PATH, match);
+        Verifier.requireEqual(streamed.size(), byPath.size(), "Wrong number of streamed matches for " + path);
+        for (JSONValue match : streamed) {
+            Verifier.requireTrue(match.equals(byPath.remove(match.PATH)), "Wrong streamed match for " + path + " at " + match.PATH);
+            TestJSON.requireCorrectPaths(match);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package io.github.utk003.json.traditional.node;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+import io.github.utk003.json.scanner.JSONScanner;
+import io.github.utk003.json.scanner.Scanner;
+import io.github.utk003.json.traditional.JSONParser;
+import io.github.utk003.util.data.tuple.immutable.ImmutablePair;
+import io.github.utk003.util.misc.Verifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+final class TestJSON {
+    private TestJSON() {
+    }
+
+    static final String SAMPLE = "{\"name\": \"sample \\\"document\\\"\", \"version\": 3, \"enabled\": true, \"owner\": null, " +
+            "\"tags\": [\"a\", \"b\\\\c\", \"\\u00e9\"], \"ratio\": -0.25, " +
+            "\"records\": [{\"id\": 1, \"kind\": \"x\", \"values\": [1, 2, 3]}, " +
+            "{\"id\": 2, \"kind\": \"y\", \"values\": []}, {\"id\": 3, \"kind\": \"x\", \"nested\": {\"id\": 4, \"values\": [[5], {}]}}]}";
+
+    static JSONValue parse(String json) {
+        return JSONParser.parseNonRecursive(input(json));
+    }
+    static Scanner scanner(String json) {
+        return new JSONScanner(input(json));
+    }
+    static InputStream input(String json) {
+        // JSONScanner decodes its input with the platform charset
+        return new ByteArrayInputStream(json.getBytes(Charset.defaultCharset()));
+    }
+    static boolean encodable(String json) {
+        return Charset.defaultCharset().newEncoder().canEncode(json);
+    }
+
+    static void requireCorrectPaths(JSONValue root) {
+        Deque<JSONValue> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            JSONValue element = pending.pop();
+            if (element instanceof JSONStorageElement)
+                for (ImmutablePair<?, JSONValue> pair : ((JSONStorageElement<?>) element).getElementsPaired()) {
+                    String expected = element.PATH + (pair.FIRST instanceof Integer ? "[" + pair.FIRST + "]" : "." + pair.FIRST);
+                    Verifier.requireEqual(pair.SECOND.PATH, expected, "Element has a stale path");
+                    pending.push(pair.SECOND);
+                }
+        }
+    }
+
+    static List<JSONValue> search(JSONValue root, String path) {
+        JSONValue.PathTrace[] steps = JSONValue.tokenizePath(path);
+        List<JSONValue> found = new ArrayList<>();
+        search(root, steps, steps.length > 0 && JSONValue.ROOT_PATH.equals(steps[0].KEY) ? 1 : 0, found);
+
+        // several recursive descents can reach the same element, which only matches once
+        Set<JSONValue> unique = Collections.newSetFromMap(new IdentityHashMap<>());
+        found.removeIf(match -> !unique.add(match));
+        return found;
+    }
+    private static void search(JSONValue value, JSONValue.PathTrace[] steps, int step, List<JSONValue> found) {
+        if (step == steps.length) {
+            found.add(value);
+            return;
+        }
+
+        JSONValue.PathTrace trace = steps[step];
+        boolean isContainer = value.TYPE == JSONValue.ValueType.OBJECT || value.TYPE == JSONValue.ValueType.ARRAY;
+        if (trace.isDescendant()) {
+            // the rest of the path can match from this element or any element below it
+            search(value, steps, step + 1, found);
+            if (isContainer)
+                for (JSONStorageElement.ElementIterator it = ((JSONStorageElement<?>) value).elementIterator(); it.advance(); )
+                    search(it.value(), steps, step, found);
+        } else if (value.TYPE == (trace.KEY != null ? JSONValue.ValueType.OBJECT : JSONValue.ValueType.ARRAY)) {
+            int index = 0;
+            for (JSONStorageElement.ElementIterator it = ((JSONStorageElement<?>) value).elementIterator(); it.advance(); index++)
+                if (trace.isWildcard() || (trace.KEY != null ? trace.KEY.equals(it.key()) : trace.INDEX == index))
+                    search(it.value(), steps, step + 1, found);
+        }
+    }
+
+    static String randomPath(Random random) {
+        StringBuilder builder = new StringBuilder(random.nextInt(4) == 0 ? JSONValue.ROOT_PATH : "");
+        for (int i = 0, n = 1 + random.nextInt(4); i < n; i++) {
+            boolean afterDescent = builder.toString().endsWith("..");
+            String separator = builder.length() > 0 && !afterDescent ? "." : "";
+            switch (random.nextInt(i == n - 1 || afterDescent ? 4 : 5)) {
+                case 0:
+                    builder.append('[').append(random.nextInt(4)).append(']');
+                    break;
+                case 1:
+                    builder.append("[*]");
+                    break;
+                case 2:
+                    builder.append(separator).append('*');
+                    break;
+                case 3:
+                    builder.append(separator).append('k').append(random.nextInt(16));
+                    break;
+                default:
+                    builder.append("..");
+                    break;
+            }
+        }
+        return builder.toString();
+    }
+
+    static String random(Random random, int depth) {
+        int type = depth == 0 ? random.nextInt(2) : depth > 5 ? 2 + random.nextInt(3) : random.nextInt(5);
+        StringBuilder builder = new StringBuilder();
+        switch (type) {
+            case 0:
+                builder.append('{');
+                for (int i = 0, n = random.nextInt(5), k = random.nextInt(12); i < n; i++)
+                    builder.append(i == 0 ? "" : ",").append("\"k").append(k + i).append("\":").append(random(random, depth + 1));
+                return builder.append('}').toString();
+
+            case 1:
+                builder.append('[');
+                for (int i = 0, n = random.nextInt(5); i < n; i++)
+                    builder.append(i == 0 ? "" : ",").append(random(random, depth + 1));
+                return builder.append(']').toString();
+
+            case 2:
+                return random.nextBoolean() ? "\"s" + random.nextInt(4) + "\"" : "\"q\\\"\\n\\u00e9\"";
+
+            case 3:
+                return random.nextBoolean() ? String.valueOf(random.nextInt(100) - 50) : String.valueOf(random.nextInt(100) / 8.0);
+
+            default:
+                return random.nextBoolean() ? "null" : String.valueOf(random.nextBoolean());
+        }
+    }
+}
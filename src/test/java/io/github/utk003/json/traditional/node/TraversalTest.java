@@ -0,0 +1,144 @@
+package io.github.utk003.json.traditional.node;/*
+MIT License
+
+Copyright (c) 2020-2021 Utkarsh Priyam
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+
+import io.github.utk003.util.data.tuple.immutable.ImmutablePair;
+import io.github.utk003.util.misc.Verifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class TraversalTest {
+    public static void main(String[] args) {
+        Random random = new Random(30);
+        for (int i = 0; i < 1000; i++) {
+            JSONValue json = TestJSON.parse(i == 0 ? TestJSON.SAMPLE : TestJSON.random(random, 0));
+
+            // the visitor's callbacks should be enough to write the tree back out
+            StringBuilder text = new StringBuilder();
+            json.accept(new JSONVisitor() {
+                @Override
+                public boolean enterObject(JSONValue object) {
+                    separate();
+                    text.append('{');
+                    return true;
+                }
+                @Override
+                public void exitObject(JSONValue object) {
+                    text.append('}');
+                }
+                @Override
+                public boolean enterArray(JSONValue array) {
+                    separate();
+                    text.append('[');
+                    return true;
+                }
+                @Override
+                public void exitArray(JSONValue array) {
+                    text.append(']');
+                }
+                @Override
+                public void key(String key) {
+                    separate();
+                    text.append('"').append(key).append("\":");
+                }
+                @Override
+                public void value(JSONValue value) {
+                    separate();
+                    text.append(value);
+                }
+                private void separate() {
+                    char last = text.length() == 0 ? '{' : text.charAt(text.length() - 1);
+                    if (last != '{' && last != '[' && last != ':')
+                        text.append(',');
+                }
+            });
+            Verifier.requireEqual(text.toString(), json.toString(), "The visited tree differs from the original");
+
+            // the cursor should visit the same leaves, in the same order, as a recursive walk
+            List<String> expected = new ArrayList<>(), actual = new ArrayList<>();
+            collectLeaves(json, expected);
+            JSONCursor cursor = new JSONCursor(json);
+            while (cursor.hasNext())
+                if (cursor.next() == JSONCursor.Event.VALUE)
+                    actual.add(cursor.currentValue().PATH + "=" + cursor.currentValue());
+            Verifier.requireEqual(actual, expected, "The cursor visited different leaves than a recursive walk");
+
+            // skipping every top-level container should leave only the root's direct children
+            int children = 0;
+            cursor = new JSONCursor(json);
+            while (cursor.hasNext()) {
+                JSONCursor.Event event = cursor.next();
+                if (event == JSONCursor.Event.START_OBJECT || event == JSONCursor.Event.START_ARRAY) {
+                    if (cursor.depth() > 1) {
+                        children++;
+                        cursor.skipChildren();
+                    }
+                } else if (event == JSONCursor.Event.VALUE)
+                    children++;
+            }
+            Verifier.requireTrue(children == ((JSONStorageElement<?>) json).numElements(), "skipChildren() did not skip a subtree");
+        }
+        System.out.println("Cursor and visitor walks match recursive walks of 1000 trees");
+
+        // null elements do not end the iteration over an array
+        JSONArray holes = new JSONArray("holes");
+        holes.append(new JSONNumber(0L, "holes[0]"));
+        holes.append(null);
+        holes.append(new JSONNumber(2L, "holes[2]"));
+        int numIterated = 0;
+        for (JSONStorageElement.ElementIterator it = holes.elementIterator(); it.advance(); )
+            numIterated++;
+        Verifier.requireEqual(numIterated, 3, "Iteration stopped at a null element");
+
+        // the cursor keeps its own stack, so deep trees do not need deep call stacks
+        int depth = 3000;
+        StringBuilder deep = new StringBuilder();
+        for (int i = 0; i < depth; i++)
+            deep.append(i % 2 == 0 ? "[" : "{\"a\":");
+        deep.append("true");
+        for (int i = depth - 1; i >= 0; i--)
+            deep.append(i % 2 == 0 ? "]" : "}");
+        int maxDepth = 0, values = 0;
+        JSONCursor cursor = new JSONCursor(TestJSON.parse(deep.toString()));
+        while (cursor.hasNext()) {
+            if (cursor.next() == JSONCursor.Event.VALUE)
+                values++;
+            maxDepth = Math.max(maxDepth, cursor.depth());
+        }
+        Verifier.requireTrue(values == 1 && maxDepth == depth, "The cursor did not reach the bottom of a deep tree");
+        System.out.println("Walked a tree " + maxDepth + " levels deep");
+    }
+
+    private static void collectLeaves(JSONValue value, List<String> leaves) {
+        if (value instanceof JSONObject) {
+            for (ImmutablePair<String, JSONValue> pair : ((JSONObject) value).getElementsPaired())
+                collectLeaves(pair.SECOND, leaves);
+        } else if (value instanceof JSONArray) {
+            for (ImmutablePair<Integer, JSONValue> pair : ((JSONArray) value).getElementsPaired())
+                collectLeaves(pair.SECOND, leaves);
+        } else
+            leaves.add(value.PATH + "=" + value);
+    }
+}